@@ -0,0 +1,257 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knowm.xchart.BinarySeriesData.Compression;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.MinMaxPyramid;
+import org.knowm.xchart.internal.ColumnCodec;
+import org.knowm.xchart.internal.Series_AxesChart;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+import org.knowm.xchart.internal.chartpart.Chart;
+
+/**
+ * This class is used to save Chart series data in a compact binary format that is read back bit-exactly by {@link BinaryImporter}. Each series becomes a file
+ * in the folder, named after the series. See {@link BinarySeriesData} for the layout.
+ *
+ * @author timmolter
+ */
+public class BinaryExporter {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Write all series of a Chart, one file per series.
+   *
+   * @param chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   * @param compression
+   * @throws IOException
+   */
+  public static void writeChart(Chart<?, ? extends Series_AxesChart> chart, String path2Dir, Compression compression) throws IOException {
+
+    for (Series_AxesChart series : chart.getSeriesMap().values()) {
+      writeSeries(series, new File(path2Dir + series.getName() + BinarySeriesData.FILE_EXTENSION), compression);
+    }
+  }
+
+  /**
+   * Write a Chart series to a file.
+   *
+   * @param series
+   * @param file
+   * @param compression
+   * @throws IOException
+   */
+  public static void writeSeries(Series_AxesChart series, File file, Compression compression) throws IOException {
+
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      FileChannel channel = outputStream.getChannel();
+      writeSeries(series, channel, compression);
+    } finally {
+      outputStream.close();
+    }
+  }
+
+  /**
+   * Write a Chart series to a channel. The channel is not closed.
+   *
+   * @param series
+   * @param channel
+   * @param compression
+   * @throws IOException
+   */
+  public static void writeSeries(Series_AxesChart series, WritableByteChannel channel, Compression compression) throws IOException {
+
+    ChannelWriter out = new ChannelWriter(channel);
+    double[] errorBars = series.getErrorBarValues();
+    MinMaxPyramid minMaxPyramid = series instanceof XYSeries ? ((XYSeries) series).getMinMaxPyramid() : null;
+    if (minMaxPyramid != null) {
+      minMaxPyramid.update(series);
+    }
+    byte[] name = series.getName().getBytes(StandardCharsets.UTF_8);
+
+    // header
+    out.ensureRemaining(16);
+    out.buffer.putInt(BinarySeriesData.MAGIC);
+    out.buffer.put(BinarySeriesData.VERSION);
+    out.buffer.put((byte) compression.ordinal());
+    out.buffer.put((byte) series.getxAxisDataType().ordinal());
+    out.buffer.put((byte) ((errorBars == null ? 0 : BinarySeriesData.FLAG_ERROR_BARS) | (minMaxPyramid == null ? 0 : BinarySeriesData.FLAG_MIN_MAX_PYRAMID)));
+    out.buffer.putInt(series.size());
+    out.buffer.putInt(name.length);
+    out.put(name);
+    out.pad();
+
+    // columns
+    if (series.getxAxisDataType() == AxisDataType.String) {
+      putStrings(out, series.getXData());
+    }
+    else {
+      putColumn(out, series.getXValues(), compression);
+    }
+    putColumn(out, series.getYValues(), compression);
+    if (errorBars != null) {
+      putColumn(out, errorBars, compression);
+    }
+
+    // min/max index
+    if (minMaxPyramid != null) {
+      int[] gapStarts = minMaxPyramid.getGapStarts();
+      out.ensureRemaining(8);
+      out.buffer.putInt(gapStarts.length);
+      out.buffer.putInt(minMaxPyramid.getLevelCount());
+      putInts(out, gapStarts);
+      putInts(out, minMaxPyramid.getGapEnds());
+      for (int level = 0; level < minMaxPyramid.getLevelCount(); level++) {
+        putInts(out, minMaxPyramid.getMinIndices(level));
+        putInts(out, minMaxPyramid.getMaxIndices(level));
+      }
+    }
+
+    out.flush();
+  }
+
+  private static void putColumn(ChannelWriter out, double[] column, Compression compression) throws IOException {
+
+    if (compression == Compression.None) {
+      for (int i = 0; i < column.length;) {
+        out.ensureRemaining(8);
+        int count = Math.min(out.buffer.remaining() / 8, column.length - i);
+        out.buffer.asDoubleBuffer().put(column, i, count);
+        out.buffer.position(out.buffer.position() + 8 * count);
+        i += count;
+      }
+      return;
+    }
+
+    byte encoding = ColumnCodec.getEncoding(column);
+    byte[] encoded = ColumnCodec.encode(column, encoding);
+    out.ensureRemaining(8);
+    out.buffer.put(encoding);
+    out.buffer.put(new byte[3]);
+    out.buffer.putInt(encoded.length);
+    out.put(encoded);
+    out.pad();
+  }
+
+  private static void putInts(ChannelWriter out, int[] ints) throws IOException {
+
+    for (int i = 0; i < ints.length;) {
+      out.ensureRemaining(4);
+      int count = Math.min(out.buffer.remaining() / 4, ints.length - i);
+      out.buffer.asIntBuffer().put(ints, i, count);
+      out.buffer.position(out.buffer.position() + 4 * count);
+      i += count;
+    }
+    out.pad();
+  }
+
+  private static void putStrings(ChannelWriter out, Iterable<?> strings) throws IOException {
+
+    // null for a null String
+    List<byte[]> encoded = new ArrayList<byte[]>();
+    int length = 0;
+    for (Object string : strings) {
+      byte[] bytes = string == null ? null : string.toString().getBytes(StandardCharsets.UTF_8);
+      encoded.add(bytes);
+      length += 4 + (bytes == null ? 0 : bytes.length);
+    }
+    out.ensureRemaining(4);
+    out.buffer.putInt(length);
+    for (byte[] bytes : encoded) {
+      out.ensureRemaining(4);
+      if (bytes == null) {
+        out.buffer.putInt(-1);
+        continue;
+      }
+      out.buffer.putInt(bytes.length);
+      out.put(bytes);
+    }
+    out.pad();
+  }
+
+  /**
+   * A little-endian buffer in front of a channel that keeps track of the position in the file
+   */
+  private static class ChannelWriter {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long flushedBytes;
+
+    private ChannelWriter(WritableByteChannel channel) {
+
+      this.channel = channel;
+    }
+
+    /**
+     * Makes room for count bytes, for counts up to the buffer size
+     */
+    private void ensureRemaining(int count) throws IOException {
+
+      if (buffer.remaining() < count) {
+        flush();
+      }
+    }
+
+    private void put(byte[] bytes) throws IOException {
+
+      for (int offset = 0; offset < bytes.length;) {
+        if (!buffer.hasRemaining()) {
+          flush();
+        }
+        int length = Math.min(buffer.remaining(), bytes.length - offset);
+        buffer.put(bytes, offset, length);
+        offset += length;
+      }
+    }
+
+    /**
+     * Pads to a multiple of 8 bytes
+     */
+    private void pad() throws IOException {
+
+      int padding = (int) ((8 - (flushedBytes + buffer.position()) % 8) % 8);
+      ensureRemaining(padding);
+      for (int i = 0; i < padding; i++) {
+        buffer.put((byte) 0);
+      }
+    }
+
+    private void flush() throws IOException {
+
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        flushedBytes += channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+}
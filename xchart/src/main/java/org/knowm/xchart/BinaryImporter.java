@@ -0,0 +1,390 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.knowm.xchart.BinarySeriesData.Compression;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.ColumnCodec;
+import org.knowm.xchart.internal.MinMaxPyramid;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * This class is used to read Chart series data saved by {@link BinaryExporter}. Files are memory-mapped, so the raw columns of uncompressed files are read
+ * without copying until the data is added to a chart.
+ *
+ * @author timmolter
+ */
+public class BinaryImporter {
+
+  /**
+   * Reads and adds a series to an XYChart
+   *
+   * @param chart
+   * @param file
+   * @return the new series
+   * @throws IOException if the file can't be read or isn't a binary series file
+   */
+  public static XYSeries addXYSeries(XYChart chart, File file) throws IOException {
+
+    return addXYSeries(chart, readSeriesData(file));
+  }
+
+  static XYSeries addXYSeries(XYChart chart, BinarySeriesData data) {
+
+    XYSeries series = newXYSeries(chart, data);
+    if (data.getMinMaxPyramid() != null) {
+      series.setMinMaxPyramid(data.getMinMaxPyramid());
+    }
+    return series;
+  }
+
+  private static XYSeries newXYSeries(XYChart chart, BinarySeriesData data) {
+
+    if (data.getxAxisDataType() == AxisDataType.String) {
+      throw new IllegalArgumentException("An XYChart can't have String x data!!!");
+    }
+    // the columns are copies of the file data, which can be handed over
+    return chart.addSeries(data.getName(), data.getXValues(), data.getxAxisDataType(), data.getYValues(), data.getErrorBarValues());
+  }
+
+  /**
+   * Reads and adds a series to a CategoryChart
+   *
+   * @param chart
+   * @param file
+   * @return the new series
+   * @throws IOException if the file can't be read or isn't a binary series file
+   */
+  public static CategorySeries addCategorySeries(CategoryChart chart, File file) throws IOException {
+
+    return addCategorySeries(chart, readSeriesData(file));
+  }
+
+  static CategorySeries addCategorySeries(CategoryChart chart, BinarySeriesData data) {
+
+    if (data.getxAxisDataType() == AxisDataType.Number) {
+      return chart.addSeries(data.getName(), data.getXValues(), data.getYValues(), data.getErrorBarValues());
+    }
+
+    List<?> xData = data.getXStrings();
+    if (data.getxAxisDataType() == AxisDataType.Date) {
+      final double[] xValues = data.getXValues();
+      xData = new AbstractList<Date>() {
+
+        @Override
+        public Date get(int index) {
+
+          return new Date((long) xValues[index]);
+        }
+
+        @Override
+        public int size() {
+
+          return xValues.length;
+        }
+      };
+    }
+    return chart.addSeries(data.getName(), xData, asList(data.getYValues()), data.getErrorBarValues() == null ? null : asList(data.getErrorBarValues()));
+  }
+
+  private static List<Double> asList(final double[] values) {
+
+    return new AbstractList<Double>() {
+
+      @Override
+      public Double get(int index) {
+
+        return values[index];
+      }
+
+      @Override
+      public int size() {
+
+        return values.length;
+      }
+    };
+  }
+
+  /**
+   * Reads the series data of a file. The numeric columns of an uncompressed file are views of the memory-mapped file.
+   *
+   * @param file
+   * @return the series data
+   * @throws IOException if the file can't be read or isn't a binary series file
+   */
+  public static BinarySeriesData readSeriesData(File file) throws IOException {
+
+    ByteBuffer buffer;
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException(file + " is larger than 2 GB, use mapSeriesData to chart it!!!");
+      }
+      // the mapping stays valid after the channel is closed
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+    } finally {
+      randomAccessFile.close();
+    }
+
+    try {
+      return readSeriesData(buffer);
+    } catch (BufferUnderflowException e) {
+      throw new IOException(file + " is truncated!!!");
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      throw new IOException(file + " is not a valid binary series file: " + e.getMessage());
+    }
+  }
+
+  /**
+   * @param buffer a little-endian buffer positioned at the start of the series data, advanced past it
+   * @return the series data
+   */
+  static BinarySeriesData readSeriesData(ByteBuffer buffer) {
+
+    Header header = readHeader(buffer);
+    Compression compression = header.compression;
+    AxisDataType xAxisType = header.xAxisType;
+    boolean hasErrorBars = (header.flags & BinarySeriesData.FLAG_ERROR_BARS) != 0;
+    boolean hasMinMaxPyramid = (header.flags & BinarySeriesData.FLAG_MIN_MAX_PYRAMID) != 0;
+    int size = header.size;
+
+    // columns
+    List<String> xStrings = null;
+    DoubleBuffer xValues = null;
+    if (xAxisType == AxisDataType.String) {
+      xStrings = getStrings(buffer, size);
+    }
+    else {
+      xValues = getColumn(buffer, size, compression);
+    }
+    DoubleBuffer yValues = getColumn(buffer, size, compression);
+    DoubleBuffer errorBars = hasErrorBars ? getColumn(buffer, size, compression) : null;
+
+    // min/max index
+    MinMaxPyramid minMaxPyramid = null;
+    if (hasMinMaxPyramid) {
+      int gapCount = buffer.getInt();
+      int levelCount = buffer.getInt();
+      // the levels halve down to a single entry, so there are at most 32 of them
+      if (levelCount < 0 || levelCount > 32) {
+        throw new IllegalArgumentException("Invalid level count " + levelCount + "!!!");
+      }
+      int[] gapStarts = getInts(buffer, gapCount);
+      int[] gapEnds = getInts(buffer, gapCount);
+      int[][] minIndices = new int[levelCount][];
+      int[][] maxIndices = new int[levelCount][];
+      for (int level = 0; level < levelCount; level++) {
+        minIndices[level] = getInts(buffer, MinMaxPyramid.getLevelLength(size, level));
+        maxIndices[level] = getInts(buffer, MinMaxPyramid.getLevelLength(size, level));
+      }
+      minMaxPyramid = new MinMaxPyramid(size, minIndices, maxIndices, gapStarts, gapEnds);
+    }
+
+    return new BinarySeriesData(header.name, compression, xAxisType, size, xStrings, xValues, yValues, errorBars, minMaxPyramid);
+  }
+
+  /**
+   * Maps the x and y columns of an uncompressed binary series file without reading them, for files of any size, e.g. larger than the heap.
+   *
+   * @param file a file written by BinaryExporter with Compression.None, of a Number or Date series
+   * @return the mapped series data
+   * @throws IOException if the file can't be read, isn't a binary series file or is compressed
+   */
+  public static MappedSeriesData mapSeriesData(File file) throws IOException {
+
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE)).order(ByteOrder.LITTLE_ENDIAN);
+
+      Header header;
+      try {
+        header = readHeader(buffer);
+      } catch (BufferUnderflowException e) {
+        throw new IOException(file + " is truncated!!!");
+      } catch (IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+        throw new IOException(file + " is not a valid binary series file: " + e.getMessage());
+      }
+      if (header.compression != Compression.None) {
+        throw new IOException(file + " is compressed, only uncompressed files can be mapped!!!");
+      }
+      if (header.xAxisType == AxisDataType.String) {
+        throw new IOException(file + " has String x data, which can't be mapped!!!");
+      }
+
+      long xOffset = buffer.position();
+      long yOffset = xOffset + 8L * header.size;
+      if (header.size < 0 || channel.size() < yOffset + 8L * header.size) {
+        throw new IOException(file + " is truncated!!!");
+      }
+      // the mappings stay valid after the channel is closed
+      return new MappedSeriesData(header.name, header.xAxisType, header.size, mapColumn(channel, xOffset, header.size), mapColumn(channel, yOffset,
+          header.size));
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  /**
+   * Maps a column of raw doubles in segments, as a single mapping can't exceed 2 GB
+   */
+  private static DoubleBuffer[] mapColumn(FileChannel channel, long offset, int size) throws IOException {
+
+    DoubleBuffer[] segments = new DoubleBuffer[(int) (((long) size + MappedSeriesData.SEGMENT_SIZE - 1) / MappedSeriesData.SEGMENT_SIZE)];
+    for (int segment = 0; segment < segments.length; segment++) {
+      long start = (long) segment * MappedSeriesData.SEGMENT_SIZE;
+      long length = Math.min(MappedSeriesData.SEGMENT_SIZE, size - start);
+      segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, offset + 8 * start, 8 * length).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+    }
+    return segments;
+  }
+
+  private static Header readHeader(ByteBuffer buffer) {
+
+    if (buffer.getInt() != BinarySeriesData.MAGIC) {
+      throw new IllegalArgumentException("Wrong magic number!!!");
+    }
+    byte version = buffer.get();
+    if (version != BinarySeriesData.VERSION) {
+      throw new IllegalArgumentException("Unsupported version " + version + "!!!");
+    }
+    Header header = new Header();
+    header.compression = Compression.values()[buffer.get()];
+    header.xAxisType = AxisDataType.values()[buffer.get()];
+    header.flags = buffer.get();
+    header.size = buffer.getInt();
+    if (header.size < 0) {
+      throw new IllegalArgumentException("Invalid size " + header.size + "!!!");
+    }
+    byte[] name = new byte[checkLength(buffer, buffer.getInt(), 1)];
+    buffer.get(name);
+    header.name = new String(name, StandardCharsets.UTF_8);
+    skipPadding(buffer);
+    return header;
+  }
+
+  private static DoubleBuffer getColumn(ByteBuffer buffer, int size, Compression compression) {
+
+    if (compression == Compression.None) {
+      if (buffer.remaining() < 8L * size) {
+        throw new BufferUnderflowException();
+      }
+      ByteBuffer slice = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+      slice.limit(8 * size);
+      buffer.position(buffer.position() + 8 * size);
+      return slice.asDoubleBuffer();
+    }
+
+    byte encoding = buffer.get();
+    buffer.position(buffer.position() + 3);
+    int length = checkLength(buffer, buffer.getInt(), 1);
+    int end = buffer.position() + length;
+    // the column is decoded from its own bytes only
+    ByteBuffer bytes = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    bytes.limit(length);
+    double[] column = ColumnCodec.decode(bytes, encoding, size);
+    buffer.position(buffer.position() + bytes.position());
+    if (buffer.position() != end) {
+      throw new IllegalArgumentException("Wrong column length!!!");
+    }
+    skipPadding(buffer);
+    return DoubleBuffer.wrap(column);
+  }
+
+  private static int[] getInts(ByteBuffer buffer, int count) {
+
+    int[] ints = new int[checkLength(buffer, count, 4)];
+    buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(ints);
+    buffer.position(buffer.position() + 4 * count);
+    skipPadding(buffer);
+    return ints;
+  }
+
+  private static List<String> getStrings(ByteBuffer buffer, int size) {
+
+    buffer.getInt();
+    // each string takes at least its length
+    List<String> strings = new ArrayList<String>(checkLength(buffer, size, 4));
+    for (int i = 0; i < size; i++) {
+      int length = buffer.getInt();
+      // -1 for null
+      if (length == -1) {
+        strings.add(null);
+        continue;
+      }
+      byte[] bytes = new byte[checkLength(buffer, length, 1)];
+      buffer.get(bytes);
+      strings.add(new String(bytes, StandardCharsets.UTF_8));
+    }
+    skipPadding(buffer);
+    return strings;
+  }
+
+  /**
+   * Checks a length read from the buffer before anything of that length is allocated
+   *
+   * @param buffer
+   * @param count the number of entries
+   * @param entrySize the number of bytes each entry takes at least
+   * @return the count
+   */
+  private static int checkLength(ByteBuffer buffer, int count, int entrySize) {
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Invalid length " + count + "!!!");
+    }
+    if ((long) count * entrySize > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return count;
+  }
+
+  private static void skipPadding(ByteBuffer buffer) {
+
+    buffer.position(buffer.position() + (8 - buffer.position() % 8) % 8);
+  }
+
+  /**
+   * The header of a binary series file
+   */
+  private static class Header {
+
+    private Compression compression;
+    private AxisDataType xAxisType;
+    private byte flags;
+    private int size;
+    private String name;
+  }
+}
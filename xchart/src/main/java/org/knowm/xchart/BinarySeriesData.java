@@ -0,0 +1,190 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+
+import org.knowm.xchart.internal.MinMaxPyramid;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * The data of one series read from a binary series file written by {@link BinaryExporter}. The numeric columns of uncompressed files are views of the
+ * memory-mapped file, so large files can be inspected without copying them onto the heap.
+ * <p>
+ * File layout, little-endian and 8-byte aligned: the int MAGIC, the byte VERSION, the byte Compression ordinal, the byte AxisDataType ordinal of the x data, a
+ * byte of flags (1 if there are error bars, 2 if there is a min/max index), the int number of values and the UTF-8 series name preceded by its int length. The header is followed by the x
+ * column, the y column and the error bar column, if any. Uncompressed numeric columns are the raw doubles. Compressed numeric columns are the byte encoding of
+ * {@link org.knowm.xchart.internal.ColumnCodec}, 3 padding bytes, the int length of the encoded bytes and the encoded bytes. A String x column is its int
+ * length in bytes followed by each String as UTF-8 preceded by its int length, -1 for null. A min/max index, see {@link MinMaxPyramid}, follows as the int number of
+ * runs of missing values, the int number of levels, the int starts and the int ends of the runs, and the int indices of the lowest and then of the highest
+ * data points of each level. Each column is padded to a multiple of 8 bytes.
+ *
+ * @author timmolter
+ */
+public class BinarySeriesData {
+
+  public static final String FILE_EXTENSION = ".xcbs";
+  public static final int MAGIC = 0x53424358; // "XCBS" in little-endian
+  public static final byte VERSION = 1;
+
+  static final int FLAG_ERROR_BARS = 1;
+  static final int FLAG_MIN_MAX_PYRAMID = 2;
+
+  public enum Compression {
+
+    /** the raw doubles, which can be memory-mapped */
+    None,
+
+    /** whole number columns as deltas of deltas, others XOR encoded, for time series */
+    DeltaXOR
+  }
+
+  private final String name;
+  private final Compression compression;
+  private final AxisDataType xAxisType;
+  private final int size;
+  private final List<String> xStrings;
+  private final DoubleBuffer xValues;
+  private final DoubleBuffer yValues;
+  private final DoubleBuffer errorBars;
+  private final MinMaxPyramid minMaxPyramid;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param compression
+   * @param xAxisType
+   * @param size
+   * @param xStrings the x data of String series, otherwise null
+   * @param xValues the x data of Number and Date series, otherwise null
+   * @param yValues
+   * @param errorBars the error bars, or null
+   * @param minMaxPyramid the saved min/max index, or null
+   */
+  BinarySeriesData(String name, Compression compression, AxisDataType xAxisType, int size, List<String> xStrings, DoubleBuffer xValues, DoubleBuffer yValues,
+      DoubleBuffer errorBars, MinMaxPyramid minMaxPyramid) {
+
+    this.name = name;
+    this.compression = compression;
+    this.xAxisType = xAxisType;
+    this.size = size;
+    this.xStrings = xStrings;
+    this.xValues = xValues;
+    this.yValues = yValues;
+    this.errorBars = errorBars;
+    this.minMaxPyramid = minMaxPyramid;
+  }
+
+  public String getName() {
+
+    return name;
+  }
+
+  public Compression getCompression() {
+
+    return compression;
+  }
+
+  public AxisDataType getxAxisDataType() {
+
+    return xAxisType;
+  }
+
+  /**
+   * @return the number of data points
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @return the x data of a String series, otherwise null
+   */
+  public List<String> getXStrings() {
+
+    return xStrings;
+  }
+
+  /**
+   * @return a read-only view of the x data of a Number or Date series, epoch milliseconds for Dates, otherwise null
+   */
+  public DoubleBuffer getXBuffer() {
+
+    return xValues == null ? null : xValues.asReadOnlyBuffer();
+  }
+
+  /**
+   * @return a read-only view of the y data
+   */
+  public DoubleBuffer getYBuffer() {
+
+    return yValues.asReadOnlyBuffer();
+  }
+
+  /**
+   * @return a read-only view of the error bars, or null if there are none
+   */
+  public DoubleBuffer getErrorBarBuffer() {
+
+    return errorBars == null ? null : errorBars.asReadOnlyBuffer();
+  }
+
+  /**
+   * @return the min/max index saved with an XYSeries that had it enabled, otherwise null
+   */
+  public MinMaxPyramid getMinMaxPyramid() {
+
+    return minMaxPyramid;
+  }
+
+  /**
+   * @return a copy of the x data of a Number or Date series, otherwise null
+   */
+  public double[] getXValues() {
+
+    return toArray(xValues);
+  }
+
+  /**
+   * @return a copy of the y data
+   */
+  public double[] getYValues() {
+
+    return toArray(yValues);
+  }
+
+  /**
+   * @return a copy of the error bars, or null if there are none
+   */
+  public double[] getErrorBarValues() {
+
+    return toArray(errorBars);
+  }
+
+  private static double[] toArray(DoubleBuffer buffer) {
+
+    if (buffer == null) {
+      return null;
+    }
+    double[] array = new double[buffer.remaining()];
+    buffer.duplicate().get(array);
+    return array;
+  }
+}
@@ -110,6 +110,7 @@ public final class BitmapEncoder {
     BufferedImage bufferedImage = new BufferedImage((int) (chart.getWidth() * scaleFactor), (int) (chart.getHeight() * scaleFactor), BufferedImage.TYPE_INT_RGB);
 
     Graphics2D graphics2D = bufferedImage.createGraphics();
+    graphics2D.setRenderingHint(Chart.KEY_RASTER_TARGET, Boolean.TRUE);
 
     AffineTransform at = graphics2D.getTransform();
     at.scale(scaleFactor, scaleFactor);
@@ -231,6 +232,7 @@ public final class BitmapEncoder {
 
     BufferedImage bufferedImage = new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_RGB);
     Graphics2D graphics2D = bufferedImage.createGraphics();
+    graphics2D.setRenderingHint(Chart.KEY_RASTER_TARGET, Boolean.TRUE);
     chart.paint(graphics2D);
     return bufferedImage;
   }
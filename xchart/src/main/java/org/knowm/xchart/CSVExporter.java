@@ -22,14 +22,21 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Iterator;
 
 import org.knowm.xchart.internal.Series_AxesChart;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+import org.knowm.xchart.internal.chartpart.Chart;
 
 /**
  * This class is used to export Chart data to a folder containing one or more CSV files. The parent folder's name is the title of the chart. Each
  * series becomes a CSV file in the folder. The series' name becomes the CSV files' name.
+ * <p>
+ * The values are written straight from the primitive series data through a reusable buffer. Numbers are written in their shortest decimal form that
+ * reads back to the same double, Date x values are written as epoch milliseconds and missing y values as NaN, so exported files can be imported again with
+ * {@link CSVImporter}.
  *
  * @author timmolter
  */
@@ -38,6 +45,34 @@ public class CSVExporter {
   public static final int STRING_LENGTH = 256; // Java default is 16, probably too small
   public static final String DELIMITER = ",";
 
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+  /**
+   * Write all series of a Chart as rows, one CSV file per series.
+   *
+   * @param chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   */
+  public static void writeCSVRows(Chart<?, ? extends Series_AxesChart> chart, String path2Dir) {
+
+    for (Series_AxesChart series : chart.getSeriesMap().values()) {
+      writeCSVRows(series, path2Dir);
+    }
+  }
+
+  /**
+   * Write all series of a Chart as columns, one CSV file per series.
+   *
+   * @param chart
+   * @param path2Dir - ex. "./path/to/directory/" *make sure you have the '/' on the end
+   */
+  public static void writeCSVColumns(Chart<?, ? extends Series_AxesChart> chart, String path2Dir) {
+
+    for (Series_AxesChart series : chart.getSeriesMap().values()) {
+      writeCSVColumns(series, path2Dir);
+    }
+  }
+
   /**
    * Write a Chart series as rows in a CSV file.
    *
@@ -46,31 +81,14 @@ public class CSVExporter {
    */
   public static void writeCSVRows(Series_AxesChart series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
     Writer out = null;
     try {
-
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      String csv = join(series.getXData(), DELIMITER) + System.getProperty("line.separator");
-      out.write(csv);
-      csv = join(series.getYData(), DELIMITER) + System.getProperty("line.separator");
-      out.write(csv);
-      if (series.getErrorBars() != null) {
-        csv = join(series.getErrorBars(), DELIMITER) + System.getProperty("line.separator");
-        out.write(csv);
-      }
-
+      out = newFileWriter(series, path2Dir);
+      writeCSVRows(series, out);
     } catch (Exception e) {
       e.printStackTrace();
     } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
-      }
+      close(out);
     }
   }
 
@@ -82,97 +100,272 @@ public class CSVExporter {
    */
   public static void writeCSVColumns(Series_AxesChart series, String path2Dir) {
 
-    File newFile = new File(path2Dir + series.getName() + ".csv");
     Writer out = null;
     try {
+      out = newFileWriter(series, path2Dir);
+      writeCSVColumns(series, out);
+    } catch (Exception e) {
+      e.printStackTrace();
+    } finally {
+      close(out);
+    }
+  }
+
+  /**
+   * Write a Chart series as rows: the x data, the y data and the error bars, if any, each on one line. The writer is not closed.
+   *
+   * @param series
+   * @param out
+   * @throws IOException
+   */
+  public static void writeCSVRows(Series_AxesChart series, Writer out) throws IOException {
 
-      out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), "UTF8"));
-      Collection<?> xData = series.getXData();
-      Collection<? extends Number> yData = series.getYData();
-      Collection<? extends Number> errorBarData = series.getErrorBars();
-      Iterator<?> itrx = xData.iterator();
-      Iterator<? extends Number> itry = yData.iterator();
-      Iterator<? extends Number> itrErrorBar = null;
-      if (errorBarData != null) {
-        itrErrorBar = errorBarData.iterator();
+    CSVBuffer buffer = new CSVBuffer(out);
+    int size = series.size();
+
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        buffer.appendDelimiter();
       }
-      while (itrx.hasNext()) {
-        addDataPoint(out, itrx, itry, itrErrorBar);
+      appendXValue(buffer, series, i);
+    }
+    buffer.appendLineSeparator();
+    appendRow(buffer, series.getYValues());
+    if (series.getErrorBarValues() != null) {
+      appendRow(buffer, series.getErrorBarValues());
+    }
+    buffer.flush();
+  }
+
+  /**
+   * Write a Chart series as columns: one line per data point with the x value, the y value and the error bar, if any. The writer is not closed.
+   *
+   * @param series
+   * @param out
+   * @throws IOException
+   */
+  public static void writeCSVColumns(Series_AxesChart series, Writer out) throws IOException {
+
+    CSVBuffer buffer = new CSVBuffer(out);
+    double[] yValues = series.getYValues();
+    double[] errorBars = series.getErrorBarValues();
+    int size = series.size();
+
+    for (int i = 0; i < size; i++) {
+      appendXValue(buffer, series, i);
+      buffer.appendDelimiter();
+      buffer.append(yValues[i]);
+      buffer.appendDelimiter();
+      if (errorBars != null) {
+        buffer.append(errorBars[i]);
+        buffer.appendDelimiter();
       }
+      buffer.appendLineSeparator();
+    }
+    buffer.flush();
+  }
 
-    } catch (Exception e) {
-      e.printStackTrace();
-    } finally {
-      if (out != null) {
-        try {
-          out.flush();
-          out.close();
-        } catch (IOException e) {
-          // NOP
-        }
+  private static void appendRow(CSVBuffer buffer, double[] values) throws IOException {
+
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        buffer.appendDelimiter();
       }
+      buffer.append(values[i]);
+    }
+    buffer.appendLineSeparator();
+  }
+
+  private static void appendXValue(CSVBuffer buffer, Series_AxesChart series, int index) throws IOException {
+
+    double[] xValues = series.getXValues();
+    if (xValues == null) {
+      // String data has no primitive column
+      buffer.appendText(String.valueOf(getElement(series.getXData(), index)));
+    }
+    else if (series.getxAxisDataType() == AxisDataType.Date) {
+      buffer.append((long) xValues[index]);
     }
+    else {
+      buffer.append(xValues[index]);
+    }
+  }
+
+  private static Object getElement(Collection<?> collection, int index) {
 
+    if (collection instanceof java.util.List) {
+      return ((java.util.List<?>) collection).get(index);
+    }
+    Iterator<?> iterator = collection.iterator();
+    for (int i = 0; i < index; i++) {
+      iterator.next();
+    }
+    return iterator.next();
   }
 
-  private static void addDataPoint(Writer out, Iterator<?> itrx, Iterator<? extends Number> itry, Iterator<? extends Number> itrErrorBar) throws IOException {
-    Number xDataPoint = (Number) itrx.next();
-    Number yDataPoint = itry.next();
-    Number errorBarValue = null;
-    if (itrErrorBar != null) {
-      errorBarValue = itrErrorBar.next();
-    }
-    StringBuilder sb = new StringBuilder();
-    sb.append(xDataPoint + DELIMITER);
-    sb.append(yDataPoint + DELIMITER);
-    if (errorBarValue != null) {
-      sb.append(errorBarValue + DELIMITER);
-    }
-    sb.append(System.getProperty("line.separator"));
-    out.write(sb.toString());
+  private static Writer newFileWriter(Series_AxesChart series, String path2Dir) throws IOException {
+
+    File newFile = new File(path2Dir + series.getName() + ".csv");
+    return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(newFile), StandardCharsets.UTF_8));
+  }
+
+  private static void close(Writer out) {
+
+    if (out != null) {
+      try {
+        out.flush();
+        out.close();
+      } catch (IOException e) {
+        // NOP
+      }
+    }
   }
 
   /**
-   * @param collection
-   * @param separator
-   * @return
+   * A reusable character buffer in front of a Writer that formats numbers without creating Strings
    */
-  private static String join(Collection<? extends Object> collection, String separator) {
-    if (collection == null) {
-      return null;
+  private static class CSVBuffer {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /** the powers of ten that are exact doubles */
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+      POWERS_OF_TEN[0] = 1;
+      for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+        POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+      }
     }
-    Iterator<? extends Object> iterator = collection.iterator();
-    // handle null, zero and one elements before building a buffer
-    if (iterator == null) {
-      return null;
+
+    private final Writer out;
+    private final char[] chars = new char[BUFFER_SIZE];
+    private int length;
+
+    /**
+     * Constructor
+     *
+     * @param out
+     */
+    private CSVBuffer(Writer out) {
+
+      this.out = out;
     }
-    if (!iterator.hasNext()) {
-      return "";
+
+    private void ensureCapacity(int count) throws IOException {
+
+      if (length + count > chars.length) {
+        flush();
+      }
     }
-    Object first = iterator.next();
-    if (!iterator.hasNext()) {
-      return first == null ? "" : first.toString();
+
+    private void flush() throws IOException {
+
+      out.write(chars, 0, length);
+      length = 0;
     }
 
-    return appendStrings(separator, iterator, first);
-  }
+    private void appendDelimiter() throws IOException {
+
+      appendText(DELIMITER);
+    }
+
+    private void appendLineSeparator() throws IOException {
+
+      appendText(LINE_SEPARATOR);
+    }
+
+    private void appendText(String text) throws IOException {
+
+      if (text.length() > chars.length) {
+        flush();
+        out.write(text);
+        return;
+      }
+      ensureCapacity(text.length());
+      text.getChars(0, text.length(), chars, length);
+      length += text.length();
+    }
+
+    private void append(long value) throws IOException {
+
+      // 20 characters hold any long
+      ensureCapacity(20);
+      if (value == Long.MIN_VALUE) {
+        appendText(Long.toString(value));
+        return;
+      }
+      if (value < 0) {
+        chars[length++] = '-';
+        value = -value;
+      }
+      appendDigits(value, 0, false);
+    }
+
+    /**
+     * Appends the shortest decimal that reads back to the same double. Values from 0.001 to 10^7 with at most 15 significant digits are written in plain
+     * notation like Double.toString, found as the fewest fraction digits for which the rounded decimal divides back exactly to the value. Other values are
+     * written with Double.toString.
+     */
+    private void append(double value) throws IOException {
 
-  private static String appendStrings(String separator, Iterator<? extends Object> iterator, Object first) {
-    // two or more elements
-    StringBuffer buf = new StringBuffer(STRING_LENGTH);
-    if (first != null) {
-      buf.append(first);
+      // 2 signs, 16 digits and the decimal point and leading zeros
+      ensureCapacity(24);
+      double abs = Math.abs(value);
+      if (abs >= 1e-3 && abs < 1e7) {
+        for (int fractionDigits = 0; fractionDigits < POWERS_OF_TEN.length; fractionDigits++) {
+          double scaled = abs * POWERS_OF_TEN[fractionDigits];
+          if (scaled >= 1e15) {
+            break;
+          }
+          long digits = Math.round(scaled);
+          if (digits / POWERS_OF_TEN[fractionDigits] == abs) {
+            if (value < 0) {
+              chars[length++] = '-';
+            }
+            appendDigits(digits, fractionDigits, true);
+            return;
+          }
+        }
+      }
+      else if (value == 0) {
+        appendText(1 / value < 0 ? "-0.0" : "0.0");
+        return;
+      }
+      appendText(Double.toString(value));
     }
 
-    while (iterator.hasNext()) {
-      if (separator != null) {
-        buf.append(separator);
+    /**
+     * Appends digits * 10^-fractionDigits in plain notation, with at least one digit before the decimal point
+     */
+    private void appendDigits(long digits, int fractionDigits, boolean isDouble) {
+
+      int start = length;
+
+      // write the digits backwards, then reverse them
+      for (int i = 0; i < fractionDigits; i++) {
+        chars[length++] = (char) ('0' + digits % 10);
+        digits /= 10;
+      }
+      if (fractionDigits > 0) {
+        chars[length++] = '.';
       }
-      Object obj = iterator.next();
-      if (obj != null) {
-        buf.append(obj);
+      do {
+        chars[length++] = (char) ('0' + digits % 10);
+        digits /= 10;
+      } while (digits != 0);
+
+      for (int i = start, j = length - 1; i < j; i++, j--) {
+        char c = chars[i];
+        chars[i] = chars[j];
+        chars[j] = c;
+      }
+
+      // like Double.toString, whole doubles end with .0
+      if (isDouble && fractionDigits == 0) {
+        chars[length++] = '.';
+        chars[length++] = '0';
       }
     }
-    return buf.toString();
   }
 }
@@ -16,14 +16,24 @@
  */
 package org.knowm.xchart;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.internal.CSVParser;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.style.Styler.ChartTheme;
 
 /**
@@ -54,40 +64,93 @@ public class CSVImporter {
    */
   public static XYChart getChartFromCSVDir(String path2Directory, DataOrientation dataOrientation, int width, int height, ChartTheme chartTheme) {
 
+    CSVDirImport csvDirImport = importCSVDir(path2Directory, dataOrientation, width, height, chartTheme, Runtime.getRuntime().availableProcessors());
+    for (Map.Entry<File, Exception> error : csvDirImport.getErrors().entrySet()) {
+      System.out.println("Exception while reading csv file " + error.getKey() + ": " + error.getValue());
+    }
+    return csvDirImport.getChart();
+  }
+
+  /**
+   * Creates a chart from the CSV files in a directory, parsing up to numThreads files at the same time. The series are added in the order of the file names,
+   * independent of the order in which the files are parsed. A file that can't be read or parsed doesn't stop the import, it is left out and its error is
+   * returned with the chart.
+   *
+   * @param path2Directory
+   * @param dataOrientation
+   * @param width
+   * @param height
+   * @param chartTheme the theme, or null for the default theme
+   * @param numThreads the maximum number of files to parse at the same time
+   * @return the chart, the errors per file and the throughput
+   */
+  public static CSVDirImport importCSVDir(String path2Directory, final DataOrientation dataOrientation, int width, int height, ChartTheme chartTheme,
+      int numThreads) {
+
+    if (numThreads < 1) {
+      throw new IllegalArgumentException("The number of threads must be at least 1!!!");
+    }
+    long startTime = System.nanoTime();
+
     // 1. get the directory, name chart the dir name
     XYChart chart = getChart(width, height, chartTheme);
 
-    // 2. get all the csv files in the dir
+    // 2. get all the csv files in the dir, sorted by name
     File[] csvFiles = getAllFiles(path2Directory, ".*.csv");
+    Arrays.sort(csvFiles, new Comparator<File>() {
 
-    // 3. create a series for each file, naming the series the file name
-    for (int i = 0; i < csvFiles.length; i++) {
-      File csvFile = csvFiles[i];
-      String[] xAndYData;
-      if (dataOrientation == DataOrientation.Rows) {
-        xAndYData = getSeriesDataFromCSVRows(csvFile);
-      }
-      else {
-        xAndYData = getSeriesDataFromCSVColumns(csvFile);
+      @Override
+      public int compare(File file1, File file2) {
+
+        return file1.getName().compareTo(file2.getName());
       }
+    });
 
-      addSeriesToChart(chart, csvFile, xAndYData);
-    }
+    // 3. parse the files concurrently
+    List<Future<double[][]>> futures = new ArrayList<>(csvFiles.length);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(numThreads, csvFiles.length)));
+    try {
+      for (final File csvFile : csvFiles) {
+        futures.add(executor.submit(new Callable<double[][]>() {
 
-    return chart;
-  }
+          @Override
+          public double[][] call() throws Exception {
 
-  private static void addSeriesToChart(XYChart chart, File csvFile, String[] xAndYData) {
-    if (hasErrorBars(xAndYData[ERROR_BARS])) {
-      chart.addSeries(csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")), getAxisData(xAndYData[X_DATA]), getAxisData(xAndYData[Y_DATA]));
-    }
-    else {
-      chart.addSeries(csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")), getAxisData(xAndYData[X_DATA]), getAxisData(xAndYData[Y_DATA]), getAxisData(xAndYData[ERROR_BARS]));
+            return getSeriesDataFromCSVFile(csvFile, dataOrientation);
+          }
+        }));
+      }
+
+      // 4. create a series for each file in file name order, naming the series the file name
+      Map<File, Exception> errors = new LinkedHashMap<>();
+      long bytesRead = 0;
+      for (int i = 0; i < csvFiles.length; i++) {
+        File csvFile = csvFiles[i];
+        try {
+          double[][] xAndYData = futures.get(i).get();
+          bytesRead += csvFile.length();
+          addSeriesToChart(chart, csvFile, xAndYData);
+        } catch (ExecutionException e) {
+          errors.put(csvFile, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (IllegalArgumentException e) {
+          errors.put(csvFile, e);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          errors.put(csvFile, e);
+          break;
+        }
+      }
+
+      return new CSVDirImport(chart, errors, bytesRead, System.nanoTime() - startTime);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
-  private static boolean hasErrorBars(String string) {
-    return string == null || string.trim().equalsIgnoreCase("");
+  private static void addSeriesToChart(XYChart chart, File csvFile, double[][] xAndYData) {
+
+    double[] errorBars = xAndYData.length > ERROR_BARS ? xAndYData[ERROR_BARS] : null;
+    chart.addSeries(csvFile.getName().substring(0, csvFile.getName().indexOf(".csv")), xAndYData[X_DATA], AxisDataType.Number, xAndYData[Y_DATA], errorBars);
   }
 
   private static XYChart getChart(int width, int height, ChartTheme chartTheme) {
@@ -113,94 +176,27 @@ public class CSVImporter {
   }
 
   /**
-   * Get the series's data from a file
+   * Get the series's data from a file. The file is memory-mapped and the numbers are parsed straight from its bytes, so large files are read in linear time.
    *
    * @param csvFile
-   * @return
+   * @param dataOrientation
+   * @return the x data, the y data and, if the file has a third row or column, the error bars
+   * @throws IOException if the file can't be read
+   * @throws NumberFormatException if a value isn't a number
    */
-  private static String[] getSeriesDataFromCSVRows(File csvFile) {
-
-    String[] xAndYData = new String[3];
+  public static double[][] getSeriesDataFromCSVFile(File csvFile, DataOrientation dataOrientation) throws IOException {
 
-    BufferedReader bufferedReader = null;
-    try {
-      int counter = 0;
-      String line = null;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        xAndYData[counter++] = line;
-      }
-
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
-      }
+    double[][] xAndYData;
+    if (dataOrientation == DataOrientation.Rows) {
+      xAndYData = CSVParser.parseRows(csvFile, DELIMITER.charAt(0), ERROR_BARS + 1);
     }
-    return xAndYData;
-  }
-
-  /**
-   * @param csvFile
-   * @return
-   */
-  private static String[] getSeriesDataFromCSVColumns(File csvFile) {
-    String[] xAndYData = new String[3];
-    xAndYData[X_DATA] = "";
-    xAndYData[Y_DATA] = "";
-    xAndYData[ERROR_BARS] = "";
-
-    BufferedReader bufferedReader = null;
-    try {
-      String line = null;
-      bufferedReader = new BufferedReader(new FileReader(csvFile));
-      while ((line = bufferedReader.readLine()) != null) {
-        String[] dataArray = line.split(DELIMITER);
-        xAndYData[X_DATA] += dataArray[X_DATA] + DELIMITER;
-        xAndYData[Y_DATA] += dataArray[Y_DATA] + DELIMITER;
-        if (dataArray.length > 2) {
-          xAndYData[ERROR_BARS] += dataArray[ERROR_BARS] + DELIMITER;
-        }
-      }
-
-    } catch (Exception e) {
-      System.out.println("Exception while reading csv file: " + e);
-    } finally {
-      if (bufferedReader != null) {
-        try {
-          bufferedReader.close();
-        } catch (IOException e) {
-          e.printStackTrace();
-        }
-      }
+    else {
+      xAndYData = CSVParser.parseColumns(csvFile, DELIMITER.charAt(0), ERROR_BARS + 1);
     }
-    return xAndYData;
-  }
-
-  /**
-   * @param stringData
-   * @return
-   */
-  private static List<Number> getAxisData(String stringData) {
-
-    List<Number> axisData = new ArrayList<>();
-    String[] stringDataArray = stringData.split(DELIMITER);
-    for (int i = 0; i < stringDataArray.length; i++) {
-      String dataPoint = stringDataArray[i];
-      try {
-        Double value = Double.parseDouble(dataPoint);
-        axisData.add(value);
-      } catch (NumberFormatException e) {
-        System.out.println("Error parsing >" + dataPoint + "< !");
-        throw e;
-      }
+    if (xAndYData.length <= Y_DATA) {
+      throw new IOException(csvFile + " does not contain x and y data!!!");
     }
-    return axisData;
+    return xAndYData;
   }
 
   /**
@@ -255,4 +251,68 @@ public class CSVImporter {
     }
   }
 
+  /**
+   * The result of importing a directory of CSV files
+   */
+  public static class CSVDirImport {
+
+    private final XYChart chart;
+    private final Map<File, Exception> errors;
+    private final long bytesRead;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor
+     *
+     * @param chart
+     * @param errors
+     * @param bytesRead
+     * @param elapsedNanos
+     */
+    CSVDirImport(XYChart chart, Map<File, Exception> errors, long bytesRead, long elapsedNanos) {
+
+      this.chart = chart;
+      this.errors = Collections.unmodifiableMap(errors);
+      this.bytesRead = bytesRead;
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the chart with one series for each file that was imported
+     */
+    public XYChart getChart() {
+
+      return chart;
+    }
+
+    /**
+     * @return the error of each file that could not be imported, in file name order
+     */
+    public Map<File, Exception> getErrors() {
+
+      return errors;
+    }
+
+    /**
+     * @return the total size of the imported files
+     */
+    public long getBytesRead() {
+
+      return bytesRead;
+    }
+
+    public long getElapsedNanos() {
+
+      return elapsedNanos;
+    }
+
+    /**
+     * @return the total size of the imported files divided by the time the whole import took
+     */
+    public double getBytesPerSecond() {
+
+      return elapsedNanos == 0 ? 0 : bytesRead * 1e9 / elapsedNanos;
+    }
+  }
+
 }
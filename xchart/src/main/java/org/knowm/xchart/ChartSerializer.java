@@ -0,0 +1,799 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.knowm.xchart.BinarySeriesData.Compression;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.PieChart;
+import org.knowm.xchart.charts.PieSeries;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.internal.Series;
+import org.knowm.xchart.internal.Series_AxesChart;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.style.Styler;
+import org.knowm.xchart.style.Theme;
+import org.knowm.xchart.style.lines.SeriesLines;
+import org.knowm.xchart.style.markers.Marker;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * This class is used to save a fully configured XYChart, CategoryChart or PieChart, with its Styler and Series, and to restore it later in a single pass.
+ * <p>
+ * The format is versioned. The Styler and Series properties are saved by name, as the values of their public getter and setter pairs, so a newer version that
+ * adds or removes properties can still read older files and properties it doesn't know are skipped. The data columns of the series are saved in the binary
+ * series format of {@link BinaryExporter}.
+ *
+ * @author timmolter
+ */
+public class ChartSerializer {
+
+  public static final int MAGIC = 0x58434353; // "XCCS"
+  public static final int VERSION = 1;
+
+  private enum ChartType {
+
+    XY, Category, Pie
+  }
+
+  // value tags
+  private static final byte NULL = 0;
+  private static final byte BOOLEAN = 1;
+  private static final byte INT = 2;
+  private static final byte LONG = 3;
+  private static final byte FLOAT = 4;
+  private static final byte DOUBLE = 5;
+  private static final byte STRING = 6;
+  private static final byte ENUM = 7;
+  private static final byte COLOR = 8;
+  private static final byte FONT = 9;
+  private static final byte STROKE = 10;
+  private static final byte NONE_STROKE = 11;
+  private static final byte MARKER = 12;
+  private static final byte LOCALE = 13;
+  private static final byte TIME_ZONE = 14;
+  private static final byte ARRAY = 15;
+
+  /** the non-enum types readValue returns, the only component types of arrays read back besides the enums of ENUM_PACKAGE */
+  private static final Class<?>[] VALUE_TYPES = { Boolean.class, Integer.class, Long.class, Float.class, Double.class, String.class, Color.class, Font.class,
+      BasicStroke.class, Marker.class, Locale.class, TimeZone.class };
+
+  /** the package of the enums a saved chart may name, no other enum class is loaded */
+  private static final String ENUM_PACKAGE = "org.knowm.xchart.";
+
+  /** the maximum length of an array or a dash array read back, styler arrays hold a few entries per series */
+  private static final int MAX_ARRAY_LENGTH = 1 << 16;
+
+  /** series data are read in chunks of this size, so a corrupt length runs into the end of the input before much is allocated */
+  private static final int READ_CHUNK_SIZE = 1 << 16;
+
+  /** the getter and setter pairs of each class, sorted by name */
+  private static final Map<Class<?>, List<Property>> PROPERTIES = new ConcurrentHashMap<Class<?>, List<Property>>();
+
+  /**
+   * Saves a chart to a file, with uncompressed data columns
+   *
+   * @param chart
+   * @param file
+   * @throws IOException
+   */
+  public static void writeChart(Chart<?, ?> chart, File file) throws IOException {
+
+    OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+    try {
+      writeChart(chart, out, Compression.None);
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Saves a chart to a stream. The stream is not closed.
+   *
+   * @param chart
+   * @param out
+   * @param compression the compression of the data columns
+   * @throws IOException
+   */
+  public static void writeChart(Chart<?, ?> chart, OutputStream out, Compression compression) throws IOException {
+
+    DataOutputStream data = new DataOutputStream(out);
+
+    // header
+    data.writeInt(MAGIC);
+    data.writeInt(VERSION);
+    ChartType chartType = getChartType(chart);
+    data.writeByte(chartType.ordinal());
+    data.writeInt(chart.getWidth());
+    data.writeInt(chart.getHeight());
+    writeNullableString(data, chart.getTitle());
+    writeNullableString(data, chart.getXAxisTitle());
+    writeNullableString(data, chart.getyYAxisTitle());
+
+    // styler
+    Theme theme = getTheme(chart.getStyler());
+    writeNullableString(data, theme == null ? null : theme.getClass().getName());
+    writeProperties(data, chart.getStyler());
+
+    // series
+    data.writeInt(chart.getSeriesMap().size());
+    for (Series series : chart.getSeriesMap().values()) {
+      if (series instanceof Series_AxesChart) {
+        ByteArrayOutputStream seriesData = new ByteArrayOutputStream();
+        BinaryExporter.writeSeries((Series_AxesChart) series, Channels.newChannel(seriesData), compression);
+        data.writeInt(seriesData.size());
+        seriesData.writeTo(data);
+      }
+      else {
+        data.writeUTF(series.getName());
+        data.writeDouble(((PieSeries) series).getValue().doubleValue());
+      }
+      writeProperties(data, series);
+    }
+
+    data.flush();
+  }
+
+  /**
+   * @param chart
+   * @return the chart saved in memory, with uncompressed data columns
+   */
+  public static byte[] snapshot(Chart<?, ?> chart) {
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      writeChart(chart, out, Compression.None);
+    } catch (IOException e) {
+      // a ByteArrayOutputStream doesn't throw
+      throw new IllegalStateException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Restores a chart from a file
+   *
+   * @param file
+   * @return the chart, an XYChart, CategoryChart or PieChart
+   * @throws IOException if the file can't be read or isn't a saved chart
+   */
+  public static Chart<?, ?> readChart(File file) throws IOException {
+
+    InputStream in = new BufferedInputStream(new FileInputStream(file));
+    try {
+      return readChart(in);
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Restores a chart from a snapshot
+   *
+   * @param snapshot
+   * @return the chart, an XYChart, CategoryChart or PieChart
+   * @throws IOException if the snapshot isn't a saved chart
+   */
+  public static Chart<?, ?> restore(byte[] snapshot) throws IOException {
+
+    return readChart(new ByteArrayInputStream(snapshot));
+  }
+
+  /**
+   * Restores a chart from a stream. The stream is not closed.
+   *
+   * @param in
+   * @return the chart, an XYChart, CategoryChart or PieChart
+   * @throws IOException if the stream can't be read or isn't a saved chart
+   */
+  public static Chart<?, ?> readChart(InputStream in) throws IOException {
+
+    try {
+      return readChart(new DataInputStream(in));
+    } catch (RuntimeException e) {
+      // e.g. a value a setter rejects
+      throw new IOException("Invalid chart: " + e, e);
+    }
+  }
+
+  private static Chart<?, ?> readChart(DataInputStream data) throws IOException {
+
+    // header
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a saved chart!!!");
+    }
+    int version = data.readInt();
+    if (version > VERSION) {
+      throw new IOException("Unsupported version " + version + "!!!");
+    }
+    int chartTypeOrdinal = data.readUnsignedByte();
+    if (chartTypeOrdinal >= ChartType.values().length) {
+      throw new IOException("Unknown chart type " + chartTypeOrdinal + "!!!");
+    }
+    ChartType chartType = ChartType.values()[chartTypeOrdinal];
+    int width = data.readInt();
+    int height = data.readInt();
+    String title = readNullableString(data);
+    String xAxisTitle = readNullableString(data);
+    String yAxisTitle = readNullableString(data);
+
+    // styler
+    Theme theme = newTheme(readNullableString(data));
+    Chart<?, ?> chart;
+    switch (chartType) {
+    case XY:
+      chart = theme == null ? new XYChart(width, height) : new XYChart(width, height, theme);
+      break;
+    case Category:
+      chart = theme == null ? new CategoryChart(width, height) : new CategoryChart(width, height, theme);
+      break;
+    default:
+      chart = theme == null ? new PieChart(width, height) : new PieChart(width, height, theme);
+      break;
+    }
+    chart.setTitle(title);
+    chart.setXAxisTitle(xAxisTitle);
+    chart.setYAxisTitle(yAxisTitle);
+    readProperties(data, chart.getStyler());
+
+    // series
+    int seriesCount = data.readInt();
+    for (int i = 0; i < seriesCount; i++) {
+      Series series;
+      if (chartType == ChartType.Pie) {
+        series = ((PieChart) chart).addSeries(data.readUTF(), data.readDouble());
+      }
+      else {
+        byte[] seriesBytes = readBytes(data, data.readInt());
+        BinarySeriesData seriesData;
+        try {
+          seriesData = BinaryImporter.readSeriesData(ByteBuffer.wrap(seriesBytes).order(ByteOrder.LITTLE_ENDIAN));
+        } catch (RuntimeException e) {
+          throw new IOException("Invalid series data: " + e, e);
+        }
+        if (chartType == ChartType.XY) {
+          series = BinaryImporter.addXYSeries((XYChart) chart, seriesData);
+        }
+        else {
+          series = BinaryImporter.addCategorySeries((CategoryChart) chart, seriesData);
+        }
+      }
+      readProperties(data, series);
+    }
+
+    return chart;
+  }
+
+  private static ChartType getChartType(Chart<?, ?> chart) {
+
+    if (chart instanceof XYChart) {
+      return ChartType.XY;
+    }
+    if (chart instanceof CategoryChart) {
+      return ChartType.Category;
+    }
+    if (chart instanceof PieChart) {
+      return ChartType.Pie;
+    }
+    throw new IllegalArgumentException("Only XYChart, CategoryChart and PieChart can be saved!!!");
+  }
+
+  private static Theme getTheme(Styler styler) {
+
+    try {
+      return (Theme) styler.getClass().getMethod("getTheme").invoke(styler);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static Theme newTheme(String className) {
+
+    if (className == null) {
+      return null;
+    }
+    Class<?> themeType = getClass(className);
+    if (themeType == null || !Theme.class.isAssignableFrom(themeType)) {
+      return null;
+    }
+    try {
+      return (Theme) themeType.getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      // the properties are restored anyway
+      return null;
+    }
+  }
+
+  private static void writeNullableString(DataOutputStream data, String string) throws IOException {
+
+    data.writeBoolean(string != null);
+    if (string != null) {
+      data.writeUTF(string);
+    }
+  }
+
+  /**
+   * Reads a number of bytes given by the input, in chunks, so that a corrupt length fails at the end of the input rather than with a huge allocation
+   */
+  private static byte[] readBytes(DataInputStream data, int length) throws IOException {
+
+    if (length < 0) {
+      throw new IOException("Negative length " + length + "!!!");
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.min(length, READ_CHUNK_SIZE));
+    byte[] chunk = new byte[Math.min(length, READ_CHUNK_SIZE)];
+    int remaining = length;
+    while (remaining > 0) {
+      int chunkLength = Math.min(remaining, chunk.length);
+      data.readFully(chunk, 0, chunkLength);
+      bytes.write(chunk, 0, chunkLength);
+      remaining -= chunkLength;
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @return the length of an array read from the input, if it is within the maximum length of arrays
+   */
+  private static int checkArrayLength(int length) throws IOException {
+
+    if (length < 0 || length > MAX_ARRAY_LENGTH) {
+      throw new IOException("Invalid array length " + length + "!!!");
+    }
+    return length;
+  }
+
+  private static String readNullableString(DataInputStream data) throws IOException {
+
+    return data.readBoolean() ? data.readUTF() : null;
+  }
+
+  // Properties /////////////////////////////////////////////////
+
+  private static void writeProperties(DataOutputStream data, Object object) throws IOException {
+
+    List<Property> properties = getProperties(object.getClass());
+    List<Object> values = new ArrayList<Object>(properties.size());
+    List<Property> writableProperties = new ArrayList<Property>(properties.size());
+    for (Property property : properties) {
+      Object value = property.get(object);
+      if (isWritable(value)) {
+        writableProperties.add(property);
+        values.add(value);
+      }
+    }
+
+    data.writeInt(writableProperties.size());
+    for (int i = 0; i < writableProperties.size(); i++) {
+      data.writeUTF(writableProperties.get(i).name);
+      writeValue(data, values.get(i));
+    }
+  }
+
+  private static void readProperties(DataInputStream data, Object object) throws IOException {
+
+    List<Property> properties = getProperties(object.getClass());
+    int count = data.readInt();
+    for (int i = 0; i < count; i++) {
+      String name = data.readUTF();
+      Object value = readValue(data);
+      for (Property property : properties) {
+        if (property.name.equals(name)) {
+          property.set(object, value);
+          break;
+        }
+      }
+    }
+  }
+
+  private static List<Property> getProperties(Class<?> type) {
+
+    List<Property> properties = PROPERTIES.get(type);
+    if (properties != null) {
+      return properties;
+    }
+
+    properties = new ArrayList<Property>();
+    for (Method setter : type.getMethods()) {
+      String name = setter.getName();
+      if (!name.startsWith("set") || name.length() == 3 || setter.getParameterTypes().length != 1 || Modifier.isStatic(setter.getModifiers())) {
+        continue;
+      }
+      Method getter = getGetter(type, name.substring(3), setter.getParameterTypes()[0]);
+      if (getter != null) {
+        properties.add(new Property(name.substring(3), getter, setter));
+      }
+    }
+    Collections.sort(properties, new Comparator<Property>() {
+
+      @Override
+      public int compare(Property property1, Property property2) {
+
+        return property1.name.compareTo(property2.name);
+      }
+    });
+
+    PROPERTIES.put(type, properties);
+    return properties;
+  }
+
+  private static Method getGetter(Class<?> type, String name, Class<?> valueType) {
+
+    for (String prefix : new String[] { "get", "is" }) {
+      try {
+        Method getter = type.getMethod(prefix + name);
+        if (box(valueType).isAssignableFrom(box(getter.getReturnType()))) {
+          return getter;
+        }
+      } catch (NoSuchMethodException e) {
+        // try the next prefix
+      }
+    }
+    return null;
+  }
+
+  private static Class<?> box(Class<?> type) {
+
+    if (!type.isPrimitive()) {
+      return type;
+    }
+    if (type == boolean.class) {
+      return Boolean.class;
+    }
+    if (type == int.class) {
+      return Integer.class;
+    }
+    if (type == long.class) {
+      return Long.class;
+    }
+    if (type == float.class) {
+      return Float.class;
+    }
+    return Double.class;
+  }
+
+  /**
+   * A public getter and setter pair
+   */
+  private static class Property {
+
+    private final String name;
+    private final Method getter;
+    private final Method setter;
+
+    private Property(String name, Method getter, Method setter) {
+
+      this.name = name;
+      this.getter = getter;
+      this.setter = setter;
+    }
+
+    private Object get(Object object) {
+
+      try {
+        return getter.invoke(object);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      } catch (InvocationTargetException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    private void set(Object object, Object value) {
+
+      Class<?> valueType = setter.getParameterTypes()[0];
+      if (value == null ? valueType.isPrimitive() : !box(valueType).isInstance(value)) {
+        // e.g. an unset axis min, or a property whose type changed
+        return;
+      }
+      try {
+        setter.invoke(object, value);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(e);
+      } catch (InvocationTargetException e) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  // Values /////////////////////////////////////////////////
+
+  private static boolean isWritable(Object value) {
+
+    if (value != null && value.getClass().isArray()) {
+      if (value.getClass().getComponentType().isPrimitive()) {
+        return false;
+      }
+      for (int i = 0; i < Array.getLength(value); i++) {
+        if (!isWritable(Array.get(value, i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return value == null || value instanceof Boolean || value instanceof Integer || value instanceof Long || value instanceof Float || value instanceof Double
+        || value instanceof String || value instanceof Enum || value instanceof Color || value instanceof Font || value instanceof BasicStroke
+        || value instanceof Locale || value instanceof TimeZone || (value instanceof Marker && newMarker(value.getClass().getName()) != null);
+  }
+
+  private static void writeValue(DataOutputStream data, Object value) throws IOException {
+
+    if (value == null) {
+      data.writeByte(NULL);
+    }
+    else if (value instanceof Boolean) {
+      data.writeByte(BOOLEAN);
+      data.writeBoolean((Boolean) value);
+    }
+    else if (value instanceof Integer) {
+      data.writeByte(INT);
+      data.writeInt((Integer) value);
+    }
+    else if (value instanceof Long) {
+      data.writeByte(LONG);
+      data.writeLong((Long) value);
+    }
+    else if (value instanceof Float) {
+      data.writeByte(FLOAT);
+      data.writeFloat((Float) value);
+    }
+    else if (value instanceof Double) {
+      data.writeByte(DOUBLE);
+      data.writeDouble((Double) value);
+    }
+    else if (value instanceof String) {
+      data.writeByte(STRING);
+      data.writeUTF((String) value);
+    }
+    else if (value instanceof Enum) {
+      data.writeByte(ENUM);
+      data.writeUTF(((Enum<?>) value).getDeclaringClass().getName());
+      data.writeUTF(((Enum<?>) value).name());
+    }
+    else if (value instanceof Color) {
+      data.writeByte(COLOR);
+      data.writeInt(((Color) value).getRGB());
+    }
+    else if (value instanceof Font) {
+      Font font = (Font) value;
+      data.writeByte(FONT);
+      data.writeUTF(font.getName());
+      data.writeInt(font.getStyle());
+      data.writeFloat(font.getSize2D());
+    }
+    else if (value == SeriesLines.NONE) {
+      data.writeByte(NONE_STROKE);
+    }
+    else if (value instanceof BasicStroke) {
+      BasicStroke stroke = (BasicStroke) value;
+      data.writeByte(STROKE);
+      data.writeFloat(stroke.getLineWidth());
+      data.writeInt(stroke.getEndCap());
+      data.writeInt(stroke.getLineJoin());
+      data.writeFloat(stroke.getMiterLimit());
+      float[] dashArray = stroke.getDashArray();
+      data.writeInt(dashArray == null ? -1 : dashArray.length);
+      if (dashArray != null) {
+        for (float dash : dashArray) {
+          data.writeFloat(dash);
+        }
+      }
+      data.writeFloat(stroke.getDashPhase());
+    }
+    else if (value instanceof Marker) {
+      data.writeByte(MARKER);
+      data.writeUTF(value.getClass().getName());
+    }
+    else if (value instanceof Locale) {
+      data.writeByte(LOCALE);
+      data.writeUTF(((Locale) value).toLanguageTag());
+    }
+    else if (value instanceof TimeZone) {
+      data.writeByte(TIME_ZONE);
+      data.writeUTF(((TimeZone) value).getID());
+    }
+    else {
+      data.writeByte(ARRAY);
+      data.writeUTF(value.getClass().getComponentType().getName());
+      data.writeInt(Array.getLength(value));
+      for (int i = 0; i < Array.getLength(value); i++) {
+        writeValue(data, Array.get(value, i));
+      }
+    }
+  }
+
+  private static Object readValue(DataInputStream data) throws IOException {
+
+    byte tag = data.readByte();
+    switch (tag) {
+    case NULL:
+      return null;
+    case BOOLEAN:
+      return data.readBoolean();
+    case INT:
+      return data.readInt();
+    case LONG:
+      return data.readLong();
+    case FLOAT:
+      return data.readFloat();
+    case DOUBLE:
+      return data.readDouble();
+    case STRING:
+      return data.readUTF();
+    case ENUM:
+      return newEnum(data.readUTF(), data.readUTF());
+    case COLOR:
+      return new Color(data.readInt(), true);
+    case FONT:
+      return new Font(data.readUTF(), data.readInt(), 1).deriveFont(data.readFloat());
+    case NONE_STROKE:
+      return SeriesLines.NONE;
+    case STROKE: {
+      float width = data.readFloat();
+      int cap = data.readInt();
+      int join = data.readInt();
+      float miterLimit = data.readFloat();
+      // -1 for no dash array
+      int dashLength = data.readInt();
+      float[] dashArray = dashLength == -1 ? null : new float[checkArrayLength(dashLength)];
+      for (int i = 0; dashArray != null && i < dashArray.length; i++) {
+        dashArray[i] = data.readFloat();
+      }
+      float dashPhase = data.readFloat();
+      try {
+        return new BasicStroke(width, cap, join, miterLimit, dashArray, dashPhase);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Invalid stroke: " + e.getMessage(), e);
+      }
+    }
+    case MARKER:
+      return newMarker(data.readUTF());
+    case LOCALE:
+      return Locale.forLanguageTag(data.readUTF());
+    case TIME_ZONE:
+      return TimeZone.getTimeZone(data.readUTF());
+    case ARRAY: {
+      Class<?> componentType = getClass(data.readUTF());
+      int length = checkArrayLength(data.readInt());
+      Object[] values = new Object[length];
+      for (int i = 0; i < length; i++) {
+        values[i] = readValue(data);
+      }
+      if (componentType == null || !isValueComponentType(componentType)) {
+        return null;
+      }
+      Object array = Array.newInstance(componentType, length);
+      for (int i = 0; i < length; i++) {
+        if (values[i] != null && !componentType.isInstance(values[i])) {
+          return null;
+        }
+        Array.set(array, i, values[i]);
+      }
+      return array;
+    }
+    default:
+      throw new IOException("Unknown value tag " + tag + "!!!");
+    }
+  }
+
+  /**
+   * Loads a class named in the input without initializing it, so that no static initializer runs before the caller has checked the type
+   *
+   * @return the class, or null if it does not exist
+   */
+  private static Class<?> getClass(String className) {
+
+    try {
+      return Class.forName(className, false, ChartSerializer.class.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      return null;
+    } catch (LinkageError e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return true if an array with this component type can hold the values readValue returns
+   */
+  private static boolean isValueComponentType(Class<?> componentType) {
+
+    if (componentType.isArray()) {
+      return isValueComponentType(componentType.getComponentType());
+    }
+    if (componentType.isEnum()) {
+      return componentType.getName().startsWith(ENUM_PACKAGE);
+    }
+    return Arrays.asList(VALUE_TYPES).contains(componentType);
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Object newEnum(String className, String name) {
+
+    // Enum.valueOf initializes the class, so only the enums of this library are looked up
+    if (!className.startsWith(ENUM_PACKAGE)) {
+      return null;
+    }
+    Class<?> enumType = getClass(className);
+    if (enumType == null || !enumType.isEnum()) {
+      return null;
+    }
+    try {
+      return Enum.valueOf((Class<Enum>) enumType, name);
+    } catch (IllegalArgumentException e) {
+      // a constant that no longer exists
+      return null;
+    }
+  }
+
+  /**
+   * @return the matching SeriesMarkers constant, so that identity checks keep working, or a new instance
+   */
+  private static Marker newMarker(String className) {
+
+    for (Field field : SeriesMarkers.class.getFields()) {
+      try {
+        Object marker = field.get(null);
+        if (marker != null && marker.getClass().getName().equals(className)) {
+          return (Marker) marker;
+        }
+      } catch (IllegalAccessException e) {
+        // not a constant
+      }
+    }
+    Class<?> markerType = getClass(className);
+    if (markerType == null || !Marker.class.isAssignableFrom(markerType)) {
+      return null;
+    }
+    try {
+      return (Marker) markerType.getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      return null;
+    }
+  }
+}
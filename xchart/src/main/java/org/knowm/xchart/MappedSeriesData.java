@@ -0,0 +1,273 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.nio.DoubleBuffer;
+
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.ColumnDecimation;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * The data of one series in an uncompressed binary series file, memory-mapped by {@link BinaryImporter#mapSeriesData(java.io.File)} rather than read, so
+ * files larger than the heap can be charted. The x and y columns are only ever scanned sequentially from the mapping: once for their ranges, and for each
+ * X-Axis range that is shown, to reduce its data points to the first, lowest, highest and last data point of each pixel column, which is all a line paints.
+ * Only the reduced data points go onto the heap, as the data of an ordinary XYSeries, so a capture of 20 GB can be charted on a heap of 2 GB.
+ * <p>
+ * The columns are mapped in segments, as a single mapping can't exceed 2 GB, so a file can hold up to Integer.MAX_VALUE data points. The x data must be in
+ * ascending order to be reduced.
+ *
+ * @author timmolter
+ */
+public class MappedSeriesData {
+
+  /** the number of doubles per mapped segment, 1 GB */
+  static final int SEGMENT_SIZE = 1 << 27;
+
+  private final String name;
+  private final AxisDataType xAxisType;
+  private final int size;
+  private final DoubleBuffer[] xSegments;
+  private final DoubleBuffer[] ySegments;
+
+  // the ranges and order of the data, scanned on first use
+  private boolean isScanned;
+  private double xMin;
+  private double xMax;
+  private double yMin;
+  private double yMax;
+  private boolean isXAscending;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param xAxisType
+   * @param size
+   * @param xSegments the x data in segments of SEGMENT_SIZE values
+   * @param ySegments the y data in segments of SEGMENT_SIZE values
+   */
+  MappedSeriesData(String name, AxisDataType xAxisType, int size, DoubleBuffer[] xSegments, DoubleBuffer[] ySegments) {
+
+    this.name = name;
+    this.xAxisType = xAxisType;
+    this.size = size;
+    this.xSegments = xSegments;
+    this.ySegments = ySegments;
+  }
+
+  public String getName() {
+
+    return name;
+  }
+
+  public AxisDataType getxAxisDataType() {
+
+    return xAxisType;
+  }
+
+  /**
+   * @return the number of data points
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @param index
+   * @return the x value of a data point, epoch milliseconds for Dates
+   */
+  public double getX(int index) {
+
+    return xSegments[index / SEGMENT_SIZE].get(index % SEGMENT_SIZE);
+  }
+
+  /**
+   * @param index
+   * @return the y value of a data point
+   */
+  public double getY(int index) {
+
+    return ySegments[index / SEGMENT_SIZE].get(index % SEGMENT_SIZE);
+  }
+
+  public double getXMin() {
+
+    scan();
+    return xMin;
+  }
+
+  public double getXMax() {
+
+    scan();
+    return xMax;
+  }
+
+  /**
+   * @return the lowest y value, skipping missing values (NaN)
+   */
+  public double getYMin() {
+
+    scan();
+    return yMin;
+  }
+
+  /**
+   * @return the highest y value, skipping missing values (NaN)
+   */
+  public double getYMax() {
+
+    scan();
+    return yMax;
+  }
+
+  public boolean isXAscending() {
+
+    scan();
+    return isXAscending;
+  }
+
+  /**
+   * Reduces the data points with x values in [xMin, xMax] to the first, lowest, highest and last data point of each of width equal parts of the range, which
+   * draw the same line on a plot of width pixels as all of them, though not the same markers. The data points next to the range are kept, so the line runs to
+   * the edges of the plot, and a single missing value is kept per gap.
+   *
+   * @param xMin
+   * @param xMax
+   * @param width the number of pixel columns
+   * @return the x data and the y data of the remaining data points
+   */
+  public double[][] reduce(double xMin, double xMax, int width) {
+
+    if (!isXAscending()) {
+      throw new IllegalArgumentException("X-Data must be in ascending order to be reduced!!!");
+    }
+    if (width < 1) {
+      throw new IllegalArgumentException("The width must be at least 1!!!");
+    }
+
+    int from = Math.max(0, binarySearch(xMin, false) - 1);
+    int to = Math.min(size, binarySearch(xMax, true) + 1);
+    double columnsPerX = xMax > xMin ? width / (xMax - xMin) : 0;
+
+    ColumnDecimation decimation = new ColumnDecimation(4 * width + 8);
+    for (int i = from; i < to; i++) {
+      // the data points outside the range get columns of their own
+      decimation.add(i, Math.max(-1, Math.min(width, Math.floor((getX(i) - xMin) * columnsPerX))), getY(i));
+    }
+
+    int[] indices = decimation.getIndices();
+    double[][] reduced = { new double[indices.length], new double[indices.length] };
+    for (int i = 0; i < indices.length; i++) {
+      reduced[0][i] = getX(indices[i]);
+      reduced[1][i] = getY(indices[i]);
+    }
+    return reduced;
+  }
+
+  /**
+   * Adds the data reduced to the whole X-Axis range as a series to a chart
+   *
+   * @param chart
+   * @param width the number of pixel columns of the plot
+   * @return the new series
+   */
+  public XYSeries addXYSeries(XYChart chart, int width) {
+
+    double[][] reduced = reduce(getXMin(), getXMax(), width);
+    return chart.addSeries(name, reduced[0], xAxisType, reduced[1], null);
+  }
+
+  /**
+   * Replaces the data of a series with the data reduced to an X-Axis range, e.g. when zooming. Set the range of the X-Axis of the chart to the same range.
+   *
+   * @param series a series added by addXYSeries
+   * @param xMin
+   * @param xMax
+   * @param width the number of pixel columns of the plot
+   */
+  public void updateXYSeries(XYSeries series, double xMin, double xMax, int width) {
+
+    double[][] reduced = reduce(xMin, xMax, width);
+    series.replaceColumns(reduced[0], reduced[1], null);
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  /**
+   * Scans the columns segment by segment, in file order.
+   */
+  private synchronized void scan() {
+
+    if (isScanned) {
+      return;
+    }
+
+    xMin = Double.MAX_VALUE;
+    xMax = -Double.MAX_VALUE;
+    yMin = Double.MAX_VALUE;
+    yMax = -Double.MAX_VALUE;
+    isXAscending = true;
+    double previousX = Double.NEGATIVE_INFINITY;
+
+    for (int segment = 0; segment < xSegments.length; segment++) {
+      DoubleBuffer xSegment = xSegments[segment];
+      DoubleBuffer ySegment = ySegments[segment];
+      for (int i = 0, length = xSegment.limit(); i < length; i++) {
+
+        double x = xSegment.get(i);
+        xMin = Math.min(xMin, x);
+        xMax = Math.max(xMax, x);
+        isXAscending &= x >= previousX;
+        previousX = x;
+
+        double y = ySegment.get(i);
+        if (!Double.isNaN(y)) {
+          yMin = Math.min(yMin, y);
+          yMax = Math.max(yMax, y);
+        }
+      }
+    }
+    isScanned = true;
+  }
+
+  /**
+   * @param value
+   * @param isUpper false to find the first index with an x value greater or equal to value, true for the first index with an x value greater than value
+   * @return the index, size if there is none
+   */
+  private int binarySearch(double value, boolean isUpper) {
+
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      double x = getX(mid);
+      if (x < value || (isUpper && x == value)) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.charts;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The slice of a Pie Chart standing in for the series too small to get a slice of their own. The aggregated series are kept, for example to drill down into
+ * them.
+ *
+ * @author timmolter
+ */
+public class AggregatePieSeries extends PieSeries {
+
+  private final List<PieSeries> aggregatedSeries;
+
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param value the sum of the values of the aggregated series
+   * @param aggregatedSeries
+   */
+  public AggregatePieSeries(String name, Number value, List<PieSeries> aggregatedSeries) {
+
+    super(name, value);
+    this.aggregatedSeries = Collections.unmodifiableList(aggregatedSeries);
+  }
+
+  /**
+   * @return the series aggregated into this slice, in the order they were added to the chart
+   */
+  public List<PieSeries> getAggregatedSeries() {
+
+    return aggregatedSeries;
+  }
+}
@@ -20,9 +20,14 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import org.knowm.xchart.internal.CategoryDictionary;
 import org.knowm.xchart.internal.chartpart.AxisPair;
+import org.knowm.xchart.internal.chartpart.CategoryLayout;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_AxesChart;
 import org.knowm.xchart.internal.chartpart.Plot_Category;
@@ -37,6 +42,9 @@ import org.knowm.xchart.style.Theme;
  */
 public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
 
+  /** the category indices and bar stacks of the series, computed once per data change */
+  private CategoryLayout categoryLayout;
+
   /**
    * Constructor - the default Chart Theme will be used (XChartTheme)
    *
@@ -147,7 +155,7 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
    * Add a series for a Category type chart using Lists
    *
    * @param seriesName
-   * @param xData the X-Axis data
+   * @param xData the X-Axis data, Numbers, Dates, Instants, LocalDateTimes, which are read as wall times in the system default time zone, or Strings
    * @param yData the Y-Axis data
    * @return A Series object that you can set properties on
    */
@@ -160,7 +168,7 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
    * Add a series for a Category type chart using Lists with error bars
    *
    * @param seriesName
-   * @param xData the X-Axis data
+   * @param xData the X-Axis data, Numbers, Dates, Instants, LocalDateTimes, which are read as wall times in the system default time zone, or Strings
    * @param yData the Y-Axis data
    * @param errorBars the error bar data
    * @return A Series object that you can set properties on
@@ -191,6 +199,43 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
     return series;
   }
 
+  /**
+   * Add a series for a Category type chart using a Map from category to value. The categories are aligned with the categories of the series already in the
+   * chart: known categories come in the order of the X-Axis, new categories follow in the iteration order of the Map. Null values leave a gap.
+   *
+   * @param seriesName
+   * @param data the Y-Axis values by category
+   * @return A Series object that you can set properties on
+   */
+  public CategorySeries addSeries(String seriesName, Map<?, ? extends Number> data) {
+
+    if (data == null) {
+      throw new IllegalArgumentException("Data cannot be null!!!");
+    }
+
+    // sort the entries by category index, encoded with the entry position into one primitive key
+    CategoryDictionary categoryDictionary = getCategoryDictionary();
+    Object[] categories = data.keySet().toArray();
+    Number[] values = data.values().toArray(new Number[data.size()]);
+    long[] order = new long[categories.length];
+    for (int i = 0; i < categories.length; i++) {
+      int index = categoryDictionary.indexOf(categories[i]);
+      long position = index < 0 ? categoryDictionary.size() + i : index;
+      order[i] = position << 32 | i;
+    }
+    Arrays.sort(order);
+
+    List<Object> xData = new ArrayList<Object>(categories.length);
+    List<Number> yData = new ArrayList<Number>(categories.length);
+    for (long entry : order) {
+      int i = (int) entry;
+      xData.add(categories[i]);
+      yData.add(values[i]);
+    }
+
+    return addSeries(seriesName, xData, yData);
+  }
+
   ///////////////////////////////////////////////////
   // Internal Members and Methods ///////////////////
   ///////////////////////////////////////////////////
@@ -239,6 +284,8 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
     Shape rect = new Rectangle2D.Double(0, 0, getWidth(), getHeight());
     g.fill(rect);
 
+    doLayout(g);
+
     axisPair.paint(g);
     plot.paint(g);
     chartTitle.paint(g);
@@ -247,6 +294,25 @@ public class CategoryChart extends Chart<CategoryStyler, CategorySeries> {
     g.dispose();
   }
 
+  /**
+   * @return the dictionary numbering the categories of all series in order of first appearance
+   */
+  public CategoryDictionary getCategoryDictionary() {
+
+    return getCategoryLayout().getCategoryDictionary();
+  }
+
+  /**
+   * @return the category indices and bar stacks of the series, recomputed if the series, their data or their render styles changed
+   */
+  public CategoryLayout getCategoryLayout() {
+
+    if (categoryLayout == null || !categoryLayout.isUpToDate(seriesMap.values(), styler)) {
+      categoryLayout = new CategoryLayout(seriesMap.values(), styler, categoryLayout);
+    }
+    return categoryLayout;
+  }
+
   /**
    * set the series color, marker and line style based on theme
    */
@@ -16,6 +16,8 @@
  */
 package org.knowm.xchart.charts;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -73,6 +75,20 @@ public class CategorySeries extends Series_AxesChart {
 
   }
 
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param xData Number values, or epoch milliseconds if xAxisType is Date
+   * @param xAxisType
+   * @param yData
+   * @param errorBars
+   */
+  public CategorySeries(String name, double[] xData, AxisDataType xAxisType, double[] yData, double[] errorBars) {
+
+    super(name, xData, xAxisType, yData, errorBars);
+  }
+
   public CategorySeriesRenderStyle getChartCategorySeriesRenderStyle() {
 
     return chartCategorySeriesRenderStyle;
@@ -100,14 +116,14 @@ public class CategorySeries extends Series_AxesChart {
     if (dataPoint instanceof Number) {
       axisType = AxisDataType.Number;
     }
-    else if (dataPoint instanceof Date) {
+    else if (dataPoint instanceof Date || dataPoint instanceof Instant || dataPoint instanceof LocalDateTime) {
       axisType = AxisDataType.Date;
     }
     else if (dataPoint instanceof String) {
       axisType = AxisDataType.String;
     }
     else {
-      throw new IllegalArgumentException("Series data must be either Number, Date or String type!!!");
+      throw new IllegalArgumentException("Series data must be either Number, Date, Instant, LocalDateTime or String type!!!");
     }
     return axisType;
   }
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.charts;
+
+/**
+ * A data point of a series together with its position on the last painted chart
+ *
+ * @author timmolter
+ */
+public class DataPoint {
+
+  private final XYSeries series;
+  private final int index;
+  private final double screenX;
+  private final double screenY;
+  private final double distance;
+
+  /**
+   * Constructor
+   *
+   * @param series
+   * @param index the index of the data point in the series
+   * @param screenX the horizontal pixel of the data point
+   * @param screenY the vertical pixel of the data point
+   * @param distance the distance in pixels of the data point to the queried position
+   */
+  public DataPoint(XYSeries series, int index, double screenX, double screenY, double distance) {
+
+    this.series = series;
+    this.index = index;
+    this.screenX = screenX;
+    this.screenY = screenY;
+    this.distance = distance;
+  }
+
+  public XYSeries getSeries() {
+
+    return series;
+  }
+
+  public int getIndex() {
+
+    return index;
+  }
+
+  /**
+   * @return the X-Axis value, which is in epoch milliseconds for Date series
+   */
+  public double getX() {
+
+    return series.getXValues()[index];
+  }
+
+  public double getY() {
+
+    return series.getYValues()[index];
+  }
+
+  public double getScreenX() {
+
+    return screenX;
+  }
+
+  public double getScreenY() {
+
+    return screenY;
+  }
+
+  public double getDistance() {
+
+    return distance;
+  }
+
+  @Override
+  public String toString() {
+
+    return series.getName() + "[" + index + "]: (" + getX() + ", " + getY() + ")";
+  }
+}
@@ -16,13 +16,16 @@
  */
 package org.knowm.xchart.charts;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 
+import org.knowm.xchart.internal.ParallelScan;
+
 /**
  * This class can be used to create histogram
+ * <p>
+ * All values are kept in memory. To bin a large or unbounded stream of values, use {@link StreamingHistogram} instead.
  *
  * @author timmolter
  */
@@ -82,41 +85,69 @@ public class Histogram {
     init();
   }
 
-  private void init() {
+  /**
+   * Constructor - large arrays are binned in parallel
+   *
+   * @param data
+   * @param numBins
+   */
+  public Histogram(double[] data, int numBins) {
 
-    double[] tempYAxisData = new double[numBins];
-    final double binSize = (max - min) / numBins;
+    this(data, numBins, ParallelScan.findMinMax(data));
+  }
 
-    // y axis data
-    Iterator<? extends Number> itr = originalData.iterator();
-    while (itr.hasNext()) {
+  private Histogram(double[] data, int numBins, double[] minMax) {
 
-      double doubleValue = (itr.next()).doubleValue();
-      int bin = (int) ((doubleValue - min) / binSize); // changed this from numBins
-      if (bin < 0) { /* this data is smaller than min */
+    this(data, numBins, minMax[0], minMax[1]);
+  }
 
-      }
-      else if (Double.compare(doubleValue, max) == 0) { // the value falls exactly on the max value
-        tempYAxisData[bin - 1] += 1;
-      }
-      else if (bin > numBins || bin == numBins) { /* this data point is bigger than max */
+  /**
+   * Constructor - large arrays are binned in parallel
+   *
+   * @param data
+   * @param numBins
+   * @param min
+   * @param max
+   */
+  public Histogram(final double[] data, int numBins, double min, double max) {
 
+    this.numBins = numBins;
+    this.originalData = new AbstractList<Double>() {
+
+      @Override
+      public Double get(int index) {
+
+        return data[index];
       }
-      else {
-        tempYAxisData[bin] += 1;
+
+      @Override
+      public int size() {
+
+        return data.length;
       }
+    };
+    this.min = min;
+    this.max = max;
+    this.axisData = new AxisData();
+
+    StreamingHistogram streamingHistogram = new StreamingHistogram(numBins, min, max);
+    streamingHistogram.add(data);
+    init(streamingHistogram);
+  }
+
+  private void init() {
+
+    StreamingHistogram streamingHistogram = new StreamingHistogram(numBins, min, max);
+    for (Number number : originalData) {
+      streamingHistogram.add(number.doubleValue());
     }
-    List<Double> yAxisData = new ArrayList<Double>(numBins);
-    for (double d : tempYAxisData) {
-      yAxisData.add(d);
-    }
-    axisData.setyAxisData(yAxisData);
-    // x axis data
-    List<Double> xAxisData = new ArrayList<Double>(numBins);
-    for (int i = 0; i < numBins; i++) {
-      xAxisData.add(((i * (max - min)) / numBins + min) + binSize / 2);
-    }
-    axisData.setxAxisData(xAxisData);
+    init(streamingHistogram);
+  }
+
+  private void init(StreamingHistogram streamingHistogram) {
+
+    axisData.setyAxisData(streamingHistogram.getyAxisData());
+    axisData.setxAxisData(streamingHistogram.getxAxisData());
   }
 
   public List<Double> getxAxisData() {
@@ -0,0 +1,296 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.charts;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A histogram with logarithmic buckets, for values spanning many orders of magnitude such as latencies. Each power of two between the lowest and the highest
+ * trackable value is split into equal sub-buckets, so every value is recorded with the given number of significant decimal digits. The memory needed depends
+ * only on the trackable range and the precision, not on the number of values, and histograms with the same configuration can be merged exactly.
+ *
+ * @author timmolter
+ */
+public class LogBucketHistogram {
+
+  private final double lowestTrackableValue;
+  private final double highestTrackableValue;
+  private final int significantDigits;
+
+  private final int minExponent;
+  private final int subBucketBits;
+  private final long[] counts;
+
+  private long count;
+  private long underflowCount;
+  private long overflowCount;
+  private double min = Double.MAX_VALUE;
+  private double max = -Double.MAX_VALUE;
+
+  /**
+   * Constructor - two significant digits
+   *
+   * @param lowestTrackableValue
+   * @param highestTrackableValue
+   */
+  public LogBucketHistogram(double lowestTrackableValue, double highestTrackableValue) {
+
+    this(lowestTrackableValue, highestTrackableValue, 2);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param lowestTrackableValue the lowest value to put in a bucket, must be positive
+   * @param highestTrackableValue the highest value to put in a bucket
+   * @param significantDigits the number of significant decimal digits of the buckets, from 0 to 5. With 0, every power of two is one bucket.
+   */
+  public LogBucketHistogram(double lowestTrackableValue, double highestTrackableValue, int significantDigits) {
+
+    if (!(lowestTrackableValue >= Double.MIN_NORMAL)) {
+      throw new IllegalArgumentException("The lowest trackable value must be positive!!!");
+    }
+    if (!(highestTrackableValue > lowestTrackableValue) || Double.isInfinite(highestTrackableValue)) {
+      throw new IllegalArgumentException("The highest trackable value must be finite and greater than the lowest trackable value!!!");
+    }
+    if (significantDigits < 0 || significantDigits > 5) {
+      throw new IllegalArgumentException("The number of significant digits must be between 0 and 5!!!");
+    }
+    this.lowestTrackableValue = lowestTrackableValue;
+    this.highestTrackableValue = highestTrackableValue;
+    this.significantDigits = significantDigits;
+
+    // enough sub-buckets so that the bucket width is at most 10^-significantDigits of its lower bound
+    int subBucketBits = 0;
+    while ((1 << subBucketBits) < Math.pow(10, significantDigits)) {
+      subBucketBits++;
+    }
+    this.subBucketBits = subBucketBits;
+    this.minExponent = Math.getExponent(lowestTrackableValue);
+    this.counts = new long[(Math.getExponent(highestTrackableValue) - minExponent + 1) << subBucketBits];
+  }
+
+  // Adding values /////////////////////////////////////////////////
+
+  /**
+   * Adds a value. NaN values are ignored.
+   *
+   * @param value
+   */
+  public void add(double value) {
+
+    add(value, 1);
+  }
+
+  /**
+   * Adds a value a number of times. NaN values are ignored.
+   *
+   * @param value
+   * @param count
+   */
+  public void add(double value, long count) {
+
+    if (Double.isNaN(value) || count == 0) {
+      return;
+    }
+    if (count < 0) {
+      throw new IllegalArgumentException("The count must not be negative!!!");
+    }
+
+    if (value < lowestTrackableValue) {
+      underflowCount += count;
+    }
+    else if (value > highestTrackableValue) {
+      overflowCount += count;
+    }
+    else {
+      counts[getBucketIndex(value)] += count;
+      this.count += count;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+  }
+
+  public void add(double[] values) {
+
+    for (double value : values) {
+      add(value, 1);
+    }
+  }
+
+  /**
+   * Adds all values of another histogram with the same lowest and highest trackable values and significant digits
+   *
+   * @param other
+   */
+  public void merge(LogBucketHistogram other) {
+
+    if (other.lowestTrackableValue != lowestTrackableValue || other.highestTrackableValue != highestTrackableValue
+        || other.significantDigits != significantDigits) {
+      throw new IllegalArgumentException("Only histograms with the same trackable values and significant digits can be merged!!!");
+    }
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] += other.counts[i];
+    }
+    count += other.count;
+    underflowCount += other.underflowCount;
+    overflowCount += other.overflowCount;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  // Buckets /////////////////////////////////////////////////
+
+  private int getBucketIndex(double value) {
+
+    // the exponent selects the power of two, the top bits of the mantissa the sub-bucket
+    int exponent = Math.getExponent(value);
+    int subBucket = (int) (Double.doubleToRawLongBits(value) >>> (52 - subBucketBits)) & ((1 << subBucketBits) - 1);
+    return ((exponent - minExponent) << subBucketBits) | subBucket;
+  }
+
+  private double getBucketLowerBound(int index) {
+
+    int subBucketCount = 1 << subBucketBits;
+    return Math.scalb(1.0 + (double) (index & (subBucketCount - 1)) / subBucketCount, minExponent + (index >> subBucketBits));
+  }
+
+  private double getBucketUpperBound(int index) {
+
+    int subBucketCount = 1 << subBucketBits;
+    return Math.scalb(1.0 + (double) ((index & (subBucketCount - 1)) + 1) / subBucketCount, minExponent + (index >> subBucketBits));
+  }
+
+  /**
+   * @param quantile between 0 and 1
+   * @return the center of the bucket containing the value at the quantile, limited to the smallest and largest value added, or NaN if there are no values
+   */
+  public double getValueAtQuantile(double quantile) {
+
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("The quantile must be between 0 and 1!!!");
+    }
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long countSoFar = 0;
+    for (int i = 0; i < counts.length; i++) {
+      countSoFar += counts[i];
+      if (countSoFar >= rank) {
+        double center = (getBucketLowerBound(i) + getBucketUpperBound(i)) / 2;
+        return Math.min(Math.max(center, min), max);
+      }
+    }
+    return max;
+  }
+
+  // Chart data /////////////////////////////////////////////////
+
+  /**
+   * @return the bucket centers, from the first to the last non-empty bucket
+   */
+  public List<Double> getxAxisData() {
+
+    List<Double> xAxisData = new ArrayList<Double>();
+    if (count == 0) {
+      return xAxisData;
+    }
+    for (int i = getBucketIndex(min); i <= getBucketIndex(max); i++) {
+      xAxisData.add((getBucketLowerBound(i) + getBucketUpperBound(i)) / 2);
+    }
+    return xAxisData;
+  }
+
+  /**
+   * @return the bucket counts, from the first to the last non-empty bucket
+   */
+  public List<Double> getyAxisData() {
+
+    List<Double> yAxisData = new ArrayList<Double>();
+    if (count == 0) {
+      return yAxisData;
+    }
+    for (int i = getBucketIndex(min); i <= getBucketIndex(max); i++) {
+      yAxisData.add((double) counts[i]);
+    }
+    return yAxisData;
+  }
+
+  // Getters /////////////////////////////////////////////////
+
+  /**
+   * @return the number of values in the buckets
+   */
+  public long getCount() {
+
+    return count;
+  }
+
+  /**
+   * @return the number of values below the lowest trackable value
+   */
+  public long getUnderflowCount() {
+
+    return underflowCount;
+  }
+
+  /**
+   * @return the number of values above the highest trackable value
+   */
+  public long getOverflowCount() {
+
+    return overflowCount;
+  }
+
+  /**
+   * @return the smallest value in the buckets, or NaN if there are no values
+   */
+  public double getMin() {
+
+    return count == 0 ? Double.NaN : min;
+  }
+
+  /**
+   * @return the largest value in the buckets, or NaN if there are no values
+   */
+  public double getMax() {
+
+    return count == 0 ? Double.NaN : max;
+  }
+
+  public int getNumBuckets() {
+
+    return counts.length;
+  }
+
+  public double getLowestTrackableValue() {
+
+    return lowestTrackableValue;
+  }
+
+  public double getHighestTrackableValue() {
+
+    return highestTrackableValue;
+  }
+
+  public int getSignificantDigits() {
+
+    return significantDigits;
+  }
+}
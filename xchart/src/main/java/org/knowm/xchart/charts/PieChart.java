@@ -20,10 +20,12 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 
 import org.knowm.xchart.internal.Series;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_Pie;
+import org.knowm.xchart.internal.chartpart.PieSlices;
 import org.knowm.xchart.internal.chartpart.Plot_Pie;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -36,6 +38,9 @@ import org.knowm.xchart.style.Theme;
  */
 public class PieChart extends Chart<PieStyler, PieSeries> {
 
+  /** the slices to paint, computed once per data change */
+  private PieSlices pieSlices;
+
   /**
    * Constructor - the default Chart Theme will be used (XChartTheme)
    *
@@ -129,6 +134,8 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
     Shape rect = new Rectangle2D.Double(0, 0, getWidth(), getHeight());
     g.fill(rect);
 
+    doLayout(g);
+
     plot.paint(g);
     chartTitle.paint(g);
     legend.paint(g);
@@ -136,6 +143,25 @@ public class PieChart extends Chart<PieStyler, PieSeries> {
     g.dispose();
   }
 
+  /**
+   * @return the slices to paint, recomputed if the series, their values or the slice settings of the styler changed
+   */
+  public PieSlices getPieSlices() {
+
+    if (pieSlices == null || !pieSlices.isUpToDate(seriesMap.values(), styler)) {
+      pieSlices = new PieSlices(seriesMap.values(), styler);
+    }
+    return pieSlices;
+  }
+
+  /**
+   * @return the series painted as slices of their own, followed by an {@link AggregatePieSeries} for the rest if the styler limits the slices
+   */
+  public List<PieSeries> getSlices() {
+
+    return getPieSlices().getSlices();
+  }
+
   /**
    * set the series color based on theme
    */
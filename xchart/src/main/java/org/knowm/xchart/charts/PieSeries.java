@@ -48,6 +48,9 @@ public class PieSeries extends Series {
 
   private Number value;
 
+  /** incremented whenever the value is replaced, so derived slices know when to recompute */
+  private int dataVersion;
+
   /**
    * Constructor
    *
@@ -85,6 +88,15 @@ public class PieSeries extends Series {
   public void setValue(Number value) {
 
     this.value = value;
+    dataVersion++;
+  }
+
+  /**
+   * @return a number that changes whenever the value is replaced
+   */
+  public int getDataVersion() {
+
+    return dataVersion;
   }
 
 }
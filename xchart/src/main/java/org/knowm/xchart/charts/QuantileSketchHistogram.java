@@ -0,0 +1,354 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.charts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A histogram backed by a t-digest quantile sketch. The values are summarized in a bounded number of weighted centroids which are kept small near the tails of
+ * the distribution, so quantiles and bin counts are estimated with a small error while the memory needed does not depend on the number of values. Sketches
+ * built on different threads or machines can be merged.
+ * <p>
+ * The x and y data are the estimated counts of numBins equal-width bins between the smallest and the largest value, like {@link Histogram} with an automatic
+ * range.
+ *
+ * @author timmolter
+ */
+public class QuantileSketchHistogram {
+
+  public static final double DEFAULT_COMPRESSION = 100;
+
+  private final int numBins;
+  private final double compression;
+
+  /** the centroids, sorted by mean */
+  private final double[] means;
+  private final double[] weights;
+  private int centroidCount;
+  private double centroidWeight;
+
+  /** the values added since the last compression */
+  private final double[] buffer;
+  private int bufferCount;
+
+  private double min = Double.MAX_VALUE;
+  private double max = -Double.MAX_VALUE;
+
+  /**
+   * Constructor - a compression of DEFAULT_COMPRESSION
+   *
+   * @param numBins
+   */
+  public QuantileSketchHistogram(int numBins) {
+
+    this(numBins, DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param numBins
+   * @param compression bounds the number of centroids. Higher values are more accurate and need more memory.
+   */
+  public QuantileSketchHistogram(int numBins, double compression) {
+
+    if (numBins < 1) {
+      throw new IllegalArgumentException("The number of bins must be at least 1!!!");
+    }
+    if (!(compression >= 10)) {
+      throw new IllegalArgumentException("The compression must be at least 10!!!");
+    }
+    this.numBins = numBins;
+    this.compression = compression;
+
+    // the scale function limits the number of centroids to about compression
+    int capacity = (int) Math.ceil(compression) + 10;
+    this.means = new double[capacity];
+    this.weights = new double[capacity];
+    this.buffer = new double[5 * capacity];
+  }
+
+  // Adding values /////////////////////////////////////////////////
+
+  /**
+   * Adds a value. NaN and infinite values are ignored.
+   *
+   * @param value
+   */
+  public void add(double value) {
+
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      return;
+    }
+    if (bufferCount == buffer.length) {
+      compress();
+    }
+    buffer[bufferCount++] = value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  public void add(double[] values) {
+
+    for (double value : values) {
+      add(value);
+    }
+  }
+
+  /**
+   * Adds all values of another sketch. The other sketch may have a different compression.
+   *
+   * @param other
+   */
+  public void merge(QuantileSketchHistogram other) {
+
+    compress();
+    other.compress();
+    if (other.centroidCount == 0) {
+      return;
+    }
+    merge(other.means, other.weights, other.centroidCount);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+  }
+
+  // Compression /////////////////////////////////////////////////
+
+  private void compress() {
+
+    if (bufferCount == 0) {
+      return;
+    }
+    Arrays.sort(buffer, 0, bufferCount);
+    double[] bufferWeights = new double[bufferCount];
+    Arrays.fill(bufferWeights, 1);
+    int count = bufferCount;
+    bufferCount = 0;
+    merge(buffer, bufferWeights, count);
+  }
+
+  /**
+   * Merges the centroids with the given sorted centroids and clusters the result again
+   */
+  private void merge(double[] otherMeans, double[] otherWeights, int otherCount) {
+
+    int count = centroidCount + otherCount;
+    double[] mergedMeans = new double[count];
+    double[] mergedWeights = new double[count];
+    int i = 0;
+    int j = 0;
+    for (int k = 0; k < count; k++) {
+      if (j == otherCount || (i < centroidCount && means[i] <= otherMeans[j])) {
+        mergedMeans[k] = means[i];
+        mergedWeights[k] = weights[i++];
+      }
+      else {
+        mergedMeans[k] = otherMeans[j];
+        mergedWeights[k] = otherWeights[j++];
+      }
+    }
+
+    double totalWeight = centroidWeight;
+    for (int k = 0; k < otherCount; k++) {
+      totalWeight += otherWeights[k];
+    }
+
+    // greedily combine neighboring centroids as long as the combined centroid spans at most one unit of the scale function
+    centroidCount = 0;
+    double mean = mergedMeans[0];
+    double weight = mergedWeights[0];
+    double weightSoFar = 0;
+    double kLeft = scale(0);
+    for (int k = 1; k < count; k++) {
+      double proposedWeight = weight + mergedWeights[k];
+      if (scale((weightSoFar + proposedWeight) / totalWeight) - kLeft <= 1) {
+        mean += (mergedMeans[k] - mean) * mergedWeights[k] / proposedWeight;
+        weight = proposedWeight;
+      }
+      else {
+        means[centroidCount] = mean;
+        weights[centroidCount++] = weight;
+        weightSoFar += weight;
+        kLeft = scale(weightSoFar / totalWeight);
+        mean = mergedMeans[k];
+        weight = mergedWeights[k];
+      }
+    }
+    means[centroidCount] = mean;
+    weights[centroidCount++] = weight;
+    centroidWeight = totalWeight;
+  }
+
+  private double scale(double quantile) {
+
+    return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, quantile) - 1);
+  }
+
+  // Estimates /////////////////////////////////////////////////
+
+  /**
+   * @param quantile between 0 and 1
+   * @return the estimated value at the quantile, or NaN if there are no values
+   */
+  public double getValueAtQuantile(double quantile) {
+
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("The quantile must be between 0 and 1!!!");
+    }
+    compress();
+    if (centroidCount == 0) {
+      return Double.NaN;
+    }
+    if (centroidCount == 1) {
+      return means[0];
+    }
+
+    // interpolate linearly between the centers of the centroids, and between the outer centroids and min and max
+    double index = quantile * centroidWeight;
+    if (index < weights[0] / 2) {
+      return min + (means[0] - min) * index / (weights[0] / 2);
+    }
+    double weightSoFar = weights[0] / 2;
+    for (int i = 0; i < centroidCount - 1; i++) {
+      double delta = (weights[i] + weights[i + 1]) / 2;
+      if (index < weightSoFar + delta) {
+        return means[i] + (means[i + 1] - means[i]) * (index - weightSoFar) / delta;
+      }
+      weightSoFar += delta;
+    }
+    double lastHalfWeight = weights[centroidCount - 1] / 2;
+    return means[centroidCount - 1] + (max - means[centroidCount - 1]) * Math.min(1, (index - weightSoFar) / lastHalfWeight);
+  }
+
+  /**
+   * @param value
+   * @return the estimated fraction of values less than or equal to the value, or NaN if there are no values
+   */
+  public double getCdf(double value) {
+
+    compress();
+    if (centroidCount == 0) {
+      return Double.NaN;
+    }
+    if (value < min) {
+      return 0;
+    }
+    if (value >= max) {
+      return 1;
+    }
+    if (centroidCount == 1) {
+      return (value - min) / (max - min);
+    }
+
+    if (value < means[0]) {
+      return (value - min) / (means[0] - min) * weights[0] / 2 / centroidWeight;
+    }
+    double weightSoFar = weights[0] / 2;
+    for (int i = 0; i < centroidCount - 1; i++) {
+      double delta = (weights[i] + weights[i + 1]) / 2;
+      if (value < means[i + 1]) {
+        return (weightSoFar + delta * (value - means[i]) / (means[i + 1] - means[i])) / centroidWeight;
+      }
+      weightSoFar += delta;
+    }
+    double lastHalfWeight = weights[centroidCount - 1] / 2;
+    return (weightSoFar + lastHalfWeight * (value - means[centroidCount - 1]) / (max - means[centroidCount - 1])) / centroidWeight;
+  }
+
+  // Chart data /////////////////////////////////////////////////
+
+  /**
+   * @return the bin centers
+   */
+  public List<Double> getxAxisData() {
+
+    List<Double> xAxisData = new ArrayList<Double>(numBins);
+    if (getCount() == 0) {
+      return xAxisData;
+    }
+    double binSize = (max - min) / numBins;
+    for (int i = 0; i < numBins; i++) {
+      xAxisData.add(((i * (max - min)) / numBins + min) + binSize / 2);
+    }
+    return xAxisData;
+  }
+
+  /**
+   * @return the estimated bin counts
+   */
+  public List<Double> getyAxisData() {
+
+    List<Double> yAxisData = new ArrayList<Double>(numBins);
+    if (getCount() == 0) {
+      return yAxisData;
+    }
+    double previousCdf = 0;
+    for (int i = 0; i < numBins; i++) {
+      double cdf = i == numBins - 1 ? 1 : getCdf(((i + 1) * (max - min)) / numBins + min);
+      yAxisData.add((cdf - previousCdf) * centroidWeight);
+      previousCdf = cdf;
+    }
+    return yAxisData;
+  }
+
+  // Getters /////////////////////////////////////////////////
+
+  /**
+   * @return the number of values added
+   */
+  public long getCount() {
+
+    return (long) centroidWeight + bufferCount;
+  }
+
+  /**
+   * @return the smallest value added, or NaN if there are no values
+   */
+  public double getMin() {
+
+    return getCount() == 0 ? Double.NaN : min;
+  }
+
+  /**
+   * @return the largest value added, or NaN if there are no values
+   */
+  public double getMax() {
+
+    return getCount() == 0 ? Double.NaN : max;
+  }
+
+  /**
+   * @return the number of centroids after adding the buffered values
+   */
+  public int getCentroidCount() {
+
+    compress();
+    return centroidCount;
+  }
+
+  public int getNumBins() {
+
+    return numBins;
+  }
+
+  public double getCompression() {
+
+    return compression;
+  }
+}
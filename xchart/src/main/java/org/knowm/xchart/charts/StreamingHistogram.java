@@ -0,0 +1,482 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.charts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.DoubleStream;
+
+import org.knowm.xchart.internal.ParallelScan;
+
+/**
+ * A histogram that is built from a stream of values in a single pass. Only the bin counts are kept, so the memory needed does not depend on the number of
+ * values, and histograms built on different threads can be merged.
+ * <p>
+ * With a fixed range, values below min or above max are only counted as underflow or overflow. Like with {@link Histogram}, a value equal to max falls into
+ * the last bin. With an automatic range, the first values are buffered in a bounded sample and the range is set to the min and max of the sample. Values
+ * outside of that range later on widen the range by doubling the bin size, merging neighboring bins, so no value is ever dropped.
+ *
+ * @author timmolter
+ */
+public class StreamingHistogram {
+
+  public static final int DEFAULT_SAMPLE_SIZE = 10000;
+
+  private final int numBins;
+  private final boolean isAutoRange;
+
+  /** the values buffered before an automatic range is set, null once the range is set */
+  private double[] sample;
+  private int sampleCount;
+
+  private double min;
+  private double max;
+  private double binSize;
+  private long[] counts;
+
+  /** the number of values equal to max, which are counted in the last bin */
+  private long maxCount;
+
+  private long underflowCount;
+  private long overflowCount;
+
+  /**
+   * Constructor - a histogram with a fixed range
+   *
+   * @param numBins
+   * @param min
+   * @param max
+   */
+  public StreamingHistogram(int numBins, double min, double max) {
+
+    if (numBins < 1) {
+      throw new IllegalArgumentException("The number of bins must be at least 1!!!");
+    }
+    if (!(min < max)) {
+      throw new IllegalArgumentException("Min must be less than max!!!");
+    }
+    this.numBins = numBins;
+    this.isAutoRange = false;
+    setRange(min, max);
+  }
+
+  /**
+   * Constructor - a histogram with an automatic range, determined from the first DEFAULT_SAMPLE_SIZE values
+   *
+   * @param numBins
+   */
+  public StreamingHistogram(int numBins) {
+
+    this(numBins, DEFAULT_SAMPLE_SIZE, true);
+  }
+
+  /**
+   * Constructor - a histogram with an automatic range, determined from the first sampleSize values
+   *
+   * @param numBins
+   * @param sampleSize
+   */
+  public StreamingHistogram(int numBins, int sampleSize) {
+
+    this(numBins, sampleSize, true);
+  }
+
+  private StreamingHistogram(int numBins, int sampleSize, boolean isAutoRange) {
+
+    if (numBins < 1) {
+      throw new IllegalArgumentException("The number of bins must be at least 1!!!");
+    }
+    if (sampleSize < 1) {
+      throw new IllegalArgumentException("The sample size must be at least 1!!!");
+    }
+    this.numBins = numBins;
+    this.isAutoRange = isAutoRange;
+    this.sample = new double[sampleSize];
+  }
+
+  /**
+   * @return a new, empty histogram with the same bins as this one, e.g. to collect values on another thread and merge them into this one later
+   */
+  public StreamingHistogram newEmptyCopy() {
+
+    if (sample != null) {
+      return new StreamingHistogram(numBins, sample.length, true);
+    }
+    StreamingHistogram copy = new StreamingHistogram(numBins, 1, isAutoRange);
+    copy.sample = null;
+    copy.setRange(min, max);
+    return copy;
+  }
+
+  private void setRange(double min, double max) {
+
+    this.min = min;
+    this.max = max;
+    this.binSize = (max - min) / numBins;
+    this.counts = new long[numBins];
+  }
+
+  // Adding values /////////////////////////////////////////////////
+
+  /**
+   * Adds a value. NaN values are ignored and infinite values are always counted as underflow or overflow.
+   *
+   * @param value
+   */
+  public void add(double value) {
+
+    if (Double.isNaN(value)) {
+      return;
+    }
+    if (Double.isInfinite(value)) {
+      if (value < 0) {
+        underflowCount++;
+      }
+      else {
+        overflowCount++;
+      }
+      return;
+    }
+
+    if (sample != null) {
+      sample[sampleCount++] = value;
+      if (sampleCount == sample.length) {
+        setRangeFromSample();
+      }
+      return;
+    }
+
+    if (value < min || value > max) {
+      if (!isAutoRange) {
+        if (value < min) {
+          underflowCount++;
+        }
+        else {
+          overflowCount++;
+        }
+        return;
+      }
+      while (value < min) {
+        growLeft();
+      }
+      while (value > max) {
+        growRight();
+      }
+    }
+
+    if (value == max) {
+      counts[numBins - 1]++;
+      maxCount++;
+    }
+    else {
+      // rounding could put a value just below max into a bin after the last one
+      counts[Math.min((int) ((value - min) / binSize), numBins - 1)]++;
+    }
+  }
+
+  public void add(double[] values) {
+
+    add(values, 0, values.length);
+  }
+
+  /**
+   * Adds the values in values[from, to). With a fixed range, ranges of at least {@link ParallelScan#getParallelThreshold()} values are binned in parallel.
+   *
+   * @param values
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   */
+  public void add(double[] values, int from, int to) {
+
+    if (sample != null || isAutoRange) {
+      for (int i = from; i < to; i++) {
+        add(values[i]);
+      }
+      return;
+    }
+
+    // with a fixed range, large arrays are binned in parallel
+    long[] binCounts = ParallelScan.bin(values, from, to, numBins, min, max);
+    for (int i = 0; i < numBins; i++) {
+      counts[i] += binCounts[i];
+    }
+    underflowCount += binCounts[numBins];
+    overflowCount += binCounts[numBins + 1];
+    maxCount += binCounts[numBins + 2];
+  }
+
+  public void add(PrimitiveIterator.OfDouble values) {
+
+    while (values.hasNext()) {
+      add(values.nextDouble());
+    }
+  }
+
+  /**
+   * Adds the values of the stream. Parallel streams are collected into one partial histogram per thread, which are then merged into this one.
+   *
+   * @param values
+   */
+  public void add(DoubleStream values) {
+
+    if (!values.isParallel() || sample != null) {
+      // an automatic range is set from the first values, so they have to come in order
+      values.sequential().forEach(this::add);
+      return;
+    }
+    merge(values.collect(this::newEmptyCopy, StreamingHistogram::add, StreamingHistogram::merge));
+  }
+
+  /**
+   * Adds all values of another histogram to this one. The result is exact if both histograms have the same bins, e.g. both were created with the same fixed
+   * range or one was created with {@link #newEmptyCopy()} of the other. Otherwise, the counts of the other histogram are added to the bins their bin centers
+   * fall into.
+   *
+   * @param other
+   */
+  public void merge(StreamingHistogram other) {
+
+    if (other.numBins != numBins) {
+      throw new IllegalArgumentException("Only histograms with the same number of bins can be merged!!!");
+    }
+
+    if (other.sample != null) {
+      // the infinite values of the other histogram are counted already, not sampled
+      underflowCount += other.underflowCount;
+      overflowCount += other.overflowCount;
+      add(other.sample, 0, other.sampleCount);
+      return;
+    }
+    if (sample != null) {
+      // take over the bins of the other histogram and add our own sample to them
+      double[] ownSample = Arrays.copyOf(sample, sampleCount);
+      sample = null;
+      sampleCount = 0;
+      setRange(other.min, other.max);
+      addCounts(other);
+      add(ownSample);
+      return;
+    }
+
+    if (other.min == min && other.max == max) {
+      addCounts(other);
+      return;
+    }
+
+    underflowCount += other.underflowCount;
+    overflowCount += other.overflowCount;
+    for (int i = 0; i < numBins; i++) {
+      if (other.counts[i] == 0) {
+        continue;
+      }
+      long otherCount = other.counts[i] - (i == numBins - 1 ? other.maxCount : 0);
+      addCount(other.min + (i + 0.5) * other.binSize, otherCount);
+    }
+    addCount(other.max, other.maxCount);
+  }
+
+  private void addCounts(StreamingHistogram other) {
+
+    for (int i = 0; i < numBins; i++) {
+      counts[i] += other.counts[i];
+    }
+    maxCount += other.maxCount;
+    underflowCount += other.underflowCount;
+    overflowCount += other.overflowCount;
+  }
+
+  private void addCount(double value, long count) {
+
+    if (count == 0) {
+      return;
+    }
+    long before = maxCount;
+    add(value);
+    if (maxCount > before) {
+      maxCount += count - 1;
+      counts[numBins - 1] += count - 1;
+      return;
+    }
+    if (value < min) {
+      underflowCount += count - 1;
+    }
+    else if (value > max) {
+      overflowCount += count - 1;
+    }
+    else {
+      counts[Math.min((int) ((value - min) / binSize), numBins - 1)] += count - 1;
+    }
+  }
+
+  // Automatic range /////////////////////////////////////////////////
+
+  private void setRangeFromSample() {
+
+    double[] values = Arrays.copyOf(sample, sampleCount);
+    sample = null;
+    sampleCount = 0;
+
+    double sampleMin = Double.MAX_VALUE;
+    double sampleMax = -Double.MAX_VALUE;
+    for (double value : values) {
+      sampleMin = Math.min(sampleMin, value);
+      sampleMax = Math.max(sampleMax, value);
+    }
+    if (values.length == 0) {
+      sampleMin = 0;
+      sampleMax = 1;
+    }
+    else if (sampleMin == sampleMax) {
+      sampleMin -= 0.5;
+      sampleMax += 0.5;
+    }
+    setRange(sampleMin, sampleMax);
+    add(values);
+  }
+
+  /**
+   * Doubles the bin size, extending the range to the left. Every old bin falls completely into one new bin.
+   */
+  private void growLeft() {
+
+    long[] grownCounts = new long[numBins];
+    for (int i = 0; i < numBins; i++) {
+      grownCounts[(numBins + i) / 2] += counts[i];
+    }
+    min = max - 2 * (max - min);
+    binSize = (max - min) / numBins;
+    counts = grownCounts;
+  }
+
+  /**
+   * Doubles the bin size, extending the range to the right. Every old bin falls completely into one new bin, except for the values equal to the old max.
+   */
+  private void growRight() {
+
+    long[] grownCounts = new long[numBins];
+    for (int i = 0; i < numBins; i++) {
+      grownCounts[i / 2] += counts[i];
+    }
+    // values equal to the old max belong to the bin starting at the old max
+    grownCounts[(numBins - 1) / 2] -= maxCount;
+    grownCounts[Math.min(numBins / 2, numBins - 1)] += maxCount;
+    maxCount = 0;
+
+    max = min + 2 * (max - min);
+    binSize = (max - min) / numBins;
+    counts = grownCounts;
+  }
+
+  private void ensureRange() {
+
+    if (sample != null) {
+      setRangeFromSample();
+    }
+  }
+
+  // Getters /////////////////////////////////////////////////
+
+  /**
+   * @return the bin centers
+   */
+  public List<Double> getxAxisData() {
+
+    ensureRange();
+    List<Double> xAxisData = new ArrayList<Double>(numBins);
+    for (int i = 0; i < numBins; i++) {
+      xAxisData.add(((i * (max - min)) / numBins + min) + binSize / 2);
+    }
+    return xAxisData;
+  }
+
+  /**
+   * @return the bin counts
+   */
+  public List<Double> getyAxisData() {
+
+    ensureRange();
+    List<Double> yAxisData = new ArrayList<Double>(numBins);
+    for (long count : counts) {
+      yAxisData.add((double) count);
+    }
+    return yAxisData;
+  }
+
+  /**
+   * @return a copy of the bin counts
+   */
+  public long[] getCounts() {
+
+    ensureRange();
+    return counts.clone();
+  }
+
+  /**
+   * @return the number of values in the bins
+   */
+  public long getTotalCount() {
+
+    if (sample != null) {
+      return sampleCount;
+    }
+    long totalCount = 0;
+    for (long count : counts) {
+      totalCount += count;
+    }
+    return totalCount;
+  }
+
+  /**
+   * @return the number of values below min, for an automatic range only the negative infinite values
+   */
+  public long getUnderflowCount() {
+
+    return underflowCount;
+  }
+
+  /**
+   * @return the number of values above max, for an automatic range only the positive infinite values
+   */
+  public long getOverflowCount() {
+
+    return overflowCount;
+  }
+
+  public int getNumBins() {
+
+    return numBins;
+  }
+
+  public double getMin() {
+
+    ensureRange();
+    return min;
+  }
+
+  public double getMax() {
+
+    ensureRange();
+    return max;
+  }
+
+  public boolean isAutoRange() {
+
+    return isAutoRange;
+  }
+}
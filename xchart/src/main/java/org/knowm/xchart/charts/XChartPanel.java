@@ -21,7 +21,10 @@ import org.knowm.xchart.BitmapEncoder.BitmapFormat;
 import org.knowm.xchart.VectorGraphicsEncoder;
 import org.knowm.xchart.VectorGraphicsEncoder.VectorGraphicsFormat;
 import org.knowm.xchart.internal.Series_AxesChart;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.internal.chartpart.PixelTransform;
+import org.knowm.xchart.style.AxesChartStyler;
 
 import javax.swing.*;
 import javax.swing.filechooser.FileFilter;
@@ -29,14 +32,20 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
 import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
 /**
  * A Swing JPanel that contains a Chart
  * <p>
- * Right-click + Save As... or ctrl+S pops up a Save As dialog box for saving the chart as a JPeg or PNG file.
+ * Right-click + Save As... or ctrl+S pops up a Save As dialog box for saving the chart as a JPeg or PNG file. If tool tips are enabled in the styler of an X-Y
+ * chart, hovering over a data point shows its series and values. If zoom is enabled in the styler of an X-Y chart, the mouse wheel zooms around the mouse,
+ * dragging a rectangle zooms into it, dragging with the shift key or the middle button held pans, and Reset Zoom in the right-click menu restores the axes.
  *
  * @author timmolter
  */
@@ -46,6 +55,28 @@ public class XChartPanel<T extends Chart> extends JPanel {
   private final Dimension preferredSize;
   private String saveAsString = "Save As...";
 
+  /** data points farther away from the mouse than this many pixels get no tool tip */
+  private static final double TOOL_TIP_DISTANCE = 10;
+
+  private DataPoint toolTipDataPoint;
+
+  private String resetZoomString = "Reset Zoom";
+
+  /** each notch of the mouse wheel zooms by this factor */
+  private static final double WHEEL_ZOOM_FACTOR = 1.2;
+
+  /** dragged rectangles smaller than this many pixels in either direction are taken for clicks */
+  private static final int MIN_ZOOM_RECTANGLE_SIZE = 5;
+
+  /** the X-Axis and Y-Axis min and max of the styler before zooming, restored by reset zoom, or null if not zoomed */
+  private Double[] unzoomedAxesMinMax;
+
+  /** the state of a drag, null if none */
+  private Point dragStart;
+  private Point dragEnd;
+  private PixelTransform dragPixelTransform;
+  private boolean isPanning;
+
   /**
    * Constructor
    *
@@ -59,6 +90,15 @@ public class XChartPanel<T extends Chart> extends JPanel {
     // Right-click listener for saving chart
     this.addMouseListener(new PopUpMenuClickListener());
 
+    // Mouse motion listener for tool tips
+    this.addMouseMotionListener(new ToolTipListener());
+
+    // Mouse listener for zoom and pan
+    ZoomListener zoomListener = new ZoomListener();
+    this.addMouseListener(zoomListener);
+    this.addMouseMotionListener(zoomListener);
+    this.addMouseWheelListener(zoomListener);
+
     // Control+S key listener for saving chart
     KeyStroke ctrlS = KeyStroke.getKeyStroke(KeyEvent.VK_S, Toolkit.getDefaultToolkit().getMenuShortcutKeyMask());
     this.getInputMap(WHEN_IN_FOCUSED_WINDOW).put(ctrlS, "save");
@@ -75,14 +115,37 @@ public class XChartPanel<T extends Chart> extends JPanel {
     this.saveAsString = saveAsString;
   }
 
+  /**
+   * Set the "Reset Zoom" String if you want to localize it.
+   *
+   * @param resetZoomString
+   */
+  public void setResetZoomString(String resetZoomString) {
+
+    this.resetZoomString = resetZoomString;
+  }
+
   @Override
   protected void paintComponent(Graphics g) {
 
     super.paintComponent(g);
 
     Graphics2D g2d = (Graphics2D) g.create();
+    // the screen, or a printer, which isRasterGraphics tells apart by its device
+    g2d.setRenderingHint(Chart.KEY_RASTER_TARGET, Boolean.TRUE);
     chart.paint(g2d, getWidth(), getHeight());
     g2d.dispose();
+
+    // the zoom rectangle being dragged
+    if (dragStart != null && dragEnd != null && !isPanning) {
+      Graphics2D overlay = (Graphics2D) g.create();
+      Rectangle rectangle = getDragRectangle();
+      overlay.setColor(new Color(0, 0, 192, 32));
+      overlay.fill(rectangle);
+      overlay.setColor(new Color(0, 0, 192, 128));
+      overlay.draw(rectangle);
+      overlay.dispose();
+    }
   }
 
   public T getChart() {
@@ -96,6 +159,179 @@ public class XChartPanel<T extends Chart> extends JPanel {
     return this.preferredSize;
   }
 
+  @Override
+  public Point getToolTipLocation(MouseEvent event) {
+
+    if (toolTipDataPoint == null) {
+      return null;
+    }
+    // next to the data point rather than the mouse
+    return new Point((int) toolTipDataPoint.getScreenX() + 8, (int) toolTipDataPoint.getScreenY() + 8);
+  }
+
+  private class ToolTipListener extends MouseMotionAdapter {
+
+    @Override
+    public void mouseMoved(MouseEvent e) {
+
+      toolTipDataPoint = null;
+      if (chart instanceof XYChart && ((XYChart) chart).getStyler().isToolTipsEnabled()) {
+        toolTipDataPoint = ((XYChart) chart).getNearestDataPoint(e.getX(), e.getY(), TOOL_TIP_DISTANCE);
+      }
+      setToolTipText(toolTipDataPoint == null ? null : getToolTipText(toolTipDataPoint));
+    }
+  }
+
+  /**
+   * @param dataPoint
+   * @return the tool tip of a data point, formatted with the locale, timezone and patterns of the styler
+   */
+  private String getToolTipText(DataPoint dataPoint) {
+
+    AxesChartStyler styler = ((XYChart) chart).getStyler();
+
+    String x;
+    if (dataPoint.getSeries().getxAxisDataType() == AxisDataType.Date) {
+      SimpleDateFormat dateFormat = new SimpleDateFormat(styler.getDatePattern() == null ? "yyyy-MM-dd HH:mm:ss" : styler.getDatePattern(), styler.getLocale());
+      dateFormat.setTimeZone(styler.getTimezone());
+      x = dateFormat.format(new Date((long) dataPoint.getX()));
+    }
+    else {
+      x = formatNumber(dataPoint.getX(), styler.getXAxisDecimalPattern() == null ? styler.getDecimalPattern() : styler.getXAxisDecimalPattern(), styler);
+    }
+    String y = formatNumber(dataPoint.getY(), styler.getYAxisDecimalPattern() == null ? styler.getDecimalPattern() : styler.getYAxisDecimalPattern(), styler);
+
+    return dataPoint.getSeries().getName() + ": (" + x + ", " + y + ")";
+  }
+
+  private static String formatNumber(double value, String decimalPattern, AxesChartStyler styler) {
+
+    if (decimalPattern == null) {
+      return String.valueOf(value);
+    }
+    return new DecimalFormat(decimalPattern, DecimalFormatSymbols.getInstance(styler.getLocale())).format(value);
+  }
+
+  /**
+   * Restores the axes ranges from before zooming and panning
+   */
+  public void resetZoom() {
+
+    if (unzoomedAxesMinMax != null) {
+      ((XYChart) chart).getStyler().setAxesMinMax(unzoomedAxesMinMax[0], unzoomedAxesMinMax[1], unzoomedAxesMinMax[2], unzoomedAxesMinMax[3]);
+      unzoomedAxesMinMax = null;
+      repaint();
+    }
+  }
+
+  /**
+   * @return true if the chart is zoomed or panned
+   */
+  public boolean isZoomed() {
+
+    return unzoomedAxesMinMax != null;
+  }
+
+  private boolean isZoomEnabled() {
+
+    return chart instanceof XYChart && ((XYChart) chart).getStyler().isZoomEnabled();
+  }
+
+  /**
+   * Sets the axes ranges, given in axis space, into the styler, which the next paint picks up. Only the visible data points are drawn then, and dense line
+   * series are decimated to the pixel columns, so this stays fast for large series.
+   */
+  private void setAxesRanges(PixelTransform pixelTransform, double xMin, double xMax, double yMin, double yMax) {
+
+    AxesChartStyler styler = ((XYChart) chart).getStyler();
+    if (unzoomedAxesMinMax == null) {
+      unzoomedAxesMinMax = new Double[] { styler.getXAxisMin(), styler.getXAxisMax(), styler.getYAxisMin(), styler.getYAxisMax() };
+    }
+    styler.setAxesMinMax(pixelTransform.axisToDataX(xMin), pixelTransform.axisToDataX(xMax), pixelTransform.axisToDataY(yMin), pixelTransform.axisToDataY(yMax));
+    repaint();
+  }
+
+  private Rectangle getDragRectangle() {
+
+    return new Rectangle(Math.min(dragStart.x, dragEnd.x), Math.min(dragStart.y, dragEnd.y), Math.abs(dragEnd.x - dragStart.x), Math.abs(dragEnd.y - dragStart.y));
+  }
+
+  private class ZoomListener extends MouseAdapter {
+
+    @Override
+    public void mouseWheelMoved(MouseWheelEvent e) {
+
+      PixelTransform pixelTransform = isZoomEnabled() ? ((XYChart) chart).getPixelTransform() : null;
+      if (pixelTransform == null || !pixelTransform.getBounds().contains(e.getPoint())) {
+        // let an enclosing scroll pane have it
+        if (getParent() != null) {
+          getParent().dispatchEvent(SwingUtilities.convertMouseEvent(XChartPanel.this, e, getParent()));
+        }
+        return;
+      }
+
+      // zoom around the mouse, which stays on the same data values
+      double factor = Math.pow(WHEEL_ZOOM_FACTOR, e.getPreciseWheelRotation());
+      double x = pixelTransform.toAxisX(e.getX());
+      double y = pixelTransform.toAxisY(e.getY());
+      setAxesRanges(pixelTransform, x + (pixelTransform.getXMin() - x) * factor, x + (pixelTransform.getXMax() - x) * factor, y + (pixelTransform.getYMin() - y)
+          * factor, y + (pixelTransform.getYMax() - y) * factor);
+    }
+
+    @Override
+    public void mousePressed(MouseEvent e) {
+
+      boolean isPan = SwingUtilities.isMiddleMouseButton(e) || (SwingUtilities.isLeftMouseButton(e) && e.isShiftDown());
+      if (!isZoomEnabled() || e.isPopupTrigger() || !(isPan || SwingUtilities.isLeftMouseButton(e))) {
+        return;
+      }
+      dragPixelTransform = ((XYChart) chart).getPixelTransform();
+      if (dragPixelTransform != null && dragPixelTransform.getBounds().contains(e.getPoint())) {
+        dragStart = e.getPoint();
+        isPanning = isPan;
+      }
+    }
+
+    @Override
+    public void mouseDragged(MouseEvent e) {
+
+      if (dragStart == null) {
+        return;
+      }
+      dragEnd = e.getPoint();
+
+      if (isPanning) {
+        // shift the axes ranges from the start of the drag, so the data stay under the mouse
+        double dx = dragPixelTransform.toAxisX(dragEnd.x) - dragPixelTransform.toAxisX(dragStart.x);
+        double dy = dragPixelTransform.toAxisY(dragEnd.y) - dragPixelTransform.toAxisY(dragStart.y);
+        setAxesRanges(dragPixelTransform, dragPixelTransform.getXMin() - dx, dragPixelTransform.getXMax() - dx, dragPixelTransform.getYMin() - dy,
+            dragPixelTransform.getYMax() - dy);
+      }
+      else {
+        repaint();
+      }
+    }
+
+    @Override
+    public void mouseReleased(MouseEvent e) {
+
+      if (dragStart == null) {
+        return;
+      }
+      if (!isPanning && dragEnd != null) {
+        Rectangle rectangle = getDragRectangle();
+        if (rectangle.width >= MIN_ZOOM_RECTANGLE_SIZE && rectangle.height >= MIN_ZOOM_RECTANGLE_SIZE) {
+          setAxesRanges(dragPixelTransform, dragPixelTransform.toAxisX(rectangle.getMinX()), dragPixelTransform.toAxisX(rectangle.getMaxX()), dragPixelTransform
+              .toAxisY(rectangle.getMaxY()), dragPixelTransform.toAxisY(rectangle.getMinY()));
+        }
+      }
+      dragStart = null;
+      dragEnd = null;
+      dragPixelTransform = null;
+      repaint();
+    }
+  }
+
   private class SaveAction extends AbstractAction {
 
     public SaveAction() {
@@ -237,12 +473,27 @@ public class XChartPanel<T extends Chart> extends JPanel {
   private class XChartPanelPopupMenu extends JPopupMenu {
 
     JMenuItem saveAsMenuItem;
+    JMenuItem resetZoomMenuItem;
 
     XChartPanelPopupMenu() {
 
       saveAsMenuItem = new JMenuItem(saveAsString);
       saveAsMenuItem.addMouseListener(new MyMouseListener());
       add(saveAsMenuItem);
+
+      if (isZoomEnabled()) {
+        resetZoomMenuItem = new JMenuItem(resetZoomString);
+        resetZoomMenuItem.setEnabled(isZoomed());
+        resetZoomMenuItem.addActionListener(new ActionListener() {
+
+          @Override
+          public void actionPerformed(ActionEvent e) {
+
+            resetZoom();
+          }
+        });
+        add(resetZoomMenuItem);
+      }
     }
 
     private class MyMouseListener implements MouseListener {
@@ -16,9 +16,12 @@
  */
 package org.knowm.xchart.charts;
 
+import org.knowm.xchart.internal.SeriesIndex;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.internal.chartpart.AxisPair;
 import org.knowm.xchart.internal.chartpart.Chart;
 import org.knowm.xchart.internal.chartpart.Legend_AxesChart;
+import org.knowm.xchart.internal.chartpart.PixelTransform;
 import org.knowm.xchart.internal.chartpart.Plot_XY;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyle;
 import org.knowm.xchart.internal.style.SeriesColorMarkerLineStyleCycler;
@@ -28,13 +31,18 @@ import org.knowm.xchart.style.XYStyler;
 
 import java.awt.*;
 import java.awt.geom.Rectangle2D;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author timmolter
  */
 public class XYChart extends Chart<XYStyler, XYSeries> {
 
+  /** the spatial indexes for finding data points by position, built on first use */
+  private final Map<XYSeries, SeriesIndex> seriesIndexes = new HashMap<XYSeries, SeriesIndex>();
+
   /**
    * Constructor - the default Chart Theme will be used (XChartTheme)
    *
@@ -91,7 +99,7 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
    * Add a series for a X-Y type chart using Lists
    *
    * @param seriesName
-   * @param xData the X-Axis data
+   * @param xData the X-Axis data, Numbers, Dates, Instants or LocalDateTimes, which are read as wall times in the system default time zone
    * @param yData the Y-Axis data
    * @return A Series object that you can set properties on
    */
@@ -114,7 +122,7 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
   }
 
   /**
-   * Add a series for a X-Y type chart using using double arrays with error bars
+   * Add a series for a X-Y type chart using using double arrays with error bars. The arrays are copied, so they can be reused.
    *
    * @param seriesName
    * @param xData the X-Axis data
@@ -124,7 +132,34 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
    */
   public XYSeries addSeries(String seriesName, double[] xData, double[] yData, double[] errorBars) {
 
-    return addSeries(seriesName, getNumberListFromDoubleArray(xData), getNumberListFromDoubleArray(yData), getNumberListFromDoubleArray(errorBars));
+    return addSeries(seriesName, getDoubleArrayCopy(xData), AxisDataType.Number, getDoubleArrayCopy(yData), getDoubleArrayCopy(errorBars));
+  }
+
+  /**
+   * Add a series for a X-Y type chart with a Date X-Axis using epoch millisecond timestamps
+   *
+   * @param seriesName
+   * @param xData the X-Axis data in milliseconds since the epoch
+   * @param yData the Y-Axis data
+   * @return A Series object that you can set properties on
+   */
+  public XYSeries addDateSeries(String seriesName, long[] xData, double[] yData) {
+
+    return addDateSeries(seriesName, xData, yData, null);
+  }
+
+  /**
+   * Add a series for a X-Y type chart with a Date X-Axis using epoch millisecond timestamps with error bars. The arrays are copied, so they can be reused.
+   *
+   * @param seriesName
+   * @param xData the X-Axis data in milliseconds since the epoch
+   * @param yData the Y-Axis data
+   * @param errorBars the error bar data
+   * @return A Series object that you can set properties on
+   */
+  public XYSeries addDateSeries(String seriesName, long[] xData, double[] yData, double[] errorBars) {
+
+    return addSeries(seriesName, getDoubleArrayFromLongArray(xData), AxisDataType.Date, getDoubleArrayCopy(yData), getDoubleArrayCopy(errorBars));
   }
 
   /**
@@ -151,14 +186,14 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
    */
   public XYSeries addSeries(String seriesName, int[] xData, int[] yData, int[] errorBars) {
 
-    return addSeries(seriesName, getNumberListFromIntArray(xData), getNumberListFromIntArray(yData), getNumberListFromIntArray(errorBars));
+    return addSeries(seriesName, getDoubleArrayFromIntArray(xData), AxisDataType.Number, getDoubleArrayFromIntArray(yData), getDoubleArrayFromIntArray(errorBars));
   }
 
   /**
    * Add a series for a X-Y type chart using Lists with error bars
    *
    * @param seriesName
-   * @param xData the X-Axis data
+   * @param xData the X-Axis data, Numbers, Dates, Instants or LocalDateTimes, which are read as wall times in the system default time zone
    * @param yData the Y-Axis data
    * @param errorBars the error bar data
    * @return A Series object that you can set properties on
@@ -189,6 +224,93 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
     return series;
   }
 
+  /**
+   * Add a series for a X-Y type chart using primitive columns that are handed over to the series. They are used directly without copying, so they must not be
+   * modified or used for another series afterwards. Meant for importers that create the columns for the series.
+   *
+   * @param seriesName
+   * @param xData the X-Axis data, or null to generate it. For a Date X-Axis these are epoch milliseconds.
+   * @param xAxisType Number or Date
+   * @param yData the Y-Axis data, where Double.NaN marks a missing point
+   * @param errorBars the error bar data
+   * @return A Series object that you can set properties on
+   */
+  public XYSeries addSeries(String seriesName, double[] xData, AxisDataType xAxisType, double[] yData, double[] errorBars) {
+
+    // Sanity checks
+    sanityCheck(seriesName, xData, yData, errorBars);
+
+    XYSeries series;
+    if (xData != null) {
+
+      // Sanity check
+      if (xData.length != yData.length) {
+        throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+      }
+
+      series = new XYSeries(seriesName, xData, xAxisType, yData, errorBars);
+    }
+    else { // generate xData
+      series = new XYSeries(seriesName, getGeneratedDataArray(yData.length), AxisDataType.Number, yData, errorBars);
+    }
+
+    seriesMap.put(seriesName, series);
+
+    return series;
+  }
+
+  /**
+   * Finds the data point drawn closest to a position on the last painted chart, for example the mouse position for a tool tip. Each series gets a spatial
+   * index on first use, which is extended incrementally when data are appended to the series, so a query takes O(log n) per series.
+   *
+   * @param screenX the horizontal pixel
+   * @param screenY the vertical pixel
+   * @param maxDistance the maximum distance in pixels
+   * @return the closest data point, or null if there is none within maxDistance or the chart was not painted yet
+   */
+  public DataPoint getNearestDataPoint(double screenX, double screenY, double maxDistance) {
+
+    PixelTransform pixelTransform = getPixelTransform();
+    if (pixelTransform == null) {
+      return null;
+    }
+
+    seriesIndexes.keySet().retainAll(seriesMap.values());
+
+    double x = pixelTransform.toAxisX(screenX);
+    double y = pixelTransform.toAxisY(screenY);
+    DataPoint nearest = null;
+    for (XYSeries series : seriesMap.values()) {
+
+      SeriesIndex seriesIndex = seriesIndexes.get(series);
+      if (seriesIndex == null) {
+        seriesIndex = new SeriesIndex();
+        seriesIndexes.put(series, seriesIndex);
+      }
+      seriesIndex.update(series, pixelTransform.isXAxisLogarithmic(), pixelTransform.isYAxisLogarithmic());
+
+      int index = seriesIndex.getNearest(x, y, pixelTransform.getXScale(), pixelTransform.getYScale(), maxDistance);
+      if (index >= 0) {
+        // measure the exact distance, which also covers axes with a single value drawn in the center of the plot
+        double pointX = pixelTransform.toScreenX(series.getXValues()[index]);
+        double pointY = pixelTransform.toScreenY(series.getYValues()[index]);
+        double distance = Math.hypot(pointX - screenX, pointY - screenY);
+        if (distance <= maxDistance && (nearest == null || distance < nearest.getDistance())) {
+          nearest = new DataPoint(series, index, pointX, pointY, distance);
+        }
+      }
+    }
+    return nearest;
+  }
+
+  /**
+   * @return the mapping between data values and pixels of the last paint, or null if the chart was not painted yet
+   */
+  public PixelTransform getPixelTransform() {
+
+    return ((Plot_XY) plot).getPixelTransform();
+  }
+
   ///////////////////////////////////////////////////
   // Internal Members and Methods ///////////////////
   ///////////////////////////////////////////////////
@@ -211,6 +333,25 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
       throw new IllegalArgumentException("Error bars and Y-Axis sizes are not the same!!!");
   }
 
+  private void sanityCheck(String seriesName, double[] xData, double[] yData, double[] errorBars) {
+
+    if (seriesMap.keySet().contains(seriesName)) {
+      throw new IllegalArgumentException("Series name >" + seriesName + "< has already been used. Use unique names for each series!!!");
+    }
+    if (yData == null) {
+      throw new IllegalArgumentException("Y-Axis data cannot be null!!!");
+    }
+    if (yData.length == 0) {
+      throw new IllegalArgumentException("Y-Axis data cannot be empty!!!");
+    }
+    if (xData != null && xData.length == 0) {
+      throw new IllegalArgumentException("X-Axis data cannot be empty!!!");
+    }
+    if (errorBars != null && errorBars.length != yData.length) {
+      throw new IllegalArgumentException("Error bars and Y-Axis sizes are not the same!!!");
+    }
+  }
+
   @Override
   public void paint(Graphics2D g, int width, int height) {
 
@@ -237,6 +378,8 @@ public class XYChart extends Chart<XYStyler, XYSeries> {
     Shape rect = new Rectangle2D.Double(0, 0, getWidth(), getHeight());
     g.fill(rect);
 
+    doLayout(g);
+
     axisPair.paint(g);
     plot.paint(g);
     chartTitle.paint(g);
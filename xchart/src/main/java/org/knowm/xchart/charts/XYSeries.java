@@ -16,11 +16,14 @@
  */
 package org.knowm.xchart.charts;
 
+import org.knowm.xchart.internal.MinMaxPyramid;
 import org.knowm.xchart.internal.Series_AxesChart;
 import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.internal.chartpart.RenderableSeries;
 import org.knowm.xchart.internal.chartpart.RenderableSeries.LegendRenderType;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -55,6 +58,8 @@ public class XYSeries extends Series_AxesChart {
 
   private XYSeriesRenderStyle chartXYSeriesRenderStyle = null;
 
+  private MinMaxPyramid minMaxPyramid = null;
+
   /**
    * Constructor
    *
@@ -68,6 +73,20 @@ public class XYSeries extends Series_AxesChart {
     super(name, xData, yData, errorBars);
   }
 
+  /**
+   * Constructor
+   *
+   * @param name
+   * @param xData Number values, or epoch milliseconds if xAxisType is Date
+   * @param xAxisType
+   * @param yData
+   * @param errorBars
+   */
+  public XYSeries(String name, double[] xData, AxisDataType xAxisType, double[] yData, double[] errorBars) {
+
+    super(name, xData, xAxisType, yData, errorBars);
+  }
+
   public XYSeriesRenderStyle getChartXYSeriesRenderStyle() {
 
     return chartXYSeriesRenderStyle;
@@ -79,6 +98,49 @@ public class XYSeries extends Series_AxesChart {
     return this;
   }
 
+  public boolean isMinMaxPyramidEnabled() {
+
+    return minMaxPyramid != null;
+  }
+
+  /**
+   * Sets whether a multi-resolution index of the lowest and highest data points is kept over the y data. Line and area series with ascending x data and many
+   * more data points than pixel columns are then reduced to the pixel columns in O(width log n) per paint instead of a scan of the visible data, which keeps
+   * zooming and panning through series of 100M data points interactive. The index takes about one byte per data point, is built on the next paint and
+   * extended incrementally when data are appended.
+   *
+   * @param isMinMaxPyramidEnabled
+   */
+  public XYSeries setMinMaxPyramidEnabled(boolean isMinMaxPyramidEnabled) {
+
+    if (isMinMaxPyramidEnabled != isMinMaxPyramidEnabled()) {
+      minMaxPyramid = isMinMaxPyramidEnabled ? new MinMaxPyramid() : null;
+    }
+    return this;
+  }
+
+  /**
+   * @return the min/max index, or null if it is not enabled
+   */
+  public MinMaxPyramid getMinMaxPyramid() {
+
+    return minMaxPyramid;
+  }
+
+  /**
+   * Sets a min/max index that was saved along with the series data, which enables it without a rebuild
+   *
+   * @param minMaxPyramid the index, or null to disable it
+   */
+  public XYSeries setMinMaxPyramid(MinMaxPyramid minMaxPyramid) {
+
+    if (minMaxPyramid != null && minMaxPyramid.size() != size()) {
+      throw new IllegalArgumentException("The min/max pyramid must index the " + size() + " data points of the series!!!");
+    }
+    this.minMaxPyramid = minMaxPyramid;
+    return this;
+  }
+
   @Override
   public LegendRenderType getLegendRenderType() {
 
@@ -95,11 +157,11 @@ public class XYSeries extends Series_AxesChart {
     if (dataPoint instanceof Number) {
       axisType = AxisDataType.Number;
     }
-    else if (dataPoint instanceof Date) {
+    else if (dataPoint instanceof Date || dataPoint instanceof Instant || dataPoint instanceof LocalDateTime) {
       axisType = AxisDataType.Date;
     }
     else {
-      throw new IllegalArgumentException("Series data must be either Number or Date type!!!");
+      throw new IllegalArgumentException("Series data must be either Number, Date, Instant or LocalDateTime type!!!");
     }
     return axisType;
   }
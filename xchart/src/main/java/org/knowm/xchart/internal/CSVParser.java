@@ -0,0 +1,322 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses numeric CSV files straight from the bytes of a memory-mapped file into primitive columns. Large files are mapped in windows, and a number is only
+ * turned into a String if it can't be converted exactly from its digits, e.g. NaN or numbers with more than 15 significant digits.
+ *
+ * @author timmolter
+ */
+public class CSVParser {
+
+  /** files are mapped in windows of this many bytes, so files larger than 2 GB can be read */
+  private static final int WINDOW_SIZE = 1 << 26;
+
+  /** the mapped bytes are copied in chunks of this many bytes for the byte-wise scan */
+  private static final int CHUNK_SIZE = 1 << 16;
+
+  /** the powers of ten that are exact doubles */
+  private static final double[] POWERS_OF_TEN = new double[23];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final File file;
+  private final byte delimiter;
+  private final int maxColumns;
+
+  /** the lines, or the fields of all lines if columns is true */
+  private final boolean isColumns;
+  private DoubleArray[] arrays;
+
+  /** the bytes of the current field */
+  private byte[] field = new byte[64];
+  private int fieldLength;
+  private int fieldIndex;
+  private boolean isEmptyFieldPending;
+  private int lineIndex;
+  private boolean isLineEmpty = true;
+
+  /**
+   * Constructor
+   *
+   * @param file
+   * @param delimiter
+   * @param maxColumns the number of columns to keep, further columns are ignored
+   * @param isColumns true if each column of the file is one array, false if each line is one array
+   */
+  private CSVParser(File file, char delimiter, int maxColumns, boolean isColumns) {
+
+    this.file = file;
+    this.delimiter = (byte) delimiter;
+    this.maxColumns = maxColumns;
+    this.isColumns = isColumns;
+    this.arrays = new DoubleArray[isColumns ? maxColumns : 0];
+    for (int i = 0; i < arrays.length; i++) {
+      arrays[i] = new DoubleArray();
+    }
+  }
+
+  /**
+   * Parses a file with one row of values per line
+   *
+   * @param file
+   * @param delimiter
+   * @param maxColumns the number of columns to keep, further columns are ignored
+   * @return the first maxColumns columns, shorter if a column is missing in every line
+   * @throws IOException if the file can't be read
+   * @throws NumberFormatException if a value isn't a number
+   */
+  public static double[][] parseColumns(File file, char delimiter, int maxColumns) throws IOException {
+
+    return new CSVParser(file, delimiter, maxColumns, true).parse();
+  }
+
+  /**
+   * Parses a file with one series of values per line
+   *
+   * @param file
+   * @param delimiter
+   * @param maxRows the number of lines to keep, further lines are ignored
+   * @return the first maxRows non-empty lines
+   * @throws IOException if the file can't be read
+   * @throws NumberFormatException if a value isn't a number
+   */
+  public static double[][] parseRows(File file, char delimiter, int maxRows) throws IOException {
+
+    return new CSVParser(file, delimiter, maxRows, false).parse();
+  }
+
+  private double[][] parse() throws IOException {
+
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      long size = channel.size();
+      byte[] chunk = new byte[CHUNK_SIZE];
+      for (long position = 0; position < size; position += WINDOW_SIZE) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, size - position));
+        if (position == 0) {
+          skipByteOrderMark(buffer);
+        }
+        while (buffer.hasRemaining()) {
+          int length = Math.min(chunk.length, buffer.remaining());
+          buffer.get(chunk, 0, length);
+          for (int i = 0; i < length; i++) {
+            accept(chunk[i]);
+          }
+        }
+      }
+      endLine();
+    } finally {
+      randomAccessFile.close();
+    }
+
+    int count = 0;
+    while (count < arrays.length && arrays[count] != null && arrays[count].size > 0) {
+      count++;
+    }
+    double[][] result = new double[count][];
+    for (int i = 0; i < count; i++) {
+      result[i] = arrays[i].toArray();
+    }
+    return result;
+  }
+
+  private static void skipByteOrderMark(MappedByteBuffer buffer) {
+
+    if (buffer.remaining() >= 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB && buffer.get(2) == (byte) 0xBF) {
+      buffer.position(3);
+    }
+  }
+
+  private void accept(byte b) {
+
+    // \n, \r\n or a bare \r, the empty line between \r and \n is skipped
+    if (b == '\n' || b == '\r') {
+      endLine();
+    }
+    else if (b == delimiter) {
+      endField();
+    }
+    else {
+      if (fieldLength == field.length) {
+        field = Arrays.copyOf(field, 2 * field.length);
+      }
+      field[fieldLength++] = b;
+    }
+  }
+
+  private void endField() {
+
+    int from = 0;
+    int to = fieldLength;
+    fieldLength = 0;
+    while (from < to && field[from] <= ' ') {
+      from++;
+    }
+    while (to > from && field[to - 1] <= ' ') {
+      to--;
+    }
+
+    // like String.split, trailing empty fields are ignored
+    if (from == to) {
+      isEmptyFieldPending = true;
+      fieldIndex++;
+      return;
+    }
+    if (isEmptyFieldPending) {
+      throw new NumberFormatException("Error parsing an empty value in line " + (lineIndex + 1) + " of " + file + "!!!");
+    }
+    isLineEmpty = false;
+
+    int arrayIndex = isColumns ? fieldIndex : lineIndex;
+    fieldIndex++;
+    if (arrayIndex >= maxColumns) {
+      return;
+    }
+    if (!isColumns && arrayIndex >= arrays.length) {
+      arrays = Arrays.copyOf(arrays, arrayIndex + 1);
+      arrays[arrayIndex] = new DoubleArray();
+    }
+    arrays[arrayIndex].add(parseDouble(field, from, to));
+  }
+
+  private void endLine() {
+
+    endField();
+    if (!isLineEmpty) {
+      lineIndex++;
+    }
+    fieldIndex = 0;
+    isEmptyFieldPending = false;
+    isLineEmpty = true;
+  }
+
+  /**
+   * Parses a number from ASCII bytes. Decimal numbers with at most 15 significant digits and a decimal exponent of at most 22 are converted exactly with one
+   * multiplication or division, everything else falls back to Double.parseDouble.
+   */
+  private double parseDouble(byte[] bytes, int from, int to) {
+
+    int i = from;
+    boolean isNegative = false;
+    if (bytes[i] == '-' || bytes[i] == '+') {
+      isNegative = bytes[i] == '-';
+      i++;
+    }
+
+    long mantissa = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean hasDigits = false;
+    boolean isExact = true;
+
+    for (; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+      hasDigits = true;
+      if (digits < 18) {
+        mantissa = 10 * mantissa + (bytes[i] - '0');
+        if (mantissa != 0) {
+          digits++;
+        }
+      }
+      else {
+        isExact = false;
+      }
+    }
+    if (i < to && bytes[i] == '.') {
+      for (i++; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+        hasDigits = true;
+        if (digits < 18) {
+          mantissa = 10 * mantissa + (bytes[i] - '0');
+          if (mantissa != 0) {
+            digits++;
+          }
+          exponent--;
+        }
+        else {
+          isExact = false;
+        }
+      }
+    }
+    if (hasDigits && i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+      int j = i + 1;
+      boolean isExponentNegative = false;
+      if (j < to && (bytes[j] == '-' || bytes[j] == '+')) {
+        isExponentNegative = bytes[j] == '-';
+        j++;
+      }
+      int explicitExponent = 0;
+      boolean hasExponentDigits = false;
+      for (; j < to && bytes[j] >= '0' && bytes[j] <= '9' && explicitExponent < 10000; j++) {
+        hasExponentDigits = true;
+        explicitExponent = 10 * explicitExponent + (bytes[j] - '0');
+      }
+      if (hasExponentDigits) {
+        exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+        i = j;
+      }
+    }
+
+    if (hasDigits && i == to && isExact && digits <= 15 && exponent >= -22 && exponent <= 22) {
+      double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+      return isNegative ? -value : value;
+    }
+
+    String string = new String(bytes, from, to - from, StandardCharsets.US_ASCII);
+    try {
+      return Double.parseDouble(string);
+    } catch (NumberFormatException e) {
+      throw new NumberFormatException("Error parsing >" + string + "< in line " + (lineIndex + 1) + " of " + file + "!!!");
+    }
+  }
+
+  /**
+   * A growable array of doubles
+   */
+  private static class DoubleArray {
+
+    private double[] values = new double[256];
+    private int size;
+
+    private void add(double value) {
+
+      if (size == values.length) {
+        values = Arrays.copyOf(values, 2 * values.length);
+      }
+      values[size++] = value;
+    }
+
+    private double[] toArray() {
+
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.util.Arrays;
+
+/**
+ * A dictionary numbering the categories of a category chart in order of insertion, such as Strings, Numbers or Dates. Lookups hash into an open-addressing
+ * table of primitive slots with linear probing, so neither the lookup nor the resulting index allocates anything.
+ *
+ * @author timmolter
+ */
+public class CategoryDictionary {
+
+  /** stands in for a null category, as null marks an empty slot */
+  private static final Object NULL_CATEGORY = new Object();
+
+  /** the categories by index */
+  private Object[] categories;
+
+  /** the hash table, holding the index of a category plus one, 0 for an empty slot. The capacity is a power of two, at most half used. */
+  private int[] slots;
+
+  private int size;
+
+  /**
+   * Constructor
+   */
+  public CategoryDictionary() {
+
+    categories = new Object[8];
+    slots = new int[16];
+  }
+
+  /**
+   * Copy Constructor
+   *
+   * @param categoryDictionary
+   */
+  public CategoryDictionary(CategoryDictionary categoryDictionary) {
+
+    categories = Arrays.copyOf(categoryDictionary.categories, categoryDictionary.categories.length);
+    slots = Arrays.copyOf(categoryDictionary.slots, categoryDictionary.slots.length);
+    size = categoryDictionary.size;
+  }
+
+  /**
+   * @param category
+   * @return the index of the category, which is added with the next free index if it is new
+   */
+  public int add(Object category) {
+
+    Object key = category == null ? NULL_CATEGORY : category;
+    int mask = slots.length - 1;
+    int slot = hash(key) & mask;
+    while (slots[slot] != 0) {
+      int index = slots[slot] - 1;
+      if (categories[index].equals(key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    if (size == categories.length) {
+      categories = Arrays.copyOf(categories, size * 2);
+    }
+    categories[size] = key;
+    slots[slot] = ++size;
+    if (size * 2 > slots.length) {
+      rehash();
+    }
+    return size - 1;
+  }
+
+  /**
+   * @param category
+   * @return the index of the category, -1 if it is not in the dictionary
+   */
+  public int indexOf(Object category) {
+
+    Object key = category == null ? NULL_CATEGORY : category;
+    int mask = slots.length - 1;
+    int slot = hash(key) & mask;
+    while (slots[slot] != 0) {
+      int index = slots[slot] - 1;
+      if (categories[index].equals(key)) {
+        return index;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * @param index
+   * @return the category with the given index
+   */
+  public Object get(int index) {
+
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return categories[index] == NULL_CATEGORY ? null : categories[index];
+  }
+
+  public int size() {
+
+    return size;
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  /**
+   * Spreads the hash code of a category over all bits, as the table is indexed by the low bits only
+   */
+  private static int hash(Object key) {
+
+    int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  private void rehash() {
+
+    slots = new int[slots.length * 2];
+    int mask = slots.length - 1;
+    for (int index = 0; index < size; index++) {
+      int slot = hash(categories[index]) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = index + 1;
+    }
+  }
+}
@@ -0,0 +1,316 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Lossless encodings for double columns of time series. Columns of whole numbers such as epoch milliseconds or indices are stored as variable-length deltas
+ * of deltas, which take one byte per value for evenly spaced data. Other columns are stored with the XOR encoding of consecutive values from Facebook's
+ * Gorilla paper, which takes one bit for a repeated value and only the changed bits otherwise. Decoding gives back the exact bits of every value.
+ *
+ * @author timmolter
+ */
+public class ColumnCodec {
+
+  public static final byte ENCODING_XOR = 0;
+  public static final byte ENCODING_DELTA = 1;
+
+  /** whole numbers up to this magnitude are exact in a double */
+  private static final double MAX_EXACT_LONG = 1L << 53;
+
+  /**
+   * Constructor
+   */
+  private ColumnCodec() {
+
+  }
+
+  /**
+   * @param column
+   * @return the encoding that fits the column, ENCODING_DELTA if all values are whole numbers
+   */
+  public static byte getEncoding(double[] column) {
+
+    for (double value : column) {
+      if (!(Math.abs(value) < MAX_EXACT_LONG) || value != Math.rint(value) || Double.doubleToRawLongBits(value) == Long.MIN_VALUE) {
+        // NaN, infinite, fractional, too large or -0.0
+        return ENCODING_XOR;
+      }
+    }
+    return ENCODING_DELTA;
+  }
+
+  /**
+   * Encodes a column
+   *
+   * @param column
+   * @param encoding ENCODING_XOR, or ENCODING_DELTA if all values are whole numbers
+   * @return the encoded bytes
+   */
+  public static byte[] encode(double[] column, byte encoding) {
+
+    return encoding == ENCODING_DELTA ? encodeDelta(column) : encodeXOR(column);
+  }
+
+  /**
+   * Decodes a column
+   *
+   * @param buffer positioned at the encoded bytes, advanced past them
+   * @param encoding
+   * @param size the number of values
+   * @return the column
+   */
+  public static double[] decode(ByteBuffer buffer, byte encoding, int size) {
+
+    // every value takes at least a byte with delta encoding and a bit with XOR encoding, which bounds the column allocated for a corrupt size
+    long minBits = encoding == ENCODING_DELTA ? 8L * size : size;
+    if (size < 0 || minBits > 8L * buffer.remaining()) {
+      throw new IllegalArgumentException("Invalid column size " + size + "!!!");
+    }
+    if (encoding == ENCODING_DELTA) {
+      return decodeDelta(buffer, size);
+    }
+    if (encoding == ENCODING_XOR) {
+      return decodeXOR(buffer, size);
+    }
+    throw new IllegalArgumentException("Unknown column encoding " + encoding + "!!!");
+  }
+
+  // Delta of delta /////////////////////////////////////////////////
+
+  private static byte[] encodeDelta(double[] column) {
+
+    ByteArray bytes = new ByteArray(column.length + 16);
+    long previous = 0;
+    long previousDelta = 0;
+    for (double value : column) {
+      long current = (long) value;
+      long delta = current - previous;
+      long deltaOfDelta = delta - previousDelta;
+      // zig-zag, so that small negative numbers are small too
+      long zigZag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+      while ((zigZag & ~0x7FL) != 0) {
+        bytes.add((byte) ((zigZag & 0x7F) | 0x80));
+        zigZag >>>= 7;
+      }
+      bytes.add((byte) zigZag);
+      previous = current;
+      previousDelta = delta;
+    }
+    return bytes.toArray();
+  }
+
+  private static double[] decodeDelta(ByteBuffer buffer, int size) {
+
+    double[] column = new double[size];
+    long previous = 0;
+    long previousDelta = 0;
+    for (int i = 0; i < size; i++) {
+      long zigZag = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = buffer.get();
+        zigZag |= (long) (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      long deltaOfDelta = (zigZag >>> 1) ^ -(zigZag & 1);
+      previousDelta += deltaOfDelta;
+      previous += previousDelta;
+      column[i] = previous;
+    }
+    return column;
+  }
+
+  // XOR /////////////////////////////////////////////////
+
+  private static byte[] encodeXOR(double[] column) {
+
+    BitWriter bits = new BitWriter(column.length + 16);
+    long previous = 0;
+    int previousLeading = -1;
+    int previousTrailing = 0;
+    for (int i = 0; i < column.length; i++) {
+      long current = Double.doubleToRawLongBits(column[i]);
+      if (i == 0) {
+        bits.write(current, 64);
+        previous = current;
+        continue;
+      }
+      long xor = current ^ previous;
+      previous = current;
+      if (xor == 0) {
+        bits.write(0, 1);
+        continue;
+      }
+      bits.write(1, 1);
+      int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      int trailing = Long.numberOfTrailingZeros(xor);
+      if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+        // the changed bits fit in the window of the previous value
+        bits.write(0, 1);
+        bits.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+      }
+      else {
+        int meaningful = 64 - leading - trailing;
+        bits.write(1, 1);
+        bits.write(leading, 5);
+        bits.write(meaningful - 1, 6);
+        bits.write(xor >>> trailing, meaningful);
+        previousLeading = leading;
+        previousTrailing = trailing;
+      }
+    }
+    return bits.toArray();
+  }
+
+  private static double[] decodeXOR(ByteBuffer buffer, int size) {
+
+    double[] column = new double[size];
+    BitReader bits = new BitReader(buffer);
+    long previous = 0;
+    int previousLeading = 0;
+    int previousTrailing = 0;
+    for (int i = 0; i < size; i++) {
+      if (i == 0) {
+        previous = bits.read(64);
+      }
+      else if (bits.read(1) != 0) {
+        if (bits.read(1) != 0) {
+          previousLeading = (int) bits.read(5);
+          int meaningful = (int) bits.read(6) + 1;
+          previousTrailing = 64 - previousLeading - meaningful;
+        }
+        previous ^= bits.read(64 - previousLeading - previousTrailing) << previousTrailing;
+      }
+      column[i] = Double.longBitsToDouble(previous);
+    }
+    bits.finish();
+    return column;
+  }
+
+  /**
+   * A growable byte array
+   */
+  private static class ByteArray {
+
+    private byte[] bytes;
+    private int size;
+
+    private ByteArray(int capacity) {
+
+      bytes = new byte[capacity];
+    }
+
+    private void add(byte b) {
+
+      if (size == bytes.length) {
+        bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+      }
+      bytes[size++] = b;
+    }
+
+    private byte[] toArray() {
+
+      return Arrays.copyOf(bytes, size);
+    }
+  }
+
+  /**
+   * Writes bits most significant first
+   */
+  private static class BitWriter {
+
+    private final ByteArray bytes;
+    private int pending;
+    private int pendingBits;
+
+    private BitWriter(int capacity) {
+
+      bytes = new ByteArray(capacity);
+    }
+
+    /**
+     * Writes the lowest count bits of value
+     */
+    private void write(long value, int count) {
+
+      while (count > 0) {
+        int take = Math.min(8 - pendingBits, count);
+        count -= take;
+        pending = (pending << take) | (int) ((value >>> count) & ((1 << take) - 1));
+        pendingBits += take;
+        if (pendingBits == 8) {
+          bytes.add((byte) pending);
+          pending = 0;
+          pendingBits = 0;
+        }
+      }
+    }
+
+    private byte[] toArray() {
+
+      if (pendingBits > 0) {
+        bytes.add((byte) (pending << (8 - pendingBits)));
+        pending = 0;
+        pendingBits = 0;
+      }
+      return bytes.toArray();
+    }
+  }
+
+  /**
+   * Reads bits most significant first
+   */
+  private static class BitReader {
+
+    private final ByteBuffer buffer;
+    private int current;
+    private int remainingBits;
+
+    private BitReader(ByteBuffer buffer) {
+
+      this.buffer = buffer;
+    }
+
+    private long read(int count) {
+
+      long value = 0;
+      while (count > 0) {
+        if (remainingBits == 0) {
+          current = buffer.get() & 0xFF;
+          remainingBits = 8;
+        }
+        int take = Math.min(remainingBits, count);
+        remainingBits -= take;
+        count -= take;
+        value = (value << take) | ((current >>> remainingBits) & ((1 << take) - 1));
+      }
+      return value;
+    }
+
+    /**
+     * Skips the padding bits of the last byte, which is already consumed
+     */
+    private void finish() {
+
+      remainingBits = 0;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.util.Arrays;
+
+/**
+ * The reduction of a line with many more data points than pixel columns to the first, lowest, highest and last data point of each column, which draw the same
+ * line as all of them, keeping a single missing value (NaN) per gap. The data points are fed in ascending x order together with the column they fall in, and
+ * the result is the ascending indices of the data points to keep, so that the same reduction serves data points in arrays, projected pixels and mapped files.
+ * <p>
+ * The reduced points only stand in for the stroke of a line or the outline of an area: markers must be painted from all data points.
+ *
+ * @author timmolter
+ */
+public class ColumnDecimation {
+
+  private int[] indices;
+  private int count;
+
+  /** true if the last index kept is a missing value */
+  private boolean isGap;
+
+  /** the first, lowest, highest and last data point of the current column */
+  private final int[] group = new int[4];
+  private boolean isGroupOpen;
+  private double groupColumn;
+  private double groupMin;
+  private double groupMax;
+
+  /**
+   * Constructor
+   *
+   * @param capacity the expected number of kept data points, about four per pixel column
+   */
+  public ColumnDecimation(int capacity) {
+
+    indices = new int[Math.max(16, capacity)];
+  }
+
+  /**
+   * Adds the next data point
+   *
+   * @param index the index of the data point
+   * @param column the pixel column of the data point, any value that is the same for all data points of a column
+   * @param y the y value or y pixel of the data point, NaN if it is missing
+   */
+  public void add(int index, double column, double y) {
+
+    if (Double.isNaN(y)) {
+      addGap(index);
+      return;
+    }
+    if (isGroupOpen && column != groupColumn) {
+      closeGroup();
+    }
+    if (!isGroupOpen) {
+      Arrays.fill(group, index);
+      isGroupOpen = true;
+      groupColumn = column;
+      groupMin = y;
+      groupMax = y;
+    }
+    else {
+      if (y < groupMin) {
+        group[1] = index;
+        groupMin = y;
+      }
+      if (y > groupMax) {
+        group[2] = index;
+        groupMax = y;
+      }
+      group[3] = index;
+    }
+  }
+
+  /**
+   * Adds a missing data point, of which a single one is kept per gap
+   *
+   * @param index the index of the data point
+   */
+  public void addGap(int index) {
+
+    closeGroup();
+    if (!isGap) {
+      append(index);
+      isGap = true;
+    }
+  }
+
+  /**
+   * Adds a whole column whose first, lowest, highest and last data point are already known, e.g. from a {@link MinMaxPyramid}
+   *
+   * @param first
+   * @param min
+   * @param max
+   * @param last
+   */
+  public void addColumn(int first, int min, int max, int last) {
+
+    closeGroup();
+    group[0] = first;
+    group[1] = min;
+    group[2] = max;
+    group[3] = last;
+    appendGroup();
+  }
+
+  /**
+   * @return the ascending indices of the data points to keep
+   */
+  public int[] getIndices() {
+
+    closeGroup();
+    return Arrays.copyOf(indices, count);
+  }
+
+  /**
+   * Copies the kept data points of a column to a new array
+   *
+   * @param data the column the indices refer to
+   * @param indices the indices returned by getIndices
+   * @return the kept values
+   */
+  public static double[] select(double[] data, int[] indices) {
+
+    double[] selected = new double[indices.length];
+    for (int i = 0; i < indices.length; i++) {
+      selected[i] = data[indices[i]];
+    }
+    return selected;
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  private void closeGroup() {
+
+    if (isGroupOpen) {
+      appendGroup();
+      isGroupOpen = false;
+    }
+  }
+
+  private void appendGroup() {
+
+    Arrays.sort(group);
+    for (int j = 0; j < 4; j++) {
+      if (j == 0 || group[j] != group[j - 1]) {
+        append(group[j]);
+      }
+    }
+    isGap = false;
+  }
+
+  private void append(int index) {
+
+    if (count == indices.length) {
+      indices = Arrays.copyOf(indices, 2 * count);
+    }
+    indices[count++] = index;
+  }
+}
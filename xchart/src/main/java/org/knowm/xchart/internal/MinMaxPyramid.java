@@ -0,0 +1,403 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.util.Arrays;
+
+/**
+ * A multi-resolution index over the y data of a series for the lowest and highest data point of any index range. Level 0 holds the indices of the lowest and
+ * highest data point of each block of BLOCK_SIZE data points, and each level above halves the number of entries, so a range query combines O(log n) entries
+ * and at most two partial blocks at its ends. Reducing a line to the first, lowest, highest and last data point of each pixel column then takes O(width log n)
+ * at any zoom level and X-Axis range, instead of a scan of the visible data.
+ * <p>
+ * Missing values (NaN) are left out of the minimum and maximum and kept as runs, so the gaps of a line are found without a scan. Data appended to the series
+ * are indexed incrementally, the levels are built in parallel for large data, and they take about one byte per data point. The index can be saved along with
+ * the series data by {@link org.knowm.xchart.BinaryExporter} and loaded without a rebuild.
+ *
+ * @author timmolter
+ */
+public class MinMaxPyramid {
+
+  /** the number of data points of an entry of level 0 */
+  public static final int BLOCK_SIZE = 16;
+
+  private double[] yValues;
+  private int dataVersion;
+
+  /** the number of data points indexed */
+  private int size;
+
+  /** per level, the index of the lowest and of the highest data point of each entry, -1 if all its values are missing */
+  private int[][] minIndices = new int[0][];
+  private int[][] maxIndices = new int[0][];
+
+  /** the runs of missing values, each from a start (inclusive) to an end (exclusive), in ascending order */
+  private int[] gapStarts = new int[0];
+  private int[] gapEnds = new int[0];
+  private int gapCount;
+
+  /**
+   * Constructor for an empty index, built on the first update
+   */
+  public MinMaxPyramid() {
+
+  }
+
+  /**
+   * Constructor for an index that was saved along with the series data. It is taken as is by the first update with y data of the same size.
+   *
+   * @param size the number of data points indexed
+   * @param minIndices the levels of indices of the lowest data points, as returned by getMinIndices
+   * @param maxIndices the levels of indices of the highest data points, as returned by getMaxIndices
+   * @param gapStarts the starts of the runs of missing values
+   * @param gapEnds the ends of the runs of missing values
+   */
+  public MinMaxPyramid(int size, int[][] minIndices, int[][] maxIndices, int[] gapStarts, int[] gapEnds) {
+
+    int levelCount = getLevelCount(size);
+    if (minIndices.length != levelCount || maxIndices.length != levelCount) {
+      throw new IllegalArgumentException("Expected " + levelCount + " levels for " + size + " data points!!!");
+    }
+    for (int level = 0; level < levelCount; level++) {
+      if (minIndices[level].length != getLevelLength(size, level) || maxIndices[level].length != getLevelLength(size, level)) {
+        throw new IllegalArgumentException("Wrong length of level " + level + "!!!");
+      }
+    }
+    if (gapStarts.length != gapEnds.length) {
+      throw new IllegalArgumentException("Gap starts and ends must have the same length!!!");
+    }
+
+    this.size = size;
+    this.minIndices = minIndices;
+    this.maxIndices = maxIndices;
+    this.gapStarts = gapStarts;
+    this.gapEnds = gapEnds;
+    this.gapCount = gapStarts.length;
+  }
+
+  /**
+   * Brings the index up to date with the y data of the series. Nothing is done if the data did not change, data appended to the previous data are indexed
+   * incrementally, anything else causes a rebuild.
+   *
+   * @param series
+   */
+  public synchronized void update(Series_AxesChart series) {
+
+    double[] newYValues = series.getYValues();
+    if (newYValues == yValues && series.getDataVersion() == dataVersion) {
+      return;
+    }
+
+    // a loaded index, or arrays that are new and start with the indexed data, like those of a growing series
+    boolean isLoaded = yValues == null && size > 0 && newYValues.length == size;
+    boolean isAppended = yValues != null && newYValues != yValues && newYValues.length >= size && startsWith(newYValues, yValues, size);
+    int from = isLoaded || isAppended ? size : 0;
+    if (from == 0) {
+      gapCount = 0;
+    }
+
+    yValues = newYValues;
+    dataVersion = series.getDataVersion();
+    size = newYValues.length;
+    addGaps(from);
+    build(from);
+  }
+
+  /**
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return the index of the lowest value in [from, to), the first one if there are several, or -1 if all values are missing
+   */
+  public int getMinIndex(int from, int to) {
+
+    return find(from, to, true);
+  }
+
+  /**
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return the index of the highest value in [from, to), the first one if there are several, or -1 if all values are missing
+   */
+  public int getMaxIndex(int from, int to) {
+
+    return find(from, to, false);
+  }
+
+  /**
+   * @param from
+   * @return the first index at or after from of a missing value, or the number of data points if there is none
+   */
+  public int getGapStart(int from) {
+
+    int gap = findGap(from);
+    return gap < gapCount ? Math.max(from, gapStarts[gap]) : size;
+  }
+
+  /**
+   * @param from
+   * @return the first index at or after from of a value that is not missing, or the number of data points if there is none
+   */
+  public int getGapEnd(int from) {
+
+    int gap = findGap(from);
+    return gap < gapCount && gapStarts[gap] <= from ? gapEnds[gap] : from;
+  }
+
+  /**
+   * @return the number of data points indexed
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @return the number of levels
+   */
+  public int getLevelCount() {
+
+    return getLevelCount(size);
+  }
+
+  /**
+   * @param level
+   * @return a copy of the indices of the lowest data points of the entries of the level
+   */
+  public int[] getMinIndices(int level) {
+
+    return Arrays.copyOf(minIndices[level], getLevelLength(size, level));
+  }
+
+  /**
+   * @param level
+   * @return a copy of the indices of the highest data points of the entries of the level
+   */
+  public int[] getMaxIndices(int level) {
+
+    return Arrays.copyOf(maxIndices[level], getLevelLength(size, level));
+  }
+
+  /**
+   * @return a copy of the starts of the runs of missing values
+   */
+  public int[] getGapStarts() {
+
+    return Arrays.copyOf(gapStarts, gapCount);
+  }
+
+  /**
+   * @return a copy of the ends of the runs of missing values
+   */
+  public int[] getGapEnds() {
+
+    return Arrays.copyOf(gapEnds, gapCount);
+  }
+
+  /**
+   * @param size the number of data points
+   * @param level
+   * @return the number of entries of the level
+   */
+  public static int getLevelLength(int size, int level) {
+
+    int blockCount = (int) (((long) size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    return (int) (((long) blockCount + (1L << level) - 1) >> level);
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  /**
+   * @return the number of levels up to the first one with a single entry
+   */
+  private static int getLevelCount(int size) {
+
+    int levelCount = 0;
+    for (int length = getLevelLength(size, 0); length > 0; length = getLevelLength(size, levelCount)) {
+      levelCount++;
+      if (length == 1) {
+        break;
+      }
+    }
+    return levelCount;
+  }
+
+  private static boolean startsWith(double[] data, double[] prefix, int length) {
+
+    for (int i = 0; i < length; i++) {
+      if (Double.doubleToRawLongBits(data[i]) != Double.doubleToRawLongBits(prefix[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds the runs of missing values from index from on, continuing the last run if it ends at from.
+   */
+  private void addGaps(int from) {
+
+    for (int i = from; i < size; i++) {
+      if (!Double.isNaN(yValues[i])) {
+        continue;
+      }
+      if (gapCount > 0 && gapEnds[gapCount - 1] == i) {
+        gapEnds[gapCount - 1] = i + 1;
+        continue;
+      }
+      if (gapCount == gapStarts.length) {
+        gapStarts = Arrays.copyOf(gapStarts, Math.max(16, 2 * gapCount));
+        gapEnds = Arrays.copyOf(gapEnds, gapStarts.length);
+      }
+      gapStarts[gapCount] = i;
+      gapEnds[gapCount++] = i + 1;
+    }
+  }
+
+  /**
+   * Builds the entries of all levels that cover data points from index from on. Entries before are kept, and arrays grow by at least half, so appending costs
+   * amortized O(1) per data point.
+   */
+  private void build(int from) {
+
+    int levelCount = getLevelCount(size);
+    if (minIndices.length < levelCount) {
+      minIndices = Arrays.copyOf(minIndices, levelCount);
+      maxIndices = Arrays.copyOf(maxIndices, levelCount);
+    }
+
+    for (int level = 0; level < levelCount; level++) {
+
+      final int length = getLevelLength(size, level);
+      if (minIndices[level] == null || minIndices[level].length < length) {
+        int capacity = minIndices[level] == null ? length : Math.max(length, minIndices[level].length + minIndices[level].length / 2);
+        minIndices[level] = minIndices[level] == null ? new int[capacity] : Arrays.copyOf(minIndices[level], capacity);
+        maxIndices[level] = maxIndices[level] == null ? new int[capacity] : Arrays.copyOf(maxIndices[level], capacity);
+      }
+
+      // the last entry before the new data points may have been partial
+      final int entryFrom = (from / BLOCK_SIZE) >> level;
+      final int[] levelMinIndices = minIndices[level];
+      final int[] levelMaxIndices = maxIndices[level];
+      if (level == 0) {
+        ParallelScan.forEachChunk(entryFrom, length, new ParallelScan.RangeScan() {
+
+          @Override
+          public void scan(int from, int to) {
+
+            for (int block = from; block < to; block++) {
+              int blockEnd = Math.min(size, (block + 1) * BLOCK_SIZE);
+              levelMinIndices[block] = scanRange(block * BLOCK_SIZE, blockEnd, true, -1);
+              levelMaxIndices[block] = scanRange(block * BLOCK_SIZE, blockEnd, false, -1);
+            }
+          }
+        });
+      }
+      else {
+        final int[] lowerMinIndices = minIndices[level - 1];
+        final int[] lowerMaxIndices = maxIndices[level - 1];
+        final int lowerLength = getLevelLength(size, level - 1);
+        ParallelScan.forEachChunk(entryFrom, length, new ParallelScan.RangeScan() {
+
+          @Override
+          public void scan(int from, int to) {
+
+            for (int entry = from; entry < to; entry++) {
+              int left = 2 * entry;
+              int right = left + 1;
+              levelMinIndices[entry] = right < lowerLength ? select(lowerMinIndices[left], lowerMinIndices[right], true) : lowerMinIndices[left];
+              levelMaxIndices[entry] = right < lowerLength ? select(lowerMaxIndices[left], lowerMaxIndices[right], false) : lowerMaxIndices[left];
+            }
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Combines the whole entries inside [from, to) with scans of the partial blocks at the ends, from the bottom level up, like a segment tree.
+   */
+  private int find(int from, int to, boolean isMin) {
+
+    int blockFrom = (from + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    int blockTo = to / BLOCK_SIZE;
+    if (blockFrom >= blockTo) {
+      return scanRange(from, to, isMin, -1);
+    }
+
+    int index = scanRange(from, blockFrom * BLOCK_SIZE, isMin, -1);
+    int[][] indices = isMin ? minIndices : maxIndices;
+    for (int level = 0, low = blockFrom, high = blockTo; low < high; level++, low >>= 1, high >>= 1) {
+      if ((low & 1) != 0) {
+        index = select(index, indices[level][low++], isMin);
+      }
+      if ((high & 1) != 0) {
+        index = select(index, indices[level][--high], isMin);
+      }
+    }
+    return scanRange(blockTo * BLOCK_SIZE, to, isMin, index);
+  }
+
+  private int scanRange(int from, int to, boolean isMin, int index) {
+
+    for (int i = from; i < to; i++) {
+      if (!Double.isNaN(yValues[i])) {
+        index = select(index, i, isMin);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return the index of the lower or higher value, the lower index if they are equal, or the other index if one is -1
+   */
+  private int select(int index, int other, boolean isMin) {
+
+    if (index < 0) {
+      return other;
+    }
+    if (other < 0) {
+      return index;
+    }
+    double value = yValues[index];
+    double otherValue = yValues[other];
+    if (value == otherValue) {
+      return Math.min(index, other);
+    }
+    return (otherValue < value) == isMin ? other : index;
+  }
+
+  /**
+   * @return the first run of missing values that ends after index, gapCount if there is none
+   */
+  private int findGap(int index) {
+
+    int low = 0;
+    int high = gapCount;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (gapEnds[mid] <= index) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,260 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Scan kernels over primitive data columns: min and max, histogram bin counts, and element-wise transforms such as log10 and the projection of data values onto pixels. Ranges of
+ * at least the parallel threshold are split into chunks that are scanned in parallel on the common ForkJoinPool, smaller ranges are scanned in a plain loop.
+ *
+ * @author timmolter
+ */
+public class ParallelScan {
+
+  public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+
+  /** ranges are split in at most this many chunks per pool thread, to even out the load */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private static volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+  /**
+   * Constructor
+   */
+  private ParallelScan() {
+
+  }
+
+  /**
+   * Finds the min and max of the data, skipping NaN values
+   *
+   * @param data
+   * @return {min, max}, or {Double.MAX_VALUE, -Double.MAX_VALUE} if there are no values
+   */
+  public static double[] findMinMax(final double[] data) {
+
+    return findMinMax(data, null);
+  }
+
+  /**
+   * Finds the min and max of the data accounting for error bars, skipping NaN values
+   *
+   * @param data
+   * @param errorBars the error bars, or null
+   * @return {min, max}, or {Double.MAX_VALUE, -Double.MAX_VALUE} if there are no values
+   */
+  public static double[] findMinMax(final double[] data, final double[] errorBars) {
+
+    if (data.length < parallelThreshold) {
+      return findMinMax(data, errorBars, 0, data.length);
+    }
+
+    final int numChunks = getNumChunks(data.length);
+    return IntStream.range(0, numChunks).parallel().mapToObj(chunk -> findMinMax(data, errorBars, getChunkStart(data.length, numChunks, chunk), getChunkStart(
+        data.length, numChunks, chunk + 1))).reduce(new double[] { Double.MAX_VALUE, -Double.MAX_VALUE }, (a, b) -> new double[] { Math.min(a[0], b[0]), Math
+            .max(a[1], b[1]) });
+  }
+
+  private static double[] findMinMax(double[] data, double[] errorBars, int from, int to) {
+
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+
+    for (int i = from; i < to; i++) {
+
+      double value = data[i];
+      if (Double.isNaN(value)) {
+        continue;
+      }
+      double eb = errorBars == null ? 0.0 : errorBars[i];
+      if (value - eb < min) {
+        min = value - eb;
+      }
+      if (value + eb > max) {
+        max = value + eb;
+      }
+    }
+
+    return new double[] { min, max };
+  }
+
+  /**
+   * Applies the operator to data[from, to) and stores the results in dest[0, to - from)
+   *
+   * @param data
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param dest
+   * @param operator must be stateless, as it may be applied from several threads
+   */
+  public static void map(final double[] data, final int from, final int to, final double[] dest, final DoubleUnaryOperator operator) {
+
+    final int length = to - from;
+    if (length < parallelThreshold) {
+      map(data, from, to, dest, 0, operator);
+      return;
+    }
+
+    final int numChunks = getNumChunks(length);
+    IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+      int chunkStart = getChunkStart(length, numChunks, chunk);
+      map(data, from + chunkStart, from + getChunkStart(length, numChunks, chunk + 1), dest, chunkStart, operator);
+    });
+  }
+
+  private static void map(double[] data, int from, int to, double[] dest, int destFrom, DoubleUnaryOperator operator) {
+
+    for (int i = from, j = destFrom; i < to; i++, j++) {
+      dest[j] = operator.applyAsDouble(data[i]);
+    }
+  }
+
+  /**
+   * Stores the log10 of data[from, to) in dest[0, to - from)
+   *
+   * @param data
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param dest
+   */
+  public static void log10(double[] data, int from, int to, double[] dest) {
+
+    map(data, from, to, dest, Math::log10);
+  }
+
+  /**
+   * Applies a scan to the indices [from, to), split into chunks that are scanned in parallel if there are at least the parallel threshold of indices
+   *
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param scan must only write to the indices of its chunk, as the chunks may be scanned from several threads
+   */
+  public static void forEachChunk(final int from, final int to, final RangeScan scan) {
+
+    final int length = to - from;
+    if (length < parallelThreshold) {
+      scan.scan(from, to);
+      return;
+    }
+
+    final int numChunks = getNumChunks(length);
+    IntStream.range(0, numChunks).parallel().forEach(chunk -> scan.scan(from + getChunkStart(length, numChunks, chunk), from + getChunkStart(length, numChunks,
+        chunk + 1)));
+  }
+
+  /**
+   * Counts the values of data[from, to) in numBins equal-width bins between min and max. A value equal to max is counted in the last bin, NaN values are
+   * skipped. Parallel scans count into one array per chunk and add the arrays up.
+   *
+   * @param data
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param numBins
+   * @param min
+   * @param max
+   * @return the counts of the numBins bins, followed by the number of values below min, the number of values above max and the number of values equal to max
+   */
+  public static long[] bin(final double[] data, final int from, final int to, final int numBins, final double min, final double max) {
+
+    final int length = to - from;
+    if (length < parallelThreshold) {
+      return bin(data, from, to, numBins, min, max, new long[numBins + 3]);
+    }
+
+    final int numChunks = getNumChunks(length);
+    return IntStream.range(0, numChunks).parallel().mapToObj(chunk -> bin(data, from + getChunkStart(length, numChunks, chunk), from + getChunkStart(length,
+        numChunks, chunk + 1), numBins, min, max, new long[numBins + 3])).reduce((a, b) -> {
+          for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+          }
+          return a;
+        }).get();
+  }
+
+  private static long[] bin(double[] data, int from, int to, int numBins, double min, double max, long[] counts) {
+
+    double binSize = (max - min) / numBins;
+    int lastBin = numBins - 1;
+
+    for (int i = from; i < to; i++) {
+
+      double value = data[i];
+      if (value < min) {
+        counts[numBins]++;
+      }
+      else if (value > max) {
+        counts[numBins + 1]++;
+      }
+      else if (value == max) {
+        counts[lastBin]++;
+        counts[numBins + 2]++;
+      }
+      else if (value >= min) { // false for NaN
+        // rounding could put a value just below max into a bin after the last one
+        counts[Math.min((int) ((value - min) / binSize), lastBin)]++;
+      }
+    }
+
+    return counts;
+  }
+
+  private static int getNumChunks(int length) {
+
+    // inside a pool other than the common pool, e.g. to control the number of threads, split for that pool
+    int parallelism = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool().getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+    return Math.max(1, Math.min(length, parallelism * CHUNKS_PER_THREAD));
+  }
+
+  private static int getChunkStart(int length, int numChunks, int chunk) {
+
+    return (int) ((long) length * chunk / numChunks);
+  }
+
+  /**
+   * Sets the number of values from which on scans run in parallel
+   *
+   * @param parallelThreshold
+   */
+  public static void setParallelThreshold(int parallelThreshold) {
+
+    if (parallelThreshold < 1) {
+      throw new IllegalArgumentException("The parallel threshold must be at least 1!!!");
+    }
+    ParallelScan.parallelThreshold = parallelThreshold;
+  }
+
+  public static int getParallelThreshold() {
+
+    return parallelThreshold;
+  }
+
+  /**
+   * A scan over a range of indices
+   */
+  public interface RangeScan {
+
+    /**
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     */
+    void scan(int from, int to);
+  }
+}
@@ -0,0 +1,394 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A spatial index over the data points of a series for nearest point queries in pixel distance. The points are indexed in axis space (log10 applied to
+ * logarithmic axes), where the projection onto pixels is a scaling per axis, so one index serves any plot size and axis range.
+ * <p>
+ * Series with ascending x data, like most line series, need no extra structure: the nearest point is found by a binary search on x and a scan outwards that
+ * stops as soon as the horizontal distance alone exceeds the best distance. Other series, like scatter series, are indexed by implicit k-d trees. Data that
+ * were appended to the series are added as a new tree, and trees of equal size are merged, so appending costs amortized O(log^2 n) per point instead of a
+ * rebuild.
+ *
+ * @author timmolter
+ */
+public class SeriesIndex {
+
+  /** subtrees of at most this many points are scanned linearly */
+  private static final int LEAF_SIZE = 8;
+
+  private double[] xValues;
+  private double[] yValues;
+  private int dataVersion;
+  private boolean isXAxisLogarithmic;
+  private boolean isYAxisLogarithmic;
+
+  /** the coordinates in axis space: the data themselves for linear axes, log10 copies for logarithmic axes */
+  private double[] xAxisValues;
+  private double[] yAxisValues;
+
+  /** the number of data points indexed */
+  private int size;
+
+  /** true as long as all x values in axis space are in ascending order */
+  private boolean isSorted = true;
+
+  /** the k-d trees of an unsorted series, each a permutation of point indices, in order of decreasing size */
+  private final List<int[]> trees = new ArrayList<int[]>();
+
+  /** the number of data points covered by the trees */
+  private int treeSize;
+
+  /**
+   * Brings the index up to date with the series data. Nothing is done if the data did not change, data appended to the previous data are indexed
+   * incrementally, anything else causes a rebuild.
+   *
+   * @param series
+   * @param isXAxisLogarithmic
+   * @param isYAxisLogarithmic
+   */
+  public void update(Series_AxesChart series, boolean isXAxisLogarithmic, boolean isYAxisLogarithmic) {
+
+    double[] newXValues = series.getXValues();
+    double[] newYValues = series.getYValues();
+    boolean isSameAxes = this.isXAxisLogarithmic == isXAxisLogarithmic && this.isYAxisLogarithmic == isYAxisLogarithmic;
+
+    if (xValues != null && isSameAxes && series.getDataVersion() == dataVersion && newXValues == xValues && newYValues == yValues) {
+      return;
+    }
+
+    // arrays that were reused may have been modified in place, so only new arrays starting with the indexed data count as appended
+    boolean isAppended = xValues != null && isSameAxes && newXValues != null && newXValues != xValues && newYValues != yValues && newXValues.length >= size
+        && startsWith(newXValues, xValues, size) && startsWith(newYValues, yValues, size);
+    if (!isAppended) {
+      size = 0;
+      isSorted = true;
+      trees.clear();
+      treeSize = 0;
+      xAxisValues = null;
+      yAxisValues = null;
+    }
+
+    this.xValues = newXValues;
+    this.yValues = newYValues;
+    this.dataVersion = series.getDataVersion();
+    this.isXAxisLogarithmic = isXAxisLogarithmic;
+    this.isYAxisLogarithmic = isYAxisLogarithmic;
+
+    if (newXValues == null) { // String data have no position of their own
+      xValues = new double[0];
+      yValues = new double[0];
+      xAxisValues = xValues;
+      yAxisValues = yValues;
+      return;
+    }
+
+    int newSize = newXValues.length;
+    xAxisValues = toAxisValues(newXValues, xAxisValues, size, isXAxisLogarithmic);
+    yAxisValues = toAxisValues(newYValues, yAxisValues, size, isYAxisLogarithmic);
+
+    for (int i = size; isSorted && i < newSize; i++) {
+      if (Double.isNaN(xAxisValues[i]) || (i > 0 && !(xAxisValues[i] >= xAxisValues[i - 1]))) {
+        isSorted = false;
+      }
+    }
+    size = newSize;
+
+    if (!isSorted && treeSize < size) {
+      addTree(treeSize, size);
+      treeSize = size;
+    }
+  }
+
+  /**
+   * Finds the data point closest to a position, with the distance measured in pixels.
+   *
+   * @param x the X-Axis position in axis space
+   * @param y the Y-Axis position in axis space
+   * @param xScale the pixels per unit of the X-Axis in axis space
+   * @param yScale the pixels per unit of the Y-Axis in axis space
+   * @param maxDistance the maximum distance in pixels
+   * @return the index of the closest data point, or -1 if there is none within maxDistance
+   */
+  public int getNearest(double x, double y, double xScale, double yScale, double maxDistance) {
+
+    Query query = new Query(x, y, Math.abs(xScale), Math.abs(yScale), maxDistance * maxDistance);
+    if (isSorted) {
+      getNearestSorted(query);
+    }
+    else {
+      for (int[] tree : trees) {
+        getNearest(query, tree, 0, tree.length, 0);
+      }
+    }
+    return query.bestIndex;
+  }
+
+  /**
+   * @return the number of data points indexed
+   */
+  public int size() {
+
+    return size;
+  }
+
+  /**
+   * @return true if the x values are in ascending order and searched without a tree
+   */
+  public boolean isSorted() {
+
+    return isSorted;
+  }
+
+  /**
+   * @return the number of k-d trees, at most log2 of the number of data points
+   */
+  public int getTreeCount() {
+
+    return trees.size();
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  /** the state of a nearest point query */
+  private static final class Query {
+
+    private final double x;
+    private final double y;
+    private final double xScale;
+    private final double yScale;
+    private double bestDistanceSquared;
+    private int bestIndex = -1;
+
+    private Query(double x, double y, double xScale, double yScale, double maxDistanceSquared) {
+
+      this.x = x;
+      this.y = y;
+      this.xScale = xScale;
+      this.yScale = yScale;
+      this.bestDistanceSquared = maxDistanceSquared;
+    }
+  }
+
+  private static boolean startsWith(double[] data, double[] prefix, int length) {
+
+    for (int i = 0; i < length; i++) {
+      if (Double.doubleToRawLongBits(data[i]) != Double.doubleToRawLongBits(prefix[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Brings the axis space coordinates up to date, keeping the first from values that were computed before.
+   */
+  private static double[] toAxisValues(double[] data, double[] axisValues, int from, boolean isLogarithmic) {
+
+    if (!isLogarithmic) {
+      return data;
+    }
+    double[] result = axisValues == null ? new double[data.length] : Arrays.copyOf(axisValues, data.length);
+    for (int i = axisValues == null ? 0 : from; i < data.length; i++) {
+      result[i] = Math.log10(data[i]);
+    }
+    return result;
+  }
+
+  private boolean isIndexable(int index) {
+
+    double x = xAxisValues[index];
+    double y = yAxisValues[index];
+    return !Double.isNaN(x) && !Double.isInfinite(x) && !Double.isNaN(y) && !Double.isInfinite(y);
+  }
+
+  private void check(Query query, int index) {
+
+    double dx = (xAxisValues[index] - query.x) * query.xScale;
+    double dy = (yAxisValues[index] - query.y) * query.yScale;
+    double distanceSquared = dx * dx + dy * dy;
+    if (distanceSquared < query.bestDistanceSquared || (query.bestIndex < 0 && distanceSquared == query.bestDistanceSquared)) {
+      query.bestDistanceSquared = distanceSquared;
+      query.bestIndex = index;
+    }
+  }
+
+  private void getNearestSorted(Query query) {
+
+    // the first point at or right of the position
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (xAxisValues[mid] < query.x) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+
+    for (int i = low; i < size; i++) {
+      double dx = (xAxisValues[i] - query.x) * query.xScale;
+      if (dx * dx > query.bestDistanceSquared) {
+        break;
+      }
+      if (isIndexable(i)) {
+        check(query, i);
+      }
+    }
+    for (int i = low - 1; i >= 0; i--) {
+      double dx = (query.x - xAxisValues[i]) * query.xScale;
+      if (dx * dx > query.bestDistanceSquared) {
+        break;
+      }
+      if (isIndexable(i)) {
+        check(query, i);
+      }
+    }
+  }
+
+  private void getNearest(Query query, int[] tree, int from, int to, int depth) {
+
+    if (to - from <= LEAF_SIZE) {
+      for (int i = from; i < to; i++) {
+        check(query, tree[i]);
+      }
+      return;
+    }
+
+    int mid = (from + to) >>> 1;
+    int index = tree[mid];
+    check(query, index);
+
+    double delta = (depth & 1) == 0 ? (query.x - xAxisValues[index]) * query.xScale : (query.y - yAxisValues[index]) * query.yScale;
+    if (delta < 0) {
+      getNearest(query, tree, from, mid, depth + 1);
+      if (delta * delta <= query.bestDistanceSquared) {
+        getNearest(query, tree, mid + 1, to, depth + 1);
+      }
+    }
+    else {
+      getNearest(query, tree, mid + 1, to, depth + 1);
+      if (delta * delta <= query.bestDistanceSquared) {
+        getNearest(query, tree, from, mid, depth + 1);
+      }
+    }
+  }
+
+  /**
+   * Indexes the points from (inclusive) to (exclusive) in a new tree, merging it with the smaller trees built before.
+   */
+  private void addTree(int from, int to) {
+
+    int[] indices = new int[to - from];
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (isIndexable(i)) {
+        indices[count++] = i;
+      }
+    }
+    int[] tree = Arrays.copyOf(indices, count);
+
+    while (!trees.isEmpty() && trees.get(trees.size() - 1).length <= tree.length) {
+      int[] smaller = trees.remove(trees.size() - 1);
+      int[] merged = Arrays.copyOf(smaller, smaller.length + tree.length);
+      System.arraycopy(tree, 0, merged, smaller.length, tree.length);
+      tree = merged;
+    }
+    if (tree.length > 0) {
+      build(tree, 0, tree.length, 0);
+      trees.add(tree);
+    }
+  }
+
+  /**
+   * Orders the indices into an implicit k-d tree: the median by x at the middle, the lower half left and the upper half right of it, and so on with the axes
+   * alternating.
+   */
+  private void build(int[] tree, int from, int to, int depth) {
+
+    if (to - from <= LEAF_SIZE) {
+      return;
+    }
+    int mid = (from + to) >>> 1;
+    select(tree, from, to - 1, mid, (depth & 1) == 0 ? xAxisValues : yAxisValues);
+    build(tree, from, mid, depth + 1);
+    build(tree, mid + 1, to, depth + 1);
+  }
+
+  /**
+   * Partially sorts the indices between left and right (inclusive) so that the index at k has the k-th smallest value, with smaller or equal values before
+   * and greater or equal values after it.
+   */
+  private static void select(int[] tree, int left, int right, int k, double[] values) {
+
+    while (right > left) {
+      // median of three as pivot
+      int mid = (left + right) >>> 1;
+      if (values[tree[mid]] < values[tree[left]]) {
+        swap(tree, mid, left);
+      }
+      if (values[tree[right]] < values[tree[left]]) {
+        swap(tree, right, left);
+      }
+      if (values[tree[right]] < values[tree[mid]]) {
+        swap(tree, right, mid);
+      }
+      double pivot = values[tree[mid]];
+
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (values[tree[i]] < pivot) {
+          i++;
+        }
+        while (values[tree[j]] > pivot) {
+          j--;
+        }
+        if (i <= j) {
+          swap(tree, i, j);
+          i++;
+          j--;
+        }
+      }
+      if (k <= j) {
+        right = j;
+      }
+      else if (k >= i) {
+        left = i;
+      }
+      else {
+        return;
+      }
+    }
+  }
+
+  private static void swap(int[] tree, int i, int j) {
+
+    int temp = tree[i];
+    tree[i] = tree[j];
+    tree[j] = temp;
+  }
+}
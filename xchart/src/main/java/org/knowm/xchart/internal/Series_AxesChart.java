@@ -18,16 +18,24 @@ package org.knowm.xchart.internal;
 
 import java.awt.BasicStroke;
 import java.awt.Color;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.AbstractList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.style.markers.Marker;
 
 /**
  * A Series containing X and Y data to be plotted on a Chart with X and Y Axes
+ * <p>
+ * Number and Date data is stored in primitive columns. Date values are stored as epoch milliseconds, which a double represents exactly for any realistic date, so
+ * all scans and transforms share a single code path. Missing Y values (null) are stored as Double.NaN.
  *
  * @author timmolter
  */
@@ -35,13 +43,26 @@ public abstract class Series_AxesChart extends Series {
 
   public abstract AxisDataType getAxesType(List<?> data);
 
-  private List<?> xData; // can be Number or Date or String
+  private List<?> xData; // only kept for String data, which has no primitive representation
+  private double[] xValues; // Number values or epoch milliseconds for Date data
   private AxisDataType xAxisType;
 
-  private List<? extends Number> yData;
+  private double[] yValues;
   private AxisDataType yAxisType;
 
-  private List<? extends Number> errorBars;
+  private double[] errorBars;
+
+  /** the indices of the null values of List data, which are stored as Double.NaN, or null if there were none */
+  private BitSet xNulls;
+  private BitSet yNulls;
+  private BitSet errorBarNulls;
+
+  /** incremented whenever the data are set, so derived data can tell if they are out of date */
+  private int dataVersion;
+
+  /** whether the x values are in ascending order, found out on first use for the data version in xAscendingVersion */
+  private boolean isXAscending;
+  private int xAscendingVersion = -1;
 
   /** the minimum value of axis range */
   private double xMin;
@@ -75,22 +96,40 @@ public abstract class Series_AxesChart extends Series {
    *
    * @param name
    * @param xData
-   * @param xAxisType
    * @param yData
-   * @param yAxisType
    * @param errorBars
    */
   public Series_AxesChart(String name, List<?> xData, List<? extends Number> yData, List<? extends Number> errorBars) {
 
     super(name);
 
-    this.xData = xData;
     this.xAxisType = getAxesType(xData);
-    this.yData = yData;
     this.yAxisType = AxisDataType.Number;
-    this.errorBars = errorBars;
 
-    calculateMinMax();
+    setData(xData, yData, errorBars);
+  }
+
+  /**
+   * Constructor for data already held in primitive columns, which are handed over to the series. The arrays are used directly without copying, so they must
+   * not be modified or used for another series afterwards.
+   *
+   * @param name
+   * @param xData Number values, or epoch milliseconds if xAxisType is Date
+   * @param xAxisType
+   * @param yData
+   * @param errorBars
+   */
+  public Series_AxesChart(String name, double[] xData, AxisDataType xAxisType, double[] yData, double[] errorBars) {
+
+    super(name);
+
+    if (xAxisType == AxisDataType.String) {
+      throw new IllegalArgumentException("String data cannot be stored in a primitive column!!!");
+    }
+    this.xAxisType = xAxisType;
+    this.yAxisType = AxisDataType.Number;
+
+    setData(xData, yData, errorBars);
   }
 
   public void replaceData(List<?> newXData, List<? extends Number> newYData, List<? extends Number> newErrorBars) {
@@ -103,16 +142,136 @@ public abstract class Series_AxesChart extends Series {
       throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
     }
 
-    xData = newXData;
-    yData = newYData;
+    setData(newXData, newYData, newErrorBars);
+  }
+
+  /**
+   * Replace the data with primitive columns. The arrays are copied, so they can be reused.
+   *
+   * @param newXData Number values, or epoch milliseconds for a Date series
+   * @param newYData
+   * @param newErrorBars
+   */
+  public void replaceData(double[] newXData, double[] newYData, double[] newErrorBars) {
+
+    replaceColumns(newXData.clone(), newYData.clone(), newErrorBars == null ? null : newErrorBars.clone());
+  }
+
+  /**
+   * Replace the data with primitive columns that are handed over to the series. They are used directly without copying, so they must not be modified or used
+   * for another series afterwards.
+   *
+   * @param newXData Number values, or epoch milliseconds for a Date series
+   * @param newYData
+   * @param newErrorBars
+   */
+  public void replaceColumns(double[] newXData, double[] newYData, double[] newErrorBars) {
+
+    // Sanity check
+    if (xAxisType == AxisDataType.String) {
+      throw new IllegalArgumentException("String data cannot be replaced with a primitive column!!!");
+    }
+    if (newErrorBars != null && newErrorBars.length != newYData.length) {
+      throw new IllegalArgumentException("error bars and Y-Axis sizes are not the same!!!");
+    }
+    if (newXData.length != newYData.length) {
+      throw new IllegalArgumentException("X and Y-Axis sizes are not the same!!!");
+    }
+
+    setData(newXData, newYData, newErrorBars);
+  }
+
+  private void setData(List<?> newXData, List<? extends Number> newYData, List<? extends Number> newErrorBars) {
+
+    if (xAxisType == AxisDataType.String) {
+      xData = newXData;
+      xValues = null;
+      xNulls = null;
+    }
+    else {
+      xData = null;
+      xValues = toPrimitiveColumn(newXData);
+      xNulls = getNulls(newXData);
+    }
+    yValues = toPrimitiveColumn(newYData);
+    yNulls = getNulls(newYData);
+    errorBars = newErrorBars == null ? null : toPrimitiveColumn(newErrorBars);
+    errorBarNulls = newErrorBars == null ? null : getNulls(newErrorBars);
+    dataVersion++;
+    calculateMinMax();
+  }
+
+  private void setData(double[] newXData, double[] newYData, double[] newErrorBars) {
+
+    xData = null;
+    xValues = newXData;
+    yValues = newYData;
     errorBars = newErrorBars;
+    xNulls = null;
+    yNulls = null;
+    errorBarNulls = null;
+    dataVersion++;
     calculateMinMax();
   }
 
+  /**
+   * Converts Number, Date, Instant or LocalDateTime data into a primitive column. Null entries become Double.NaN.
+   *
+   * @param data
+   * @return
+   */
+  private static double[] toPrimitiveColumn(Collection<?> data) {
+
+    double[] column = new double[data.size()];
+    int i = 0;
+    for (Object dataPoint : data) {
+      column[i++] = dataPoint == null ? Double.NaN : toPrimitiveValue(dataPoint);
+    }
+    return column;
+  }
+
+  /**
+   * @param data
+   * @return the indices of the null entries, or null if there are none
+   */
+  private static BitSet getNulls(Collection<?> data) {
+
+    BitSet nulls = null;
+    int i = 0;
+    for (Object dataPoint : data) {
+      if (dataPoint == null) {
+        if (nulls == null) {
+          nulls = new BitSet();
+        }
+        nulls.set(i);
+      }
+      i++;
+    }
+    return nulls;
+  }
+
+  private static double toPrimitiveValue(Object dataPoint) {
+
+    if (dataPoint instanceof Number) {
+      return ((Number) dataPoint).doubleValue();
+    }
+    else if (dataPoint instanceof Date) {
+      return ((Date) dataPoint).getTime();
+    }
+    else if (dataPoint instanceof Instant) {
+      return ((Instant) dataPoint).toEpochMilli();
+    }
+    else if (dataPoint instanceof LocalDateTime) {
+      // a wall time in the system default time zone, which is also the Styler's default formatting time zone, so that the labels show it unchanged
+      return ((LocalDateTime) dataPoint).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    throw new IllegalArgumentException("Series data must be either Number, Date, Instant or LocalDateTime type!!!");
+  }
+
   private void calculateMinMax() {
 
     // xData
-    double[] xMinMax = findMinMax(xData, xAxisType);
+    double[] xMinMax = findMinMax(xValues, xAxisType);
     xMin = xMinMax[0];
     xMax = xMinMax[1];
     // System.out.println(xMin);
@@ -121,10 +280,10 @@ public abstract class Series_AxesChart extends Series {
     // yData
     double[] yMinMax = null;
     if (errorBars == null) {
-      yMinMax = findMinMax(yData, yAxisType);
+      yMinMax = findMinMax(yValues, yAxisType);
     }
     else {
-      yMinMax = findMinMaxWithErrorBars(yData, errorBars);
+      yMinMax = findMinMaxWithErrorBars(yValues, errorBars);
     }
     yMin = yMinMax[0];
     yMax = yMinMax[1];
@@ -138,38 +297,13 @@ public abstract class Series_AxesChart extends Series {
    * @param data
    * @return
    */
-  private double[] findMinMax(Collection<?> data, AxisDataType axisType) {
-
-    double min = Double.MAX_VALUE;
-    double max = -Double.MAX_VALUE;
-
-    for (Object dataPoint : data) {
+  private double[] findMinMax(double[] data, AxisDataType axisType) {
 
-      if (dataPoint == null) {
-        continue;
-      }
-
-      double value = 0.0;
-
-      if (axisType == AxisDataType.Number) {
-        value = ((Number) dataPoint).doubleValue();
-      }
-      else if (axisType == AxisDataType.Date) {
-        Date date = (Date) dataPoint;
-        value = date.getTime();
-      }
-      else if (axisType == AxisDataType.String) {
-        return new double[] { Double.NaN, Double.NaN };
-      }
-      if (value < min) {
-        min = value;
-      }
-      if (value > max) {
-        max = value;
-      }
+    if (axisType == AxisDataType.String) {
+      return new double[] { Double.NaN, Double.NaN };
     }
 
-    return new double[] { min, max };
+    return ParallelScan.findMinMax(data);
   }
 
   /**
@@ -178,24 +312,9 @@ public abstract class Series_AxesChart extends Series {
    * @param data
    * @return
    */
-  private double[] findMinMaxWithErrorBars(Collection<? extends Number> data, Collection<? extends Number> errorBars) {
-
-    double min = Double.MAX_VALUE;
-    double max = -Double.MAX_VALUE;
-
-    Iterator<? extends Number> itr = data.iterator();
-    Iterator<? extends Number> ebItr = errorBars.iterator();
-    while (itr.hasNext()) {
-      double bigDecimal = itr.next().doubleValue();
-      double eb = ebItr.next().doubleValue();
-      if (bigDecimal - eb < min) {
-        min = bigDecimal - eb;
-      }
-      if (bigDecimal + eb > max) {
-        max = bigDecimal + eb;
-      }
-    }
-    return new double[] { min, max };
+  private double[] findMinMaxWithErrorBars(double[] data, double[] errorBars) {
+
+    return ParallelScan.findMinMax(data, errorBars);
   }
 
   /**
@@ -256,9 +375,20 @@ public abstract class Series_AxesChart extends Series {
     return this;
   }
 
+  /**
+   * Gets the X-Axis data. For Number and Date series this is a read-only view over the primitive column, boxing each value as it is accessed.
+   *
+   * @return
+   */
   public Collection<?> getXData() {
 
-    return xData;
+    if (xData != null) {
+      return xData;
+    }
+    if (xAxisType == AxisDataType.Date) {
+      return new DateColumnList(xValues, xNulls);
+    }
+    return new DoubleColumnList(xValues, xNulls);
   }
 
   public AxisDataType getxAxisDataType() {
@@ -266,9 +396,14 @@ public abstract class Series_AxesChart extends Series {
     return xAxisType;
   }
 
+  /**
+   * Gets the Y-Axis data as a read-only view over the primitive column. Values that were given as null are returned as null.
+   *
+   * @return
+   */
   public Collection<? extends Number> getYData() {
 
-    return yData;
+    return new DoubleColumnList(yValues, yNulls);
   }
 
   public AxisDataType getyAxisDataType() {
@@ -278,9 +413,70 @@ public abstract class Series_AxesChart extends Series {
 
   public Collection<? extends Number> getErrorBars() {
 
+    return errorBars == null ? null : new DoubleColumnList(errorBars, errorBarNulls);
+  }
+
+  /**
+   * Gets the primitive X-Axis column: Number values, or epoch milliseconds for Date series. Null for String series. Do not modify.
+   *
+   * @return
+   */
+  public double[] getXValues() {
+
+    return xValues;
+  }
+
+  /**
+   * Gets the primitive Y-Axis column, where Double.NaN marks a missing value. Do not modify.
+   *
+   * @return
+   */
+  public double[] getYValues() {
+
+    return yValues;
+  }
+
+  /**
+   * Gets the primitive error bar column or null if there are no error bars. Do not modify.
+   *
+   * @return
+   */
+  public double[] getErrorBarValues() {
+
     return errorBars;
   }
 
+  /**
+   * @return a number that changes whenever the data of the series are set or replaced
+   */
+  public int getDataVersion() {
+
+    return dataVersion;
+  }
+
+  /**
+   * @return true if the x values are in ascending order without gaps, so the data points of an X-Axis range can be found by binary search
+   */
+  public boolean isXAscending() {
+
+    if (xAscendingVersion != dataVersion) {
+      isXAscending = xValues != null;
+      for (int i = 0; isXAscending && i < xValues.length; i++) {
+        isXAscending = i == 0 ? !Double.isNaN(xValues[i]) : xValues[i] >= xValues[i - 1];
+      }
+      xAscendingVersion = dataVersion;
+    }
+    return isXAscending;
+  }
+
+  /**
+   * @return the number of data points in the series
+   */
+  public int size() {
+
+    return yValues.length;
+  }
+
   public double getXMin() {
 
     return xMin;
@@ -326,4 +522,61 @@ public abstract class Series_AxesChart extends Series {
     return markerColor;
   }
 
-}
\ No newline at end of file
+  /**
+   * A read-only List view over a primitive column, with null for the values that were given as null
+   */
+  private static class DoubleColumnList extends AbstractList<Double> implements RandomAccess {
+
+    private final double[] column;
+    private final BitSet nulls;
+
+    DoubleColumnList(double[] column, BitSet nulls) {
+
+      this.column = column;
+      this.nulls = nulls;
+    }
+
+    @Override
+    public Double get(int index) {
+
+      double value = column[index];
+      return nulls != null && nulls.get(index) ? null : value;
+    }
+
+    @Override
+    public int size() {
+
+      return column.length;
+    }
+  }
+
+  /**
+   * A read-only List view over a primitive column of epoch milliseconds, with null for the values that were given as null
+   */
+  private static class DateColumnList extends AbstractList<Date> implements RandomAccess {
+
+    private final double[] column;
+    private final BitSet nulls;
+
+    DateColumnList(double[] column, BitSet nulls) {
+
+      this.column = column;
+      this.nulls = nulls;
+    }
+
+    @Override
+    public Date get(int index) {
+
+      double value = column[index];
+      // a Date can't hold NaN, which only a primitive column can contain
+      return (nulls != null && nulls.get(index)) || Double.isNaN(value) ? null : new Date((long) value);
+    }
+
+    @Override
+    public int size() {
+
+      return column.length;
+    }
+  }
+
+}
@@ -0,0 +1,320 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import java.time.Instant;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the data points of a series with Date x data into time buckets: the minimum, maximum, sum and count of the y values per bucket. Buckets are
+ * aligned to the wall clock of a time zone, so a bucket of an hour starts at a full hour and a bucket of a day at midnight, like the ticks of a Date axis.
+ * <p>
+ * The aggregation of each bucket interval, a rollup, is kept until the data change. All bucket intervals divide a day, so a rollup is built from the
+ * coarsest cached finer rollup whose interval divides its own, which makes zooming out cost O(number of buckets) rather than a scan of the data. The x data
+ * must be in ascending order.
+ *
+ * @author timmolter
+ */
+public class TimeBucketAggregation {
+
+  private static final long SEC = TimeUnit.SECONDS.toMillis(1L);
+  private static final long MIN = TimeUnit.MINUTES.toMillis(1L);
+  private static final long HOUR = TimeUnit.HOURS.toMillis(1L);
+  private static final long DAY = TimeUnit.DAYS.toMillis(1L);
+
+  /** the bucket intervals in milliseconds, matching the second, minute, hour and day steps of the Date axis ticks */
+  private static final long[] BUCKET_INTERVALS = { SEC, 2 * SEC, 5 * SEC, 10 * SEC, 15 * SEC, 30 * SEC, MIN, 2 * MIN, 5 * MIN, 10 * MIN, 15 * MIN, 30 * MIN,
+      HOUR, 2 * HOUR, 3 * HOUR, 4 * HOUR, 6 * HOUR, 12 * HOUR, DAY };
+
+  private double[] xValues;
+  private double[] yValues;
+  private int dataVersion;
+  private TimeZone timeZone;
+
+  /** the rollups by bucket interval */
+  private final Map<Long, Rollup> rollups = new HashMap<Long, Rollup>();
+
+  /**
+   * Gets the finest bucket interval with buckets at least one pixel wide
+   *
+   * @param millisPerPixel
+   * @return the bucket interval in milliseconds, or 0 if buckets of a second would be narrower than a pixel
+   */
+  public static long getBucketInterval(double millisPerPixel) {
+
+    if (!(millisPerPixel >= BUCKET_INTERVALS[0])) {
+      return 0;
+    }
+    for (long bucketInterval : BUCKET_INTERVALS) {
+      if (bucketInterval >= millisPerPixel) {
+        return bucketInterval;
+      }
+    }
+    return DAY;
+  }
+
+  /**
+   * Gets the rollup of a bucket interval, building it if the series data changed or it was not built yet
+   *
+   * @param series a series with Date x data in ascending order
+   * @param timeZone the time zone the buckets are aligned to
+   * @param bucketInterval one of the intervals of getBucketInterval
+   * @return
+   */
+  public synchronized Rollup getRollup(Series_AxesChart series, TimeZone timeZone, long bucketInterval) {
+
+    if (Arrays.binarySearch(BUCKET_INTERVALS, bucketInterval) < 0) {
+      throw new IllegalArgumentException("The bucket interval must divide a day and be at least a second!!!");
+    }
+
+    if (series.getXValues() != xValues || series.getYValues() != yValues || series.getDataVersion() != dataVersion || !timeZone.hasSameRules(this.timeZone)) {
+      rollups.clear();
+      xValues = series.getXValues();
+      yValues = series.getYValues();
+      dataVersion = series.getDataVersion();
+      this.timeZone = (TimeZone) timeZone.clone();
+    }
+
+    Rollup rollup = rollups.get(bucketInterval);
+    if (rollup == null) {
+
+      // the coarsest finer rollup nesting in the new one
+      Rollup source = null;
+      for (Rollup cached : rollups.values()) {
+        if (bucketInterval % cached.bucketInterval == 0 && (source == null || cached.bucketInterval > source.bucketInterval)) {
+          source = cached;
+        }
+      }
+
+      rollup = source == null ? aggregate(xValues, yValues, this.timeZone.toZoneId().getRules(), bucketInterval) : aggregate(source, bucketInterval);
+      rollups.put(bucketInterval, rollup);
+    }
+    return rollup;
+  }
+
+  /**
+   * @return the number of cached rollups
+   */
+  public synchronized int getRollupCount() {
+
+    return rollups.size();
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  /**
+   * Aggregates the data points into buckets. A missing y value (NaN) between the data points of two buckets marks a gap before the second bucket.
+   */
+  private static Rollup aggregate(double[] xData, double[] yData, ZoneRules zoneRules, long bucketInterval) {
+
+    Rollup rollup = new Rollup(bucketInterval, Math.min(xData.length, 16));
+    boolean isGap = false;
+
+    // the UTC offset and the time until which it applies, which changes only at the few transitions of the time zone
+    long offset = 0;
+    double offsetEnd = Double.NEGATIVE_INFINITY;
+
+    for (int i = 0; i < xData.length; i++) {
+
+      double y = yData[i];
+      if (Double.isNaN(y)) {
+        isGap = true;
+        continue;
+      }
+
+      double x = xData[i];
+      if (x >= offsetEnd) {
+        Instant instant = Instant.ofEpochMilli((long) Math.floor(x));
+        offset = TimeUnit.SECONDS.toMillis(zoneRules.getOffset(instant).getTotalSeconds());
+        ZoneOffsetTransition transition = zoneRules.nextTransition(instant);
+        offsetEnd = transition == null ? Double.POSITIVE_INFINITY : TimeUnit.SECONDS.toMillis(transition.toEpochSecond());
+      }
+
+      long key = Math.floorDiv((long) Math.floor(x) + offset, bucketInterval);
+      if (rollup.size == 0 || key != rollup.keys[rollup.size - 1]) {
+        rollup.add(key, key * bucketInterval - offset, y, y, y, 1, isGap);
+      }
+      else {
+        rollup.merge(y, y, y, 1);
+      }
+      isGap = false;
+    }
+    return rollup.trim();
+  }
+
+  /**
+   * Aggregates the buckets of a finer rollup, whose interval divides bucketInterval, into coarser buckets. The wall clock keys nest, so the time zone is not
+   * needed again.
+   */
+  private static Rollup aggregate(Rollup source, long bucketInterval) {
+
+    Rollup rollup = new Rollup(bucketInterval, Math.min(source.size, 16));
+    for (int i = 0; i < source.size; i++) {
+
+      long key = Math.floorDiv(source.keys[i] * source.bucketInterval, bucketInterval);
+      if (rollup.size == 0 || key != rollup.keys[rollup.size - 1]) {
+        // the start moves back by the same wall clock time as the key
+        double start = source.starts[i] - (source.keys[i] * source.bucketInterval - key * bucketInterval);
+        rollup.add(key, start, source.mins[i], source.maxs[i], source.sums[i], source.counts[i], source.gaps[i]);
+      }
+      else {
+        rollup.merge(source.mins[i], source.maxs[i], source.sums[i], source.counts[i]);
+      }
+    }
+    return rollup.trim();
+  }
+
+  /**
+   * The aggregated buckets of one interval, in ascending time order. Buckets without any y value are left out. The arrays must not be modified.
+   */
+  public static final class Rollup {
+
+    private final long bucketInterval;
+    private int size;
+
+    /** the wall clock bucket numbers, the local time divided by the interval */
+    private long[] keys;
+    private double[] starts;
+    private double[] mins;
+    private double[] maxs;
+    private double[] sums;
+    private int[] counts;
+    private boolean[] gaps;
+
+    private Rollup(long bucketInterval, int capacity) {
+
+      this.bucketInterval = bucketInterval;
+      keys = new long[capacity];
+      starts = new double[capacity];
+      mins = new double[capacity];
+      maxs = new double[capacity];
+      sums = new double[capacity];
+      counts = new int[capacity];
+      gaps = new boolean[capacity];
+    }
+
+    private void add(long key, double start, double min, double max, double sum, int count, boolean isGap) {
+
+      if (size == keys.length) {
+        resize(Math.max(16, 2 * size));
+      }
+      keys[size] = key;
+      starts[size] = start;
+      mins[size] = min;
+      maxs[size] = max;
+      sums[size] = sum;
+      counts[size] = count;
+      gaps[size] = isGap;
+      size++;
+    }
+
+    private void merge(double min, double max, double sum, int count) {
+
+      int last = size - 1;
+      mins[last] = Math.min(mins[last], min);
+      maxs[last] = Math.max(maxs[last], max);
+      sums[last] += sum;
+      counts[last] += count;
+    }
+
+    private Rollup trim() {
+
+      resize(size);
+      return this;
+    }
+
+    private void resize(int capacity) {
+
+      keys = Arrays.copyOf(keys, capacity);
+      starts = Arrays.copyOf(starts, capacity);
+      mins = Arrays.copyOf(mins, capacity);
+      maxs = Arrays.copyOf(maxs, capacity);
+      sums = Arrays.copyOf(sums, capacity);
+      counts = Arrays.copyOf(counts, capacity);
+      gaps = Arrays.copyOf(gaps, capacity);
+    }
+
+    /**
+     * @return the bucket interval in milliseconds
+     */
+    public long getBucketInterval() {
+
+      return bucketInterval;
+    }
+
+    /**
+     * @return the number of buckets
+     */
+    public int size() {
+
+      return size;
+    }
+
+    /**
+     * @return the start of each bucket in epoch milliseconds
+     */
+    public double[] getStarts() {
+
+      return starts;
+    }
+
+    public double[] getMins() {
+
+      return mins;
+    }
+
+    public double[] getMaxs() {
+
+      return maxs;
+    }
+
+    public double[] getSums() {
+
+      return sums;
+    }
+
+    public int[] getCounts() {
+
+      return counts;
+    }
+
+    /**
+     * @return for each bucket, true if a missing y value separates it from the previous bucket
+     */
+    public boolean[] getGaps() {
+
+      return gaps;
+    }
+
+    /**
+     * @param index
+     * @return the average y value of a bucket
+     */
+    public double getAverage(int index) {
+
+      return sums[index] / counts[index];
+    }
+  }
+}
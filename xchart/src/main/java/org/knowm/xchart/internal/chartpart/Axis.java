@@ -24,7 +24,6 @@ import org.knowm.xchart.style.Styler.LegendPosition;
 import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.util.List;
 
@@ -60,6 +59,12 @@ public class Axis implements ChartPart {
   /** the axis direction */
   private Direction direction;
 
+  /** the working space the axis tick calculator was created for */
+  private double axisTickCalculatorWorkingSpace;
+
+  /** the maximum number of Y-Axis width estimates tried before the last measured width is taken */
+  private static final int MAX_WIDTH_PASSES = 4;
+
   private double min;
 
   private double max;
@@ -98,6 +103,9 @@ public class Axis implements ChartPart {
 
     min = Double.MAX_VALUE;
     max = -Double.MAX_VALUE;
+
+    // the axis tick calculator is only valid for one min and max
+    axisTickCalculator = null;
   }
 
   /**
@@ -120,13 +128,17 @@ public class Axis implements ChartPart {
     // System.out.println(this.max);
   }
 
-  @Override
-  public void paint(Graphics2D g) {
-
-    bounds = new Rectangle2D.Double();
+  /**
+   * Determine the Axis bounds and tick calculator before anything is painted. The Y-Axis is laid out first and needs to know how high the X-Axis will be,
+   * which in turn depends on how wide the Y-Axis will be. Starting from a fixed estimate, the Y-Axis width is measured and the pass is repeated until the
+   * measured width matches the estimate, so every layout of the same chart, including the first one, comes out the same. Once the estimate matches, the
+   * X-Axis ticks computed for the height hint are reused for the X-Axis layout.
+   *
+   * @param g
+   */
+  protected void doLayout(Graphics2D g) {
 
-    // determine Axis bounds
-    if (direction == Direction.Y) { // Y-Axis - gets called first
+    if (direction == Direction.Y) { // Y-Axis - gets laid out first
 
       // calculate paint zone
       // ----
@@ -136,104 +148,114 @@ public class Axis implements ChartPart {
       // |
       // ----
       double xOffset = stylerAxesChart.getChartPadding();
-      // double yOffset = chart.getChartTitle().getBounds().getHeight() < .1 ? stylerAxesChart.getChartPadding() : chart.getChartTitle().getBounds().getHeight()
-      // + stylerAxesChart.getChartPadding();
       double yOffset = chart.getChartTitle().getBounds().getHeight() + stylerAxesChart.getChartPadding();
 
-      /////////////////////////
-      int i = 1; // just twice through is all it takes
       double width = 60; // arbitrary, final width depends on Axis tick labels
-      double height = 0;
+      double widthEstimate;
+      double height;
+      int pass = 0;
       do {
-        // System.out.println("width before: " + width);
-
-        double approximateXAxisWidth =
-
-            chart.getWidth()
-
-                - width // y-axis approx. width
+        widthEstimate = width;
+        height = chart.getHeight() - yOffset - chart.getXAxis().getXAxisHeightHint(getXAxisWidth(widthEstimate)) - stylerAxesChart.getPlotMargin() - stylerAxesChart
+            .getChartPadding();
 
-                - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE ? chart.getLegend().getBounds().getWidth() : 0)
+        this.axisTickCalculator = getAxisTickCalculator(height);
+        width = getYAxisWidth(g, yOffset, height);
+      } while (width != widthEstimate && ++pass < MAX_WIDTH_PASSES);
 
-                - 2 * stylerAxesChart.getChartPadding()
-
-                - (stylerAxesChart.isYAxisTicksVisible() ? (stylerAxesChart.getPlotMargin()) : 0)
-
-                - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE && stylerAxesChart.isLegendVisible() ? stylerAxesChart.getChartPadding() : 0)
-
-        ;
-
-        height = chart.getHeight() - yOffset - chart.getXAxis().getXAxisHeightHint(approximateXAxisWidth) - stylerAxesChart.getPlotMargin() - stylerAxesChart.getChartPadding();
+      bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
+    }
+    else { // X-Axis
 
-        width = getYAxisWidthHint(height);
-        // System.out.println("width after: " + width);
+      // calculate paint zone
+      // |____________________|
 
-        // System.out.println("height: " + height);
+      double xOffset = chart.getYAxis().getBounds().getWidth() + (stylerAxesChart.isYAxisTicksVisible() ? stylerAxesChart.getPlotMargin() : 0) + stylerAxesChart.getChartPadding();
+      double yOffset = chart.getYAxis().getBounds().getY() + chart.getYAxis().getBounds().getHeight() + stylerAxesChart.getPlotMargin();
 
-      } while (i-- > 0);
+      double width = getXAxisWidth(chart.getYAxis().getBounds().getWidth());
 
-      /////////////////////////
+      // the Y-Axis was already laid out at this point so we know how much vertical room is left for the X-Axis
+      double height = chart.getHeight() - chart.getYAxis().getBounds().getY() - chart.getYAxis().getBounds().getHeight() - stylerAxesChart.getChartPadding() - stylerAxesChart.getPlotMargin();
 
       bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
-      // g.setColor(Color.yellow);
-      // g.draw(bounds);
-
-      // fill in Axis with sub-components
-      axisTitle.paint(g);
-      axisTick.paint(g);
 
-      // now we know the real bounds width after ticks and title are painted
-      width = (stylerAxesChart.isYAxisTitleVisible() ? axisTitle.getBounds().getWidth() : 0) + axisTick.getBounds().getWidth();
+      this.axisTickCalculator = getAxisTickCalculator(bounds.getWidth());
+    }
+  }
 
-      bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
-      // g.setColor(Color.yellow);
-      // g.draw(bounds);
+  @Override
+  public void paint(Graphics2D g) {
 
-    }
-    else { // X-Axis
+    // fill in Axis with sub-components
+    axisTitle.paint(g);
+    axisTick.paint(g);
+  }
 
-      // calculate paint zone
-      // |____________________|
+  /**
+   * The width available to the X-Axis given the width of the Y-Axis
+   *
+   * @param yAxisWidth
+   * @return
+   */
+  private double getXAxisWidth(double yAxisWidth) {
 
-      double xOffset = chart.getYAxis().getBounds().getWidth() + (stylerAxesChart.isYAxisTicksVisible() ? stylerAxesChart.getPlotMargin() : 0) + stylerAxesChart.getChartPadding();
-      double yOffset = chart.getYAxis().getBounds().getY() + chart.getYAxis().getBounds().getHeight() + stylerAxesChart.getPlotMargin();
+    return chart.getWidth()
 
-      double width =
+        - yAxisWidth
 
-          chart.getWidth()
+        - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE ? chart.getLegend().getBounds().getWidth() : 0)
 
-              - chart.getYAxis().getBounds().getWidth() // y-axis was already painted
+        - 2 * stylerAxesChart.getChartPadding()
 
-              - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE ? chart.getLegend().getBounds().getWidth() : 0)
+        - (stylerAxesChart.isYAxisTicksVisible() ? (stylerAxesChart.getPlotMargin()) : 0)
 
-              - 2 * stylerAxesChart.getChartPadding()
+        - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE && stylerAxesChart.isLegendVisible() ? stylerAxesChart.getChartPadding() : 0);
+  }
 
-              - (stylerAxesChart.isYAxisTicksVisible() ? (stylerAxesChart.getPlotMargin()) : 0)
+  /**
+   * The actual width of the Y-Axis, measured exactly like AxisTitle and AxisTick will paint it, so that the X-Axis and Plot can be laid out before the Y-Axis is
+   * painted.
+   *
+   * @param g
+   * @param yOffset
+   * @param height
+   * @return
+   */
+  private double getYAxisWidth(Graphics2D g, double yOffset, double height) {
 
-              - (stylerAxesChart.getLegendPosition() == LegendPosition.OutsideE && stylerAxesChart.isLegendVisible() ? stylerAxesChart.getChartPadding() : 0)
+    FontRenderContext frc = g.getFontRenderContext();
 
-      ;
+    // Axis title
+    double titleWidth = 0.0;
+    if (chart.getyYAxisTitle() != null && !chart.getyYAxisTitle().trim().equalsIgnoreCase("") && stylerAxesChart.isYAxisTitleVisible()) {
+      TextLayout textLayout = TextLayoutCache.getTextLayout(chart.getyYAxisTitle(), stylerAxesChart.getAxisTitleFont(), frc);
+      titleWidth = textLayout.getBounds().getHeight() + stylerAxesChart.getAxisTitlePadding();
+    }
 
-      // double height = this.getXAxisHeightHint(width);
-      // System.out.println("height: " + height);
-      // the Y-Axis was already draw at this point so we know how much vertical room is left for the X-Axis
-      double height = chart.getHeight() - chart.getYAxis().getBounds().getY() - chart.getYAxis().getBounds().getHeight() - stylerAxesChart.getChartPadding() - stylerAxesChart.getPlotMargin();
-      // System.out.println("height2: " + height2);
+    // Axis tick labels and marks
+    double axisTickWidth = 0.0;
+    if (stylerAxesChart.isYAxisTicksVisible()) {
 
-      bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
-      // g.setColor(Color.yellow);
-      // g.draw(bounds);
+      double maxTickLabelWidth = 0.0;
+      for (int i = 0; i < axisTickCalculator.getTickLabels().size(); i++) {
 
-      // now paint the X-Axis given the above paint zone
-      this.axisTickCalculator = getAxisTickCalculator(bounds.getWidth());
-      axisTitle.paint(g);
-      axisTick.paint(g);
+        String tickLabel = axisTickCalculator.getTickLabels().get(i);
+        double flippedTickLocation = yOffset + height - axisTickCalculator.getTickLocations().get(i);
 
+        // only labels painted inside the axis count, some are null for logarithmic axes
+        if (tickLabel != null && flippedTickLocation > yOffset && flippedTickLocation < yOffset + height) {
+          maxTickLabelWidth = Math.max(maxTickLabelWidth, TextLayoutCache.getTextLayout(tickLabel, stylerAxesChart.getAxisTickLabelsFont(), frc).getBounds().getWidth());
+        }
+      }
+      axisTickWidth = maxTickLabelWidth + stylerAxesChart.getAxisTickPadding() + stylerAxesChart.getAxisTickMarkLength();
     }
+
+    return titleWidth + axisTickWidth;
   }
 
   /**
-   * The vertical Y-Axis is drawn first, but to know the lower bounds of it, we need to know how high the X-Axis paint zone is going to be. Since the tick labels could be rotated, we need to actually
+   * The vertical Y-Axis is laid out first, but to know the lower bounds of it, we need to know how high the X-Axis paint zone is going to be. Since the tick labels could be rotated, we need to actually
    * determine the tick labels first to get an idea of how tall the X-Axis tick labels will be.
    *
    * @return
@@ -243,7 +265,7 @@ public class Axis implements ChartPart {
     // Axis title
     double titleHeight = 0.0;
     if (chart.getXAxisTitle() != null && !chart.getXAxisTitle().trim().equalsIgnoreCase("") && stylerAxesChart.isXAxisTitleVisible()) {
-      TextLayout textLayout = new TextLayout(chart.getXAxisTitle(), stylerAxesChart.getAxisTitleFont(), new FontRenderContext(null, true, false));
+      TextLayout textLayout = TextLayoutCache.getTextLayout(chart.getXAxisTitle(), stylerAxesChart.getAxisTitleFont());
       Rectangle2D rectangle = textLayout.getBounds();
       titleHeight = rectangle.getHeight() + stylerAxesChart.getAxisTitlePadding();
     }
@@ -269,9 +291,7 @@ public class Axis implements ChartPart {
       // System.out.println("sampleLabel: " + sampleLabel);
 
       // get the height of the label including rotation
-      TextLayout textLayout = new TextLayout(sampleLabel.length() == 0 ? " " : sampleLabel, stylerAxesChart.getAxisTickLabelsFont(), new FontRenderContext(null, true, false));
-      AffineTransform rot = stylerAxesChart.getXAxisLabelRotation() == 0 ? null : AffineTransform.getRotateInstance(-1 * Math.toRadians(stylerAxesChart.getXAxisLabelRotation()));
-      Shape shape = textLayout.getOutline(rot);
+      Shape shape = TextLayoutCache.getOutline(sampleLabel.length() == 0 ? " " : sampleLabel, stylerAxesChart.getAxisTickLabelsFont(), stylerAxesChart.getXAxisLabelRotation());
       Rectangle2D rectangle = shape.getBounds();
 
       axisTickLabelsHeight = rectangle.getHeight() + stylerAxesChart.getAxisTickPadding() + stylerAxesChart.getAxisTickMarkLength();
@@ -279,51 +299,24 @@ public class Axis implements ChartPart {
     return titleHeight + axisTickLabelsHeight;
   }
 
-  private double getYAxisWidthHint(double workingSpace) {
-
-    // Axis title
-    double titleHeight = 0.0;
-    if (chart.getyYAxisTitle() != null && !chart.getyYAxisTitle().trim().equalsIgnoreCase("") && stylerAxesChart.isYAxisTitleVisible()) {
-      TextLayout textLayout = new TextLayout(chart.getyYAxisTitle(), stylerAxesChart.getAxisTitleFont(), new FontRenderContext(null, true, false));
-      Rectangle2D rectangle = textLayout.getBounds();
-      titleHeight = rectangle.getHeight() + stylerAxesChart.getAxisTitlePadding();
-    }
-
-    this.axisTickCalculator = getAxisTickCalculator(workingSpace);
-
-    // Axis tick labels
-    double axisTickLabelsHeight = 0.0;
-    if (stylerAxesChart.isYAxisTicksVisible()) {
-
-      // get some real tick labels
-      // System.out.println("XAxisHeightHint");
-      // System.out.println("workingSpace: " + workingSpace);
-
-      String sampleLabel = "";
-      // find the longest String in all the labels
-      for (int i = 0; i < axisTickCalculator.getTickLabels().size(); i++) {
-        if (axisTickCalculator.getTickLabels().get(i) != null && axisTickCalculator.getTickLabels().get(i).length() > sampleLabel.length()) {
-          sampleLabel = axisTickCalculator.getTickLabels().get(i);
-        }
-      }
-
-      // get the height of the label including rotation
-      TextLayout textLayout = new TextLayout(sampleLabel.length() == 0 ? " " : sampleLabel, stylerAxesChart.getAxisTickLabelsFont(), new FontRenderContext(null, true, false));
-      Rectangle2D rectangle = textLayout.getBounds();
+  private AxisTickCalculator_ getAxisTickCalculator(double workingSpace) {
 
-      axisTickLabelsHeight = rectangle.getWidth() + stylerAxesChart.getAxisTickPadding() + stylerAxesChart.getAxisTickMarkLength();
+    // reuse the tick calculator if the working space did not change since the last time, e.g. between the X-Axis height hint and the X-Axis layout
+    if (axisTickCalculator != null && axisTickCalculatorWorkingSpace == workingSpace) {
+      return axisTickCalculator;
     }
-    return titleHeight + axisTickLabelsHeight;
+    axisTickCalculatorWorkingSpace = workingSpace;
+    return createAxisTickCalculator(workingSpace);
   }
 
-  private AxisTickCalculator_ getAxisTickCalculator(double workingSpace) {
+  private AxisTickCalculator_ createAxisTickCalculator(double workingSpace) {
 
     // X-Axis
     if (getDirection() == Direction.X) {
 
       if (stylerAxesChart instanceof CategoryStyler) {
 
-        List<?> categories = (List<?>) chart.getSeriesMap().values().iterator().next().getXData();
+        List<?> categories = CategoryLayout.of(chart).getCategories();
         AxisDataType axisType = chart.getAxisPair().getXAxis().getAxisDataType();
 
         return new AxisTickCalculator_Category(getDirection(), workingSpace, categories, axisType, stylerAxesChart);
@@ -49,16 +49,27 @@ public class AxisPair<ST extends AxesChartStyler, S extends Series> implements C
     yAxis = new Axis(chart, Axis.Direction.Y);
   }
 
+  /**
+   * Calculate the axes min and max and lay out the Y-Axis and then the X-Axis
+   *
+   * @param g
+   */
+  protected void doLayout(Graphics2D g) {
+
+    prepareForLayout();
+
+    yAxis.doLayout(g);
+    xAxis.doLayout(g);
+  }
+
   @Override
   public void paint(Graphics2D g) {
 
-    prepareForPaint();
-
     yAxis.paint(g);
     xAxis.paint(g);
   }
 
-  private void prepareForPaint() {
+  private void prepareForLayout() {
 
     // set the axis data types, making sure all are compatible
     xAxis.setAxisDataType(null);
@@ -78,6 +89,10 @@ public class AxisPair<ST extends AxesChartStyler, S extends Series> implements C
       yAxis.addMinMax(-1, 1);
     }
     else {
+      // stacked bars span the range of their stacks rather than their own
+      CategoryLayout categoryLayout = chart.getStyler() instanceof CategoryStyler ? CategoryLayout.of(chart) : null;
+
+      int seriesIndex = 0;
       for (Series_AxesChart series : chart.getSeriesMap().values()) {
         // add min/max to axes
         // System.out.println(series.getxMin());
@@ -86,7 +101,13 @@ public class AxisPair<ST extends AxesChartStyler, S extends Series> implements C
         // System.out.println(series.getyMax());
         // System.out.println("****");
         xAxis.addMinMax(series.getXMin(), series.getXMax());
-        yAxis.addMinMax(series.getYMin(), series.getYMax());
+        if (categoryLayout == null || !categoryLayout.isStacked(seriesIndex)) {
+          yAxis.addMinMax(series.getYMin(), series.getYMax());
+        }
+        seriesIndex++;
+      }
+      if (categoryLayout != null && !Double.isNaN(categoryLayout.getStackMin())) {
+        yAxis.addMinMax(categoryLayout.getStackMin(), categoryLayout.getStackMax());
       }
     }
 
@@ -18,6 +18,7 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -175,7 +176,8 @@ public class AxisTickCalculator_Date extends AxisTickCalculator_ {
       tickLabels.clear();
       tickLocations.clear();
 
-      double gridStep = timeSpans.get(++index).getUnitAmount() * timeSpans.get(index).getMagnitude(); // in time units (ms)
+      TimeSpan timeSpan = timeSpans.get(++index);
+      double gridStep = timeSpan.getUnitAmount() * timeSpan.getMagnitude(); // in time units (ms)
       // System.out.println("gridStep: " + gridStep);
 
       gridStepInChartSpace = (int) (gridStep / span * tickSpace);
@@ -197,23 +199,75 @@ public class AxisTickCalculator_Date extends AxisTickCalculator_ {
 
       //////////////////////////////
 
-      // generate all tickLabels and tickLocations from the first to last position
-      for (double value = firstPosition; value <= maxValue + 2 * gridStep; value = value + gridStep) {
+      // months and years differ in length, so step through the calendar instead of adding a fixed number of milliseconds
+      if (timeSpan.getUnitAmount() >= MONTH_SCALE) {
 
-        // if (value <= maxValue && value >= minValue) {
+        int calendarField = timeSpan.getUnitAmount() >= YEAR_SCALE ? Calendar.YEAR : Calendar.MONTH;
+        Calendar calendar = getFirstCalendarPosition(calendarField, timeSpan.getMagnitude());
 
-        ///////////////////////////////
+        for (long value = calendar.getTimeInMillis(); value <= maxValue + 2 * gridStep; value = calendar.getTimeInMillis()) {
 
-        tickLabels.add(simpleDateformat.format(value));
-        // here we convert tickPosition finally to plot space, i.e. pixels
-        double tickLabelPosition = margin + ((value - minValue) / (maxValue - minValue) * tickSpace);
-        // System.out.println("tickLabelPosition: " + tickLabelPosition);
-        tickLocations.add(tickLabelPosition);
-        // }
+          tickLabels.add(simpleDateformat.format(value));
+          double tickLabelPosition = margin + ((value - minValue) / (maxValue - minValue) * tickSpace);
+          tickLocations.add(tickLabelPosition);
+
+          calendar.add(calendarField, timeSpan.getMagnitude());
+        }
+      }
+      else {
+
+        // generate all tickLabels and tickLocations from the first to last position
+        for (double value = firstPosition; value <= maxValue + 2 * gridStep; value = value + gridStep) {
+
+          // if (value <= maxValue && value >= minValue) {
+
+          ///////////////////////////////
+
+          tickLabels.add(simpleDateformat.format(value));
+          // here we convert tickPosition finally to plot space, i.e. pixels
+          double tickLabelPosition = margin + ((value - minValue) / (maxValue - minValue) * tickSpace);
+          // System.out.println("tickLabelPosition: " + tickLabelPosition);
+          tickLocations.add(tickLabelPosition);
+          // }
+        }
       }
     } while (!willLabelsFitInTickSpaceHint(tickLabels, gridStepInChartSpace));
   }
 
+  /**
+   * Gets the first calendar aligned tick position one step before minValue, in the Styler's time zone. Months are aligned so that multi-month steps start in
+   * January (e.g. quarters), years are aligned to a multiple of the step.
+   *
+   * @param calendarField Calendar.MONTH or Calendar.YEAR
+   * @param magnitude the number of months or years per step
+   * @return
+   */
+  private Calendar getFirstCalendarPosition(int calendarField, int magnitude) {
+
+    Calendar calendar = Calendar.getInstance(styler.getTimezone(), styler.getLocale());
+    calendar.setTimeInMillis((long) minValue);
+
+    // truncate to the start of the month
+    calendar.set(Calendar.DAY_OF_MONTH, 1);
+    calendar.set(Calendar.HOUR_OF_DAY, 0);
+    calendar.set(Calendar.MINUTE, 0);
+    calendar.set(Calendar.SECOND, 0);
+    calendar.set(Calendar.MILLISECOND, 0);
+
+    if (calendarField == Calendar.YEAR) {
+      calendar.set(Calendar.MONTH, Calendar.JANUARY);
+      int year = calendar.get(Calendar.YEAR);
+      calendar.set(Calendar.YEAR, year - Math.abs(year % magnitude));
+    }
+    else {
+      int month = calendar.get(Calendar.MONTH);
+      calendar.set(Calendar.MONTH, month - month % magnitude);
+    }
+
+    calendar.add(calendarField, -magnitude);
+    return calendar;
+  }
+
   static class TimeSpan {
 
     private final long unitAmount;
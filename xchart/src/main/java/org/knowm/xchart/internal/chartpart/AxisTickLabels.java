@@ -18,7 +18,6 @@ package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
 import java.awt.Shape;
-import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
@@ -65,7 +64,7 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends Series> implem
       double yOffset = chart.getYAxis().getBounds().getY();
       double height = chart.getYAxis().getBounds().getHeight();
       double maxTickLabelWidth = 0;
-      Map<Double, TextLayout> axisLabelTextLayouts = new HashMap<Double, TextLayout>();
+      Map<Double, String> axisLabels = new HashMap<Double, String>();
 
       for (int i = 0; i < chart.getYAxis().getAxisTickCalculator().getTickLabels().size(); i++) {
 
@@ -75,21 +74,19 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends Series> implem
         double flippedTickLocation = yOffset + height - tickLocation;
 
         if (tickLabel != null && flippedTickLocation > yOffset && flippedTickLocation < yOffset + height) { // some are null for logarithmic axes
-          FontRenderContext frc = g.getFontRenderContext();
-          TextLayout axisLabelTextLayout = new TextLayout(tickLabel, chart.getStyler().getAxisTickLabelsFont(), frc);
+          TextLayout axisLabelTextLayout = TextLayoutCache.getTextLayout(tickLabel, chart.getStyler().getAxisTickLabelsFont(), g.getFontRenderContext());
           Rectangle2D tickLabelBounds = axisLabelTextLayout.getBounds();
           double boundWidth = tickLabelBounds.getWidth();
           if (boundWidth > maxTickLabelWidth) {
             maxTickLabelWidth = boundWidth;
           }
-          axisLabelTextLayouts.put(tickLocation, axisLabelTextLayout);
+          axisLabels.put(tickLocation, tickLabel);
         }
       }
 
-      for (Double tickLocation : axisLabelTextLayouts.keySet()) {
+      for (Double tickLocation : axisLabels.keySet()) {
 
-        TextLayout axisLabelTextLayout = axisLabelTextLayouts.get(tickLocation);
-        Shape shape = axisLabelTextLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(axisLabels.get(tickLocation), chart.getStyler().getAxisTickLabelsFont(), g.getFontRenderContext(), 0);
         Rectangle2D tickLabelBounds = shape.getBounds();
 
         double flippedTickLocation = yOffset + height - tickLocation;
@@ -141,13 +138,7 @@ public class AxisTickLabels<ST extends AxesChartStyler, S extends Series> implem
         // discard null and out of bounds labels
         if (tickLabel != null && shiftedTickLocation > xOffset && shiftedTickLocation < xOffset + width) { // some are null for logarithmic axes
 
-          FontRenderContext frc = g.getFontRenderContext();
-          TextLayout textLayout = new TextLayout(tickLabel, chart.getStyler().getAxisTickLabelsFont(), frc);
-          // System.out.println(textLayout.getOutline(null).getBounds().toString());
-
-          // Shape shape = v.getOutline();
-          AffineTransform rot = AffineTransform.getRotateInstance(-1 * Math.toRadians(chart.getStyler().getXAxisLabelRotation()), 0, 0);
-          Shape shape = textLayout.getOutline(rot);
+          Shape shape = TextLayoutCache.getOutline(tickLabel, chart.getStyler().getAxisTickLabelsFont(), g.getFontRenderContext(), chart.getStyler().getXAxisLabelRotation());
           Rectangle2D tickLabelBounds = shape.getBounds2D();
 
           AffineTransform orig = g.getTransform();
@@ -62,7 +62,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
       if (chart.getyYAxisTitle() != null && !chart.getyYAxisTitle().trim().equalsIgnoreCase("") && chart.getStyler().isYAxisTitleVisible()) {
 
         FontRenderContext frc = g.getFontRenderContext();
-        TextLayout nonRotatedTextLayout = new TextLayout(chart.getyYAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
+        TextLayout nonRotatedTextLayout = TextLayoutCache.getTextLayout(chart.getyYAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
         Rectangle2D nonRotatedRectangle = nonRotatedTextLayout.getBounds();
 
         // ///////////////////////////////////////////////
@@ -70,8 +70,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
         int xOffset = (int) (chart.getYAxis().getBounds().getX() + nonRotatedRectangle.getHeight());
         int yOffset = (int) ((chart.getYAxis().getBounds().getHeight() + nonRotatedRectangle.getWidth()) / 2.0 + chart.getYAxis().getBounds().getY());
 
-        AffineTransform rot = AffineTransform.getRotateInstance(-1 * Math.PI / 2, 0, 0);
-        Shape shape = nonRotatedTextLayout.getOutline(rot);
+        Shape shape = TextLayoutCache.getOutline(chart.getyYAxisTitle(), chart.getStyler().getAxisTitleFont(), frc, 90);
 
         AffineTransform orig = g.getTransform();
         AffineTransform at = new AffineTransform();
@@ -100,7 +99,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
       if (chart.getXAxisTitle() != null && !chart.getXAxisTitle().trim().equalsIgnoreCase("") && chart.getStyler().isXAxisTitleVisible()) {
 
         FontRenderContext frc = g.getFontRenderContext();
-        TextLayout textLayout = new TextLayout(chart.getXAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
+        TextLayout textLayout = TextLayoutCache.getTextLayout(chart.getXAxisTitle(), chart.getStyler().getAxisTitleFont(), frc);
         Rectangle2D rectangle = textLayout.getBounds();
         // System.out.println(rectangle);
 
@@ -108,7 +107,7 @@ public class AxisTitle<ST extends AxesChartStyler, S extends Series> implements
         double yOffset = chart.getXAxis().getBounds().getY() + chart.getXAxis().getBounds().getHeight() - rectangle.getHeight();
 
         // textLayout.draw(g, (float) xOffset, (float) (yOffset - rectangle.getY()));
-        Shape shape = textLayout.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(chart.getXAxisTitle(), chart.getStyler().getAxisTitleFont(), frc, 0);
         AffineTransform orig = g.getTransform();
         AffineTransform at = new AffineTransform();
         at.translate((float) xOffset, (float) (yOffset - rectangle.getY()));
@@ -0,0 +1,338 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal.chartpart;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries;
+import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
+import org.knowm.xchart.internal.CategoryDictionary;
+import org.knowm.xchart.style.CategoryStyler;
+
+/**
+ * The layout of the series of a category chart, computed once per data change into primitive arrays: the categories of all series in order of first
+ * appearance, the category index of each data point, and for stacked bars the bottom and top of each bar segment.
+ * <p>
+ * Series do not need to have the same categories. A category that appears more than once in a series takes as many positions on the X-Axis, which series
+ * with the same categories share. The categories are numbered by a {@link CategoryDictionary}, which is carried over to the layout of the chart with series
+ * added, so adding a series only numbers the categories of that series.
+ *
+ * @author timmolter
+ */
+public class CategoryLayout {
+
+  // what the layout was computed from
+  private final CategorySeries[] series;
+  private final int[] dataVersions;
+  private final CategorySeriesRenderStyle[] renderStyles;
+  private final boolean isStackedChart;
+
+  /** the categories and, for categories appearing more than once in a series, their further occurrences */
+  private final CategoryDictionary categoryDictionary;
+  private final List<Object> categories;
+  private final int[][] categoryIndices;
+
+  /** the bottom and top of each bar segment of stacked series, null for series that are not stacked. Computed when first needed. */
+  private boolean isStackComputed;
+  private final double[][] stackBottoms;
+  private final double[][] stackTops;
+  private double stackMin = Double.NaN;
+  private double stackMax = Double.NaN;
+
+  /**
+   * Constructor
+   *
+   * @param seriesCollection the series of the chart in order
+   * @param styler
+   */
+  public CategoryLayout(Collection<CategorySeries> seriesCollection, CategoryStyler styler) {
+
+    this(seriesCollection, styler, null);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param seriesCollection the series of the chart in order
+   * @param styler
+   * @param previousLayout a previous layout of the chart, whose categories are carried over if its series come first and are unchanged, or null
+   */
+  public CategoryLayout(Collection<CategorySeries> seriesCollection, CategoryStyler styler, CategoryLayout previousLayout) {
+
+    series = seriesCollection.toArray(new CategorySeries[seriesCollection.size()]);
+    dataVersions = new int[series.length];
+    renderStyles = new CategorySeriesRenderStyle[series.length];
+    isStackedChart = styler.isStacked();
+    categoryIndices = new int[series.length][];
+    stackBottoms = new double[series.length][];
+    stackTops = new double[series.length][];
+
+    for (int s = 0; s < series.length; s++) {
+      dataVersions[s] = series[s].getDataVersion();
+      renderStyles[s] = getRenderStyle(series[s], styler);
+    }
+
+    int numCarriedOver = previousLayout == null ? 0 : previousLayout.getNumUnchangedSeries(series, dataVersions);
+    if (numCarriedOver > 0) {
+      categoryDictionary = new CategoryDictionary(previousLayout.categoryDictionary);
+      categories = new ArrayList<Object>(previousLayout.categories);
+      System.arraycopy(previousLayout.categoryIndices, 0, categoryIndices, 0, numCarriedOver);
+    }
+    else {
+      categoryDictionary = new CategoryDictionary();
+      categories = new ArrayList<Object>();
+    }
+
+    // number the categories in order of first appearance, the n-th occurrence of a category in a series counting as a category of its own
+    int[] occurrences = new int[0];
+    int[] occurrenceSeries = new int[0];
+    for (int s = numCarriedOver; s < series.length; s++) {
+
+      int[] indices = new int[series[s].size()];
+      int i = 0;
+      for (Object category : series[s].getXData()) {
+        int index = addCategory(category);
+        if (index >= occurrences.length) {
+          occurrences = Arrays.copyOf(occurrences, Math.max(index + 1, occurrences.length * 2));
+          occurrenceSeries = Arrays.copyOf(occurrenceSeries, occurrences.length);
+        }
+        if (occurrenceSeries[index] != s + 1) {
+          occurrenceSeries[index] = s + 1;
+          occurrences[index] = 0;
+        }
+        else {
+          index = addCategory(Arrays.asList(category, ++occurrences[index]), category);
+        }
+        indices[i++] = index;
+      }
+      categoryIndices[s] = indices;
+    }
+  }
+
+  /**
+   * @param seriesCollection the series of the chart in order
+   * @param styler
+   * @return true if the layout was computed from the same series, data and styles
+   */
+  public boolean isUpToDate(Collection<CategorySeries> seriesCollection, CategoryStyler styler) {
+
+    if (seriesCollection.size() != series.length || styler.isStacked() != isStackedChart) {
+      return false;
+    }
+    int s = 0;
+    for (CategorySeries categorySeries : seriesCollection) {
+      if (categorySeries != series[s] || categorySeries.getDataVersion() != dataVersions[s] || getRenderStyle(categorySeries, styler) != renderStyles[s]) {
+        return false;
+      }
+      s++;
+    }
+    return true;
+  }
+
+  /**
+   * @return the categories of all series in order of first appearance
+   */
+  public List<Object> getCategories() {
+
+    return categories;
+  }
+
+  public int getNumCategories() {
+
+    return categories.size();
+  }
+
+  /**
+   * @param seriesIndex
+   * @return the category index of each data point of a series
+   */
+  public int[] getCategoryIndices(int seriesIndex) {
+
+    return categoryIndices[seriesIndex];
+  }
+
+  /**
+   * @param seriesIndex
+   * @return true if the bars of a series are stacked onto the bars of the series before it
+   */
+  public boolean isStacked(int seriesIndex) {
+
+    computeStack();
+    return stackTops[seriesIndex] != null;
+  }
+
+  /**
+   * @param seriesIndex
+   * @return the bottom of each bar segment of a stacked series
+   */
+  public double[] getStackBottoms(int seriesIndex) {
+
+    computeStack();
+    return stackBottoms[seriesIndex];
+  }
+
+  /**
+   * @param seriesIndex
+   * @return the top of each bar segment of a stacked series
+   */
+  public double[] getStackTops(int seriesIndex) {
+
+    computeStack();
+    return stackTops[seriesIndex];
+  }
+
+  /**
+   * @return the minimum of the stacked bars including their error bars, NaN if no series is stacked
+   */
+  public double getStackMin() {
+
+    computeStack();
+    return stackMin;
+  }
+
+  /**
+   * @return the maximum of the stacked bars including their error bars, NaN if no series is stacked
+   */
+  public double getStackMax() {
+
+    computeStack();
+    return stackMax;
+  }
+
+  /**
+   * @return the dictionary numbering the categories. Occurrences of a category after the first in a series are numbered by a key of their own.
+   */
+  public CategoryDictionary getCategoryDictionary() {
+
+    return categoryDictionary;
+  }
+
+  /**
+   * @param chart a category chart
+   * @return the up to date layout of the chart
+   */
+  static CategoryLayout of(Chart<?, ?> chart) {
+
+    return ((CategoryChart) chart).getCategoryLayout();
+  }
+
+  ///////////////////////////////////////////////////
+  // Internal Members and Methods ///////////////////
+  ///////////////////////////////////////////////////
+
+  private static CategorySeriesRenderStyle getRenderStyle(CategorySeries series, CategoryStyler styler) {
+
+    return series.getChartCategorySeriesRenderStyle() == null ? styler.getDefaultSeriesRenderStyle() : series.getChartCategorySeriesRenderStyle();
+  }
+
+  private int addCategory(Object category) {
+
+    return addCategory(category, category);
+  }
+
+  /**
+   * Adds a key to the dictionary and the category it stands for to the categories if it is new
+   */
+  private int addCategory(Object key, Object category) {
+
+    int index = categoryDictionary.add(key);
+    if (index == categories.size()) {
+      categories.add(category);
+    }
+    return index;
+  }
+
+  /**
+   * @return the number of series this layout was computed from which are the first series of the given series with unchanged data
+   */
+  private int getNumUnchangedSeries(CategorySeries[] newSeries, int[] newDataVersions) {
+
+    if (newSeries.length < series.length) {
+      return 0;
+    }
+    for (int s = 0; s < series.length; s++) {
+      if (newSeries[s] != series[s] || newDataVersions[s] != dataVersions[s]) {
+        return 0;
+      }
+    }
+    return series.length;
+  }
+
+  /**
+   * Stacks the bars of all bar series per category, positive values upwards from zero and negative values downwards, once. Synchronized as series may be
+   * painted on rendering threads of their own.
+   */
+  private synchronized void computeStack() {
+
+    if (isStackComputed) {
+      return;
+    }
+    isStackComputed = true;
+    if (!isStackedChart) {
+      return;
+    }
+
+    double[] positiveSums = new double[categories.size()];
+    double[] negativeSums = new double[categories.size()];
+
+    for (int s = 0; s < series.length; s++) {
+
+      if (renderStyles[s] != CategorySeriesRenderStyle.Bar) {
+        continue;
+      }
+
+      double[] yData = series[s].getYValues();
+      double[] errorBars = series[s].getErrorBarValues();
+      int[] indices = categoryIndices[s];
+      double[] bottoms = new double[yData.length];
+      double[] tops = new double[yData.length];
+
+      for (int i = 0; i < yData.length; i++) {
+
+        double y = yData[i];
+        int category = indices[i];
+        if (Double.isNaN(y)) {
+          bottoms[i] = Double.NaN;
+          tops[i] = Double.NaN;
+          continue;
+        }
+        if (y >= 0.0) {
+          bottoms[i] = positiveSums[category];
+          positiveSums[category] += y;
+          tops[i] = positiveSums[category];
+        }
+        else {
+          tops[i] = negativeSums[category];
+          negativeSums[category] += y;
+          bottoms[i] = negativeSums[category];
+        }
+
+        double end = y >= 0.0 ? tops[i] : bottoms[i];
+        double errorBar = errorBars == null ? 0.0 : errorBars[i];
+        stackMin = Double.isNaN(stackMin) ? Math.min(0.0, end - errorBar) : Math.min(stackMin, end - errorBar);
+        stackMax = Double.isNaN(stackMax) ? Math.max(0.0, end + errorBar) : Math.max(stackMax, end + errorBar);
+      }
+
+      stackBottoms[s] = bottoms;
+      stackTops[s] = tops;
+    }
+  }
+}
@@ -17,6 +17,7 @@
 package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -33,6 +34,19 @@ import org.knowm.xchart.style.Styler;
  */
 public abstract class Chart<ST extends Styler, S extends Series> implements ChartPart {
 
+  /**
+   * Set to Boolean.TRUE on a Graphics2D that paints into an image or onto the screen by the code that created it, e.g. BitmapEncoder and XChartPanel. Only
+   * then may the series be painted in parallel into rasters, vector formats must get every shape.
+   */
+  public static final RenderingHints.Key KEY_RASTER_TARGET = new RenderingHints.Key(0) {
+
+    @Override
+    public boolean isCompatibleValue(Object value) {
+
+      return value instanceof Boolean;
+    }
+  };
+
   public abstract void paint(Graphics2D g, int width, int height);
 
   protected ST styler;
@@ -52,6 +66,9 @@ public abstract class Chart<ST extends Styler, S extends Series> implements Char
 
   protected Map<String, S> seriesMap = new LinkedHashMap<String, S>();
 
+  /** the bounds of the chart parts from the last layout */
+  private ChartLayout layout;
+
   /**
    * Constructor
    *
@@ -68,6 +85,40 @@ public abstract class Chart<ST extends Styler, S extends Series> implements Char
     this.chartTitle = new ChartTitle(this);
   }
 
+  /**
+   * Lay out all chart parts for the current width and height before anything is painted. Each part is laid out once, in the order the parts depend on each
+   * other: the chart title and the legend are measured, the axes and the plot are placed in the remaining space and then the chart title and the legend are
+   * positioned relative to the plot.
+   *
+   * @param g the Graphics2D that will be painted on, for measuring text exactly like it will be painted
+   */
+  protected void doLayout(Graphics2D g) {
+
+    chartTitle.measure();
+    legend.measure();
+
+    if (axisPair != null) {
+      axisPair.doLayout(g);
+    }
+    plot.doLayout();
+
+    chartTitle.doLayout(g);
+    legend.doLayout();
+
+    Rectangle2D legendBounds = styler.isLegendVisible() && !seriesMap.isEmpty() ? legend.getBounds() : new Rectangle2D.Double();
+    Rectangle2D xAxisBounds = axisPair == null ? null : axisPair.getXAxis().getBounds();
+    Rectangle2D yAxisBounds = axisPair == null ? null : axisPair.getYAxis().getBounds();
+    layout = new ChartLayout(width, height, chartTitle.getBounds(), legendBounds, plot.getBounds(), xAxisBounds, yAxisBounds);
+  }
+
+  /**
+   * @return the bounds of the chart parts from the last time the chart was painted, or null if it was not painted yet
+   */
+  public ChartLayout getLayout() {
+
+    return layout;
+  }
+
   public List<Double> getNumberListFromDoubleArray(double[] data) {
 
     if (data == null) {
@@ -100,6 +151,46 @@ public abstract class Chart<ST extends Styler, S extends Series> implements Char
     return dataNumber;
   }
 
+  public double[] getDoubleArrayFromIntArray(int[] data) {
+
+    if (data == null) {
+      return null;
+    }
+
+    double[] doubles = new double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      doubles[i] = data[i];
+    }
+    return doubles;
+  }
+
+  public double[] getDoubleArrayFromLongArray(long[] data) {
+
+    if (data == null) {
+      return null;
+    }
+
+    double[] doubles = new double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      doubles[i] = data[i];
+    }
+    return doubles;
+  }
+
+  public double[] getDoubleArrayCopy(double[] data) {
+
+    return data == null ? null : data.clone();
+  }
+
+  public double[] getGeneratedDataArray(int length) {
+
+    double[] generatedData = new double[length];
+    for (int i = 0; i < length; i++) {
+      generatedData[i] = i + 1;
+    }
+    return generatedData;
+  }
+
   public List<Double> getGeneratedData(int length) {
 
     List<Double> generatedData = new ArrayList<Double>();
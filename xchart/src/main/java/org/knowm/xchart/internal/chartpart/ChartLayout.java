@@ -0,0 +1,154 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * The bounds of the chart parts as determined by the last layout of a Chart, for example to find out what part of a chart was clicked on or to repaint only
+ * the region of a single part.
+ *
+ * @author timmolter
+ */
+public class ChartLayout {
+
+  /** The chart parts of a ChartLayout */
+  public enum Part {
+
+    ChartTitle, Legend, Plot, XAxis, YAxis
+  }
+
+  private final int width;
+  private final int height;
+
+  private final Rectangle2D chartTitleBounds;
+  private final Rectangle2D legendBounds;
+  private final Rectangle2D plotBounds;
+  private final Rectangle2D xAxisBounds;
+  private final Rectangle2D yAxisBounds;
+
+  /**
+   * Constructor
+   *
+   * @param width the chart width
+   * @param height the chart height
+   * @param chartTitleBounds
+   * @param legendBounds
+   * @param plotBounds
+   * @param xAxisBounds null for charts without axes
+   * @param yAxisBounds null for charts without axes
+   */
+  public ChartLayout(int width, int height, Rectangle2D chartTitleBounds, Rectangle2D legendBounds, Rectangle2D plotBounds, Rectangle2D xAxisBounds, Rectangle2D yAxisBounds) {
+
+    this.width = width;
+    this.height = height;
+    this.chartTitleBounds = copy(chartTitleBounds);
+    this.legendBounds = copy(legendBounds);
+    this.plotBounds = copy(plotBounds);
+    this.xAxisBounds = copy(xAxisBounds);
+    this.yAxisBounds = copy(yAxisBounds);
+  }
+
+  /**
+   * Find the chart part at the given location. The legend can be placed inside the plot, so it takes precedence over the plot.
+   *
+   * @param x
+   * @param y
+   * @return the chart part at the given location, or null if there is none
+   */
+  public Part getPartAt(double x, double y) {
+
+    if (legendBounds.contains(x, y)) {
+      return Part.Legend;
+    }
+    if (plotBounds.contains(x, y)) {
+      return Part.Plot;
+    }
+    if (chartTitleBounds.contains(x, y)) {
+      return Part.ChartTitle;
+    }
+    if (xAxisBounds != null && xAxisBounds.contains(x, y)) {
+      return Part.XAxis;
+    }
+    if (yAxisBounds != null && yAxisBounds.contains(x, y)) {
+      return Part.YAxis;
+    }
+    return null;
+  }
+
+  /**
+   * @param part
+   * @return the bounds of the given chart part, or null if the chart does not have that part
+   */
+  public Rectangle2D getBounds(Part part) {
+
+    switch (part) {
+    case ChartTitle:
+      return copy(chartTitleBounds);
+    case Legend:
+      return copy(legendBounds);
+    case Plot:
+      return copy(plotBounds);
+    case XAxis:
+      return copy(xAxisBounds);
+    case YAxis:
+      return copy(yAxisBounds);
+    default:
+      return null;
+    }
+  }
+
+  private static Rectangle2D copy(Rectangle2D rectangle) {
+
+    return rectangle == null ? null : new Rectangle2D.Double(rectangle.getX(), rectangle.getY(), rectangle.getWidth(), rectangle.getHeight());
+  }
+
+  public int getWidth() {
+
+    return width;
+  }
+
+  public int getHeight() {
+
+    return height;
+  }
+
+  public Rectangle2D getChartTitleBounds() {
+
+    return copy(chartTitleBounds);
+  }
+
+  public Rectangle2D getLegendBounds() {
+
+    return copy(legendBounds);
+  }
+
+  public Rectangle2D getPlotBounds() {
+
+    return copy(plotBounds);
+  }
+
+  public Rectangle2D getXAxisBounds() {
+
+    return copy(xAxisBounds);
+  }
+
+  public Rectangle2D getYAxisBounds() {
+
+    return copy(yAxisBounds);
+  }
+}
@@ -42,6 +42,35 @@ public class ChartTitle implements ChartPart {
     this.chart = chart;
   }
 
+  /**
+   * Determine the size of the chart title. The axes and the plot are laid out around it, so this happens before anything else is laid out.
+   */
+  protected void measure() {
+
+    bounds = getBoundsHint();
+  }
+
+  /**
+   * Center the chart title above the plot, once the plot is laid out
+   *
+   * @param g
+   */
+  protected void doLayout(Graphics2D g) {
+
+    if (!chart.getStyler().isChartTitleVisible() || chart.getTitle().length() == 0) {
+      return;
+    }
+
+    Rectangle2D textBounds = TextLayoutCache.getTextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), g.getFontRenderContext()).getBounds();
+
+    double xOffset = chart.getPlot().getBounds().getX() + (chart.getPlot().getBounds().getWidth() - textBounds.getWidth()) / 2.0;
+    double yOffset = chart.getStyler().getChartPadding() + textBounds.getHeight() + chart.getStyler().getChartTitlePadding();
+
+    double width = 2 * chart.getStyler().getChartTitlePadding() + textBounds.getWidth();
+    double height = 2 * chart.getStyler().getChartTitlePadding() + textBounds.getHeight();
+    bounds = new Rectangle2D.Double(xOffset - chart.getStyler().getChartTitlePadding(), yOffset - textBounds.getHeight() - chart.getStyler().getChartTitlePadding(), width, height);
+  }
+
   @Override
   public void paint(Graphics2D g) {
 
@@ -53,7 +82,7 @@ public class ChartTitle implements ChartPart {
 
     // create rectangle first for sizing
     FontRenderContext frc = g.getFontRenderContext();
-    TextLayout textLayout = new TextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), frc);
+    TextLayout textLayout = TextLayoutCache.getTextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), frc);
     Rectangle2D textBounds = textLayout.getBounds();
 
     double xOffset = chart.getPlot().getBounds().getX(); // of plot left edge
@@ -75,11 +104,11 @@ public class ChartTitle implements ChartPart {
     }
 
     // paint title
-    xOffset = chart.getPlot().getBounds().getX() + (chart.getPlot().getBounds().getWidth() - textBounds.getWidth()) / 2.0;
-    yOffset = chart.getStyler().getChartPadding() + textBounds.getHeight() + chart.getStyler().getChartTitlePadding();
+    xOffset = bounds.getX() + chart.getStyler().getChartTitlePadding();
+    yOffset = bounds.getY() + textBounds.getHeight() + chart.getStyler().getChartTitlePadding();
 
     g.setColor(chart.getStyler().getChartFontColor());
-    Shape shape = textLayout.getOutline(null);
+    Shape shape = TextLayoutCache.getOutline(chart.getTitle(), chart.getStyler().getChartTitleFont(), frc, 0);
     AffineTransform orig = g.getTransform();
     AffineTransform at = new AffineTransform();
     at.translate(xOffset, yOffset);
@@ -87,9 +116,6 @@ public class ChartTitle implements ChartPart {
     g.fill(shape);
     g.setTransform(orig);
 
-    double width = 2 * chart.getStyler().getChartTitlePadding() + textBounds.getWidth();
-    double height = 2 * chart.getStyler().getChartTitlePadding() + textBounds.getHeight();
-    bounds = new Rectangle2D.Double(xOffset - chart.getStyler().getChartTitlePadding(), yOffset - textBounds.getHeight() - chart.getStyler().getChartTitlePadding(), width, height);
     // g.setColor(Color.green);
     // g.draw(bounds);
 
@@ -104,7 +130,7 @@ public class ChartTitle implements ChartPart {
 
     if (chart.getStyler().isChartTitleVisible() && chart.getTitle().length() > 0) {
 
-      TextLayout textLayout = new TextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont(), new FontRenderContext(null, true, false));
+      TextLayout textLayout = TextLayoutCache.getTextLayout(chart.getTitle(), chart.getStyler().getChartTitleFont());
       Rectangle2D rectangle = textLayout.getBounds();
       double width = 2 * chart.getStyler().getChartTitlePadding() + rectangle.getWidth();
       double height = 2 * chart.getStyler().getChartTitlePadding() + rectangle.getHeight();
@@ -124,4 +150,4 @@ public class ChartTitle implements ChartPart {
     }
     return bounds;
   }
-}
\ No newline at end of file
+}
\ No newline at end of file
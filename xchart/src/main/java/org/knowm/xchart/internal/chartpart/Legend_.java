@@ -17,12 +17,17 @@
 package org.knowm.xchart.internal.chartpart;
 
 import java.awt.BasicStroke;
+import java.awt.Font;
 import java.awt.Graphics2D;
 import java.awt.Shape;
-import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.knowm.xchart.internal.Series;
@@ -46,6 +51,10 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
   protected double xOffset = 0;
   protected double yOffset = 0;
 
+  /** the bounds of the text lines of each legend entry by series name, measured in the legend font */
+  private final Map<String, Map<String, Rectangle2D>> seriesTextBoundsCache = new HashMap<String, Map<String, Rectangle2D>>();
+  private Font seriesTextBoundsFont;
+
   /**
    * Constructor
    *
@@ -57,23 +66,18 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
 
   }
 
-  @Override
-  public void paint(Graphics2D g) {
-
-    if (chart.getSeriesMap().isEmpty()) {
-      return;
-    }
+  /**
+   * Determine the size of the legend. The axes and the plot may need to make room for it, so this happens before they are laid out.
+   */
+  protected void measure() {
 
-    // if the area to draw a chart on is so small, don't even bother
-    if (chart.getPlot().getBounds().getWidth() < 30) {
-      return;
-    }
+    bounds = getBoundsHint(); // Actually, the only information contained in this bounds is the width and height.
+  }
 
-    // We call get bounds hint because sometimes the Axis object needs it to know it's bounds (if Legend is outside Plot). If it's null, we just need to calulate it before painting, because the paint
-    // methods needs the bounds.
-    if (bounds == null) { // No other part asked for the bounds yet. Probably because it's an "inside" legend location
-      bounds = getBoundsHint(); // Actually, the only information contained in this bounds is the width and height.
-    }
+  /**
+   * Position the legend relative to the plot, once the plot is laid out
+   */
+  protected void doLayout() {
 
     // legend draw position
 
@@ -107,6 +111,21 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
       break;
     }
 
+    bounds = new Rectangle2D.Double(xOffset, yOffset, bounds.getWidth(), bounds.getHeight());
+  }
+
+  @Override
+  public void paint(Graphics2D g) {
+
+    if (chart.getSeriesMap().isEmpty()) {
+      return;
+    }
+
+    // if the area to draw a chart on is so small, don't even bother
+    if (chart.getPlot().getBounds().getWidth() < 30) {
+      return;
+    }
+
     // draw legend box background and border
     Shape rect = new Rectangle2D.Double(xOffset, yOffset, bounds.getWidth(), bounds.getHeight());
     g.setColor(chart.getStyler().getLegendBackgroundColor());
@@ -133,12 +152,7 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
     // determine total legend content height
     double legendContentHeight = 0;
 
-    Map<String, S> map = chart.getSeriesMap();
-    for (Series series : map.values()) {
-
-      if (!series.isShowInLegend()) {
-        continue;
-      }
+    for (Series series : getLegendEntries()) {
 
       Map<String, Rectangle2D> seriesTextBounds = getSeriesTextBounds(series);
 
@@ -167,6 +181,14 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
       legendContentWidth = BOX_SIZE + chart.getStyler().getLegendPadding() + legendTextContentMaxWidth;
     }
 
+    // the line counting the entries left out
+    String moreEntriesText = getMoreEntriesText();
+    if (moreEntriesText != null) {
+      Rectangle2D moreEntriesBounds = TextLayoutCache.getOutline(moreEntriesText, chart.getStyler().getLegendFont(), 0).getBounds2D();
+      legendContentWidth = Math.max(legendContentWidth, moreEntriesBounds.getWidth());
+      legendContentHeight += moreEntriesBounds.getHeight() + chart.getStyler().getLegendPadding();
+    }
+
     // Legend Box
     double width = legendContentWidth + 2 * chart.getStyler().getLegendPadding();
     double height = legendContentHeight + 1 * chart.getStyler().getLegendPadding();
@@ -174,24 +196,98 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
     return new Rectangle2D.Double(Double.NaN, Double.NaN, width, height); // Double.NaN indicates not sure yet.
   }
 
-  // TODO possibly cache the first hint result, so as to not re-calculate this.
+  /**
+   * @return the series with an entry in the legend, by default all series of the chart
+   */
+  protected Collection<? extends Series> getLegendSeries() {
+
+    return chart.getSeriesMap().values();
+  }
+
+  /**
+   * @return the series with an entry in the legend, at most as many as the maximum number of legend entries of the styler
+   */
+  protected List<Series> getLegendEntries() {
+
+    int maxEntries = chart.getStyler().getLegendMaxEntries();
+    List<Series> legendEntries = new ArrayList<Series>();
+    for (Series series : getLegendSeries()) {
+      if (maxEntries > 0 && legendEntries.size() == maxEntries) {
+        break;
+      }
+      if (series.isShowInLegend()) {
+        legendEntries.add(series);
+      }
+    }
+    return legendEntries;
+  }
+
+  /**
+   * @return the text of the line counting the series left out of the legend, null if there are none
+   */
+  protected String getMoreEntriesText() {
+
+    int maxEntries = chart.getStyler().getLegendMaxEntries();
+    if (maxEntries == 0) {
+      return null;
+    }
+    int numEntries = 0;
+    for (Series series : getLegendSeries()) {
+      if (series.isShowInLegend()) {
+        numEntries++;
+      }
+    }
+    return numEntries > maxEntries ? String.format(chart.getStyler().getLegendMoreEntriesFormat(), numEntries - maxEntries) : null;
+  }
+
+  /**
+   * Paints the line counting the series left out of the legend, if any, below the legend entries
+   *
+   * @param g
+   * @param startx
+   * @param starty the top of the line
+   */
+  protected void paintMoreEntriesText(Graphics2D g, double startx, double starty) {
+
+    String moreEntriesText = getMoreEntriesText();
+    if (moreEntriesText != null) {
+      Shape shape = TextLayoutCache.getOutline(moreEntriesText, chart.getStyler().getLegendFont(), g.getFontRenderContext(), 0);
+      double height = TextLayoutCache.getOutline(moreEntriesText, chart.getStyler().getLegendFont(), 0).getBounds2D().getHeight();
+      g.setColor(chart.getStyler().getChartFontColor());
+      AffineTransform orig = g.getTransform();
+      g.translate(startx, starty + height);
+      g.fill(shape);
+      g.setTransform(orig);
+    }
+  }
+
   /**
    * Normally each legend entry just has one line of text, but it can be made multi-line by adding "\\n". This method returns a Map for each single legend entry, which is normally just a Map with one
-   * single entry.
+   * single entry. The Maps are cached by series name as long as the legend font stays the same.
    *
    * @param series
    * @return
    */
   protected Map<String, Rectangle2D> getSeriesTextBounds(Series series) {
 
+    Font legendFont = chart.getStyler().getLegendFont();
+    if (!legendFont.equals(seriesTextBoundsFont) || seriesTextBoundsCache.size() > 2 * chart.getSeriesMap().size() + 16) {
+      // a new font, or entries of many removed series
+      seriesTextBoundsCache.clear();
+      seriesTextBoundsFont = legendFont;
+    }
+    Map<String, Rectangle2D> cachedSeriesTextBounds = seriesTextBoundsCache.get(series.getName());
+    if (cachedSeriesTextBounds != null) {
+      return cachedSeriesTextBounds;
+    }
+
     // FontMetrics fontMetrics = g.getFontMetrics(getChartPainter().getstyler().getLegendFont());
     // float fontDescent = fontMetrics.getDescent();
 
     String lines[] = series.getName().split("\\n");
     Map<String, Rectangle2D> seriesTextBounds = new LinkedHashMap<String, Rectangle2D>(lines.length);
     for (String line : lines) {
-      TextLayout textLayout = new TextLayout(line, chart.getStyler().getLegendFont(), new FontRenderContext(null, true, false));
-      Shape shape = textLayout.getOutline(null);
+      Shape shape = TextLayoutCache.getOutline(line, chart.getStyler().getLegendFont(), 0);
       Rectangle2D bounds = shape.getBounds2D();
       // System.out.println(tl.getAscent());
       // System.out.println(tl.getDescent());
@@ -200,6 +296,8 @@ public abstract class Legend_<ST extends Styler, S extends Series> implements Ch
       // seriesTextBounds.put(line, new Rectangle2D.Double(bounds.getX(), bounds.getY(), bounds.getWidth(), tl.getAscent()));
       seriesTextBounds.put(line, bounds);
     }
+    seriesTextBounds = Collections.unmodifiableMap(seriesTextBounds);
+    seriesTextBoundsCache.put(series.getName(), seriesTextBounds);
     return seriesTextBounds;
   }
 
@@ -19,11 +19,10 @@ package org.knowm.xchart.internal.chartpart;
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 import java.awt.Shape;
-import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
+import java.util.List;
 import java.util.Map;
 
 import org.knowm.xchart.charts.XYSeries;
@@ -66,12 +65,10 @@ public class Legend_AxesChart<ST extends AxesChartStyler, S extends Series> exte
     double startx = xOffset + chart.getStyler().getLegendPadding();
     double starty = yOffset + chart.getStyler().getLegendPadding();
 
-    Map<String, Series_AxesChart> map = chart.getSeriesMap();
-    for (Series_AxesChart series : map.values()) {
+    List<Series> legendEntries = getLegendEntries();
+    for (Series legendEntry : legendEntries) {
 
-      if (!series.isShowInLegend()) {
-        continue;
-      }
+      Series_AxesChart series = (Series_AxesChart) legendEntry;
 
       Map<String, Rectangle2D> seriesTextBounds = getSeriesTextBounds(series);
 
@@ -142,9 +139,7 @@ public class Legend_AxesChart<ST extends AxesChartStyler, S extends Series> exte
           double height = entry.getValue().getHeight();
           double centerOffsetY = (Math.max(stylerAxesChart.getMarkerSize(), height) - height) / 2.0;
 
-          FontRenderContext frc = g.getFontRenderContext();
-          TextLayout tl = new TextLayout(entry.getKey(), chart.getStyler().getLegendFont(), frc);
-          Shape shape = tl.getOutline(null);
+          Shape shape = TextLayoutCache.getOutline(entry.getKey(), chart.getStyler().getLegendFont(), g.getFontRenderContext(), 0);
           AffineTransform orig = g.getTransform();
           AffineTransform at = new AffineTransform();
           at.translate(x, starty + height + centerOffsetY + multiLineOffset);
@@ -169,9 +164,7 @@ public class Legend_AxesChart<ST extends AxesChartStyler, S extends Series> exte
           double height = entry.getValue().getHeight();
           double centerOffsetY = (Math.max(BOX_SIZE, height) - height) / 2.0;
 
-          FontRenderContext frc = g.getFontRenderContext();
-          TextLayout tl = new TextLayout(entry.getKey(), chart.getStyler().getLegendFont(), frc);
-          Shape shape = tl.getOutline(null);
+          Shape shape = TextLayoutCache.getOutline(entry.getKey(), chart.getStyler().getLegendFont(), g.getFontRenderContext(), 0);
           AffineTransform orig = g.getTransform();
           AffineTransform at = new AffineTransform();
           at.translate(x, starty + height + centerOffsetY + multiLineOffset);
@@ -190,9 +183,7 @@ public class Legend_AxesChart<ST extends AxesChartStyler, S extends Series> exte
       starty += legendEntryHeight + chart.getStyler().getLegendPadding();
 
     }
-
-    // bounds
-    bounds = new Rectangle2D.Double(xOffset, yOffset, bounds.getWidth(), bounds.getHeight());
+    paintMoreEntriesText(g, startx, starty);
 
     // g.setColor(Color.blue);
     // g.draw(bounds);
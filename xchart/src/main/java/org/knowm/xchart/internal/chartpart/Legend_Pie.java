@@ -19,10 +19,10 @@ package org.knowm.xchart.internal.chartpart;
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 import java.awt.Shape;
-import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.knowm.xchart.charts.PieSeries;
@@ -63,12 +63,8 @@ public class Legend_Pie<ST extends AxesChartStyler, S extends Series> extends Le
     double startx = xOffset + chart.getStyler().getLegendPadding();
     double starty = yOffset + chart.getStyler().getLegendPadding();
 
-    Map<String, Series> map = chart.getSeriesMap();
-    for (Series series : map.values()) {
-
-      if (!series.isShowInLegend()) {
-        continue;
-      }
+    List<Series> legendEntries = getLegendEntries();
+    for (Series series : legendEntries) {
 
       Map<String, Rectangle2D> seriesTextBounds = getSeriesTextBounds(series);
 
@@ -113,9 +109,7 @@ public class Legend_Pie<ST extends AxesChartStyler, S extends Series> extends Le
         double height = entry.getValue().getHeight();
         double centerOffsetY = (Math.max(BOX_SIZE, height) - height) / 2.0;
 
-        FontRenderContext frc = g.getFontRenderContext();
-        TextLayout tl = new TextLayout(entry.getKey(), chart.getStyler().getLegendFont(), frc);
-        Shape shape = tl.getOutline(null);
+        Shape shape = TextLayoutCache.getOutline(entry.getKey(), chart.getStyler().getLegendFont(), g.getFontRenderContext(), 0);
         AffineTransform orig = g.getTransform();
         AffineTransform at = new AffineTransform();
         at.translate(x, starty + height + centerOffsetY + multiLineOffset);
@@ -133,15 +127,22 @@ public class Legend_Pie<ST extends AxesChartStyler, S extends Series> extends Le
       starty += legendEntryHeight + chart.getStyler().getLegendPadding();
 
     }
-
-    // bounds
-    bounds = new Rectangle2D.Double(xOffset, yOffset, bounds.getWidth(), bounds.getHeight());
+    paintMoreEntriesText(g, startx, starty);
 
     // g.setColor(Color.blue);
     // g.draw(bounds);
 
   }
 
+  /**
+   * @return the slices of the pie, which include an "other" slice instead of the series aggregated into it
+   */
+  @Override
+  protected Collection<? extends Series> getLegendSeries() {
+
+    return PieSlices.of(chart).getSlices();
+  }
+
   @Override
   public Rectangle2D getBounds() {
 
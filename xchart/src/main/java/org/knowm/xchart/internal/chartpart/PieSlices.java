@@ -0,0 +1,167 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.knowm.xchart.charts.AggregatePieSeries;
+import org.knowm.xchart.charts.PieChart;
+import org.knowm.xchart.charts.PieSeries;
+import org.knowm.xchart.style.PieStyler;
+
+/**
+ * The slices of a pie chart, computed once per data change: the series large enough for a slice of their own, in the order they were added, followed by an
+ * {@link AggregatePieSeries} for the rest if the styler limits the number of slices or their minimum percentage. Plot and legend paint the slices only, so
+ * their cost does not grow with the number of series.
+ *
+ * @author timmolter
+ */
+public class PieSlices {
+
+  // what the slices were computed from
+  private final PieSeries[] series;
+  private final int[] dataVersions;
+  private final int maxSlices;
+  private final double minSlicePercentage;
+  private final String otherSliceName;
+  private final Color otherSliceColor;
+
+  private final List<PieSeries> slices;
+  private final double total;
+
+  /**
+   * Constructor
+   *
+   * @param seriesCollection the series of the chart in order
+   * @param styler
+   */
+  public PieSlices(Collection<PieSeries> seriesCollection, PieStyler styler) {
+
+    series = seriesCollection.toArray(new PieSeries[seriesCollection.size()]);
+    dataVersions = new int[series.length];
+    maxSlices = styler.getMaxSlices();
+    minSlicePercentage = styler.getMinSlicePercentage();
+    otherSliceName = styler.getOtherSliceName();
+    otherSliceColor = styler.getOtherSliceColor();
+
+    double[] values = new double[series.length];
+    double sum = 0.0;
+    for (int s = 0; s < series.length; s++) {
+      dataVersions[s] = series[s].getDataVersion();
+      values[s] = series[s].getValue().doubleValue();
+      sum += values[s];
+    }
+    total = sum;
+
+    // the smallest value keeping a slice of its own, and how many series with exactly that value may keep one
+    double minValue = minSlicePercentage > 0.0 ? total * minSlicePercentage / 100 : -Double.MAX_VALUE;
+    int numMinValue = Integer.MAX_VALUE;
+    if (maxSlices > 0 && series.length > maxSlices) {
+      double[] sortedValues = values.clone();
+      Arrays.sort(sortedValues);
+      int numKept = maxSlices - 1;
+      double cutoff = sortedValues[series.length - numKept];
+      if (cutoff >= minValue) {
+        minValue = cutoff;
+        numMinValue = numKept;
+        for (int i = series.length - numKept; i < series.length; i++) {
+          if (sortedValues[i] > cutoff) {
+            numMinValue--;
+          }
+        }
+      }
+    }
+
+    List<PieSeries> keptSeries = new ArrayList<PieSeries>();
+    List<PieSeries> aggregatedSeries = new ArrayList<PieSeries>();
+    double aggregatedValue = 0.0;
+    for (int s = 0; s < series.length; s++) {
+      if (values[s] > minValue || (values[s] == minValue && numMinValue-- > 0)) {
+        keptSeries.add(series[s]);
+      }
+      else {
+        aggregatedSeries.add(series[s]);
+        aggregatedValue += values[s];
+      }
+    }
+
+    // a single series is better shown by itself than as "other"
+    if (aggregatedSeries.size() == 1) {
+      slices = Collections.unmodifiableList(Arrays.asList(series));
+    }
+    else {
+      if (!aggregatedSeries.isEmpty()) {
+        AggregatePieSeries otherSlice = new AggregatePieSeries(otherSliceName, aggregatedValue, aggregatedSeries);
+        otherSlice.setChartPieSeriesRenderStyle(styler.getDefaultSeriesRenderStyle());
+        otherSlice.setFillColor(otherSliceColor);
+        keptSeries.add(otherSlice);
+      }
+      slices = Collections.unmodifiableList(keptSeries);
+    }
+  }
+
+  /**
+   * @param seriesCollection the series of the chart in order
+   * @param styler
+   * @return true if the slices were computed from the same series, values and styles
+   */
+  public boolean isUpToDate(Collection<PieSeries> seriesCollection, PieStyler styler) {
+
+    if (seriesCollection.size() != series.length || styler.getMaxSlices() != maxSlices || styler.getMinSlicePercentage() != minSlicePercentage
+        || !styler.getOtherSliceName().equals(otherSliceName) || !styler.getOtherSliceColor().equals(otherSliceColor)) {
+      return false;
+    }
+    int s = 0;
+    for (PieSeries pieSeries : seriesCollection) {
+      if (pieSeries != series[s] || pieSeries.getDataVersion() != dataVersions[s]) {
+        return false;
+      }
+      s++;
+    }
+    return true;
+  }
+
+  /**
+   * @return the slices to paint, the "other" slice last if there is one
+   */
+  public List<PieSeries> getSlices() {
+
+    return slices;
+  }
+
+  /**
+   * @return the sum of the values of all series
+   */
+  public double getTotal() {
+
+    return total;
+  }
+
+  /**
+   * @param chart a pie chart
+   * @return the up to date slices of the chart
+   */
+  static PieSlices of(Chart<?, ?> chart) {
+
+    return ((PieChart) chart).getPieSlices();
+  }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.geom.Rectangle2D;
+
+/**
+ * The mapping between data values and pixels of an X-Y plot as determined by its last paint, for example to find the data point under the mouse. The axis
+ * space is the data space with log10 applied to logarithmic axes, in which the mapping to pixels is linear.
+ *
+ * @author timmolter
+ */
+public class PixelTransform {
+
+  private final Rectangle2D bounds;
+  private final double xLeftMargin;
+  private final double xTickSpace;
+  private final double yTopMargin;
+  private final double yTickSpace;
+  private final double xMin;
+  private final double xMax;
+  private final double yMin;
+  private final double yMax;
+  private final boolean isXAxisLogarithmic;
+  private final boolean isYAxisLogarithmic;
+
+  /**
+   * Constructor
+   *
+   * @param bounds the plot content bounds
+   * @param xLeftMargin
+   * @param xTickSpace
+   * @param yTopMargin
+   * @param yTickSpace
+   * @param xMin the X-Axis minimum in axis space
+   * @param xMax the X-Axis maximum in axis space
+   * @param yMin the Y-Axis minimum in axis space
+   * @param yMax the Y-Axis maximum in axis space
+   * @param isXAxisLogarithmic
+   * @param isYAxisLogarithmic
+   */
+  public PixelTransform(Rectangle2D bounds, double xLeftMargin, double xTickSpace, double yTopMargin, double yTickSpace, double xMin, double xMax, double yMin, double yMax,
+      boolean isXAxisLogarithmic, boolean isYAxisLogarithmic) {
+
+    this.bounds = new Rectangle2D.Double(bounds.getX(), bounds.getY(), bounds.getWidth(), bounds.getHeight());
+    this.xLeftMargin = xLeftMargin;
+    this.xTickSpace = xTickSpace;
+    this.yTopMargin = yTopMargin;
+    this.yTickSpace = yTickSpace;
+    this.xMin = xMin;
+    this.xMax = xMax;
+    this.yMin = yMin;
+    this.yMax = yMax;
+    this.isXAxisLogarithmic = isXAxisLogarithmic;
+    this.isYAxisLogarithmic = isYAxisLogarithmic;
+  }
+
+  /**
+   * @return true if all x data are the exact same values, in which case they are all drawn in the horizontal center of the plot
+   */
+  public boolean isXRangeEmpty() {
+
+    return Math.abs(xMax - xMin) / 5 == 0.0;
+  }
+
+  /**
+   * @return true if all y data are the exact same values, in which case they are all drawn in the vertical center of the plot
+   */
+  public boolean isYRangeEmpty() {
+
+    return Math.abs(yMax - yMin) / 5 == 0.0;
+  }
+
+  /**
+   * @param x a data value
+   * @return the horizontal pixel of the data value
+   */
+  public double toScreenX(double x) {
+
+    if (isXRangeEmpty()) {
+      return bounds.getX() + bounds.getWidth() / 2.0;
+    }
+    return bounds.getX() + (xLeftMargin + (((isXAxisLogarithmic ? Math.log10(x) : x) - xMin) / (xMax - xMin) * xTickSpace));
+  }
+
+  /**
+   * @param y a data value
+   * @return the vertical pixel of the data value
+   */
+  public double toScreenY(double y) {
+
+    if (isYRangeEmpty()) {
+      return bounds.getY() + bounds.getHeight() / 2.0;
+    }
+    return bounds.getY() + (bounds.getHeight() - (yTopMargin + ((isYAxisLogarithmic ? Math.log10(y) : y) - yMin) / (yMax - yMin) * yTickSpace));
+  }
+
+  /**
+   * @param screenX a horizontal pixel
+   * @return the X-Axis value in axis space at the pixel, or the axis minimum if all x data are the same
+   */
+  public double toAxisX(double screenX) {
+
+    if (isXRangeEmpty()) {
+      return xMin;
+    }
+    return xMin + (screenX - bounds.getX() - xLeftMargin) / xTickSpace * (xMax - xMin);
+  }
+
+  /**
+   * @param screenY a vertical pixel
+   * @return the Y-Axis value in axis space at the pixel, or the axis minimum if all y data are the same
+   */
+  public double toAxisY(double screenY) {
+
+    if (isYRangeEmpty()) {
+      return yMin;
+    }
+    return yMin + (bounds.getHeight() - yTopMargin - (screenY - bounds.getY())) / yTickSpace * (yMax - yMin);
+  }
+
+  /**
+   * @param screenX a horizontal pixel
+   * @return the X-Axis data value at the pixel
+   */
+  public double toDataX(double screenX) {
+
+    return axisToDataX(toAxisX(screenX));
+  }
+
+  /**
+   * @param screenY a vertical pixel
+   * @return the Y-Axis data value at the pixel
+   */
+  public double toDataY(double screenY) {
+
+    return axisToDataY(toAxisY(screenY));
+  }
+
+  /**
+   * @param x an X-Axis value in axis space
+   * @return the X-Axis data value
+   */
+  public double axisToDataX(double x) {
+
+    return isXAxisLogarithmic ? Math.pow(10, x) : x;
+  }
+
+  /**
+   * @param y a Y-Axis value in axis space
+   * @return the Y-Axis data value
+   */
+  public double axisToDataY(double y) {
+
+    return isYAxisLogarithmic ? Math.pow(10, y) : y;
+  }
+
+  /**
+   * @return the pixels per unit of the X-Axis in axis space, 0 if all x data are the same
+   */
+  public double getXScale() {
+
+    return isXRangeEmpty() ? 0.0 : xTickSpace / Math.abs(xMax - xMin);
+  }
+
+  /**
+   * @return the pixels per unit of the Y-Axis in axis space, 0 if all y data are the same
+   */
+  public double getYScale() {
+
+    return isYRangeEmpty() ? 0.0 : yTickSpace / Math.abs(yMax - yMin);
+  }
+
+  public Rectangle2D getBounds() {
+
+    return bounds;
+  }
+
+  public double getXMin() {
+
+    return xMin;
+  }
+
+  public double getXMax() {
+
+    return xMax;
+  }
+
+  public double getYMin() {
+
+    return yMin;
+  }
+
+  public double getYMax() {
+
+    return yMax;
+  }
+
+  public boolean isXAxisLogarithmic() {
+
+    return isXAxisLogarithmic;
+  }
+
+  public boolean isYAxisLogarithmic() {
+
+    return isYAxisLogarithmic;
+  }
+}
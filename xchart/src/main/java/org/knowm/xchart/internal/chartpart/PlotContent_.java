@@ -16,12 +16,33 @@
  */
 package org.knowm.xchart.internal.chartpart;
 
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
 import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import org.knowm.xchart.internal.ColumnDecimation;
 import org.knowm.xchart.internal.Series;
 import org.knowm.xchart.style.AxesChartStyler;
+import org.knowm.xchart.style.markers.Marker;
+import org.knowm.xchart.style.markers.None;
 
 /**
  * @author timmolter
@@ -30,6 +51,12 @@ public abstract class PlotContent_<ST extends AxesChartStyler, S extends Series>
 
   protected final Chart<ST, S> chart;
 
+  /** lines and areas with more data points per pixel column than this are reduced to the first, lowest, highest and last data point of each column */
+  protected static final int DECIMATION_POINTS_PER_PIXEL = 8;
+
+  /** the opacity of bands painted in an opaque color, so the series and the plot grid show through */
+  private static final int BAND_ALPHA = 64;
+
   protected final Stroke errorBarStroke = new BasicStroke(1.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL);
 
   /**
@@ -48,4 +75,290 @@ public abstract class PlotContent_<ST extends AxesChartStyler, S extends Series>
     return chart.getPlot().getBounds();
   }
 
+  /**
+   * Paints a single series of a chart
+   */
+  protected interface SeriesPainter<T extends Series> {
+
+    void paint(Graphics2D g, T series, int seriesIndex);
+  }
+
+  /**
+   * Paint all series in order. In parallel mode the series are split into contiguous groups, each group is painted into its own transparent raster on the
+   * ForkJoinPool and the rasters are composited onto g in series order, which gives the same result as painting the series one after another. Parallel mode
+   * only applies to raster targets marked with Chart.KEY_RASTER_TARGET that composite with SrcOver; vector targets (EPS, PDF, SVG) and printers always get the
+   * series painted directly.
+   *
+   * @param g the Graphics2D, already clipped to the plot area
+   * @param parallel true to paint the series in parallel if possible
+   * @param seriesCollection
+   * @param seriesPainter paints one series, must not modify state shared with other series
+   */
+  protected static <T extends Series> void paintSeries(Graphics2D g, boolean parallel, Collection<T> seriesCollection, final SeriesPainter<T> seriesPainter) {
+
+    final List<T> seriesList = new ArrayList<T>(seriesCollection);
+    int numLayers = Math.min(seriesList.size(), ForkJoinPool.getCommonPoolParallelism());
+
+    if (!parallel || numLayers < 2 || g.getClip() == null || !isRasterGraphics(g)) {
+      for (int i = 0; i < seriesList.size(); i++) {
+        seriesPainter.paint(g, seriesList.get(i), i);
+      }
+      return;
+    }
+
+    // the layers cover the clipped plot area in device space, so they can be drawn back pixel for pixel
+    final AffineTransform transform = g.getTransform();
+    final Shape clip = g.getClip();
+    final Rectangle deviceBounds = transform.createTransformedShape(clip).getBounds();
+    if (deviceBounds.isEmpty()) {
+      return;
+    }
+    final RenderingHints renderingHints = g.getRenderingHints();
+
+    List<ForkJoinTask<BufferedImage>> layers = new ArrayList<ForkJoinTask<BufferedImage>>(numLayers);
+    for (int layer = 0; layer < numLayers; layer++) {
+
+      final int fromIndex = layer * seriesList.size() / numLayers;
+      final int toIndex = (layer + 1) * seriesList.size() / numLayers;
+      layers.add(ForkJoinPool.commonPool().submit(new Callable<BufferedImage>() {
+
+        @Override
+        public BufferedImage call() {
+
+          BufferedImage image = new BufferedImage(deviceBounds.width, deviceBounds.height, BufferedImage.TYPE_INT_ARGB_PRE);
+          Graphics2D layerGraphics = image.createGraphics();
+          try {
+            layerGraphics.setRenderingHints(renderingHints);
+            layerGraphics.translate(-deviceBounds.x, -deviceBounds.y);
+            layerGraphics.transform(transform);
+            layerGraphics.setClip(clip);
+            for (int i = fromIndex; i < toIndex; i++) {
+              seriesPainter.paint(layerGraphics, seriesList.get(i), i);
+            }
+          } finally {
+            layerGraphics.dispose();
+          }
+          return image;
+        }
+      }));
+    }
+
+    // composite the layers in series order
+    try {
+      g.setTransform(new AffineTransform());
+      for (ForkJoinTask<BufferedImage> layer : layers) {
+        g.drawImage(layer.join(), deviceBounds.x, deviceBounds.y, null);
+      }
+    } finally {
+      g.setTransform(transform);
+    }
+  }
+
+  /**
+   * Reduces projected data points in ascending x order to the first, lowest, highest and last data point of each pixel column, in place, keeping a single
+   * missing value (NaN y) per gap. The reduced points draw the same line or area outline as all of them, but not the same markers.
+   *
+   * @param xPixels
+   * @param yPixels
+   * @param count the number of data points
+   * @return the number of data points remaining at the start of the arrays
+   */
+  protected static int decimateColumns(double[] xPixels, double[] yPixels, int count) {
+
+    ColumnDecimation decimation = new ColumnDecimation(64);
+    for (int i = 0; i < count; i++) {
+      decimation.add(i, Math.floor(xPixels[i]), yPixels[i]);
+    }
+    int[] indices = decimation.getIndices();
+
+    // the indices ascend and each is at or after its new position, so nothing is overwritten before it is read
+    for (int i = 0; i < indices.length; i++) {
+      xPixels[i] = xPixels[indices[i]];
+      yPixels[i] = yPixels[indices[i]];
+    }
+    return indices.length;
+  }
+
+  /**
+   * @param marker the marker of a series, or null
+   * @return true if the marker paints anything, in which case the data points of the series must not be decimated
+   */
+  protected static boolean isMarkerPainted(Marker marker) {
+
+    return marker != null && !(marker instanceof None);
+  }
+
+  /**
+   * Adds the band of projected data points in ascending x order to a path: a polygon along the upper ends, such as those of the error bars, and back along
+   * the lower ends for each run of data points, which a missing end (NaN) interrupts. The data points of a pixel column are reduced to the outermost ends at
+   * the first and the last x of the column, in place, so a dense series adds no more than two vertices per column and side.
+   *
+   * @param bandPath
+   * @param xPixels
+   * @param topPixels the pixels of the upper ends, overwritten
+   * @param bottomPixels the pixels of the lower ends, overwritten
+   * @param count the number of data points
+   */
+  protected static void addBand(Path2D.Double bandPath, double[] xPixels, double[] topPixels, double[] bottomPixels, int count) {
+
+    int reducedCount = 0;
+    int runStart = 0;
+    int columnStart = 0;
+    double column = Double.NaN;
+
+    for (int i = 0; i <= count; i++) {
+
+      if (i == count || Double.isNaN(topPixels[i]) || Double.isNaN(bottomPixels[i])) {
+        addBandRun(bandPath, xPixels, topPixels, bottomPixels, runStart, reducedCount);
+        runStart = reducedCount;
+        column = Double.NaN;
+        continue;
+      }
+
+      // the reduced points of a column lie at or before i, and each is read before its position may be written
+      if (Math.floor(xPixels[i]) == column) {
+        double top = Math.min(topPixels[columnStart], topPixels[i]);
+        double bottom = Math.max(bottomPixels[columnStart], bottomPixels[i]);
+        topPixels[columnStart] = top;
+        bottomPixels[columnStart] = bottom;
+        xPixels[columnStart + 1] = xPixels[i];
+        topPixels[columnStart + 1] = top;
+        bottomPixels[columnStart + 1] = bottom;
+        reducedCount = columnStart + 2;
+      }
+      else {
+        column = Math.floor(xPixels[i]);
+        columnStart = reducedCount;
+        xPixels[reducedCount] = xPixels[i];
+        topPixels[reducedCount] = topPixels[i];
+        bottomPixels[reducedCount++] = bottomPixels[i];
+      }
+    }
+  }
+
+  private static void addBandRun(Path2D.Double bandPath, double[] xPixels, double[] topPixels, double[] bottomPixels, int from, int to) {
+
+    if (from == to) {
+      return;
+    }
+    bandPath.moveTo(xPixels[from], topPixels[from]);
+    for (int i = from + 1; i < to; i++) {
+      bandPath.lineTo(xPixels[i], topPixels[i]);
+    }
+    for (int i = to - 1; i >= from; i--) {
+      bandPath.lineTo(xPixels[i], bottomPixels[i]);
+    }
+    bandPath.closePath();
+  }
+
+  /**
+   * Fills the band between the upper and lower ends of projected data points in ascending x order, in a translucent version of the color if it is opaque. A
+   * missing end (NaN) interrupts the band.
+   *
+   * @param g
+   * @param xPixels
+   * @param topPixels the pixels of the upper ends, overwritten
+   * @param bottomPixels the pixels of the lower ends, overwritten
+   * @param count the number of data points
+   * @param color
+   */
+  protected static void paintBand(Graphics2D g, double[] xPixels, double[] topPixels, double[] bottomPixels, int count, Color color) {
+
+    Path2D.Double bandPath = new Path2D.Double();
+    addBand(bandPath, xPixels, topPixels, bottomPixels, count);
+    fillBand(g, bandPath, color);
+  }
+
+  /**
+   * Fills a path built by addBand, in a translucent version of the color if it is opaque
+   *
+   * @param g
+   * @param bandPath
+   * @param color
+   */
+  protected static void fillBand(Graphics2D g, Path2D.Double bandPath, Color color) {
+
+    if (color.getAlpha() == 255) {
+      color = new Color(color.getRed(), color.getGreen(), color.getBlue(), BAND_ALPHA);
+    }
+    g.setColor(color);
+    g.fill(bandPath);
+  }
+
+  /**
+   * @param lineColor the line color of the series
+   * @return the color error bars and error bands are painted in
+   */
+  protected Color getErrorBarsColor(Color lineColor) {
+
+    AxesChartStyler styler = chart.getStyler();
+    return styler.isErrorBarsColorSeriesColor() ? lineColor : styler.getErrorBarsColor();
+  }
+
+  /**
+   * Paints the error bars of projected data points, in the error bar color: either a whisker per data point, a vertical line between the ends of the error
+   * bar capped by a short horizontal line at either end, or the error band of data points in ascending x order filled in a translucent version of the color.
+   * A missing end (NaN) leaves out its part of a whisker or interrupts the band.
+   *
+   * @param g
+   * @param xPixels
+   * @param topPixels the pixels of the upper ends, overwritten by a band
+   * @param bottomPixels the pixels of the lower ends, overwritten by a band
+   * @param count the number of data points
+   * @param isBand true to paint an error band, false to paint whiskers
+   * @param lineColor the line color of the series
+   */
+  protected void paintErrorBars(Graphics2D g, double[] xPixels, double[] topPixels, double[] bottomPixels, int count, boolean isBand, Color lineColor) {
+
+    Color color = getErrorBarsColor(lineColor);
+
+    if (isBand) {
+      paintBand(g, xPixels, topPixels, bottomPixels, count, color);
+      return;
+    }
+
+    // separate lines rather than one path, as Java2D draws thin lines on a fast path of its own
+    g.setColor(color);
+    g.setStroke(errorBarStroke);
+    Line2D.Double line = new Line2D.Double();
+    for (int i = 0; i < count; i++) {
+
+      double x = xPixels[i];
+      double top = topPixels[i];
+      double bottom = bottomPixels[i];
+      if (!Double.isNaN(top) && !Double.isNaN(bottom)) {
+        line.setLine(x, top, x, bottom);
+        g.draw(line);
+      }
+      if (!Double.isNaN(bottom)) {
+        line.setLine(x - 3, bottom, x + 3, bottom);
+        g.draw(line);
+      }
+      if (!Double.isNaN(top)) {
+        line.setLine(x - 3, top, x + 3, top);
+        g.draw(line);
+      }
+    }
+  }
+
+  /**
+   * Vector graphics must get every shape, not pre-rendered rasters. Vector Graphics2D implementations may report an image device, so only the code that
+   * created g knows it paints into pixels.
+   *
+   * @param g
+   * @return true if g paints into a raster, i.e. an image or the screen, and the layers composite like the shapes painted one after another
+   */
+  private static boolean isRasterGraphics(Graphics2D g) {
+
+    if (!Boolean.TRUE.equals(g.getRenderingHint(Chart.KEY_RASTER_TARGET)) || !AlphaComposite.SrcOver.equals(g.getComposite())) {
+      return false;
+    }
+    GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+    if (graphicsConfiguration == null) {
+      return false;
+    }
+    int type = graphicsConfiguration.getDevice().getType();
+    return type == GraphicsDevice.TYPE_IMAGE_BUFFER || type == GraphicsDevice.TYPE_RASTER_SCREEN;
+  }
+
 }
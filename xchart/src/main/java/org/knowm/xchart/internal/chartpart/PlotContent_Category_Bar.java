@@ -17,18 +17,19 @@
 package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Collection;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Map;
 
 import org.knowm.xchart.charts.CategorySeries;
 import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
 import org.knowm.xchart.internal.Series;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.style.AxesChartStyler.ErrorBarsStyle;
 import org.knowm.xchart.style.CategoryStyler;
 import org.knowm.xchart.style.Styler;
 import org.knowm.xchart.style.lines.SeriesLines;
@@ -40,6 +41,17 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
 
   CategoryStyler stylerCategory;
 
+  // the plot area and axes ranges of the current paint, shared by all series
+  private Rectangle2D bounds;
+  private double xLeftMargin;
+  private double gridStep;
+  private double yTickSpace;
+  private double yTopMargin;
+  private double yMin;
+  private double yMax;
+  private int chartForm;
+  private CategoryLayout categoryLayout;
+
   /**
    * Constructor
    *
@@ -54,7 +66,7 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
   @Override
   public void paint(Graphics2D g) {
 
-    Rectangle2D bounds = getBounds();
+    bounds = getBounds();
     // g.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL));
     // g.setColor(Color.red);
     // g.draw(bounds);
@@ -69,22 +81,22 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
     // X-Axis
     double xTickSpace = stylerCategory.getPlotContentSize() * bounds.getWidth();
     // System.out.println("xTickSpace: " + xTickSpace);
-    double xLeftMargin = Utils.getTickStartOffset(bounds.getWidth(), xTickSpace);
+    xLeftMargin = Utils.getTickStartOffset(bounds.getWidth(), xTickSpace);
     // System.out.println("xLeftMargin: " + xLeftMargin);
     Map<String, CategorySeries> seriesMap = chart.getSeriesMap();
-    int numCategories = seriesMap.values().iterator().next().getXData().size();
-    double gridStep = xTickSpace / numCategories;
+    categoryLayout = CategoryLayout.of(chart);
+    gridStep = xTickSpace / categoryLayout.getNumCategories();
     // System.out.println("gridStep: " + gridStep);
 
     // Y-Axis
-    double yTickSpace = stylerCategory.getPlotContentSize() * bounds.getHeight();
-    double yTopMargin = Utils.getTickStartOffset(bounds.getHeight(), yTickSpace);
+    yTickSpace = stylerCategory.getPlotContentSize() * bounds.getHeight();
+    yTopMargin = Utils.getTickStartOffset(bounds.getHeight(), yTickSpace);
 
-    double yMin = chart.getAxisPair().getYAxis().getMin();
-    double yMax = chart.getAxisPair().getYAxis().getMax();
+    yMin = chart.getAxisPair().getYAxis().getMin();
+    yMax = chart.getAxisPair().getYAxis().getMax();
 
     // figure out the general form of the chart
-    int chartForm = 1; // 1=positive, -1=negative, 0=span
+    chartForm = 1; // 1=positive, -1=negative, 0=span
     if (yMin > 0.0 && yMax > 0.0) {
       chartForm = 1; // positive chart
     }
@@ -99,40 +111,89 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
     // System.out.println("chartForm: " + chartForm);
 
     // plot series
-    int seriesCounter = 0;
-    for (CategorySeries series : seriesMap.values()) {
+    paintSeries(g, stylerCategory.isParallelSeriesRendering(), seriesMap.values(), new SeriesPainter<CategorySeries>() {
 
-      // for line series
-      double previousX = -Double.MAX_VALUE;
-      double previousY = -Double.MAX_VALUE;
+      @Override
+      public void paint(Graphics2D g, CategorySeries series, int seriesIndex) {
 
-      Iterator<? extends Number> yItr = series.getYData().iterator();
-      Iterator<? extends Number> ebItr = null;
-      Collection<? extends Number> errorBars = series.getErrorBars();
-      if (errorBars != null) {
-        ebItr = errorBars.iterator();
+        paintSeries(g, series, seriesIndex);
       }
+    });
+    g.setClip(null);
+  }
+
+  /**
+   * Paints one series. May run on a rendering thread of its own, so it must not modify anything but g.
+   */
+  private void paintSeries(Graphics2D g, CategorySeries series, int seriesIndex) {
+
+    double[] yData = series.getYValues();
+    double[] errorBars = series.getErrorBarValues();
+    int[] categoryIndices = categoryLayout.getCategoryIndices(seriesIndex);
+    boolean isStacked = categoryLayout.isStacked(seriesIndex);
+    double[] stackBottoms = categoryLayout.getStackBottoms(seriesIndex);
+    double[] stackTops = categoryLayout.getStackTops(seriesIndex);
+
+    // stacked and overlapped series take the full width of a category, grouped series share it
+    double barWidthPercentage = stylerCategory.getAvailableSpaceFill();
+    boolean isFullWidth = stylerCategory.isOverlapped() || stylerCategory.isStacked();
+    double barWidth = isFullWidth ? gridStep * barWidthPercentage : gridStep / chart.getSeriesMap().size() * barWidthPercentage;
+    double barMargin = gridStep * (1 - barWidthPercentage) / 2;
+
+    // all bars of a series are filled at once, before the error bars
+    Path2D.Double bars = series.getChartCategorySeriesRenderStyle() == CategorySeriesRenderStyle.Bar ? new Path2D.Double() : null;
+
+    // bars narrower than a pixel are merged per pixel column and filled as whole pixels, without antialiasing and inside a clip on whole pixels, which keeps
+    // Java2D on its fast path
+    boolean isDense = bars != null && barWidth < 1.0;
+    int denseColumn = Integer.MIN_VALUE;
+    double denseTop = 0.0;
+    double denseBottom = 0.0;
+    Shape clip = g.getClip();
+    Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+    if (isDense) {
+      g.setColor(series.getFillColor());
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+      g.setClip(clip == null ? null : clip.getBounds());
+    }
 
-      int categoryCounter = 0;
-      while (yItr.hasNext()) {
+    // the ends of the error bars are collected and painted after the series, those of bars once the bars are filled
+    double[] errorBarOffsets = null;
+    double[] errorBarTops = null;
+    double[] errorBarBottoms = null;
+    if (errorBars != null) {
+      errorBarOffsets = new double[yData.length];
+      errorBarTops = new double[yData.length];
+      errorBarBottoms = new double[yData.length];
+      Arrays.fill(errorBarTops, Double.NaN);
+      Arrays.fill(errorBarBottoms, Double.NaN);
+    }
 
-        Number next = yItr.next();
-        if (next == null) {
+    // for line series
+    double previousX = -Double.MAX_VALUE;
+    double previousY = -Double.MAX_VALUE;
 
-          previousX = -Double.MAX_VALUE;
-          previousY = -Double.MAX_VALUE;
-          categoryCounter++;
-          continue;
-        }
-        double y = next.doubleValue();
+    for (int i = 0; i < yData.length; i++) {
+
+      double y = yData[i];
+      if (Double.isNaN(y)) {
+
+        previousX = -Double.MAX_VALUE;
+        previousY = -Double.MAX_VALUE;
+        continue;
+      }
 
-        double yTop = 0.0;
-        double yBottom = 0.0;
+      double yTop = 0.0;
+      double yBottom = 0.0;
+      if (isStacked) {
+        yTop = stackTops[i];
+        yBottom = stackBottoms[i];
+      }
+      else {
         switch (chartForm) {
         case 1: // positive chart
           // check for points off the chart draw area due to a custom yMin
           if (y < yMin) {
-            categoryCounter++;
             continue;
           }
           yTop = y;
@@ -141,7 +202,6 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
         case -1: // negative chart
           // check for points off the chart draw area due to a custom yMin
           if (y > yMax) {
-            categoryCounter++;
             continue;
           }
           yTop = yMax;
@@ -160,136 +220,149 @@ public class PlotContent_Category_Bar<ST extends Styler, S extends Series> exten
         default:
           break;
         }
+      }
 
-        double yTransform = bounds.getHeight() - (yTopMargin + (yTop - yMin) / (yMax - yMin) * yTickSpace);
-        // double yTransform = bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
+      double yTransform = bounds.getHeight() - (yTopMargin + (yTop - yMin) / (yMax - yMin) * yTickSpace);
+      // double yTransform = bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
 
-        double yOffset = bounds.getY() + yTransform;
+      double yOffset = bounds.getY() + yTransform;
 
-        double zeroTransform = bounds.getHeight() - (yTopMargin + (yBottom - yMin) / (yMax - yMin) * yTickSpace);
-        double zeroOffset = bounds.getY() + zeroTransform;
-        double xOffset;
-        double barWidth;
+      double zeroTransform = bounds.getHeight() - (yTopMargin + (yBottom - yMin) / (yMax - yMin) * yTickSpace);
+      double zeroOffset = bounds.getY() + zeroTransform;
+      double xOffset;
+      if (isFullWidth) {
+        xOffset = bounds.getX() + xLeftMargin + gridStep * categoryIndices[i] + barMargin;
+      }
+      else {
+        xOffset = bounds.getX() + xLeftMargin + gridStep * categoryIndices[i] + seriesIndex * barWidth + barMargin;
+      }
+
+      // paint series
+      if (bars != null) {
 
-        if (stylerCategory.isOverlapped()) {
-          double barWidthPercentage = stylerCategory.getAvailableSpaceFill();
-          barWidth = gridStep * barWidthPercentage;
-          double barMargin = gridStep * (1 - barWidthPercentage) / 2;
-          xOffset = bounds.getX() + xLeftMargin + gridStep * categoryCounter++ + barMargin;
+        if (isDense) {
+          int column = (int) Math.floor(xOffset);
+          if (column == denseColumn) {
+            denseTop = Math.min(denseTop, yOffset);
+            denseBottom = Math.max(denseBottom, zeroOffset);
+          }
+          else {
+            fillDenseColumn(g, denseColumn, denseTop, denseBottom);
+            denseColumn = column;
+            denseTop = yOffset;
+            denseBottom = zeroOffset;
+          }
         }
         else {
-          double barWidthPercentage = stylerCategory.getAvailableSpaceFill();
-          barWidth = gridStep / chart.getSeriesMap().size() * barWidthPercentage;
-          double barMargin = gridStep * (1 - barWidthPercentage) / 2;
-          xOffset = bounds.getX() + xLeftMargin + gridStep * categoryCounter++ + seriesCounter * barWidth + barMargin;
+          // add bar
+          bars.moveTo(xOffset, yOffset);
+          bars.lineTo(xOffset + barWidth, yOffset);
+          bars.lineTo(xOffset + barWidth, zeroOffset);
+          bars.lineTo(xOffset, zeroOffset);
+          bars.closePath();
         }
+      }
+      else if (CategorySeriesRenderStyle.Stick.equals(series.getChartCategorySeriesRenderStyle())) {
 
-        // paint series
-        if (series.getChartCategorySeriesRenderStyle() == CategorySeriesRenderStyle.Bar) {
-
-          // paint bar
-          Path2D.Double path = new Path2D.Double();
-          path.moveTo(xOffset, yOffset);
-          path.lineTo(xOffset + barWidth, yOffset);
-          path.lineTo(xOffset + barWidth, zeroOffset);
-          path.lineTo(xOffset, zeroOffset);
-          path.closePath();
-
-          // g.setStroke(series.getLineStyle());
-          // g.setColor(series.getLineColor());
-          // g.draw(path);
-          g.setColor(series.getFillColor());
-          g.fill(path);
+        // paint line
+        if (series.getLineStyle() != SeriesLines.NONE) {
+
+          g.setColor(series.getLineColor());
+          g.setStroke(series.getLineStyle());
+          Shape line = new Line2D.Double(xOffset + barWidth / 2, zeroOffset, xOffset + barWidth / 2, yOffset);
+          g.draw(line);
         }
-        else if (CategorySeriesRenderStyle.Stick.equals(series.getChartCategorySeriesRenderStyle())) {
 
-          // paint line
-          if (series.getLineStyle() != SeriesLines.NONE) {
+        // paint marker
+        if (series.getMarker() != null) {
+          g.setColor(series.getMarkerColor());
 
-            g.setColor(series.getLineColor());
-            g.setStroke(series.getLineStyle());
-            Shape line = new Line2D.Double(xOffset + barWidth / 2, zeroOffset, xOffset + barWidth / 2, yOffset);
-            g.draw(line);
+          if (y <= 0) {
+            series.getMarker().paint(g, xOffset + barWidth / 2, zeroOffset, stylerCategory.getMarkerSize());
           }
-
-          // paint marker
-          // if (series.getMarker() != null) {
-          if (series.getMarker() != null) {
-            g.setColor(series.getMarkerColor());
-
-            if (y <= 0) {
-              series.getMarker().paint(g, xOffset + barWidth / 2, zeroOffset, stylerCategory.getMarkerSize());
-            }
-            else {
-              series.getMarker().paint(g, xOffset + barWidth / 2, yOffset, stylerCategory.getMarkerSize());
-            }
+          else {
+            series.getMarker().paint(g, xOffset + barWidth / 2, yOffset, stylerCategory.getMarkerSize());
           }
         }
-        else {
+      }
+      else {
 
-          // paint line
-          if (series.getChartCategorySeriesRenderStyle() == CategorySeriesRenderStyle.Line) {
+        // paint line
+        if (series.getChartCategorySeriesRenderStyle() == CategorySeriesRenderStyle.Line) {
 
-            if (series.getLineStyle() != SeriesLines.NONE) {
+          if (series.getLineStyle() != SeriesLines.NONE) {
 
-              if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
-                g.setColor(series.getLineColor());
-                g.setStroke(series.getLineStyle());
-                Shape line = new Line2D.Double(previousX, previousY, xOffset + barWidth / 2, yOffset);
-                g.draw(line);
-              }
+            if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
+              g.setColor(series.getLineColor());
+              g.setStroke(series.getLineStyle());
+              Shape line = new Line2D.Double(previousX, previousY, xOffset + barWidth / 2, yOffset);
+              g.draw(line);
             }
           }
-          previousX = xOffset + barWidth / 2;
-          previousY = yOffset;
-
-          // paint marker
-          if (series.getMarker() != null) {
-            g.setColor(series.getMarkerColor());
-            series.getMarker().paint(g, previousX, previousY, stylerCategory.getMarkerSize());
-          }
+        }
+        previousX = xOffset + barWidth / 2;
+        previousY = yOffset;
 
+        // paint marker
+        if (series.getMarker() != null) {
+          g.setColor(series.getMarkerColor());
+          series.getMarker().paint(g, previousX, previousY, stylerCategory.getMarkerSize());
         }
 
-        // paint error bars
+      }
 
-        if (errorBars != null) {
+      // error bars, stacked ones sitting on the end of their bar segment
+      if (errorBars != null) {
+        double yErrorBar = isStacked && bars != null ? (y >= 0.0 ? stackTops[i] : stackBottoms[i]) : y;
+        errorBarOffsets[i] = xOffset + barWidth / 2;
+        errorBarTops[i] = toScreenY(yErrorBar + errorBars[i]);
+        errorBarBottoms[i] = toScreenY(yErrorBar - errorBars[i]);
+      }
+    }
 
-          double eb = ebItr.next().doubleValue();
+    if (isDense) {
+      fillDenseColumn(g, denseColumn, denseTop, denseBottom);
+      g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+      g.setClip(clip);
+    }
+    else if (bars != null) {
+      g.setColor(series.getFillColor());
+      g.fill(bars);
+    }
 
-          // set error bar style
-          if (stylerCategory.isErrorBarsColorSeriesColor()) {
-            g.setColor(series.getLineColor());
-          }
-          else {
-            g.setColor(stylerCategory.getErrorBarsColor());
-          }
-          g.setStroke(errorBarStroke);
+    // bars always get whiskers
+    if (errorBars != null) {
+      boolean isErrorBand = bars == null && stylerCategory.getErrorBarsStyle() == ErrorBarsStyle.Band && isAscending(categoryIndices);
+      paintErrorBars(g, errorBarOffsets, errorBarTops, errorBarBottoms, yData.length, isErrorBand, series.getLineColor());
+    }
+  }
 
-          // Top value
-          double topValue = y + eb;
-          double topEBTransform = bounds.getHeight() - (yTopMargin + (topValue - yMin) / (yMax - yMin) * yTickSpace);
-          double topEBOffset = bounds.getY() + topEBTransform;
+  private static boolean isAscending(int[] categoryIndices) {
 
-          // Bottom value
-          double bottomValue = y - eb;
-          double bottomEBTransform = bounds.getHeight() - (yTopMargin + (bottomValue - yMin) / (yMax - yMin) * yTickSpace);
-          double bottomEBOffset = bounds.getY() + bottomEBTransform;
+    for (int i = 1; i < categoryIndices.length; i++) {
+      if (categoryIndices[i] < categoryIndices[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
 
-          // Draw it
-          double errorBarOffset = xOffset + barWidth / 2;
-          Shape line = new Line2D.Double(errorBarOffset, topEBOffset, errorBarOffset, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(errorBarOffset - 3, bottomEBOffset, errorBarOffset + 3, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(errorBarOffset - 3, topEBOffset, errorBarOffset + 3, topEBOffset);
-          g.draw(line);
-        }
+  /**
+   * Fills the merged bars of a pixel column, if any
+   */
+  private static void fillDenseColumn(Graphics2D g, int column, double top, double bottom) {
 
-      }
-      seriesCounter++;
+    if (column != Integer.MIN_VALUE) {
+      int y = (int) Math.round(top);
+      g.fillRect(column, y, 1, (int) Math.round(bottom) - y);
     }
-    g.setClip(null);
   }
 
+  /**
+   * @return the pixel of an error bar end on the Y-Axis
+   */
+  private double toScreenY(double value) {
+
+    return bounds.getY() + (bounds.getHeight() - (yTopMargin + (value - yMin) / (yMax - yMin) * yTickSpace));
+  }
 }
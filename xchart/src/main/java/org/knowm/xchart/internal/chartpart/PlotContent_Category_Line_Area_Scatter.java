@@ -17,18 +17,15 @@
 package org.knowm.xchart.internal.chartpart;
 
 import java.awt.Graphics2D;
-import java.awt.Shape;
-import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.Map;
 
 import org.knowm.xchart.charts.CategorySeries;
 import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
 import org.knowm.xchart.internal.Series;
 import org.knowm.xchart.internal.Utils;
+import org.knowm.xchart.style.AxesChartStyler.ErrorBarsStyle;
 import org.knowm.xchart.style.CategoryStyler;
 import org.knowm.xchart.style.Styler;
 import org.knowm.xchart.style.lines.SeriesLines;
@@ -40,6 +37,16 @@ public class PlotContent_Category_Line_Area_Scatter<ST extends Styler, S extends
 
   CategoryStyler stylerCategory;
 
+  // the plot area and axes ranges of the current paint, shared by all series
+  private Rectangle2D bounds;
+  private CategoryLayout categoryLayout;
+  private double xLeftMargin;
+  private double gridStep;
+  private double yTickSpace;
+  private double yTopMargin;
+  private double yMin;
+  private double yMax;
+
   /**
    * Constructor
    *
@@ -59,7 +66,7 @@ public class PlotContent_Category_Line_Area_Scatter<ST extends Styler, S extends
     // throw new IllegalArgumentException("Category Charts cannot have logarithmic axes!!! (Not Yet Implemented)");
     // }
 
-    Rectangle2D bounds = getBounds();
+    bounds = getBounds();
     // g.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL));
     // g.setColor(Color.red);
     // g.draw(bounds);
@@ -86,16 +93,16 @@ public class PlotContent_Category_Line_Area_Scatter<ST extends Styler, S extends
 
     // X-Axis
     double xTickSpace = stylerCategory.getPlotContentSize() * bounds.getWidth();
-    double xLeftMargin = Utils.getTickStartOffset((int) bounds.getWidth(), xTickSpace);
+    xLeftMargin = Utils.getTickStartOffset((int) bounds.getWidth(), xTickSpace);
 
     // Y-Axis
-    double yTickSpace = stylerCategory.getPlotContentSize() * bounds.getHeight();
-    double yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
+    yTickSpace = stylerCategory.getPlotContentSize() * bounds.getHeight();
+    yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
 
     double xMin = chart.getAxisPair().getXAxis().getMin();
     double xMax = chart.getAxisPair().getXAxis().getMax();
-    double yMin = chart.getAxisPair().getYAxis().getMin();
-    double yMax = chart.getAxisPair().getYAxis().getMax();
+    yMin = chart.getAxisPair().getYAxis().getMin();
+    yMax = chart.getAxisPair().getYAxis().getMax();
 
     // logarithmic
     if (stylerCategory.isXAxisLogarithmic()) {
@@ -111,191 +118,223 @@ public class PlotContent_Category_Line_Area_Scatter<ST extends Styler, S extends
 
     Map<String, CategorySeries> seriesMap = chart.getSeriesMap();
 
-    int numCategories = seriesMap.values().iterator().next().getXData().size();
-    double gridStep = xTickSpace / numCategories;
-
-    for (CategorySeries series : seriesMap.values()) {
+    categoryLayout = CategoryLayout.of(chart);
+    gridStep = xTickSpace / categoryLayout.getNumCategories();
 
-      // data points
-      Collection<? extends Number> yData = series.getYData();
+    paintSeries(g, stylerCategory.isParallelSeriesRendering(), seriesMap.values(), new SeriesPainter<CategorySeries>() {
 
-      double previousX = -Double.MAX_VALUE;
-      double previousY = -Double.MAX_VALUE;
+      @Override
+      public void paint(Graphics2D g, CategorySeries series, int seriesIndex) {
 
-      Iterator<? extends Number> yItr = yData.iterator();
-      Iterator<? extends Number> ebItr = null;
-      Collection<? extends Number> errorBars = series.getErrorBars();
-      if (errorBars != null) {
-        ebItr = errorBars.iterator();
+        paintSeries(g, series, seriesIndex);
       }
-      Path2D.Double path = null;
+    });
+    g.setClip(null);
 
-      int categoryCounter = 0;
-      while (yItr.hasNext()) {
+  }
 
-        Number next = yItr.next();
-        if (next == null) {
+  /**
+   * Paints one series. May run on a rendering thread of its own, so it must not modify anything but g.
+   * <p>
+   * The lines, areas and sticks of the series are each accumulated into one path and drawn with one call, and a line or area with many more data points
+   * than pixel columns and no error bar whiskers is first reduced to the first, lowest, highest and last data point of each column like X-Y lines. Of more
+   * sticks than pixel columns only the tallest of each column is drawn, as it covers the others.
+   */
+  private void paintSeries(Graphics2D g, CategorySeries series, int seriesIndex) {
+
+    // data points
+    double[] yData = series.getYValues();
+    double[] errorBars = series.getErrorBarValues();
+    int[] categoryIndices = categoryLayout.getCategoryIndices(seriesIndex);
+    CategorySeriesRenderStyle renderStyle = series.getChartCategorySeriesRenderStyle();
+    boolean isSeriesLineOrArea = CategorySeriesRenderStyle.Line == renderStyle || CategorySeriesRenderStyle.Area == renderStyle;
+
+    // project the data points onto pixels, missing values staying NaN
+    int count = yData.length;
+    double[] xPixels = new double[count];
+    double[] yPixels = new double[count];
+    boolean isXAscending = true;
+    // a check if all y data are the exact same values
+    boolean isFlat = Math.abs(yMax - yMin) / 5 == 0.0;
+    for (int i = 0; i < count; i++) {
+
+      xPixels[i] = bounds.getX() + xLeftMargin + categoryIndices[i] * gridStep + gridStep / 2;
+      isXAscending &= i == 0 || xPixels[i] >= xPixels[i - 1];
+
+      double y = stylerCategory.isYAxisLogarithmic() ? Math.log10(yData[i]) : yData[i];
+      if (Double.isNaN(y)) {
+        yPixels[i] = Double.NaN;
+      }
+      else {
+        double yTransform = isFlat ? bounds.getHeight() / 2.0 : bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
+        yPixels[i] = bounds.getY() + yTransform;
+      }
+    }
 
-          // for area charts
-          closePath(g, path, previousX, bounds, yTopMargin);
-          path = null;
+    // the ends of the error bars, NaN where the data point is missing
+    double[] topPixels = null;
+    double[] bottomPixels = null;
+    if (errorBars != null) {
+      topPixels = new double[count];
+      bottomPixels = new double[count];
+      for (int i = 0; i < count; i++) {
+        topPixels[i] = Double.isNaN(yPixels[i]) ? Double.NaN : toScreenY(yData[i] + errorBars[i]);
+        bottomPixels[i] = Double.isNaN(yPixels[i]) ? Double.NaN : toScreenY(yData[i] - errorBars[i]);
+      }
+    }
 
-          previousX = -Double.MAX_VALUE;
-          previousY = -Double.MAX_VALUE;
-          continue;
-        }
+    // an error band covers all data points, so the line may be reduced like one without error bars, whiskers need every data point
+    boolean isErrorBand = errorBars != null && isXAscending && stylerCategory.getErrorBarsStyle() == ErrorBarsStyle.Band;
+    double[] errorBarXPixels = isErrorBand ? xPixels.clone() : xPixels;
+    int errorBarCount = count;
 
-        double yOrig = next.doubleValue();
+    // the reduced data points draw the same line, but not the same markers
+    if (isSeriesLineOrArea && (errorBars == null || isErrorBand) && isXAscending && !isMarkerPainted(series.getMarker()) && count > DECIMATION_POINTS_PER_PIXEL
+        * bounds.getWidth()) {
+      count = decimateColumns(xPixels, yPixels, count);
+    }
 
-        double y = 0.0;
+    double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
+    Path2D.Double linePath = isSeriesLineOrArea && series.getLineStyle() != SeriesLines.NONE ? new Path2D.Double() : null;
+    Path2D.Double areaPath = CategorySeriesRenderStyle.Area == renderStyle ? new Path2D.Double() : null;
+    Path2D.Double stickPath = CategorySeriesRenderStyle.Stick == renderStyle && series.getLineStyle() != SeriesLines.NONE ? new Path2D.Double() : null;
 
-        // System.out.println(y);
-        if (stylerCategory.isYAxisLogarithmic()) {
-          y = Math.log10(yOrig);
-        }
-        else {
-          y = yOrig;
-        }
-        // System.out.println(y);
+    double previousX = -Double.MAX_VALUE;
+    double previousY = -Double.MAX_VALUE;
+    boolean isAreaOpen = false;
 
-        double yTransform = bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
+    // the tallest stick of the current pixel column of a dense stick series
+    boolean isStickMerged = stickPath != null && isXAscending && count > bounds.getWidth();
+    double stickColumn = Double.NaN;
+    double stickX = 0.0;
+    double stickY = 0.0;
 
-        // a check if all y data are the exact same values
-        if (Math.abs(yMax - yMin) / 5 == 0.0) {
-          yTransform = bounds.getHeight() / 2.0;
-        }
+    for (int i = 0; i < count; i++) {
 
-        double xOffset = bounds.getX() + xLeftMargin + categoryCounter++ * gridStep + gridStep / 2;
-        double yOffset = bounds.getY() + yTransform;
-        // System.out.println(xOffset);
-        // System.out.println(yTransform);
-        // System.out.println(yOffset);
-        // System.out.println("---");
+      double xOffset = xPixels[i];
+      double yOffset = yPixels[i];
+      if (Double.isNaN(yOffset)) {
 
-        // paint line
-        if (CategorySeriesRenderStyle.Line.equals(series.getChartCategorySeriesRenderStyle()) || CategorySeriesRenderStyle.Area.equals(series.getChartCategorySeriesRenderStyle())) {
+        // for area charts
+        closeArea(areaPath, isAreaOpen, previousX, yBottomOfArea);
+        isAreaOpen = false;
 
-          if (series.getLineStyle() != SeriesLines.NONE) {
+        previousX = -Double.MAX_VALUE;
+        previousY = -Double.MAX_VALUE;
+        continue;
+      }
+      boolean hasPrevious = previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE;
 
-            if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
-              g.setColor(series.getLineColor());
-              g.setStroke(series.getLineStyle());
-              Shape line = new Line2D.Double(previousX, previousY, xOffset, yOffset);
-              g.draw(line);
-            }
-          }
+      // line
+      if (linePath != null) {
+        if (hasPrevious) {
+          linePath.lineTo(xOffset, yOffset);
         }
+        else {
+          linePath.moveTo(xOffset, yOffset);
+        }
+      }
 
-        // paint area
-        if (CategorySeriesRenderStyle.Area.equals(series.getChartCategorySeriesRenderStyle())) {
-
-          if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
-
-            g.setColor(series.getFillColor());
-            double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
+      // area
+      if (areaPath != null) {
 
-            if (path == null) {
-              path = new Path2D.Double();
-              path.moveTo(previousX, yBottomOfArea);
-              path.lineTo(previousX, previousY);
-            }
-            path.lineTo(xOffset, yOffset);
-          }
-          if (xOffset < previousX) {
-            throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
+        if (hasPrevious) {
+          if (!isAreaOpen) {
+            areaPath.moveTo(previousX, yBottomOfArea);
+            areaPath.lineTo(previousX, previousY);
+            isAreaOpen = true;
           }
+          areaPath.lineTo(xOffset, yOffset);
+        }
+        if (xOffset < previousX) {
+          throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
         }
+      }
 
-        // paint stick
-        if (CategorySeriesRenderStyle.Stick.equals(series.getChartCategorySeriesRenderStyle())) {
+      // stick
+      if (isStickMerged) {
+        if (Math.floor(xOffset) != stickColumn) {
+          addStick(stickPath, stickColumn, stickX, stickY, yBottomOfArea);
+          stickColumn = Math.floor(xOffset);
+          stickX = xOffset;
+          stickY = yOffset;
+        }
+        else if (yOffset < stickY) {
+          stickX = xOffset;
+          stickY = yOffset;
+        }
+      }
+      else if (stickPath != null) {
+        addStick(stickPath, 0.0, xOffset, yOffset, yBottomOfArea);
+      }
 
-          if (series.getLineStyle() != SeriesLines.NONE) {
+      previousX = xOffset;
+      previousY = yOffset;
+    }
 
-            double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
+    // close any open path for area charts
+    closeArea(areaPath, isAreaOpen, previousX, yBottomOfArea);
+    if (isStickMerged) {
+      addStick(stickPath, stickColumn, stickX, stickY, yBottomOfArea);
+    }
 
-            g.setColor(series.getLineColor());
-            g.setStroke(series.getLineStyle());
-            Shape line = new Line2D.Double(xOffset, yBottomOfArea, xOffset, yOffset);
-            g.draw(line);
-          }
+    // paint lines
+    if (linePath != null || stickPath != null) {
+      g.setColor(series.getLineColor());
+      g.setStroke(series.getLineStyle());
+      g.draw(linePath != null ? linePath : stickPath);
+    }
 
+    // paint markers
+    if (series.getMarker() != null) {
+      g.setColor(series.getMarkerColor());
+      for (int i = 0; i < count; i++) {
+        if (!Double.isNaN(yPixels[i])) {
+          series.getMarker().paint(g, xPixels[i], yPixels[i], stylerCategory.getMarkerSize());
         }
+      }
+    }
 
-        previousX = xOffset;
-        previousY = yOffset;
-
-        // paint marker
-        if (series.getMarker() != null) {
-          g.setColor(series.getMarkerColor());
-          series.getMarker().paint(g, xOffset, yOffset, stylerCategory.getMarkerSize());
-        }
+    // paint error bars
+    if (errorBars != null) {
+      paintErrorBars(g, errorBarXPixels, topPixels, bottomPixels, errorBarCount, isErrorBand, series.getLineColor());
+    }
 
-        // paint error bars
-        if (errorBars != null) {
+    // paint area
+    if (areaPath != null) {
+      g.setColor(series.getFillColor());
+      g.fill(areaPath);
+    }
+  }
 
-          double eb = ebItr.next().doubleValue();
+  /**
+   * @return the pixel of an error bar end on the Y-Axis
+   */
+  private double toScreenY(double y) {
 
-          // set error bar style
-          if (stylerCategory.isErrorBarsColorSeriesColor()) {
-            g.setColor(series.getLineColor());
-          }
-          else {
-            g.setColor(stylerCategory.getErrorBarsColor());
-          }
-          g.setStroke(errorBarStroke);
+    double value = stylerCategory.isYAxisLogarithmic() ? Math.log10(y) : y;
+    return bounds.getY() + (bounds.getHeight() - (yTopMargin + (value - yMin) / (yMax - yMin) * yTickSpace));
+  }
 
-          // Top value
-          double topValue = 0.0;
-          if (stylerCategory.isYAxisLogarithmic()) {
-            topValue = yOrig + eb;
-            topValue = Math.log10(topValue);
-          }
-          else {
-            topValue = y + eb;
-          }
-          double topEBTransform = bounds.getHeight() - (yTopMargin + (topValue - yMin) / (yMax - yMin) * yTickSpace);
-          double topEBOffset = bounds.getY() + topEBTransform;
-
-          // Bottom value
-          double bottomValue = 0.0;
-          if (stylerCategory.isYAxisLogarithmic()) {
-            bottomValue = yOrig - eb;
-            // System.out.println(bottomValue);
-            bottomValue = Math.log10(bottomValue);
-          }
-          else {
-            bottomValue = y - eb;
-          }
-          double bottomEBTransform = bounds.getHeight() - (yTopMargin + (bottomValue - yMin) / (yMax - yMin) * yTickSpace);
-          double bottomEBOffset = bounds.getY() + bottomEBTransform;
-
-          // Draw it
-          Shape line = new Line2D.Double(xOffset, topEBOffset, xOffset, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, bottomEBOffset, xOffset + 3, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, topEBOffset, xOffset + 3, topEBOffset);
-          g.draw(line);
-        }
-      }
+  /**
+   * Adds a stick from the bottom of the plot up to a data point, unless the column is NaN, i.e. there is none
+   */
+  private static void addStick(Path2D.Double stickPath, double column, double x, double y, double yBottomOfArea) {
 
-      // close any open path for area charts
-      closePath(g, path, previousX, bounds, yTopMargin);
+    if (!Double.isNaN(column)) {
+      stickPath.moveTo(x, yBottomOfArea);
+      stickPath.lineTo(x, y);
     }
-    g.setClip(null);
-
   }
 
   /**
-   * Closes a path for area charts if one is available.
+   * Closes the area of a run of data points, if one is open, down to the bottom of the plot.
    */
-  private void closePath(Graphics2D g, Path2D.Double path, double previousX, Rectangle2D bounds, double yTopMargin) {
+  private static void closeArea(Path2D.Double areaPath, boolean isAreaOpen, double previousX, double yBottomOfArea) {
 
-    if (path != null) {
-      double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
-      path.lineTo(previousX, yBottomOfArea);
-      path.closePath();
-      g.fill(path);
+    if (isAreaOpen) {
+      areaPath.lineTo(previousX, yBottomOfArea);
+      areaPath.closePath();
     }
   }
 
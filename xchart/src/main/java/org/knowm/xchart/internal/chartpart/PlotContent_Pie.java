@@ -19,14 +19,15 @@ package org.knowm.xchart.internal.chartpart;
 import java.awt.BasicStroke;
 import java.awt.Graphics2D;
 import java.awt.Shape;
-import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.text.DecimalFormat;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.knowm.xchart.charts.PieSeries;
 import org.knowm.xchart.internal.Series;
@@ -39,9 +40,15 @@ import org.knowm.xchart.style.Styler;
  */
 public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotContent_ {
 
+  private static final BasicStroke TICK_MARK_STROKE = new BasicStroke(2.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER);
+
   PieStyler stylerPie;
   DecimalFormat df = new DecimalFormat("#.0");
 
+  // the geometry of the last paint and what it was computed from
+  private List<Object> geometryKey;
+  private List<SliceGeometry> sliceGeometries;
+
   /**
    * Constructor
    *
@@ -74,6 +81,45 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
     // g.draw(rectangle);
     g.setClip(bounds.createIntersection(rectangle));
 
+    // the geometry is computed once per data change, plot bounds and pie style, and only painted on repaints
+    PieSlices pieSlices = PieSlices.of(chart);
+    List<Object> geometryKey = Arrays.<Object> asList(pieSlices, bounds.getBounds2D(), stylerPie.getPlotContentSize(), stylerPie.isCircular(), stylerPie.getStartAngleInDegrees(),
+        stylerPie.getAnnotationType(), stylerPie.getAnnotationFont(), stylerPie.getAnnotationDistance());
+    if (!geometryKey.equals(this.geometryKey)) {
+      sliceGeometries = computeSliceGeometries(bounds, pieSlices);
+      this.geometryKey = geometryKey;
+    }
+
+    // draw pie slices
+    for (SliceGeometry sliceGeometry : sliceGeometries) {
+
+      g.setColor(sliceGeometry.series.getFillColor());
+      g.fill(sliceGeometry.arc);
+      g.setColor(stylerPie.getPlotBackgroundColor());
+      g.draw(sliceGeometry.arc);
+
+      // draw annotation
+      if (sliceGeometry.annotation != null) {
+
+        g.setColor(stylerPie.getChartFontColor());
+        g.setFont(stylerPie.getChartTitleFont());
+        if (sliceGeometry.tickMark != null) {
+          g.setStroke(TICK_MARK_STROKE);
+          g.draw(sliceGeometry.tickMark);
+        }
+        g.fill(sliceGeometry.annotation);
+      }
+    }
+
+    g.setClip(null);
+
+  }
+
+  /**
+   * Computes the arcs of the slices and the placement of the annotations that fit into their slices
+   */
+  private List<SliceGeometry> computeSliceGeometries(Rectangle2D bounds, PieSlices pieSlices) {
+
     // pie bounds
     double pieFillPercentage = stylerPie.getPlotContentSize();
 
@@ -101,33 +147,22 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
     // g.draw(pieBounds);
 
     // get total
-    double total = 0.0;
-
-    Map<String, PieSeries> map = chart.getSeriesMap();
-    for (PieSeries series : map.values()) {
-
-      total += series.getValue().doubleValue();
-    }
+    double total = pieSlices.getTotal();
 
-    // draw pie slices
-    // double curValue = 0.0;
-    // double curValue = 0.0;
+    List<SliceGeometry> sliceGeometries = new ArrayList<SliceGeometry>(pieSlices.getSlices().size());
     double startAngle = stylerPie.getStartAngleInDegrees() + 90;
 
-    map = chart.getSeriesMap();
-    for (PieSeries series : map.values()) {
+    for (PieSeries series : pieSlices.getSlices()) {
 
       Number y = series.getValue();
 
-      // draw slice
+      // slice
       double arcAngle = (y.doubleValue() * 360 / total);
-      g.setColor(series.getFillColor());
-      g.fill(new Arc2D.Double(pieBounds.getX(), pieBounds.getY(), pieBounds.getWidth(), pieBounds.getHeight(), startAngle, arcAngle, Arc2D.PIE));
-      g.setColor(stylerPie.getPlotBackgroundColor());
-      g.draw(new Arc2D.Double(pieBounds.getX(), pieBounds.getY(), pieBounds.getWidth(), pieBounds.getHeight(), startAngle, arcAngle, Arc2D.PIE));
-      // curValue += y.doubleValue();
+      SliceGeometry sliceGeometry = new SliceGeometry(series, new Arc2D.Double(pieBounds.getX(), pieBounds.getY(), pieBounds.getWidth(), pieBounds.getHeight(), startAngle, arcAngle,
+          Arc2D.PIE));
+      sliceGeometries.add(sliceGeometry);
 
-      // draw annotation
+      // annotation
       String annotation = "";
       if (stylerPie.getAnnotationType() == AnnotationType.Label) {
         annotation = series.getName();
@@ -141,7 +176,7 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
         annotation = df.format(percentage) + "%";
       }
 
-      TextLayout textLayout = new TextLayout(annotation, stylerPie.getAnnotationFont(), new FontRenderContext(null, true, false));
+      TextLayout textLayout = TextLayoutCache.getTextLayout(annotation, stylerPie.getAnnotationFont());
       Rectangle2D percentageRectangle = textLayout.getBounds();
 
       double xCenter = pieBounds.getX() + pieBounds.getWidth() / 2 - percentageRectangle.getWidth() / 2;
@@ -151,7 +186,7 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
       double yOffset = yCenter - Math.sin(Math.toRadians(angle)) * (pieBounds.getHeight() / 2 * stylerPie.getAnnotationDistance());
 
       // get annotation width
-      Shape shape = textLayout.getOutline(null);
+      Shape shape = TextLayoutCache.getOutline(annotation, stylerPie.getAnnotationFont(), 0);
       Rectangle2D annotationBounds = shape.getBounds2D();
       double annotationWidth = annotationBounds.getWidth();
       // System.out.println("annotationWidth= " + annotationWidth);
@@ -185,12 +220,9 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
         }
       }
 
-      // draw annotation
+      // place annotation
       if (annotationWillFit) {
 
-        g.setColor(stylerPie.getChartFontColor());
-        g.setFont(stylerPie.getChartTitleFont());
-        AffineTransform orig = g.getTransform();
         AffineTransform at = new AffineTransform();
 
         // inside
@@ -211,19 +243,14 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
           double yOffsetStart = yCenter - Math.sin(Math.toRadians(angle)) * (pieBounds.getHeight() / 2.01);
           double yOffsetEnd = yCenter - Math.sin(Math.toRadians(angle)) * (pieBounds.getHeight() / endPoint);
 
-          g.setStroke(new BasicStroke(2.0f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
-          Shape line = new Line2D.Double(xOffsetStart, yOffsetStart, xOffsetEnd, yOffsetEnd);
-          g.draw(line);
+          sliceGeometry.tickMark = new Line2D.Double(xOffsetStart, yOffsetStart, xOffsetEnd, yOffsetEnd);
 
           // annotation
           at.translate(xOffset - Math.sin(Math.toRadians(angle - 90)) * annotationWidth / 2 + 3, yOffset);
 
         }
 
-        g.transform(at);
-        g.fill(shape);
-        g.setTransform(orig);
-
+        sliceGeometry.annotation = at.createTransformedShape(shape);
       }
       // else {
       // System.out.println("Won't fit.");
@@ -237,8 +264,28 @@ public class PlotContent_Pie<ST extends Styler, S extends Series> extends PlotCo
       startAngle += arcAngle;
     }
 
-    g.setClip(null);
+    return sliceGeometries;
+  }
+
+  /**
+   * The painted shapes of one slice
+   */
+  private static class SliceGeometry {
 
+    private final PieSeries series;
+    private final Arc2D arc;
+
+    /** the outline of the annotation in place, null if it does not fit into the slice */
+    private Shape annotation;
+
+    /** the line from the slice to an annotation outside the pie, or null */
+    private Line2D tickMark;
+
+    private SliceGeometry(PieSeries series, Arc2D arc) {
+
+      this.series = series;
+      this.arc = arc;
+    }
   }
 
 }
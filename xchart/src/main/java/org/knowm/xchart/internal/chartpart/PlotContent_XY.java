@@ -21,17 +21,22 @@ import java.awt.Shape;
 import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
-import java.util.Collection;
-import java.util.Date;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
 
 import org.knowm.xchart.charts.XYSeries;
 import org.knowm.xchart.charts.XYSeries.XYSeriesRenderStyle;
+import org.knowm.xchart.internal.ColumnDecimation;
+import org.knowm.xchart.internal.MinMaxPyramid;
+import org.knowm.xchart.internal.ParallelScan;
 import org.knowm.xchart.internal.Series;
+import org.knowm.xchart.internal.TimeBucketAggregation;
+import org.knowm.xchart.internal.TimeBucketAggregation.Rollup;
 import org.knowm.xchart.internal.Utils;
 import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
 import org.knowm.xchart.style.AxesChartStyler;
+import org.knowm.xchart.style.AxesChartStyler.ErrorBarsStyle;
 import org.knowm.xchart.style.XYStyler;
 import org.knowm.xchart.style.lines.SeriesLines;
 
@@ -40,8 +45,28 @@ import org.knowm.xchart.style.lines.SeriesLines;
  */
 public class PlotContent_XY<ST extends AxesChartStyler, S extends Series> extends PlotContent_ {
 
+  /** data points are projected onto pixels in blocks of this size, to bound the memory needed for the pixel coordinates */
+  private static final int PROJECTION_BLOCK_SIZE = 1 << 20;
+
   XYStyler stylerXY;
 
+  // the plot area and axes ranges of the current paint, shared by all series
+  private Rectangle2D bounds;
+  private double xTickSpace;
+  private double xLeftMargin;
+  private double yTickSpace;
+  private double yTopMargin;
+  private double xMin;
+  private double xMax;
+  private double yMin;
+  private double yMax;
+  private DoubleUnaryOperator xProjection;
+  private DoubleUnaryOperator yProjection;
+  private PixelTransform pixelTransform;
+
+  /** the time bucket aggregations of the series painted aggregated, kept between paints */
+  private final Map<XYSeries, TimeBucketAggregation> dateAggregations = new HashMap<XYSeries, TimeBucketAggregation>();
+
   /**
    * Constructor
    *
@@ -56,13 +81,14 @@ public class PlotContent_XY<ST extends AxesChartStyler, S extends Series> extend
   @Override
   public void paint(Graphics2D g) {
 
-    Rectangle2D bounds = getBounds();
+    bounds = getBounds();
     // g.setStroke(new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL));
     // g.setColor(Color.red);
     // g.draw(bounds);
 
     // if the area to draw a chart on is so small, don't even bother
     if (bounds.getWidth() < 30) {
+      pixelTransform = null;
       return;
     }
 
@@ -82,17 +108,17 @@ public class PlotContent_XY<ST extends AxesChartStyler, S extends Series> extend
     // g.setClip(bounds.createIntersection(g.getClipBounds()));
 
     // X-Axis
-    double xTickSpace = stylerXY.getPlotContentSize() * bounds.getWidth();
-    double xLeftMargin = Utils.getTickStartOffset((int) bounds.getWidth(), xTickSpace);
+    xTickSpace = stylerXY.getPlotContentSize() * bounds.getWidth();
+    xLeftMargin = Utils.getTickStartOffset((int) bounds.getWidth(), xTickSpace);
 
     // Y-Axis
-    double yTickSpace = stylerXY.getPlotContentSize() * bounds.getHeight();
-    double yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
+    yTickSpace = stylerXY.getPlotContentSize() * bounds.getHeight();
+    yTopMargin = Utils.getTickStartOffset((int) bounds.getHeight(), yTickSpace);
 
-    double xMin = chart.getXAxis().getMin();
-    double xMax = chart.getXAxis().getMax();
-    double yMin = chart.getYAxis().getMin();
-    double yMax = chart.getYAxis().getMax();
+    xMin = chart.getXAxis().getMin();
+    xMax = chart.getXAxis().getMax();
+    yMin = chart.getYAxis().getMin();
+    yMax = chart.getYAxis().getMax();
 
     // logarithmic
     if (stylerXY.isXAxisLogarithmic()) {
@@ -104,186 +130,393 @@ public class PlotContent_XY<ST extends AxesChartStyler, S extends Series> extend
       yMax = Math.log10(yMax);
     }
 
+    // the projections of data values onto pixels
+    pixelTransform = new PixelTransform(bounds, xLeftMargin, xTickSpace, yTopMargin, yTickSpace, xMin, xMax, yMin, yMax, stylerXY.isXAxisLogarithmic(), stylerXY
+        .isYAxisLogarithmic());
+    xProjection = pixelTransform::toScreenX;
+    yProjection = pixelTransform::toScreenY;
+
     Map<String, XYSeries> map = chart.getSeriesMap();
-    for (XYSeries series : map.values()) {
 
-      // data points
-      Collection<?> xData = series.getXData();
-      Collection<? extends Number> yData = series.getYData();
+    // the aggregations are created up front, as the series may be painted in parallel
+    if (stylerXY.isDateAggregationEnabled()) {
+      dateAggregations.keySet().retainAll(map.values());
+      for (XYSeries series : map.values()) {
+        if (!isDateAggregated(series)) {
+          dateAggregations.remove(series);
+        }
+        else if (!dateAggregations.containsKey(series)) {
+          dateAggregations.put(series, new TimeBucketAggregation());
+        }
+      }
+    }
+    else {
+      dateAggregations.clear();
+    }
 
-      double previousX = -Double.MAX_VALUE;
-      double previousY = -Double.MAX_VALUE;
+    paintSeries(g, stylerXY.isParallelSeriesRendering(), map.values(), new SeriesPainter<XYSeries>() {
 
-      Iterator<?> xItr = xData.iterator();
-      Iterator<? extends Number> yItr = yData.iterator();
-      Iterator<? extends Number> ebItr = null;
-      Collection<? extends Number> errorBars = series.getErrorBars();
-      if (errorBars != null) {
-        ebItr = errorBars.iterator();
+      @Override
+      public void paint(Graphics2D g, XYSeries series, int seriesIndex) {
+
+        paintSeries(g, series);
       }
-      Path2D.Double path = null;
+    });
 
-      while (xItr.hasNext()) {
+    g.setClip(null);
 
-        double x = 0.0;
-        if (chart.getXAxis().getAxisDataType() == AxisDataType.Number) {
-          x = ((Number) xItr.next()).doubleValue();
-        }
-        else if (chart.getXAxis().getAxisDataType() == AxisDataType.Date) {
-          x = ((Date) xItr.next()).getTime();
+  }
+
+  /**
+   * @return the mapping between data values and pixels of the last paint, or null if the plot was not painted yet
+   */
+  public PixelTransform getPixelTransform() {
+
+    return pixelTransform;
+  }
+
+  /**
+   * Paints one series. May run on a rendering thread of its own, so it must not modify anything but g.
+   */
+  private void paintSeries(Graphics2D g, XYSeries series) {
+
+    double[] xData = series.getXValues();
+    double[] yData = series.getYValues();
+    double[] errorBars = series.getErrorBarValues();
+    double[] errorBandData = null;
+    int bandFrom = 0;
+    int bandTo = 0;
+    int from = 0;
+    int to = xData.length;
+
+    if (series.isXAscending() && !pixelTransform.isXRangeEmpty()) {
+
+      // only the data points in the visible X-Axis range, widened by a marker so the markers cut by the plot edges are drawn too, and their neighbors which
+      // lines are drawn to
+      double margin = stylerXY.getMarkerSize();
+      from = Math.max(0, binarySearch(xData, pixelTransform.toDataX(bounds.getMinX() - margin), false) - 1);
+      to = Math.min(xData.length, binarySearch(xData, pixelTransform.toDataX(bounds.getMaxX() + margin), true) + 1);
+
+      // with many more data points than pixel columns, a Date series may be painted from its time buckets of about a pixel
+      if (errorBars == null && to - from > DECIMATION_POINTS_PER_PIXEL * bounds.getWidth() && dateAggregations.containsKey(series)) {
+        long bucketInterval = TimeBucketAggregation.getBucketInterval(pixelTransform.toDataX(bounds.getX() + 1) - pixelTransform.toDataX(bounds.getX()));
+        if (bucketInterval > 0) {
+          paintRollup(g, series, dateAggregations.get(series).getRollup(series, stylerXY.getTimezone(), bucketInterval));
+          return;
         }
-        // System.out.println(x);
-        if (stylerXY.isXAxisLogarithmic()) {
-          x = Math.log10(x);
+      }
+
+      // an error band is painted after the series from all data points, which leaves the series free to be reduced like one without error bars
+      if (errorBars != null && stylerXY.getErrorBarsStyle() == ErrorBarsStyle.Band) {
+        errorBandData = errorBars;
+        errorBars = null;
+        bandFrom = from;
+        bandTo = to;
+      }
+
+      // with many more data points than pixel columns, the first, lowest, highest and last data point of each column draw the same lines, but not the same
+      // markers
+      boolean isSeriesLineOrArea = (XYSeriesRenderStyle.Line == series.getChartXYSeriesRenderStyle()) || (XYSeriesRenderStyle.Area == series.getChartXYSeriesRenderStyle());
+      if (isSeriesLineOrArea && errorBars == null && !isMarkerPainted(series.getMarker()) && to - from > DECIMATION_POINTS_PER_PIXEL * bounds.getWidth()) {
+        MinMaxPyramid minMaxPyramid = series.getMinMaxPyramid();
+        if (minMaxPyramid != null) {
+          minMaxPyramid.update(series);
         }
-        // System.out.println(x);
+        double[][] decimated = minMaxPyramid != null ? decimate(xData, yData, from, to, minMaxPyramid) : decimate(xData, yData, from, to);
+        xData = decimated[0];
+        yData = decimated[1];
+        from = 0;
+        to = xData.length;
+      }
+    }
 
-        Number next = yItr.next();
-        if (next == null) {
+    paintSeries(g, series, xData, yData, errorBars, from, to);
+    if (errorBandData != null) {
+      paintErrorBand(g, series, series.getXValues(), series.getYValues(), errorBandData, bandFrom, bandTo);
+    }
+  }
 
-          // for area charts
-          closePath(g, path, previousX, bounds, yTopMargin);
-          path = null;
+  /**
+   * @return true if the series may be painted from time buckets, which only stand in for a visible line without markers
+   */
+  private boolean isDateAggregated(XYSeries series) {
+
+    return series.getxAxisDataType() == AxisDataType.Date && !stylerXY.isXAxisLogarithmic() && series.getChartXYSeriesRenderStyle() == XYSeriesRenderStyle.Line
+        && series.isXAscending() && series.getLineStyle() != SeriesLines.NONE && !isMarkerPainted(series.getMarker());
+  }
 
-          previousX = -Double.MAX_VALUE;
-          previousY = -Double.MAX_VALUE;
-          continue;
+  /**
+   * Paints the visible time buckets of a series: a band between the minimum and maximum of each bucket in a translucent line color, and a line through the
+   * averages, both at the centers of the buckets.
+   */
+  private void paintRollup(Graphics2D g, XYSeries series, Rollup rollup) {
+
+    double[] starts = rollup.getStarts();
+    double interval = rollup.getBucketInterval();
+    int from = Math.max(0, binarySearch(starts, pixelTransform.toDataX(bounds.getMinX()) - interval, false) - 1);
+    int to = Math.min(rollup.size(), binarySearch(starts, pixelTransform.toDataX(bounds.getMaxX()), true) + 1);
+
+    // a gap takes an extra missing end to interrupt the band
+    double[] xPixels = new double[2 * (to - from)];
+    double[] topPixels = new double[xPixels.length];
+    double[] bottomPixels = new double[xPixels.length];
+    int count = 0;
+    Path2D.Double path = new Path2D.Double();
+
+    for (int i = from; i < to; i++) {
+
+      double x = pixelTransform.toScreenX(starts[i] + interval / 2);
+      double y = pixelTransform.toScreenY(rollup.getAverage(i));
+      if (i == from || rollup.getGaps()[i]) {
+        if (i > from) {
+          topPixels[count] = Double.NaN;
+          bottomPixels[count++] = Double.NaN;
         }
+        path.moveTo(x, y);
+      }
+      else {
+        path.lineTo(x, y);
+      }
+      xPixels[count] = x;
+      topPixels[count] = pixelTransform.toScreenY(rollup.getMaxs()[i]);
+      bottomPixels[count++] = pixelTransform.toScreenY(rollup.getMins()[i]);
+    }
 
-        double yOrig = next.doubleValue();
+    paintBand(g, xPixels, topPixels, bottomPixels, count, series.getLineColor());
+    g.setColor(series.getLineColor());
+    g.setStroke(series.getLineStyle());
+    g.draw(path);
+  }
 
-        double y = 0.0;
+  /**
+   * @param data ascending values
+   * @param value
+   * @param isUpper false to find the first index with a value greater or equal to value, true for the first index with a value greater than value
+   * @return the index, data.length if there is none
+   */
+  private static int binarySearch(double[] data, double value, boolean isUpper) {
 
-        // System.out.println(y);
-        if (stylerXY.isYAxisLogarithmic()) {
-          y = Math.log10(yOrig);
-        }
-        else {
-          y = yOrig;
-        }
-        // System.out.println(y);
+    return binarySearch(data, 0, data.length, value, isUpper);
+  }
 
-        double xTransform = xLeftMargin + ((x - xMin) / (xMax - xMin) * xTickSpace);
-        double yTransform = bounds.getHeight() - (yTopMargin + (y - yMin) / (yMax - yMin) * yTickSpace);
+  /**
+   * @param data ascending values
+   * @param low the first index to search, inclusive
+   * @param high the last index to search, exclusive
+   * @param value
+   * @param isUpper false to find the first index with a value greater or equal to value, true for the first index with a value greater than value
+   * @return the index, high if there is none
+   */
+  private static int binarySearch(double[] data, int low, int high, double value, boolean isUpper) {
 
-        // a check if all x data are the exact same values
-        if (Math.abs(xMax - xMin) / 5 == 0.0) {
-          xTransform = bounds.getWidth() / 2.0;
-        }
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (data[mid] < value || (isUpper && data[mid] == value)) {
+        low = mid + 1;
+      }
+      else {
+        high = mid;
+      }
+    }
+    return low;
+  }
 
-        // a check if all y data are the exact same values
-        if (Math.abs(yMax - yMin) / 5 == 0.0) {
-          yTransform = bounds.getHeight() / 2.0;
-        }
+  /**
+   * Reduces the data points of an ascending X-Axis to the first, lowest, highest and last data point of each pixel column, keeping the gaps of missing
+   * values.
+   *
+   * @return the x and y data of the remaining data points
+   */
+  private double[][] decimate(double[] xData, double[] yData, int from, int to) {
+
+    ColumnDecimation decimation = new ColumnDecimation((int) (4 * (bounds.getWidth() + 3)));
+
+    // the pixel column is only projected when a data point passes the end of the current one
+    double column = Double.NaN;
+    double columnEnd = Double.NEGATIVE_INFINITY;
+    for (int i = from; i < to; i++) {
+      if (!Double.isNaN(yData[i]) && xData[i] >= columnEnd) {
+        column = Math.floor(pixelTransform.toScreenX(xData[i]));
+        columnEnd = pixelTransform.toDataX(column + 1);
+      }
+      decimation.add(i, column, yData[i]);
+    }
 
-        double xOffset = bounds.getX() + xTransform;
-        double yOffset = bounds.getY() + yTransform;
-        // System.out.println(xTransform);
-        // System.out.println(xOffset);
-        // System.out.println(yTransform);
-        // System.out.println(yOffset);
-        // System.out.println("---");
+    int[] indices = decimation.getIndices();
+    return new double[][] { ColumnDecimation.select(xData, indices), ColumnDecimation.select(yData, indices) };
+  }
 
-        // paint line
+  /**
+   * Reduces the data points like decimate, finding the lowest and highest data point of each pixel column and the gaps in the min/max index of the series
+   * rather than by a scan, so it takes O(width log n).
+   *
+   * @return the x and y data of the remaining data points
+   */
+  private double[][] decimate(double[] xData, double[] yData, int from, int to, MinMaxPyramid minMaxPyramid) {
 
-        boolean isSeriesLineOrArea = (XYSeriesRenderStyle.Line == series.getChartXYSeriesRenderStyle()) || (XYSeriesRenderStyle.Area == series.getChartXYSeriesRenderStyle());
+    ColumnDecimation decimation = new ColumnDecimation((int) (4 * (bounds.getWidth() + 3)));
 
-        if (isSeriesLineOrArea) {
-          if (series.getLineStyle() != SeriesLines.NONE) {
+    int i = from;
+    while (i < to) {
 
-            if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
-              g.setColor(series.getLineColor());
-              g.setStroke(series.getLineStyle());
-              Shape line = new Line2D.Double(previousX, previousY, xOffset, yOffset);
-              g.draw(line);
-            }
-          }
-        }
+      if (Double.isNaN(yData[i])) {
+        decimation.addGap(i);
+        i = Math.min(to, minMaxPyramid.getGapEnd(i));
+        continue;
+      }
 
-        // paint area
-        if (XYSeriesRenderStyle.Area == series.getChartXYSeriesRenderStyle()) {
+      int runEnd = Math.min(to, minMaxPyramid.getGapStart(i));
+      while (i < runEnd) {
+        double columnEnd = pixelTransform.toDataX(Math.floor(pixelTransform.toScreenX(xData[i])) + 1);
+        int columnTo = binarySearch(xData, i + 1, runEnd, columnEnd, false);
+        decimation.addColumn(i, minMaxPyramid.getMinIndex(i, columnTo), minMaxPyramid.getMaxIndex(i, columnTo), columnTo - 1);
+        i = columnTo;
+      }
+    }
 
-          if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
+    int[] indices = decimation.getIndices();
+    return new double[][] { ColumnDecimation.select(xData, indices), ColumnDecimation.select(yData, indices) };
+  }
 
-            g.setColor(series.getFillColor());
-            double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
+  /**
+   * Paints the data points from (inclusive) to (exclusive) of a series.
+   */
+  private void paintSeries(Graphics2D g, XYSeries series, double[] xData, double[] yData, double[] errorBars, int from, int to) {
 
-            if (path == null) {
-              path = new Path2D.Double();
-              path.moveTo(previousX, yBottomOfArea);
-              path.lineTo(previousX, previousY);
-            }
-            path.lineTo(xOffset, yOffset);
-          }
-          if (xOffset < previousX) {
-            throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
-          }
-        }
+    double previousX = -Double.MAX_VALUE;
+    double previousY = -Double.MAX_VALUE;
 
-        previousX = xOffset;
-        previousY = yOffset;
+    Path2D.Double path = null;
 
-        // paint marker
-        if (series.getMarker() != null) {
-          g.setColor(series.getMarkerColor());
-          series.getMarker().paint(g, xOffset, yOffset, stylerXY.getMarkerSize());
-        }
+    double[] xPixels = new double[Math.min(to - from, PROJECTION_BLOCK_SIZE)];
+    double[] yPixels = new double[xPixels.length];
+    double[] topPixels = errorBars != null ? new double[xPixels.length] : null;
+    double[] bottomPixels = errorBars != null ? new double[xPixels.length] : null;
+    int blockStart = from;
+    int blockEnd = from;
+
+    for (int i = from; i < to; i++) {
 
-        // paint error bars
+      // project the next block of data points onto pixels, once the error bars of the previous one are painted
+      if (i == blockEnd) {
+        if (errorBars != null && i > from) {
+          paintErrorBars(g, xPixels, topPixels, bottomPixels, blockEnd - blockStart, false, series.getLineColor());
+        }
+        blockStart = i;
+        blockEnd = Math.min(to, blockStart + xPixels.length);
+        ParallelScan.map(xData, blockStart, blockEnd, xPixels, xProjection);
+        ParallelScan.map(yData, blockStart, blockEnd, yPixels, yProjection);
         if (errorBars != null) {
+          projectErrorBars(yData, errorBars, blockStart, blockEnd, topPixels, bottomPixels);
+        }
+      }
+
+      double yOrig = yData[i];
+      if (Double.isNaN(yOrig)) {
+
+        // for area charts
+        closePath(g, path, previousX, bounds, yTopMargin);
+        path = null;
+
+        previousX = -Double.MAX_VALUE;
+        previousY = -Double.MAX_VALUE;
+        continue;
+      }
+
+      double xOffset = xPixels[i - blockStart];
+      double yOffset = yPixels[i - blockStart];
+
+      // paint line
+
+      boolean isSeriesLineOrArea = (XYSeriesRenderStyle.Line == series.getChartXYSeriesRenderStyle()) || (XYSeriesRenderStyle.Area == series.getChartXYSeriesRenderStyle());
 
-          double eb = ebItr.next().doubleValue();
+      if (isSeriesLineOrArea) {
+        if (series.getLineStyle() != SeriesLines.NONE) {
 
-          // set error bar style
-          if (stylerXY.isErrorBarsColorSeriesColor()) {
+          if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
             g.setColor(series.getLineColor());
+            g.setStroke(series.getLineStyle());
+            Shape line = new Line2D.Double(previousX, previousY, xOffset, yOffset);
+            g.draw(line);
           }
-          else {
-            g.setColor(stylerXY.getErrorBarsColor());
-          }
-          g.setStroke(errorBarStroke);
+        }
+      }
 
-          // Top value
-          double topValue = 0.0;
-          if (stylerXY.isYAxisLogarithmic()) {
-            topValue = yOrig + eb;
-            topValue = Math.log10(topValue);
-          }
-          else {
-            topValue = y + eb;
-          }
-          double topEBTransform = bounds.getHeight() - (yTopMargin + (topValue - yMin) / (yMax - yMin) * yTickSpace);
-          double topEBOffset = bounds.getY() + topEBTransform;
-
-          // Bottom value
-          double bottomValue = 0.0;
-          if (stylerXY.isYAxisLogarithmic()) {
-            bottomValue = yOrig - eb;
-            // System.out.println(bottomValue);
-            bottomValue = Math.log10(bottomValue);
-          }
-          else {
-            bottomValue = y - eb;
+      // paint area
+      if (XYSeriesRenderStyle.Area == series.getChartXYSeriesRenderStyle()) {
+
+        if (previousX != -Double.MAX_VALUE && previousY != -Double.MAX_VALUE) {
+
+          g.setColor(series.getFillColor());
+          double yBottomOfArea = bounds.getY() + bounds.getHeight() - yTopMargin;
+
+          if (path == null) {
+            path = new Path2D.Double();
+            path.moveTo(previousX, yBottomOfArea);
+            path.lineTo(previousX, previousY);
           }
-          double bottomEBTransform = bounds.getHeight() - (yTopMargin + (bottomValue - yMin) / (yMax - yMin) * yTickSpace);
-          double bottomEBOffset = bounds.getY() + bottomEBTransform;
-
-          // Draw it
-          Shape line = new Line2D.Double(xOffset, topEBOffset, xOffset, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, bottomEBOffset, xOffset + 3, bottomEBOffset);
-          g.draw(line);
-          line = new Line2D.Double(xOffset - 3, topEBOffset, xOffset + 3, topEBOffset);
-          g.draw(line);
+          path.lineTo(xOffset, yOffset);
+        }
+        if (xOffset < previousX) {
+          throw new RuntimeException("X-Data must be in ascending order for Area Charts!!!");
         }
       }
 
-      // close any open path for area charts
-      closePath(g, path, previousX, bounds, yTopMargin);
+      previousX = xOffset;
+      previousY = yOffset;
+
+      // paint marker
+      if (series.getMarker() != null) {
+        g.setColor(series.getMarkerColor());
+        series.getMarker().paint(g, xOffset, yOffset, stylerXY.getMarkerSize());
+      }
     }
 
-    g.setClip(null);
+    // paint the error bars of the last block
+    if (errorBars != null && to > from) {
+      paintErrorBars(g, xPixels, topPixels, bottomPixels, blockEnd - blockStart, false, series.getLineColor());
+    }
+
+    // close any open path for area charts
+    closePath(g, path, previousX, bounds, yTopMargin);
+  }
+
+  /**
+   * Paints the error band of the data points from (inclusive) to (exclusive) of a series with ascending X-Axis data. The data points are projected block by
+   * block, and each block adds its pixel column reduced polygons to one path, which is filled once.
+   */
+  private void paintErrorBand(Graphics2D g, XYSeries series, double[] xData, double[] yData, double[] errorBars, int from, int to) {
+
+    double[] xPixels = new double[Math.min(to - from, PROJECTION_BLOCK_SIZE)];
+    double[] topPixels = new double[xPixels.length];
+    double[] bottomPixels = new double[xPixels.length];
+    Path2D.Double bandPath = new Path2D.Double();
+
+    int blockStart = from;
+    while (blockStart < to) {
+      int blockEnd = Math.min(to, blockStart + xPixels.length);
+      ParallelScan.map(xData, blockStart, blockEnd, xPixels, xProjection);
+      projectErrorBars(yData, errorBars, blockStart, blockEnd, topPixels, bottomPixels);
+      addBand(bandPath, xPixels, topPixels, bottomPixels, blockEnd - blockStart);
+      if (blockEnd == to) {
+        break;
+      }
+      // the next block starts at the last data point of this one, so that their polygons join
+      blockStart = blockEnd - 1;
+    }
+
+    fillBand(g, bandPath, getErrorBarsColor(series.getLineColor()));
+  }
 
+  /**
+   * Projects the upper and lower ends of the error bars from (inclusive) to (exclusive) onto pixels, stored from index 0 on.
+   */
+  private void projectErrorBars(double[] yData, double[] errorBars, int from, int to, double[] topPixels, double[] bottomPixels) {
+
+    for (int i = from; i < to; i++) {
+      topPixels[i - from] = pixelTransform.toScreenY(yData[i] + errorBars[i]);
+      bottomPixels[i - from] = pixelTransform.toScreenY(yData[i] - errorBars[i]);
+    }
   }
 
   /**
@@ -43,6 +43,13 @@ public class Plot_<ST extends Styler, S extends Series> implements ChartPart {
     this.chart = chart;
   }
 
+  /**
+   * Determine the Plot bounds. Called after the axes, if any, were laid out and before anything is painted.
+   */
+  protected void doLayout() {
+
+  }
+
   @Override
   public void paint(Graphics2D g) {
 
@@ -16,7 +16,6 @@
  */
 package org.knowm.xchart.internal.chartpart;
 
-import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 
 import org.knowm.xchart.charts.XYSeries;
@@ -44,7 +43,7 @@ public class Plot_AxesChart<ST extends Styler, S extends Series> extends Plot_ {
   }
 
   @Override
-  public void paint(Graphics2D g) {
+  protected void doLayout() {
 
     // calculate bounds
     double xOffset = chart.getYAxis().getBounds().getX() + chart.getYAxis().getBounds().getWidth()
@@ -55,7 +54,5 @@ public class Plot_AxesChart<ST extends Styler, S extends Series> extends Plot_ {
     double width = chart.getXAxis().getBounds().getWidth();
     double height = chart.getYAxis().getBounds().getHeight();
     this.bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
-
-    super.paint(g);
   }
 }
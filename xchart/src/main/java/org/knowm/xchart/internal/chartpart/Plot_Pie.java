@@ -16,7 +16,6 @@
  */
 package org.knowm.xchart.internal.chartpart;
 
-import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 
 import org.knowm.xchart.charts.PieSeries;
@@ -43,7 +42,7 @@ public class Plot_Pie<ST extends Styler, S extends Series> extends Plot_ {
   }
 
   @Override
-  public void paint(Graphics2D g) {
+  protected void doLayout() {
 
     // calculate bounds
     double xOffset = chart.getStyler().getChartPadding();
@@ -64,7 +63,5 @@ public class Plot_Pie<ST extends Styler, S extends Series> extends Plot_ {
     double height = chart.getHeight() - chart.getChartTitle().getBounds().getHeight() - 2 * chart.getStyler().getChartPadding();
 
     this.bounds = new Rectangle2D.Double(xOffset, yOffset, width, height);
-
-    super.paint(g);
   }
 }
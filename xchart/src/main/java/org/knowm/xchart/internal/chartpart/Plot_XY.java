@@ -37,4 +37,12 @@ public class Plot_XY<ST extends AxesChartStyler, S extends Series> extends Plot_
     this.plotContent = new PlotContent_XY<XYStyler, XYSeries>(chart);
   }
 
+  /**
+   * @return the mapping between data values and pixels of the last paint, or null if the plot was not painted yet
+   */
+  public PixelTransform getPixelTransform() {
+
+    return ((PlotContent_XY) plotContent).getPixelTransform();
+  }
+
 }
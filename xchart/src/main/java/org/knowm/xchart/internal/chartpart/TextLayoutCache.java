@@ -0,0 +1,278 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal.chartpart;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of TextLayouts and their (optionally rotated) outlines, shared by all chart parts of all charts. Building a TextLayout
+ * is expensive and the same labels, titles and legend entries are measured and painted over and over again, so every chart part gets its text through here.
+ * <p>
+ * Entries are keyed by text, font, rotation and FontRenderContext, so hints measured with the default FontRenderContext never get mixed up with the actual
+ * rendering context of a Graphics2D. Returned objects are shared and must not be modified.
+ *
+ * @author timmolter
+ */
+public final class TextLayoutCache {
+
+  /** the FontRenderContext used for measuring text before there is a Graphics2D to paint on */
+  public static final FontRenderContext DEFAULT_FONT_RENDER_CONTEXT = new FontRenderContext(null, true, false);
+
+  public static final int DEFAULT_MAX_SIZE = 2000;
+
+  private static int maxSize = DEFAULT_MAX_SIZE;
+
+  private static final Map<Key, CacheEntry> cache = new LinkedHashMap<Key, CacheEntry>(256, 0.75f, true) {
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+
+      return size() > maxSize;
+    }
+  };
+
+  private static long hitCount;
+  private static long missCount;
+
+  /**
+   * Constructor - Private constructor to prevent instantiation
+   */
+  private TextLayoutCache() {
+
+  }
+
+  /**
+   * Gets the TextLayout of the text, measured with the default FontRenderContext
+   *
+   * @param text
+   * @param font
+   * @return
+   */
+  public static TextLayout getTextLayout(String text, Font font) {
+
+    return getTextLayout(text, font, DEFAULT_FONT_RENDER_CONTEXT);
+  }
+
+  /**
+   * Gets the TextLayout of the text
+   *
+   * @param text
+   * @param font
+   * @param frc
+   * @return
+   */
+  public static TextLayout getTextLayout(String text, Font font, FontRenderContext frc) {
+
+    return getEntry(text, font, frc, 0.0).textLayout;
+  }
+
+  /**
+   * Gets the outline of the text, measured with the default FontRenderContext
+   *
+   * @param text
+   * @param font
+   * @param rotationInDegrees counter-clockwise rotation around the origin
+   * @return
+   */
+  public static Shape getOutline(String text, Font font, double rotationInDegrees) {
+
+    return getOutline(text, font, DEFAULT_FONT_RENDER_CONTEXT, rotationInDegrees);
+  }
+
+  /**
+   * Gets the outline of the text
+   *
+   * @param text
+   * @param font
+   * @param frc
+   * @param rotationInDegrees counter-clockwise rotation around the origin
+   * @return
+   */
+  public static Shape getOutline(String text, Font font, FontRenderContext frc, double rotationInDegrees) {
+
+    CacheEntry entry = getEntry(text, font, frc, rotationInDegrees);
+    // built outside the lock; two threads racing here produce equal outlines, so the last write wins harmlessly
+    Shape outline = entry.outline;
+    if (outline == null) {
+      AffineTransform rot = rotationInDegrees == 0.0 ? null : AffineTransform.getRotateInstance(-1 * Math.toRadians(rotationInDegrees));
+      outline = entry.textLayout.getOutline(rot);
+      entry.outline = outline;
+    }
+    return outline;
+  }
+
+  private static CacheEntry getEntry(String text, Font font, FontRenderContext frc, double rotationInDegrees) {
+
+    Key key = new Key(text, font, frc, rotationInDegrees);
+    synchronized (cache) {
+      CacheEntry entry = cache.get(key);
+      if (entry != null) {
+        hitCount++;
+        return entry;
+      }
+      missCount++;
+    }
+
+    // the TextLayout is built outside the lock so that other threads are not blocked by text shaping.
+    // Rotated outlines share the TextLayout of the unrotated entry.
+    TextLayout textLayout;
+    if (rotationInDegrees == 0.0) {
+      textLayout = new TextLayout(text, font, frc);
+    }
+    else {
+      textLayout = getEntry(text, font, frc, 0.0).textLayout;
+    }
+
+    synchronized (cache) {
+      // another thread may have inserted the same key in the meantime
+      CacheEntry entry = cache.get(key);
+      if (entry == null) {
+        entry = new CacheEntry(textLayout);
+        cache.put(key, entry);
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Sets the maximum number of cached entries. Least recently used entries are evicted first.
+   *
+   * @param maxSize
+   */
+  public static void setMaxSize(int maxSize) {
+
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("The maximum cache size must be at least 1!!!");
+    }
+    synchronized (cache) {
+      TextLayoutCache.maxSize = maxSize;
+      while (cache.size() > maxSize) {
+        cache.remove(cache.keySet().iterator().next());
+      }
+    }
+  }
+
+  public static int getMaxSize() {
+
+    synchronized (cache) {
+      return maxSize;
+    }
+  }
+
+  public static int getSize() {
+
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  public static long getHitCount() {
+
+    synchronized (cache) {
+      return hitCount;
+    }
+  }
+
+  public static long getMissCount() {
+
+    synchronized (cache) {
+      return missCount;
+    }
+  }
+
+  /**
+   * @return the fraction of lookups served from the cache, or 0 if there were no lookups yet
+   */
+  public static double getHitRate() {
+
+    synchronized (cache) {
+      long lookups = hitCount + missCount;
+      return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+    }
+  }
+
+  /**
+   * Removes all entries and resets the hit and miss counts
+   */
+  public static void clear() {
+
+    synchronized (cache) {
+      cache.clear();
+      hitCount = 0;
+      missCount = 0;
+    }
+  }
+
+  private static final class Key {
+
+    private final String text;
+    private final Font font;
+    private final FontRenderContext frc;
+    private final double rotationInDegrees;
+    private final int hashCode;
+
+    Key(String text, Font font, FontRenderContext frc, double rotationInDegrees) {
+
+      this.text = text;
+      this.font = font;
+      this.frc = frc;
+      this.rotationInDegrees = rotationInDegrees;
+
+      int result = text.hashCode();
+      result = 31 * result + font.hashCode();
+      result = 31 * result + frc.hashCode();
+      result = 31 * result + Double.valueOf(rotationInDegrees).hashCode();
+      this.hashCode = result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode && Double.compare(rotationInDegrees, other.rotationInDegrees) == 0 && text.equals(other.text) && font.equals(other.font) && frc.equals(other.frc);
+    }
+
+    @Override
+    public int hashCode() {
+
+      return hashCode;
+    }
+  }
+
+  private static final class CacheEntry {
+
+    private final TextLayout textLayout;
+    private volatile Shape outline;
+
+    CacheEntry(TextLayout textLayout) {
+
+      this.textLayout = textLayout;
+    }
+  }
+}
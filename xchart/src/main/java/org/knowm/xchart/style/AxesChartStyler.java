@@ -27,6 +27,11 @@ import java.util.TimeZone;
  */
 public abstract class AxesChartStyler extends Styler {
 
+  public enum ErrorBarsStyle {
+
+    Whiskers, Band
+  }
+
   // Chart Axes ///////////////////////////////
   private boolean xAxisTitleVisible;
   private boolean yAxisTitleVisible;
@@ -68,6 +73,16 @@ public abstract class AxesChartStyler extends Styler {
   // Error Bars ///////////////////////////////
   private Color errorBarsColor;
   private boolean isErrorBarsColorSeriesColor;
+  private ErrorBarsStyle errorBarsStyle;
+
+  // Rendering ////////////////////////////////
+  private boolean isParallelSeriesRendering;
+
+  // Tool Tips ////////////////////////////////
+  private boolean isToolTipsEnabled;
+
+  // Zoom ////////////////////////////////
+  private boolean isZoomEnabled;
 
   // Formatting ////////////////////////////////
   private Locale locale;
@@ -120,6 +135,16 @@ public abstract class AxesChartStyler extends Styler {
     // Error Bars ///////////////////////////////
     errorBarsColor = theme.getErrorBarsColor();
     isErrorBarsColorSeriesColor = theme.isErrorBarsColorSeriesColor();
+    errorBarsStyle = ErrorBarsStyle.Whiskers;
+
+    // Rendering ////////////////////////////////
+    isParallelSeriesRendering = false;
+
+    // Tool Tips ////////////////////////////////
+    isToolTipsEnabled = false;
+
+    // Zoom ////////////////////////////////
+    isZoomEnabled = false;
 
     // Formatting ////////////////////////////////
     locale = Locale.getDefault();
@@ -504,6 +529,23 @@ public abstract class AxesChartStyler extends Styler {
     return yAxisMax;
   }
 
+  /**
+   * Sets the X-Axis and Y-Axis min and max at once, for example to zoom
+   *
+   * @param xAxisMin null to fit the X-Axis min to the data
+   * @param xAxisMax null to fit the X-Axis max to the data
+   * @param yAxisMin null to fit the Y-Axis min to the data
+   * @param yAxisMax null to fit the Y-Axis max to the data
+   */
+  public AxesChartStyler setAxesMinMax(Double xAxisMin, Double xAxisMax, Double yAxisMin, Double yAxisMax) {
+
+    this.xAxisMin = xAxisMin;
+    this.xAxisMax = xAxisMax;
+    this.yAxisMin = yAxisMin;
+    this.yAxisMax = yAxisMax;
+    return this;
+  }
+
   public TextAlignment getXAxisLabelAlignment() {
 
     return xAxisLabelAlignment;
@@ -687,6 +729,84 @@ public abstract class AxesChartStyler extends Styler {
     return isErrorBarsColorSeriesColor;
   }
 
+  /**
+   * Sets how error bars are drawn: as a whisker per data point, or as a translucent band between the lower and upper ends of the error bars of a series,
+   * which reads better for dense series. Bands need ascending X-Axis data and only apply to lines, areas, scatter plots and sticks; other series get whiskers.
+   *
+   * @param errorBarsStyle
+   */
+  public AxesChartStyler setErrorBarsStyle(ErrorBarsStyle errorBarsStyle) {
+
+    if (errorBarsStyle == null) {
+      throw new IllegalArgumentException("Error bars style cannot be null!!!");
+    }
+    this.errorBarsStyle = errorBarsStyle;
+    return this;
+  }
+
+  public ErrorBarsStyle getErrorBarsStyle() {
+
+    return errorBarsStyle;
+  }
+
+  // Rendering ////////////////////////////////
+
+  /**
+   * Set true to paint the series in parallel, each group of series into its own image, which are then combined in series order. This pays off for charts with
+   * many dense series rendered to bitmaps. It applies to the images of BitmapEncoder, to XChartPanel and to other Graphics2D marked with
+   * Chart.KEY_RASTER_TARGET, and is ignored for vector graphics (EPS, PDF, SVG).
+   *
+   * @param isParallelSeriesRendering
+   */
+  public AxesChartStyler setParallelSeriesRendering(boolean isParallelSeriesRendering) {
+
+    this.isParallelSeriesRendering = isParallelSeriesRendering;
+    return this;
+  }
+
+  public boolean isParallelSeriesRendering() {
+
+    return isParallelSeriesRendering;
+  }
+
+  // Tool Tips ////////////////////////////////
+
+  /**
+   * Set true to show the series name and the values of the data point closest to the mouse as a tool tip when the chart is shown in an XChartPanel. Only
+   * supported by X-Y charts.
+   *
+   * @param isToolTipsEnabled
+   */
+  public AxesChartStyler setToolTipsEnabled(boolean isToolTipsEnabled) {
+
+    this.isToolTipsEnabled = isToolTipsEnabled;
+    return this;
+  }
+
+  public boolean isToolTipsEnabled() {
+
+    return isToolTipsEnabled;
+  }
+
+  // Zoom ////////////////////////////////
+
+  /**
+   * Set true to zoom and pan the chart with the mouse when it is shown in an XChartPanel: the mouse wheel zooms around the mouse, dragging a rectangle zooms
+   * into it and dragging with the shift key or the middle button held pans. Only supported by X-Y charts.
+   *
+   * @param isZoomEnabled
+   */
+  public AxesChartStyler setZoomEnabled(boolean isZoomEnabled) {
+
+    this.isZoomEnabled = isZoomEnabled;
+    return this;
+  }
+
+  public boolean isZoomEnabled() {
+
+    return isZoomEnabled;
+  }
+
   // Formatting ////////////////////////////////
 
   /**
@@ -706,7 +826,8 @@ public abstract class AxesChartStyler extends Styler {
   }
 
   /**
-   * Set the timezone to use for formatting Date axis tick labels
+   * Set the timezone to use for formatting Date axis tick labels. LocalDateTime data is read in the system default time zone, which is also the default of
+   * this timezone, so the labels show its wall times unless the timezone is changed.
    *
    * @param timezone the timezone to use when formatting date data
    */
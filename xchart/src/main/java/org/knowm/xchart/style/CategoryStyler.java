@@ -27,6 +27,7 @@ public class CategoryStyler extends AxesChartStyler {
 
   private double availableSpaceFill;
   private boolean isOverlapped;
+  private boolean isStacked;
 
   /**
    * Constructor
@@ -44,6 +45,7 @@ public class CategoryStyler extends AxesChartStyler {
 
     availableSpaceFill = theme.getAvailableSpaceFill();
     isOverlapped = theme.isOverlapped();
+    isStacked = false;
   }
 
   public CategorySeriesRenderStyle getDefaultSeriesRenderStyle() {
@@ -95,6 +97,23 @@ public class CategoryStyler extends AxesChartStyler {
     return this;
   }
 
+  public boolean isStacked() {
+
+    return isStacked;
+  }
+
+  /**
+   * set whether or not the bars of the series are stacked onto each other, positive values upwards and negative values downwards. Series with other render
+   * styles are not stacked.
+   *
+   * @param isStacked
+   */
+  public CategoryStyler setStacked(boolean isStacked) {
+
+    this.isStacked = isStacked;
+    return this;
+  }
+
   /**
    * Set the theme the styler should use
    *
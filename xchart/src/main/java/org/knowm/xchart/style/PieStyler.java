@@ -16,6 +16,7 @@
  */
 package org.knowm.xchart.style;
 
+import java.awt.Color;
 import java.awt.Font;
 
 import org.knowm.xchart.charts.PieSeries.PieSeriesRenderStyle;
@@ -38,6 +39,12 @@ public class PieStyler extends Styler {
   private double annotationDistance;
   private AnnotationType annotationType;
 
+  // Other Slice ///////////////////////////////
+  private int maxSlices;
+  private double minSlicePercentage;
+  private String otherSliceName;
+  private Color otherSliceColor;
+
   /**
    * Constructor
    */
@@ -55,6 +62,12 @@ public class PieStyler extends Styler {
     annotationFont = theme.getPieFont();
     annotationDistance = theme.getAnnotationDistance();
     annotationType = theme.getAnnotationType();
+
+    // Other Slice ///////////////////////////////
+    maxSlices = 0;
+    minSlicePercentage = 0.0;
+    otherSliceName = "Other";
+    otherSliceColor = new Color(160, 160, 160);
   }
 
   public PieSeriesRenderStyle getDefaultSeriesRenderStyle() {
@@ -152,6 +165,76 @@ public class PieStyler extends Styler {
     return this;
   }
 
+  // Other Slice ///////////////////////////////
+
+  public int getMaxSlices() {
+
+    return maxSlices;
+  }
+
+  /**
+   * Sets the maximum number of slices. The smallest series are aggregated into an "other" slice, which counts as one of the slices, so that the pie and its
+   * legend stay readable for any number of series. 0, the default, means no maximum.
+   *
+   * @param maxSlices
+   */
+  public PieStyler setMaxSlices(int maxSlices) {
+
+    if (maxSlices < 0 || maxSlices == 1) {
+      throw new IllegalArgumentException("The maximum number of slices must be 0 or greater than 1!!!");
+    }
+    this.maxSlices = maxSlices;
+    return this;
+  }
+
+  public double getMinSlicePercentage() {
+
+    return minSlicePercentage;
+  }
+
+  /**
+   * Sets the percentage of the total below which series are aggregated into an "other" slice. 0, the default, means no minimum.
+   *
+   * @param minSlicePercentage
+   */
+  public PieStyler setMinSlicePercentage(double minSlicePercentage) {
+
+    this.minSlicePercentage = minSlicePercentage;
+    return this;
+  }
+
+  public String getOtherSliceName() {
+
+    return otherSliceName;
+  }
+
+  /**
+   * Sets the name of the "other" slice, shown in its annotation and the legend
+   *
+   * @param otherSliceName
+   */
+  public PieStyler setOtherSliceName(String otherSliceName) {
+
+    this.otherSliceName = otherSliceName;
+    return this;
+  }
+
+  public Color getOtherSliceColor() {
+
+    return otherSliceColor;
+  }
+
+  /**
+   * Sets the fill color of the "other" slice
+   *
+   * @param otherSliceColor
+   */
+  public PieStyler setOtherSliceColor(Color otherSliceColor) {
+
+    this.otherSliceColor = otherSliceColor;
+    return this;
+  }
+
   /**
    * Set the theme the styler should use
    *
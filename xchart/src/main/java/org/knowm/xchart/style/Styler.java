@@ -86,6 +86,8 @@ public abstract class Styler {
   private int legendPadding;
   private int legendSeriesLineLength;
   private LegendPosition legendPosition;
+  private int legendMaxEntries;
+  private String legendMoreEntriesFormat;
 
   // Chart Plot Area ///////////////////////////////
   private Color plotBackgroundColor;
@@ -119,6 +121,8 @@ public abstract class Styler {
     legendPadding = theme.getLegendPadding();
     legendSeriesLineLength = theme.getLegendSeriesLineLength();
     legendPosition = theme.getLegendPosition();
+    legendMaxEntries = 0;
+    legendMoreEntriesFormat = "+ %d more";
 
     // Chart Plot Area ///////////////////////////////
     plotBackgroundColor = theme.getPlotBackgroundColor();
@@ -414,6 +418,42 @@ public abstract class Styler {
     return legendSeriesLineLength;
   }
 
+  /**
+   * Sets the maximum number of entries in the legend. Further series are summarized by a line counting them, so the legend keeps its size and layout cost
+   * with any number of series. 0, the default, means no maximum.
+   *
+   * @param legendMaxEntries
+   */
+  public Styler setLegendMaxEntries(int legendMaxEntries) {
+
+    if (legendMaxEntries < 0) {
+      throw new IllegalArgumentException("The maximum number of legend entries cannot be negative!!!");
+    }
+    this.legendMaxEntries = legendMaxEntries;
+    return this;
+  }
+
+  public int getLegendMaxEntries() {
+
+    return legendMaxEntries;
+  }
+
+  /**
+   * Sets the text of the line counting the series left out of the legend, see setLegendMaxEntries
+   *
+   * @param legendMoreEntriesFormat a String.format pattern that gets the number of series left out, e.g. "+ %d more"
+   */
+  public Styler setLegendMoreEntriesFormat(String legendMoreEntriesFormat) {
+
+    this.legendMoreEntriesFormat = legendMoreEntriesFormat;
+    return this;
+  }
+
+  public String getLegendMoreEntriesFormat() {
+
+    return legendMoreEntriesFormat;
+  }
+
   /**
    * sets the legend position
    *
@@ -24,6 +24,7 @@ import org.knowm.xchart.charts.XYSeries.XYSeriesRenderStyle;
 public class XYStyler extends AxesChartStyler {
 
   private XYSeriesRenderStyle chartXYSeriesRenderStyle;
+  private boolean isDateAggregationEnabled;
 
   /**
    * Constructor
@@ -38,6 +39,7 @@ public class XYStyler extends AxesChartStyler {
   protected void setAllStyles() {
 
     chartXYSeriesRenderStyle = XYSeriesRenderStyle.Line; // set default to line
+    isDateAggregationEnabled = false;
   }
 
   public XYSeriesRenderStyle getDefaultSeriesRenderStyle() {
@@ -56,6 +58,25 @@ public class XYStyler extends AxesChartStyler {
     return this;
   }
 
+  public boolean isDateAggregationEnabled() {
+
+    return isDateAggregationEnabled;
+  }
+
+  /**
+   * Sets whether Line series with Date X-Axis data in ascending order and many more data points than pixel columns are painted aggregated into time buckets
+   * aligned to the calendar (seconds, minutes, hours or a day, whichever is closest to a pixel), as a band between the minimum and maximum and a line through
+   * the averages of the buckets. The aggregations are kept per bucket size, so zooming out does not scan the data again. Only series with a visible line and
+   * no markers are aggregated, so no markers go missing.
+   *
+   * @param isDateAggregationEnabled
+   */
+  public XYStyler setDateAggregationEnabled(boolean isDateAggregationEnabled) {
+
+    this.isDateAggregationEnabled = isDateAggregationEnabled;
+    return this;
+  }
+
   /**
    * Set the theme the styler should use
    *
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knowm.xchart.BinarySeriesData.Compression;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+
+/**
+ * @author timmolter
+ */
+public class BinaryExporterTest {
+
+  @Test
+  public void testRoundTrip() throws IOException {
+
+    Random random = new Random(42);
+    long[] xData = new long[10000];
+    double[] yData = new double[xData.length];
+    double[] errorBars = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = 1451606400000L + 60000L * i + (i % 10 == 0 ? random.nextInt(1000) : 0);
+      yData[i] = i % 100 == 0 ? Double.NaN : i % 3 == 0 ? yData[Math.max(0, i - 1)] : Double.longBitsToDouble(random.nextLong());
+      errorBars[i] = random.nextDouble();
+    }
+    XYChart chart = new XYChart(600, 400);
+    XYSeries series = chart.addDateSeries("series", xData, yData, errorBars);
+
+    for (Compression compression : Compression.values()) {
+      File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+      file.deleteOnExit();
+      BinaryExporter.writeSeries(series, file, compression);
+
+      XYSeries read = BinaryImporter.addXYSeries(new XYChart(600, 400), file);
+
+      assertThat(read.getName()).isEqualTo("series");
+      assertThat(read.getxAxisDataType()).isEqualTo(series.getxAxisDataType());
+      assertThat(Arrays.equals(read.getXValues(), series.getXValues())).isTrue();
+      assertThat(Arrays.equals(read.getYValues(), series.getYValues())).isTrue();
+      assertThat(Arrays.equals(read.getErrorBarValues(), series.getErrorBarValues())).isTrue();
+      if (compression == Compression.DeltaXOR) {
+        // evenly spaced timestamps take about a byte each
+        assertThat(file.length()).isLessThan(8L * xData.length * 2 + 8 * xData.length / 2);
+      }
+    }
+  }
+
+  @Test
+  public void testMinMaxPyramid() throws IOException {
+
+    double[] xData = new double[1000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = i % 50 < 3 ? Double.NaN : Math.sin(i);
+    }
+    XYChart chart = new XYChart(600, 400);
+    XYSeries series = chart.addSeries("series", xData, yData).setMinMaxPyramidEnabled(true);
+
+    File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+    file.deleteOnExit();
+    BinaryExporter.writeSeries(series, file, Compression.DeltaXOR);
+
+    XYSeries read = BinaryImporter.addXYSeries(new XYChart(600, 400), file);
+    assertThat(read.isMinMaxPyramidEnabled()).isTrue();
+    assertThat(read.getMinMaxPyramid().getLevelCount()).isEqualTo(series.getMinMaxPyramid().getLevelCount());
+    assertThat(read.getMinMaxPyramid().getGapStarts()).isEqualTo(series.getMinMaxPyramid().getGapStarts());
+    for (int level = 0; level < series.getMinMaxPyramid().getLevelCount(); level++) {
+      assertThat(read.getMinMaxPyramid().getMinIndices(level)).isEqualTo(series.getMinMaxPyramid().getMinIndices(level));
+      assertThat(read.getMinMaxPyramid().getMaxIndices(level)).isEqualTo(series.getMinMaxPyramid().getMaxIndices(level));
+    }
+
+    // the loaded index is taken as is
+    read.getMinMaxPyramid().update(read);
+    assertThat(read.getMinMaxPyramid().getMaxIndex(0, 1000)).isEqualTo(series.getMinMaxPyramid().getMaxIndex(0, 1000));
+  }
+
+  @Test
+  public void testMappedSeriesData() throws IOException {
+
+    Random random = new Random(42);
+    double[] xData = new double[100000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+      yData[i] = i % 1000 < 10 ? Double.NaN : random.nextGaussian();
+    }
+    XYSeries series = new XYChart(600, 400).addSeries("mapped", xData, yData);
+
+    File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+    file.deleteOnExit();
+    BinaryExporter.writeSeries(series, file, Compression.None);
+    MappedSeriesData data = BinaryImporter.mapSeriesData(file);
+
+    assertThat(data.getName()).isEqualTo("mapped");
+    assertThat(data.size()).isEqualTo(xData.length);
+    assertThat(data.isXAscending()).isTrue();
+    assertThat(data.getYMin()).isEqualTo(series.getYMin());
+    assertThat(data.getYMax()).isEqualTo(series.getYMax());
+
+    // a column of 1000 data points with its gap keeps its first, lowest, highest and last data point and a missing value
+    double[][] reduced = data.reduce(0, xData.length, 100);
+    assertThat(reduced[0].length).isLessThanOrEqualTo(5 * 100);
+    for (int column = 0; column < 100; column++) {
+      double min = Double.MAX_VALUE;
+      double max = -Double.MAX_VALUE;
+      for (int i = 1000 * column; i < 1000 * (column + 1); i++) {
+        if (!Double.isNaN(yData[i])) {
+          min = Math.min(min, yData[i]);
+          max = Math.max(max, yData[i]);
+        }
+      }
+      double reducedMin = Double.MAX_VALUE;
+      double reducedMax = -Double.MAX_VALUE;
+      for (int i = 0; i < reduced[0].length; i++) {
+        if (reduced[0][i] >= 1000 * column && reduced[0][i] < 1000 * (column + 1) && !Double.isNaN(reduced[1][i])) {
+          reducedMin = Math.min(reducedMin, reduced[1][i]);
+          reducedMax = Math.max(reducedMax, reduced[1][i]);
+        }
+      }
+      assertThat(reducedMin).isEqualTo(min);
+      assertThat(reducedMax).isEqualTo(max);
+    }
+
+    // a zoomed range keeps its neighbors
+    XYChart chart = new XYChart(600, 400);
+    XYSeries mapped = data.addXYSeries(chart, 500);
+    data.updateXYSeries(mapped, 5000.5, 5100.5, 500);
+    assertThat(mapped.getXValues()[0]).isEqualTo(5000.0);
+    assertThat(mapped.getXValues()[mapped.getXValues().length - 1]).isEqualTo(5101.0);
+  }
+
+  @Test(expected = IOException.class)
+  public void testMappedSeriesDataCompressed() throws IOException {
+
+    XYSeries series = new XYChart(600, 400).addSeries("compressed", new double[] { 1, 2, 3 }, new double[] { 4, 5, 6 });
+
+    File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+    file.deleteOnExit();
+    BinaryExporter.writeSeries(series, file, Compression.DeltaXOR);
+    BinaryImporter.mapSeriesData(file);
+  }
+
+  @Test
+  public void testCategories() throws IOException {
+
+    CategoryChart chart = new CategoryChart(600, 400);
+    CategorySeries series = chart.addSeries("categories", Arrays.asList("a", "b", "ä"), Arrays.asList(1, 2, 3));
+
+    File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+    file.deleteOnExit();
+    BinaryExporter.writeSeries(series, file, Compression.None);
+    BinarySeriesData data = BinaryImporter.readSeriesData(file);
+
+    assertThat(data.getXStrings()).containsExactly("a", "b", "ä");
+    assertThat(data.getYBuffer().get(2)).isEqualTo(3.0);
+    assertThat(data.getErrorBarBuffer()).isNull();
+
+    CategorySeries read = BinaryImporter.addCategorySeries(new CategoryChart(600, 400), file);
+    assertThat(new ArrayList<Object>(read.getXData())).isEqualTo(new ArrayList<Object>(series.getXData()));
+  }
+
+  @Test
+  public void testNullCategories() throws IOException {
+
+    CategoryChart chart = new CategoryChart(600, 400);
+    CategorySeries series = chart.addSeries("categories", Arrays.asList("a", null, "null"), Arrays.asList(1, 2, 3));
+
+    File file = File.createTempFile("BinaryExporterTest", BinarySeriesData.FILE_EXTENSION);
+    file.deleteOnExit();
+    BinaryExporter.writeSeries(series, file, Compression.None);
+    BinarySeriesData data = BinaryImporter.readSeriesData(file);
+
+    assertThat(data.getXStrings()).containsExactly("a", null, "null");
+    assertThat(data.getYBuffer().get(2)).isEqualTo(3.0);
+  }
+
+}
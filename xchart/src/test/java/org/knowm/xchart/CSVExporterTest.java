@@ -0,0 +1,76 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+
+/**
+ * @author timmolter
+ */
+public class CSVExporterTest {
+
+  @Test
+  public void testFormatting() throws IOException {
+
+    XYChart chart = new XYChart(600, 400);
+    XYSeries series = chart.addSeries("series", new double[] { 1, 2, 3 }, new double[] { 0.1 + 0.2, -0.0, Double.NaN }, new double[] { 1e-9, 12.5, 0 });
+
+    StringWriter writer = new StringWriter();
+    CSVExporter.writeCSVRows(series, writer);
+
+    String lineSeparator = System.getProperty("line.separator");
+    assertThat(writer.toString()).isEqualTo("1.0,2.0,3.0" + lineSeparator + "0.30000000000000004,-0.0,NaN" + lineSeparator + "1.0E-9,12.5,0.0" + lineSeparator);
+
+    writer = new StringWriter();
+    CSVExporter.writeCSVColumns(chart.addDateSeries("dates", new long[] { 1000, 2000 }, new double[] { 3, 4 }), writer);
+    assertThat(writer.toString()).isEqualTo("1000,3.0," + lineSeparator + "2000,4.0," + lineSeparator);
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+
+    double[] xData = new double[1000];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i / 7.0;
+      yData[i] = Math.sin(i) * Math.pow(10, i % 20 - 10);
+    }
+    XYChart chart = new XYChart(600, 400);
+    chart.addSeries("series", xData, yData);
+
+    File dir = Files.createTempDirectory("CSVExporterTest").toFile();
+    CSVExporter.writeCSVColumns(chart, dir.getPath() + File.separator);
+    File csvFile = new File(dir, "series.csv");
+    double[][] xAndYData = CSVImporter.getSeriesDataFromCSVFile(csvFile, DataOrientation.Columns);
+    csvFile.delete();
+    dir.delete();
+
+    assertThat(xAndYData[CSVImporter.X_DATA]).isEqualTo(xData);
+    assertThat(xAndYData[CSVImporter.Y_DATA]).isEqualTo(yData);
+  }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+import org.knowm.xchart.CSVImporter.CSVDirImport;
+import org.knowm.xchart.CSVImporter.DataOrientation;
+
+/**
+ * @author timmolter
+ */
+public class CSVImporterTest {
+
+  @Test
+  public void testColumns() throws IOException {
+
+    File csvFile = writeTempFile("1,2.5,0.1\r\n2, -3e2 ,0.2\r\n\r\n3,1.23456789012345678,0.3\r\n");
+
+    double[][] xAndYData = CSVImporter.getSeriesDataFromCSVFile(csvFile, DataOrientation.Columns);
+
+    assertThat(xAndYData.length).isEqualTo(3);
+    assertThat(xAndYData[CSVImporter.X_DATA]).isEqualTo(new double[] { 1, 2, 3 });
+    assertThat(xAndYData[CSVImporter.Y_DATA]).isEqualTo(new double[] { 2.5, -300, 1.23456789012345678 });
+    assertThat(xAndYData[CSVImporter.ERROR_BARS]).isEqualTo(new double[] { 0.1, 0.2, 0.3 });
+  }
+
+  @Test
+  public void testRows() throws IOException {
+
+    File csvFile = writeTempFile("1,2,3,\n4,5,6,\n");
+
+    double[][] xAndYData = CSVImporter.getSeriesDataFromCSVFile(csvFile, DataOrientation.Rows);
+
+    assertThat(xAndYData.length).isEqualTo(2);
+    assertThat(xAndYData[CSVImporter.X_DATA]).isEqualTo(new double[] { 1, 2, 3 });
+    assertThat(xAndYData[CSVImporter.Y_DATA]).isEqualTo(new double[] { 4, 5, 6 });
+  }
+
+  @Test
+  public void testCarriageReturnLineEnds() throws IOException {
+
+    // classic Mac OS line ends, mixed with the others
+    File csvFile = writeTempFile("1,2\r3,4\r\n5,6\n7,8\r");
+
+    double[][] xAndYData = CSVImporter.getSeriesDataFromCSVFile(csvFile, DataOrientation.Columns);
+
+    assertThat(xAndYData.length).isEqualTo(2);
+    assertThat(xAndYData[CSVImporter.X_DATA]).isEqualTo(new double[] { 1, 3, 5, 7 });
+    assertThat(xAndYData[CSVImporter.Y_DATA]).isEqualTo(new double[] { 2, 4, 6, 8 });
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void testInvalidNumber() throws IOException {
+
+    CSVImporter.getSeriesDataFromCSVFile(writeTempFile("1,2\n3,x\n"), DataOrientation.Columns);
+  }
+
+  @Test
+  public void testImportDir() throws IOException {
+
+    File dir = Files.createTempDirectory("CSVImporterTest").toFile();
+    dir.deleteOnExit();
+    for (String name : new String[] { "c", "a", "b" }) {
+      writeFile(new File(dir, name + ".csv"), "1,2\n3,4\n");
+    }
+    writeFile(new File(dir, "bad.csv"), "1,2\n3,x\n");
+
+    CSVDirImport csvDirImport = CSVImporter.importCSVDir(dir.getPath(), DataOrientation.Columns, 600, 400, null, 3);
+
+    assertThat(csvDirImport.getChart().getSeriesMap().keySet()).containsExactly("a", "b", "c");
+    assertThat(csvDirImport.getErrors().keySet()).containsExactly(new File(dir, "bad.csv"));
+    assertThat(csvDirImport.getErrors().get(new File(dir, "bad.csv"))).isInstanceOf(NumberFormatException.class);
+    assertThat(csvDirImport.getBytesRead()).isEqualTo(3 * 8);
+  }
+
+  private static File writeTempFile(String content) throws IOException {
+
+    File file = File.createTempFile("CSVImporterTest", ".csv");
+    writeFile(file, content);
+    return file;
+  }
+
+  private static void writeFile(File file, String content) throws IOException {
+
+    file.deleteOnExit();
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(content.getBytes(StandardCharsets.US_ASCII));
+    } finally {
+      outputStream.close();
+    }
+  }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
+
+/**
+ * Measures painting Category Charts with many categories in the line, area, stick and scatter styles of the line, area and scatter renderer. Not run as a test, run the main method with the number
+ * of categories as the optional argument, e.g. 1000000.
+ *
+ * @author timmolter
+ */
+public class CategoryChartBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int ITERATIONS = 10;
+  private static final int NUM_SERIES = 3;
+
+  public static void main(String[] args) {
+
+    int numCategories = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+    double[] xData = new double[numCategories];
+    double[][] yData = new double[NUM_SERIES][numCategories];
+    double[] errorBars = new double[numCategories];
+    Random random = new Random(42);
+    for (int i = 0; i < numCategories; i++) {
+      xData[i] = i;
+      for (int s = 0; s < NUM_SERIES; s++) {
+        yData[s][i] = 100 * s + 10 * Math.sin(i / 1000.0) + random.nextGaussian();
+      }
+      errorBars[i] = random.nextDouble();
+    }
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+    for (CategorySeriesRenderStyle renderStyle : new CategorySeriesRenderStyle[] { CategorySeriesRenderStyle.Line, CategorySeriesRenderStyle.Area,
+        CategorySeriesRenderStyle.Stick, CategorySeriesRenderStyle.Scatter }) {
+      for (boolean withErrorBars : new boolean[] { false, true }) {
+
+        CategoryChart chart = new CategoryChart(800, 600);
+        // a Line default selects the line, area and scatter renderer, which also paints series set to Stick
+        chart.getStyler().setDefaultSeriesRenderStyle(CategorySeriesRenderStyle.Line);
+        // the ticks and grid lines of this many categories would measure the axis and plot surface rather than the series
+        chart.getStyler().setXAxisTicksVisible(false);
+        chart.getStyler().setPlotGridVerticalLinesVisible(false);
+        chart.getStyler().setPlotTicksMarksVisible(false);
+        chart.getStyler().setLegendVisible(false);
+        for (int s = 0; s < NUM_SERIES; s++) {
+          chart.addSeries("series " + s, xData, yData[s], withErrorBars ? errorBars : null).setChartCategorySeriesRenderStyle(renderStyle);
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+          paint(chart, image);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+          paint(chart, image);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ITERATIONS;
+
+        System.out.println(String.format("%-8s %-16s %10.1f ms", renderStyle, withErrorBars ? "with error bars" : "", millis));
+      }
+    }
+  }
+
+  private static void paint(CategoryChart chart, BufferedImage image) {
+
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, image.getWidth(), image.getHeight());
+  }
+}
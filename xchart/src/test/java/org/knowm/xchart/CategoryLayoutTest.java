@@ -0,0 +1,101 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries;
+import org.knowm.xchart.internal.CategoryDictionary;
+import org.knowm.xchart.internal.chartpart.CategoryLayout;
+
+/**
+ * @author timmolter
+ */
+public class CategoryLayoutTest {
+
+  @Test
+  public void testCategoryUnion() {
+
+    CategoryChart chart = new CategoryChart(800, 600);
+    chart.addSeries("a", Arrays.asList("x", "y"), Arrays.asList(1, 2));
+    chart.addSeries("b", Arrays.asList("y", "z", "y"), Arrays.asList(3, 4, 5));
+
+    CategoryLayout layout = chart.getCategoryLayout();
+    assertThat(layout.getNumCategories()).isEqualTo(4);
+    assertThat(layout.getCategoryIndices(0)).isEqualTo(new int[] { 0, 1 });
+    // the second "y" of a series gets a category of its own
+    assertThat(layout.getCategoryIndices(1)).isEqualTo(new int[] { 1, 2, 3 });
+    assertThat(chart.getCategoryLayout()).isSameAs(layout);
+  }
+
+  @Test
+  public void testStacked() {
+
+    CategoryChart chart = new CategoryChart(800, 600);
+    chart.getStyler().setStacked(true);
+    chart.addSeries("a", new double[] { 1, 2 }, new double[] { 1, -2 });
+    chart.addSeries("b", new double[] { 1, 2 }, new double[] { 3, -4 });
+
+    CategoryLayout layout = chart.getCategoryLayout();
+    assertThat(layout.getStackBottoms(1)).isEqualTo(new double[] { 1, -6 });
+    assertThat(layout.getStackTops(1)).isEqualTo(new double[] { 4, -2 });
+    assertThat(layout.getStackMin()).isEqualTo(-6);
+    assertThat(layout.getStackMax()).isEqualTo(4);
+  }
+
+  @Test
+  public void testAddSeriesFromMap() {
+
+    CategoryChart chart = new CategoryChart(800, 600);
+    chart.addSeries("a", Arrays.asList("x", "y", "z"), Arrays.asList(1, 2, 3));
+
+    Map<String, Integer> data = new LinkedHashMap<String, Integer>();
+    data.put("w", 4);
+    data.put("z", 5);
+    data.put("x", 6);
+    CategorySeries series = chart.addSeries("b", data);
+
+    // known categories in X-Axis order, then new ones
+    assertThat(new ArrayList<Object>(series.getXData())).isEqualTo(Arrays.<Object> asList("x", "z", "w"));
+    assertThat(series.getYValues()).isEqualTo(new double[] { 6, 5, 4 });
+    assertThat(chart.getCategoryLayout().getCategoryIndices(1)).isEqualTo(new int[] { 0, 2, 3 });
+    assertThat(chart.getCategoryDictionary().indexOf("w")).isEqualTo(3);
+    assertThat(chart.getCategoryDictionary().indexOf("v")).isEqualTo(-1);
+  }
+
+  @Test
+  public void testDictionary() {
+
+    CategoryDictionary dictionary = new CategoryDictionary();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(dictionary.add("c" + i)).isEqualTo(i);
+    }
+    assertThat(dictionary.add(null)).isEqualTo(1000);
+    assertThat(dictionary.add("c500")).isEqualTo(500);
+    assertThat(dictionary.indexOf(null)).isEqualTo(1000);
+    assertThat(dictionary.get(1000)).isNull();
+    assertThat(dictionary.get(999)).isEqualTo("c999");
+    assertThat(dictionary.size()).isEqualTo(1001);
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.XYChart;
+
+/**
+ * @author timmolter
+ */
+public class ChartLayoutTest {
+
+  @Test
+  public void testFirstLayoutMatchesLaterLayouts() {
+
+    // a small chart with rotated X-Axis tick labels, whose height depends on the width left by the Y-Axis
+    XYChart chart = new XYChart(230, 250);
+    chart.getStyler().setXAxisLabelRotation(90);
+    chart.addSeries("a", new double[] { 0.001, 12345.678 }, new double[] { 0.5, 1234567.25 });
+
+    Rectangle2D[] first = paint(chart);
+    Rectangle2D[] second = paint(chart);
+
+    assertThat(first[0].getWidth()).isNotEqualTo(60.0);
+    assertThat(second).isEqualTo(first);
+  }
+
+  @Test
+  public void testTruncatedLegend() {
+
+    XYChart full = newChart(50);
+    XYChart truncated = newChart(50);
+    truncated.getStyler().setLegendMaxEntries(5);
+    XYChart fewer = newChart(6);
+    fewer.getStyler().setLegendMaxEntries(5);
+
+    // 5 entries and the line counting the others, however many there are
+    double height = getLegendBounds(truncated).getHeight();
+    assertThat(height).isLessThan(getLegendBounds(full).getHeight());
+    assertThat(height).isEqualTo(getLegendBounds(fewer).getHeight());
+
+    double width = getLegendBounds(truncated).getWidth();
+    truncated.getStyler().setLegendMoreEntriesFormat("and %d further series that are not shown");
+    assertThat(getLegendBounds(truncated).getWidth()).isGreaterThan(width);
+  }
+
+  @Test
+  public void testLegendFontChange() {
+
+    XYChart chart = newChart(3);
+    getLegendBounds(chart);
+    Font font = new Font(Font.SANS_SERIF, Font.PLAIN, 30);
+    chart.getStyler().setLegendFont(font);
+
+    // the cached bounds of the series names are measured again
+    XYChart fresh = newChart(3);
+    fresh.getStyler().setLegendFont(font);
+    assertThat(getLegendBounds(chart)).isEqualTo(getLegendBounds(fresh));
+  }
+
+  @Test
+  public void testLegendAfterManySeriesNames() {
+
+    // more names than the cached bounds are kept for, so the cache is cleared in between
+    XYChart chart = newChart(3);
+    for (int i = 3; i < 40; i++) {
+      chart.removeSeries("series " + (i - 3));
+      chart.addSeries("series " + i, new double[] { 0, 1 }, new double[] { i, 1 });
+      getLegendBounds(chart);
+    }
+
+    XYChart fresh = new XYChart(800, 600);
+    for (int i = 37; i < 40; i++) {
+      fresh.addSeries("series " + i, new double[] { 0, 1 }, new double[] { i, 1 });
+    }
+    assertThat(getLegendBounds(chart)).isEqualTo(getLegendBounds(fresh));
+  }
+
+  private static XYChart newChart(int seriesCount) {
+
+    XYChart chart = new XYChart(800, 600);
+    for (int i = 0; i < seriesCount; i++) {
+      chart.addSeries("series " + i, new double[] { 0, 1 }, new double[] { i, 1 });
+    }
+    return chart;
+  }
+
+  private static Rectangle2D getLegendBounds(XYChart chart) {
+
+    paint(chart);
+    return chart.getLayout().getLegendBounds();
+  }
+
+  private static Rectangle2D[] paint(XYChart chart) {
+
+    BufferedImage image = new BufferedImage(chart.getWidth(), chart.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, chart.getWidth(), chart.getHeight());
+    g.dispose();
+    return new Rectangle2D[] { chart.getLayout().getYAxisBounds(), chart.getLayout().getXAxisBounds(), chart.getLayout().getPlotBounds() };
+  }
+}
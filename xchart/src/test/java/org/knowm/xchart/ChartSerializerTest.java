@@ -0,0 +1,296 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.PieChart;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.charts.XYSeries.XYSeriesRenderStyle;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.style.Styler.ChartTheme;
+import org.knowm.xchart.style.Styler.LegendPosition;
+import org.knowm.xchart.style.lines.SeriesLines;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * @author timmolter
+ */
+public class ChartSerializerTest {
+
+  /** set by the static initializer of Trap */
+  private static boolean trapInitialized;
+
+  @Test
+  public void testXYChart() throws IOException {
+
+    XYChart chart = new XYChart(400, 300, ChartTheme.GGPlot2);
+    chart.setTitle("Title");
+    chart.setXAxisTitle("X");
+    chart.getStyler().setLegendPosition(LegendPosition.InsideNE);
+    chart.getStyler().setChartTitleFont(new Font(Font.SANS_SERIF, Font.BOLD, 18));
+    chart.getStyler().setYAxisMin(-2.0);
+    chart.getStyler().setLocale(Locale.GERMAN);
+    chart.getStyler().setSeriesColors(new Color[] { Color.RED, new Color(0, 0, 255, 128) });
+    chart.addDateSeries("dates", new long[] { 1000000000000L, 1000086400000L, 1000172800000L }, new double[] { 1, 3, 2 }, new double[] { 0.5, 0.1, 0.2 });
+    XYSeries series = chart.addDateSeries("numbers", new long[] { 1000000000000L, 1000100000000L }, new double[] { -1, Double.NaN });
+    series.setChartXYSeriesRenderStyle(XYSeriesRenderStyle.Scatter);
+    series.setMarker(SeriesMarkers.DIAMOND);
+    series.setLineStyle(SeriesLines.NONE);
+
+    XYChart restored = (XYChart) ChartSerializer.restore(ChartSerializer.snapshot(chart));
+
+    assertThat(restored.getTitle()).isEqualTo("Title");
+    assertThat(restored.getStyler().getTheme().getClass().getName()).isEqualTo(chart.getStyler().getTheme().getClass().getName());
+    assertThat(restored.getStyler().getLegendPosition()).isEqualTo(LegendPosition.InsideNE);
+    assertThat(restored.getStyler().getLocale()).isEqualTo(Locale.GERMAN);
+    assertThat(restored.getSeriesMap().keySet()).containsExactly("dates", "numbers");
+    XYSeries restoredSeries = restored.getSeriesMap().get("numbers");
+    assertThat(restoredSeries.getChartXYSeriesRenderStyle()).isEqualTo(XYSeriesRenderStyle.Scatter);
+    assertThat(restoredSeries.getMarker()).isSameAs(SeriesMarkers.DIAMOND);
+    assertThat(restoredSeries.getLineStyle()).isSameAs(SeriesLines.NONE);
+    assertRendersTheSame(chart, restored);
+  }
+
+  @Test
+  public void testCategoryAndPieCharts() throws IOException {
+
+    CategoryChart categoryChart = new CategoryChart(400, 300);
+    categoryChart.getStyler().setOverlapped(true);
+    categoryChart.addSeries("a", Arrays.asList("x", "y", "z"), Arrays.asList(1, 2, 3));
+    categoryChart.addSeries("b", new double[] { 1, 2, 3 }, new double[] { 3, 2, 1 }, new double[] { 0.1, 0.2, 0.3 });
+
+    CategoryChart restoredCategoryChart = (CategoryChart) ChartSerializer.restore(ChartSerializer.snapshot(categoryChart));
+    assertThat(restoredCategoryChart.getStyler().isOverlapped()).isTrue();
+
+    PieChart pieChart = new PieChart(400, 300, ChartTheme.Matlab);
+    pieChart.addSeries("Gold", 24);
+    pieChart.addSeries("Silver", 21).setFillColor(Color.LIGHT_GRAY);
+
+    PieChart restoredPieChart = (PieChart) ChartSerializer.restore(ChartSerializer.snapshot(pieChart));
+    assertThat(restoredPieChart.getSeriesMap().get("Silver").getFillColor()).isEqualTo(Color.LIGHT_GRAY);
+    assertRendersTheSame(pieChart, restoredPieChart);
+  }
+
+  @Test
+  public void testClassesNamedInTheInputAreNotInitialized() throws IOException {
+
+    XYChart chart = new XYChart(400, 300, ChartTheme.GGPlot2);
+    chart.getStyler().setLegendPosition(LegendPosition.InsideNE);
+    chart.addSeries("a", new double[] { 1, 2 }, new double[] { 3, 4 }).setMarker(SeriesMarkers.DIAMOND);
+
+    byte[] snapshot = ChartSerializer.snapshot(chart);
+    snapshot = replaceString(snapshot, chart.getStyler().getTheme().getClass().getName(), Trap.class.getName());
+    snapshot = replaceString(snapshot, LegendPosition.class.getName(), Trap.class.getName());
+    snapshot = replaceString(snapshot, SeriesMarkers.DIAMOND.getClass().getName(), Trap.class.getName());
+
+    XYChart restored = (XYChart) ChartSerializer.restore(snapshot);
+
+    assertThat(trapInitialized).isFalse();
+    assertThat(restored.getSeriesMap().keySet()).containsExactly("a");
+  }
+
+  @Test(expected = IOException.class)
+  public void testUnknownChartType() throws IOException {
+
+    byte[] snapshot = ChartSerializer.snapshot(newChart());
+    // after the magic number and the version
+    snapshot[8] = (byte) 200;
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test(expected = IOException.class)
+  public void testTruncatedChart() throws IOException {
+
+    byte[] snapshot = ChartSerializer.snapshot(newChart());
+
+    ChartSerializer.restore(Arrays.copyOf(snapshot, snapshot.length / 2));
+  }
+
+  @Test(expected = IOException.class)
+  public void testHugeSeriesLength() throws IOException {
+
+    byte[] snapshot = ChartSerializer.snapshot(newChart());
+    // the length precedes the series data, which start with their magic number
+    putInt(snapshot, indexOf(snapshot, "XCBS".getBytes(StandardCharsets.US_ASCII)) - 4, Integer.MAX_VALUE);
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test(expected = IOException.class)
+  public void testNegativeSeriesLength() throws IOException {
+
+    byte[] snapshot = ChartSerializer.snapshot(newChart());
+    putInt(snapshot, indexOf(snapshot, "XCBS".getBytes(StandardCharsets.US_ASCII)) - 4, -1);
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test(expected = IOException.class)
+  public void testCorruptSeriesData() throws IOException {
+
+    byte[] snapshot = ChartSerializer.snapshot(newChart());
+    // the size of the series, after the magic number, the version, the compression, the x data type and the flags
+    putInt(snapshot, indexOf(snapshot, "XCBS".getBytes(StandardCharsets.US_ASCII)) + 8, Integer.reverseBytes(Integer.MAX_VALUE));
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test(expected = IOException.class)
+  public void testHugeArrayLength() throws IOException {
+
+    XYChart chart = newChart();
+    chart.getStyler().setSeriesColors(new Color[] { Color.RED, Color.BLUE });
+    byte[] snapshot = ChartSerializer.snapshot(chart);
+    // the length follows the component type of the array
+    byte[] componentType = writeUTF(Color.class.getName());
+    putInt(snapshot, indexOf(snapshot, componentType) + componentType.length, Integer.MAX_VALUE);
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test(expected = IOException.class)
+  public void testInvalidStroke() throws IOException {
+
+    XYChart chart = newChart();
+    chart.getStyler().setPlotGridLinesStroke(new BasicStroke(1234.5f));
+    byte[] snapshot = ChartSerializer.snapshot(chart);
+    // a negative width
+    putInt(snapshot, indexOf(snapshot, ByteBuffer.allocate(4).putFloat(1234.5f).array()), Float.floatToIntBits(-1));
+
+    ChartSerializer.restore(snapshot);
+  }
+
+  @Test
+  public void testEnumsOutsideTheLibraryAreNotRead() throws IOException {
+
+    XYChart chart = newChart();
+    chart.getStyler().setLegendPosition(LegendPosition.InsideNE);
+    byte[] snapshot = ChartSerializer.snapshot(chart);
+    snapshot = replaceString(snapshot, LegendPosition.class.getName(), "java.math.RoundingMode");
+    snapshot = replaceString(snapshot, LegendPosition.InsideNE.name(), "UP");
+
+    XYChart restored = (XYChart) ChartSerializer.restore(snapshot);
+
+    // the value is read as unknown
+    assertThat(restored.getStyler().getLegendPosition()).isNull();
+  }
+
+  private static XYChart newChart() {
+
+    XYChart chart = new XYChart(400, 300);
+    chart.addSeries("a", new double[] { 1, 2, 3 }, new double[] { 3, 4, 5 });
+    return chart;
+  }
+
+  private static int indexOf(byte[] bytes, byte[] pattern) {
+
+    for (int i = 0; i + pattern.length <= bytes.length; i++) {
+      boolean match = true;
+      for (int j = 0; match && j < pattern.length; j++) {
+        match = bytes[i + j] == pattern[j];
+      }
+      if (match) {
+        return i;
+      }
+    }
+    throw new AssertionError("Pattern not found");
+  }
+
+  /**
+   * Overwrites a big-endian int, as written with DataOutputStream.writeInt
+   */
+  private static void putInt(byte[] bytes, int offset, int value) {
+
+    ByteBuffer.wrap(bytes).putInt(offset, value);
+  }
+
+  /**
+   * @return an ASCII string as written with DataOutputStream.writeUTF
+   */
+  private static byte[] writeUTF(String string) {
+
+    byte[] bytes = new byte[string.length() + 2];
+    bytes[0] = (byte) (string.length() >> 8);
+    bytes[1] = (byte) string.length();
+    for (int i = 0; i < string.length(); i++) {
+      bytes[i + 2] = (byte) string.charAt(i);
+    }
+    return bytes;
+  }
+
+  /**
+   * Replaces every string written with DataOutputStream.writeUTF, both strings must be ASCII
+   */
+  private static byte[] replaceString(byte[] bytes, String from, String to) {
+
+    byte[] fromBytes = writeUTF(from);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    boolean replaced = false;
+    int i = 0;
+    while (i < bytes.length) {
+      boolean match = i + fromBytes.length <= bytes.length;
+      for (int j = 0; match && j < fromBytes.length; j++) {
+        match = bytes[i + j] == fromBytes[j];
+      }
+      if (match) {
+        byte[] toBytes = writeUTF(to);
+        out.write(toBytes, 0, toBytes.length);
+        i += fromBytes.length;
+        replaced = true;
+      }
+      else {
+        out.write(bytes[i++]);
+      }
+    }
+    assertThat(replaced).isTrue();
+    return out.toByteArray();
+  }
+
+  public static class Trap {
+
+    static {
+      trapInitialized = true;
+    }
+  }
+
+  private static void assertRendersTheSame(Chart<?, ?> chart, Chart<?, ?> restored) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    BufferedImage restoredImage = BitmapEncoder.getBufferedImage(restored);
+    int[] pixels = image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+    int[] restoredPixels = restoredImage.getRGB(0, 0, restoredImage.getWidth(), restoredImage.getHeight(), null, 0, restoredImage.getWidth());
+    assertThat(restoredPixels).isEqualTo(pixels);
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Measures painting an X-Y Chart with a Date X-Axis of one data point per second, zooming out from an hour to the whole range, with and without time bucket
+ * aggregation. Not run as a test, run the main method with the number of data points as the optional argument, e.g. 10000000.
+ *
+ * @author timmolter
+ */
+public class DateAggregationBenchmark {
+
+  private static final int ITERATIONS = 5;
+
+  public static void main(String[] args) {
+
+    int numPoints = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+
+    long[] xData = new long[numPoints];
+    double[] yData = new double[numPoints];
+    Random random = new Random(42);
+    long start = 1451606400000L; // 2016-01-01 UTC
+    for (int i = 0; i < numPoints; i++) {
+      xData[i] = start + 1000L * i;
+      yData[i] = 10 * Math.sin(i * 6.0 / numPoints) + random.nextGaussian();
+    }
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+    for (boolean isDateAggregationEnabled : new boolean[] { false, true, false, true }) {
+
+      XYChart chart = new XYChart(800, 600);
+      chart.getStyler().setDateAggregationEnabled(isDateAggregationEnabled);
+      chart.addDateSeries("series", xData, yData).setMarker(SeriesMarkers.NONE);
+
+      // warm up
+      for (int i = 0; i < ITERATIONS; i++) {
+        paint(chart, image);
+      }
+
+      // zoom out, doubling the range each step
+      long begin = System.nanoTime();
+      int paints = 0;
+      for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+        for (long range = 3600000L; range < 1000L * numPoints; range *= 2) {
+          chart.getStyler().setXAxisMin((double) xData[0]);
+          chart.getStyler().setXAxisMax((double) (xData[0] + range));
+          paint(chart, image);
+          paints++;
+        }
+        chart.getStyler().setXAxisMax((double) xData[numPoints - 1]);
+        paint(chart, image);
+        paints++;
+      }
+      System.out.println(String.format("aggregation %-5s %10.1f ms", isDateAggregationEnabled, (System.nanoTime() - begin) / 1e6 / paints));
+    }
+  }
+
+  private static void paint(XYChart chart, BufferedImage image) {
+
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, image.getWidth(), image.getHeight());
+  }
+}
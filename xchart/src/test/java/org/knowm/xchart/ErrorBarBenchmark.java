@@ -0,0 +1,96 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.style.AxesChartStyler;
+import org.knowm.xchart.style.AxesChartStyler.ErrorBarsStyle;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Measures painting X-Y and Category Charts with an error bar on every data point, as whiskers and as a band. Not run as a test, run the main method with
+ * the number of data points as the optional argument, e.g. 1000000.
+ *
+ * @author timmolter
+ */
+public class ErrorBarBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int ITERATIONS = 10;
+
+  public static void main(String[] args) {
+
+    int numPoints = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+
+    double[] xData = new double[numPoints];
+    double[] yData = new double[numPoints];
+    double[] errorBars = new double[numPoints];
+    Random random = new Random(42);
+    for (int i = 0; i < numPoints; i++) {
+      xData[i] = i;
+      yData[i] = 10 * Math.sin(i * 6.0 / numPoints) + random.nextGaussian();
+      errorBars[i] = 1 + random.nextDouble();
+    }
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+    for (ErrorBarsStyle errorBarsStyle : ErrorBarsStyle.values()) {
+
+      XYChart xyChart = new XYChart(800, 600);
+      xyChart.addSeries("series", xData, yData, errorBars).setMarker(SeriesMarkers.NONE);
+      System.out.println(String.format("%-8s %-10s %10.1f ms", "X-Y", errorBarsStyle, measure(xyChart, xyChart.getStyler(), errorBarsStyle, image)));
+
+      CategoryChart categoryChart = new CategoryChart(800, 600);
+      categoryChart.getStyler().setDefaultSeriesRenderStyle(CategorySeriesRenderStyle.Line);
+      // the ticks and grid lines of this many categories would measure the axis and plot surface rather than the series
+      categoryChart.getStyler().setXAxisTicksVisible(false);
+      categoryChart.getStyler().setPlotGridVerticalLinesVisible(false);
+      categoryChart.getStyler().setPlotTicksMarksVisible(false);
+      categoryChart.addSeries("series", xData, yData, errorBars).setMarker(SeriesMarkers.NONE);
+      System.out.println(String.format("%-8s %-10s %10.1f ms", "Category", errorBarsStyle, measure(categoryChart, categoryChart.getStyler(), errorBarsStyle,
+          image)));
+    }
+  }
+
+  /**
+   * @return the average milliseconds per paint
+   */
+  private static double measure(Chart<?, ?> chart, AxesChartStyler styler, ErrorBarsStyle errorBarsStyle, BufferedImage image) {
+
+    styler.setErrorBarsStyle(errorBarsStyle);
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      paint(chart, image);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      paint(chart, image);
+    }
+    return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+  }
+
+  private static void paint(Chart<?, ?> chart, BufferedImage image) {
+
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, image.getWidth(), image.getHeight());
+  }
+}
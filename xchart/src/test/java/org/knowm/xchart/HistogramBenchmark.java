@@ -0,0 +1,63 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.knowm.xchart.charts.Histogram;
+
+/**
+ * Measures how binning a primitive array into a Histogram scales with the number of threads. Not run as a test, run the main method with the number of values
+ * as the optional argument, e.g. 100000000 with a large enough heap (-Xmx2g).
+ *
+ * @author timmolter
+ */
+public class HistogramBenchmark {
+
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int ITERATIONS = 5;
+
+  public static void main(String[] args) throws Exception {
+
+    int numValues = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+
+    final double[] data = new double[numValues];
+    Random random = new Random(42);
+    for (int i = 0; i < numValues; i++) {
+      data[i] = random.nextGaussian();
+    }
+
+    int maxThreads = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1 : Math.min(2 * threads, maxThreads)) {
+
+      // the scan splits the data for the pool it runs in
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+        pool.submit(() -> new Histogram(data, 100, -5, 5)).get();
+      }
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++) {
+        pool.submit(() -> new Histogram(data, 100, -5, 5)).get();
+      }
+      double seconds = (System.nanoTime() - start) / 1e9 / ITERATIONS;
+      pool.shutdown();
+
+      System.out.println(String.format("%2d threads: %8.2f ms, %8.1f M values/s", threads, seconds * 1000, numValues / seconds / 1e6));
+    }
+  }
+}
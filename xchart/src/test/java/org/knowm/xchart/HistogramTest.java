@@ -18,7 +18,9 @@ package org.knowm.xchart;
 
 import static org.fest.assertions.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 import org.knowm.xchart.charts.Histogram;
@@ -53,4 +55,24 @@ public class HistogramTest {
     assertThat(histogram.getNumBins()).isEqualTo(3);
   }
 
+  @Test
+  public void testPrimitiveData() {
+
+    double[] data = new double[100000];
+    List<Double> boxedData = new ArrayList<Double>(data.length);
+    for (int i = 0; i < data.length; i++) {
+      data[i] = i % 1000;
+      boxedData.add(data[i]);
+    }
+
+    Histogram histogram = new Histogram(data, 7);
+    Histogram boxedHistogram = new Histogram(boxedData, 7);
+
+    assertThat(histogram.getMax()).isEqualTo(999);
+    assertThat(histogram.getxAxisData()).isEqualTo(boxedHistogram.getxAxisData());
+    assertThat(histogram.getyAxisData()).isEqualTo(boxedHistogram.getyAxisData());
+    // the max values are in the last bin
+    assertThat(histogram.getyAxisData().get(6)).isEqualTo(14300.0);
+  }
+
 }
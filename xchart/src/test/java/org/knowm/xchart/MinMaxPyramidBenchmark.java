@@ -0,0 +1,87 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Measures painting an X-Y Chart of a line while zooming out from a thousandth of the data to all of it, with and without the min/max index of the series,
+ * and checks that both paint the same pixels. Not run as a test, run the main method with the number of data points as the optional argument, e.g.
+ * 100000000 with enough heap.
+ *
+ * @author timmolter
+ */
+public class MinMaxPyramidBenchmark {
+
+  private static final int ITERATIONS = 3;
+
+  public static void main(String[] args) {
+
+    int numPoints = args.length > 0 ? Integer.parseInt(args[0]) : 10000000;
+
+    double[] xData = new double[numPoints];
+    double[] yData = new double[numPoints];
+    Random random = new Random(42);
+    for (int i = 0; i < numPoints; i++) {
+      xData[i] = i;
+      yData[i] = 10 * Math.sin(i * 60.0 / numPoints) + random.nextGaussian();
+    }
+
+    BufferedImage[] images = new BufferedImage[2];
+    for (boolean isMinMaxPyramidEnabled : new boolean[] { false, true, false, true }) {
+
+      XYChart chart = new XYChart(800, 600);
+      chart.addSeries("series", xData, yData).setMinMaxPyramidEnabled(isMinMaxPyramidEnabled).setMarker(SeriesMarkers.NONE);
+      BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+
+      // the first paint builds the index
+      long begin = System.nanoTime();
+      paint(chart, image);
+      double firstPaint = (System.nanoTime() - begin) / 1e6;
+
+      // zoom out, doubling the range each step
+      begin = System.nanoTime();
+      int paints = 0;
+      for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+        for (double range = numPoints / 1000.0; range < numPoints; range *= 2) {
+          chart.getStyler().setXAxisMin(numPoints / 3.0);
+          chart.getStyler().setXAxisMax(numPoints / 3.0 + range);
+          paint(chart, image);
+          paints++;
+        }
+      }
+      System.out.println(String.format("pyramid %-5s first paint %8.1f ms, zooming %8.1f ms", isMinMaxPyramidEnabled, firstPaint, (System.nanoTime() - begin)
+          / 1e6 / paints));
+      images[isMinMaxPyramidEnabled ? 1 : 0] = image;
+    }
+
+    int[] pixels = images[0].getRGB(0, 0, 800, 600, null, 0, 800);
+    System.out.println("same pixels: " + Arrays.equals(pixels, images[1].getRGB(0, 0, 800, 600, null, 0, 800)));
+  }
+
+  private static void paint(XYChart chart, BufferedImage image) {
+
+    Graphics2D g = image.createGraphics();
+    chart.paint(g, image.getWidth(), image.getHeight());
+  }
+}
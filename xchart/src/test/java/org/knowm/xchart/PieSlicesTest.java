@@ -0,0 +1,81 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.AggregatePieSeries;
+import org.knowm.xchart.charts.PieChart;
+import org.knowm.xchart.charts.PieSeries;
+
+/**
+ * @author timmolter
+ */
+public class PieSlicesTest {
+
+  @Test
+  public void testMaxSlices() {
+
+    PieChart chart = new PieChart(800, 600);
+    for (int i = 0; i < 5000; i++) {
+      chart.addSeries("customer " + i, i);
+    }
+    chart.getStyler().setMaxSlices(10);
+
+    List<PieSeries> slices = chart.getSlices();
+    assertThat(slices).hasSize(10);
+    // the nine largest series keep their slices, in the order they were added
+    for (int i = 0; i < 9; i++) {
+      assertThat(slices.get(i).getName()).isEqualTo("customer " + (4991 + i));
+    }
+    AggregatePieSeries other = (AggregatePieSeries) slices.get(9);
+    assertThat(other.getName()).isEqualTo("Other");
+    assertThat(other.getAggregatedSeries()).hasSize(5000 - 9);
+    assertThat(other.getValue().doubleValue()).isEqualTo(4990 * 4991 / 2);
+    assertThat(chart.getSlices()).isSameAs(slices);
+
+    // a changed value recomputes the slices
+    chart.getSeriesMap().get("customer 0").setValue(10000);
+    assertThat(chart.getSlices().get(0).getName()).isEqualTo("customer 0");
+
+    BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+    chart.paint(image.createGraphics(), 800, 600);
+  }
+
+  @Test
+  public void testMinSlicePercentage() {
+
+    PieChart chart = new PieChart(800, 600);
+    chart.addSeries("a", 50);
+    chart.addSeries("b", 45);
+    chart.addSeries("c", 3);
+    chart.addSeries("d", 2);
+    chart.getStyler().setMinSlicePercentage(4);
+
+    List<PieSeries> slices = chart.getSlices();
+    assertThat(slices).hasSize(3);
+    assertThat(slices.get(2).getValue().doubleValue()).isEqualTo(5.0);
+
+    // a single small series keeps its slice
+    chart.getStyler().setMinSlicePercentage(2.5);
+    assertThat(chart.getSlices()).hasSize(4);
+  }
+}
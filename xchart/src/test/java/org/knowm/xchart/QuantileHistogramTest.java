@@ -0,0 +1,72 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.LogBucketHistogram;
+import org.knowm.xchart.charts.QuantileSketchHistogram;
+
+/**
+ * @author timmolter
+ */
+public class QuantileHistogramTest {
+
+  @Test
+  public void testLogBucketHistogram() {
+
+    LogBucketHistogram histogram = new LogBucketHistogram(1e-6, 100, 2);
+    LogBucketHistogram other = new LogBucketHistogram(1e-6, 100, 2);
+    for (int i = 1; i <= 1000; i++) {
+      (i % 2 == 0 ? histogram : other).add(i * 1e-3);
+    }
+    other.add(0);
+    other.add(1000);
+    histogram.merge(other);
+
+    assertThat(histogram.getCount()).isEqualTo(1000);
+    assertThat(histogram.getUnderflowCount()).isEqualTo(1);
+    assertThat(histogram.getOverflowCount()).isEqualTo(1);
+    assertThat(Math.abs(histogram.getValueAtQuantile(0.5) - 0.5)).isLessThan(0.005);
+    assertThat(Math.abs(histogram.getValueAtQuantile(0.99) - 0.99)).isLessThan(0.01);
+    assertThat(histogram.getxAxisData().size()).isEqualTo(histogram.getyAxisData().size());
+  }
+
+  @Test
+  public void testQuantileSketchHistogram() {
+
+    Random random = new Random(42);
+    QuantileSketchHistogram sketch = new QuantileSketchHistogram(10);
+    QuantileSketchHistogram other = new QuantileSketchHistogram(10);
+    for (int i = 0; i < 100000; i++) {
+      (i % 2 == 0 ? sketch : other).add(random.nextDouble());
+    }
+    sketch.merge(other);
+
+    assertThat(sketch.getCount()).isEqualTo(100000);
+    assertThat(sketch.getCentroidCount()).isLessThanOrEqualTo(110);
+    assertThat(Math.abs(sketch.getValueAtQuantile(0.5) - 0.5)).isLessThan(0.01);
+    assertThat(Math.abs(sketch.getValueAtQuantile(0.999) - 0.999)).isLessThan(0.001);
+    for (double count : sketch.getyAxisData()) {
+      assertThat(Math.abs(count - 10000)).isLessThan(300);
+    }
+  }
+
+}
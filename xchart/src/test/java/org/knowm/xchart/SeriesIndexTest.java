@@ -0,0 +1,136 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.fest.assertions.data.Offset.offset;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.DataPoint;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.SeriesIndex;
+import org.knowm.xchart.internal.chartpart.PixelTransform;
+
+/**
+ * @author timmolter
+ */
+public class SeriesIndexTest {
+
+  @Test
+  public void testScatterAppend() {
+
+    Random random = new Random(7);
+    double[] xData = new double[1000];
+    double[] yData = new double[1000];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = random.nextDouble() * 100;
+      yData[i] = random.nextDouble() * 10;
+    }
+    yData[5] = Double.NaN;
+
+    XYChart chart = new XYChart(800, 600);
+    XYSeries series = chart.addSeries("scatter", Arrays.copyOf(xData, 500), Arrays.copyOf(yData, 500));
+
+    SeriesIndex index = new SeriesIndex();
+    index.update(series, false, false);
+    assertThat(index.isSorted()).isFalse();
+    assertThat(index.getTreeCount()).isEqualTo(1);
+    assertNearest(index, xData, yData, 500, random);
+
+    // appending adds trees, which are merged when they reach the same size
+    for (int size = 600; size <= 1000; size += 100) {
+      series.replaceData(Arrays.copyOf(xData, size), Arrays.copyOf(yData, size), null);
+      index.update(series, false, false);
+      assertThat(index.size()).isEqualTo(size);
+      assertNearest(index, xData, yData, size, random);
+    }
+    assertThat(index.getTreeCount()).isLessThan(5);
+  }
+
+  @Test
+  public void testSortedLogarithmic() {
+
+    double[] xData = new double[200];
+    double[] yData = new double[200];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i + 1;
+      yData[i] = Math.exp(i / 20.0);
+    }
+
+    XYChart chart = new XYChart(800, 600);
+    XYSeries series = chart.addSeries("line", xData, yData);
+
+    SeriesIndex index = new SeriesIndex();
+    index.update(series, true, true);
+    assertThat(index.isSorted()).isTrue();
+    assertThat(index.getTreeCount()).isEqualTo(0);
+
+    // next to the point at x = 100
+    int nearest = index.getNearest(Math.log10(100.2), Math.log10(yData[99]), 500, 100, 5);
+    assertThat(nearest).isEqualTo(99);
+    assertThat(index.getNearest(Math.log10(100.2), Math.log10(yData[99]) + 1, 500, 100, 5)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testNearestDataPoint() {
+
+    XYChart chart = new XYChart(800, 600);
+    assertThat(chart.getNearestDataPoint(400, 300, 10)).isNull();
+
+    chart.addSeries("a", new double[] { 1, 2, 3 }, new double[] { 1, 4, 9 });
+    chart.addSeries("b", new double[] { 3, 1, 2 }, new double[] { 1, 2, 3 });
+    chart.paint(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB).createGraphics(), 800, 600);
+
+    PixelTransform pixelTransform = chart.getPixelTransform();
+    double screenX = pixelTransform.toScreenX(2);
+    double screenY = pixelTransform.toScreenY(3);
+    assertThat(pixelTransform.toDataX(screenX)).isEqualTo(2, offset(1e-9));
+
+    DataPoint dataPoint = chart.getNearestDataPoint(screenX + 3, screenY - 2, 10);
+    assertThat(dataPoint.getSeries().getName()).isEqualTo("b");
+    assertThat(dataPoint.getIndex()).isEqualTo(2);
+    assertThat(dataPoint.getDistance()).isEqualTo(Math.hypot(3, 2), offset(1e-9));
+    assertThat(chart.getNearestDataPoint(screenX + 30, screenY, 10)).isNull();
+  }
+
+  private static void assertNearest(SeriesIndex index, double[] xData, double[] yData, int size, Random random) {
+
+    double xScale = 7.5;
+    double yScale = 50;
+    for (int query = 0; query < 200; query++) {
+      double x = random.nextDouble() * 100;
+      double y = random.nextDouble() * 10;
+
+      int expected = -1;
+      double best = 20 * 20;
+      for (int i = 0; i < size; i++) {
+        double dx = (xData[i] - x) * xScale;
+        double dy = (yData[i] - y) * yScale;
+        if (!Double.isNaN(yData[i]) && dx * dx + dy * dy < best) {
+          best = dx * dx + dy * dy;
+          expected = i;
+        }
+      }
+      assertThat(index.getNearest(x, y, xScale, yScale, 20)).isEqualTo(expected);
+    }
+  }
+}
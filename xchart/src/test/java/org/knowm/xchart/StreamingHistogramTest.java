@@ -0,0 +1,95 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.Histogram;
+import org.knowm.xchart.charts.StreamingHistogram;
+
+/**
+ * @author timmolter
+ */
+public class StreamingHistogramTest {
+
+  @Test
+  public void testFixedRange() {
+
+    StreamingHistogram histogram = new StreamingHistogram(2, 0, 4);
+    histogram.add(new double[] { 1, 2, 3, 4, 5, 6, -1, Double.NaN });
+
+    assertThat(histogram.getCounts()).isEqualTo(new long[] { 1, 3 });
+    assertThat(histogram.getUnderflowCount()).isEqualTo(1);
+    assertThat(histogram.getOverflowCount()).isEqualTo(2);
+    assertThat(histogram.getxAxisData()).isEqualTo(new Histogram(Arrays.asList(1, 2, 3, 4, 5, 6), 2, 0, 4).getxAxisData());
+  }
+
+  @Test
+  public void testAutoRange() {
+
+    // the sample only sees 0..9, later values widen the range
+    StreamingHistogram histogram = new StreamingHistogram(10, 10);
+    for (int i = 0; i < 10; i++) {
+      histogram.add(i);
+    }
+    assertThat(histogram.getMax()).isEqualTo(9.0);
+    histogram.add(-9);
+    histogram.add(27);
+
+    assertThat(histogram.getMin()).isEqualTo(-9.0);
+    assertThat(histogram.getMax()).isEqualTo(27.0);
+    assertThat(histogram.getTotalCount()).isEqualTo(12);
+    // bins are 3.6 wide
+    assertThat(histogram.getCounts()).isEqualTo(new long[] { 1, 0, 2, 4, 3, 1, 0, 0, 0, 1 });
+  }
+
+  @Test
+  public void testParallelStream() {
+
+    double[] data = new Random(42).doubles(100000).toArray();
+
+    StreamingHistogram sequential = new StreamingHistogram(20, 0, 1);
+    sequential.add(data);
+    StreamingHistogram parallel = new StreamingHistogram(20, 0, 1);
+    parallel.add(DoubleStream.of(data).parallel());
+
+    assertThat(parallel.getCounts()).isEqualTo(sequential.getCounts());
+    assertThat(parallel.getTotalCount()).isEqualTo(data.length);
+  }
+
+  @Test
+  public void testMergeSamplingHistogram() {
+
+    StreamingHistogram histogram = new StreamingHistogram(10, 0, 10);
+    histogram.add(new double[] { 1, 2, Double.NEGATIVE_INFINITY });
+    // still sampling, its infinite values are counted outside the sample
+    StreamingHistogram other = new StreamingHistogram(10, 100);
+    other.add(new double[] { 3, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY });
+
+    histogram.merge(other);
+
+    assertThat(histogram.getTotalCount()).isEqualTo(3);
+    assertThat(histogram.getUnderflowCount()).isEqualTo(2);
+    assertThat(histogram.getOverflowCount()).isEqualTo(2);
+  }
+
+}
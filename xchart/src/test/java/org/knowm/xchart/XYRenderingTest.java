@@ -0,0 +1,291 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.CategoryChart;
+import org.knowm.xchart.charts.CategorySeries.CategorySeriesRenderStyle;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.charts.XYSeries.XYSeriesRenderStyle;
+import org.knowm.xchart.internal.chartpart.Chart;
+import org.knowm.xchart.style.lines.SeriesLines;
+import org.knowm.xchart.style.markers.Circle;
+import org.knowm.xchart.style.markers.Marker;
+import org.knowm.xchart.style.markers.SeriesMarkers;
+
+/**
+ * Checks the shortcuts of the line renderers against painting every data point: the visible X-Axis range, the decimation of dense lines and its gaps.
+ *
+ * @author timmolter
+ */
+public class XYRenderingTest {
+
+  private static final int SIZE = 20000;
+
+  @Test
+  public void testVisibleRange() {
+
+    // markers cut by the plot edges and lines to the data points beyond them
+    double[] xData = new double[SIZE];
+    double[] yData = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      xData[i] = i;
+      yData[i] = i % 50 == 0 ? Double.NaN : Math.sin(i / 10.0);
+    }
+    XYChart ascending = newXYChart();
+    ascending.getStyler().setXAxisMin(1003.5).setXAxisMax(1102.5);
+    ascending.addSeries("a", xData, yData).setMarker(SeriesMarkers.CIRCLE);
+
+    // the same data points in descending order are all painted, only the order in which translucent edges blend differs
+    XYChart descending = newXYChart();
+    descending.getStyler().setXAxisMin(1003.5).setXAxisMax(1102.5);
+    descending.addSeries("a", reverse(xData), reverse(yData)).setMarker(SeriesMarkers.CIRCLE);
+
+    assertThat(countDifferences(getPixels(ascending), getPixels(descending), 2)).isEqualTo(0);
+  }
+
+  @Test
+  public void testDecimation() {
+
+    double[] xData = new double[SIZE];
+    double[] yData = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      xData[i] = i;
+      // gaps of several pixel columns
+      yData[i] = i % 4000 < 300 && i > 1000 ? Double.NaN : Math.sin(i / 100.0) + Math.sin(i * 0.7);
+    }
+
+    XYChart decimated = newXYChart();
+    decimated.addSeries("a", xData, yData).setMarker(SeriesMarkers.NONE);
+
+    // a marker that paints nothing turns decimation off
+    XYChart all = newXYChart();
+    all.addSeries("a", xData, yData).setMarker(new Circle()).setMarkerColor(new Color(0, 0, 0, 0));
+
+    XYChart pyramid = newXYChart();
+    pyramid.addSeries("a", xData, yData).setMinMaxPyramidEnabled(true).setMarker(SeriesMarkers.NONE);
+
+    // the reduced line covers the same pixels of each column, its antialiased inside may differ
+    BufferedImage decimatedImage = BitmapEncoder.getBufferedImage(decimated);
+    BufferedImage allImage = BitmapEncoder.getBufferedImage(all);
+    for (int x = 0; x < decimatedImage.getWidth(); x++) {
+      int[] extent = getSeriesExtent(decimatedImage, x);
+      int[] allExtent = getSeriesExtent(allImage, x);
+      assertThat(Math.abs(extent[0] - allExtent[0])).isLessThanOrEqualTo(1);
+      assertThat(Math.abs(extent[1] - allExtent[1])).isLessThanOrEqualTo(1);
+    }
+    assertThat(getPixels(pyramid)).isEqualTo(getPixels(decimated));
+  }
+
+  @Test
+  public void testDenseMarkersAreKept() {
+
+    double[] xData = new double[SIZE];
+    double[] yData = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i * 0.7);
+    }
+
+    XYChart line = newXYChart();
+    line.addSeries("a", xData, yData).setMarker(SeriesMarkers.CIRCLE).setLineStyle(SeriesLines.NONE);
+
+    XYChart scatter = newXYChart();
+    XYSeries series = scatter.addSeries("a", xData, yData);
+    series.setChartXYSeriesRenderStyle(XYSeriesRenderStyle.Scatter);
+    series.setMarker(SeriesMarkers.CIRCLE);
+
+    assertThat(getPixels(line)).isEqualTo(getPixels(scatter));
+  }
+
+  @Test
+  public void testDenseCategoryMarkersAreKept() {
+
+    int size = 2000;
+    double[] xData = new double[size];
+    double[] yData = new double[size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = i;
+      yData[i] = Math.sin(i * 0.7);
+    }
+
+    CategoryChart line = new CategoryChart(200, 150);
+    line.getStyler().setLegendVisible(false);
+    line.getStyler().setAxisTicksVisible(false);
+    line.getStyler().setDefaultSeriesRenderStyle(CategorySeriesRenderStyle.Line);
+    line.addSeries("a", xData, yData).setMarker(SeriesMarkers.CIRCLE).setLineStyle(SeriesLines.NONE);
+
+    CategoryChart scatter = new CategoryChart(200, 150);
+    scatter.getStyler().setLegendVisible(false);
+    scatter.getStyler().setAxisTicksVisible(false);
+    scatter.getStyler().setDefaultSeriesRenderStyle(CategorySeriesRenderStyle.Scatter);
+    scatter.addSeries("a", xData, yData).setMarker(SeriesMarkers.CIRCLE);
+
+    assertThat(getPixels(line)).isEqualTo(getPixels(scatter));
+  }
+
+  @Test
+  public void testDateAggregationKeepsMarkers() {
+
+    // a day at one data point per second
+    long[] xData = new long[86400];
+    double[] yData = new double[xData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = 1500000000000L + 1000L * i;
+      yData[i] = Math.sin(i / 1000.0) + Math.sin(i * 0.7);
+    }
+
+    // a line without markers is aggregated
+    assertThat(getPixels(newDateChart(xData, yData, true, SeriesMarkers.NONE, null))).isNotEqualTo(getPixels(newDateChart(xData, yData, false, SeriesMarkers.NONE,
+        null)));
+    // a line with markers, or markers without a line, are not
+    assertThat(getPixels(newDateChart(xData, yData, true, SeriesMarkers.CIRCLE, null))).isEqualTo(getPixels(newDateChart(xData, yData, false,
+        SeriesMarkers.CIRCLE, null)));
+    assertThat(getPixels(newDateChart(xData, yData, true, SeriesMarkers.CIRCLE, SeriesLines.NONE))).isEqualTo(getPixels(newDateChart(xData, yData, false,
+        SeriesMarkers.CIRCLE, SeriesLines.NONE)));
+  }
+
+  @Test
+  public void testParallelRendering() {
+
+    // the surefire configuration makes sure the series are painted in several layers
+    assertThat(ForkJoinPool.getCommonPoolParallelism()).isGreaterThan(1);
+
+    assertThat(countDifferences(getPixels(newMultiSeriesXYChart(true)), getPixels(newMultiSeriesXYChart(false)), 2)).isEqualTo(0);
+    for (CategorySeriesRenderStyle renderStyle : new CategorySeriesRenderStyle[] { CategorySeriesRenderStyle.Bar, CategorySeriesRenderStyle.Line }) {
+      assertThat(countDifferences(getPixels(newMultiSeriesCategoryChart(true, renderStyle)), getPixels(newMultiSeriesCategoryChart(false, renderStyle)), 2))
+          .isEqualTo(0);
+    }
+  }
+
+  /**
+   * @return a chart of overlapping series, so that painting them out of order shows
+   */
+  private static XYChart newMultiSeriesXYChart(boolean isParallelSeriesRendering) {
+
+    XYChart chart = newXYChart();
+    chart.getStyler().setParallelSeriesRendering(isParallelSeriesRendering);
+    for (int s = 0; s < 8; s++) {
+      double[] xData = new double[1000];
+      double[] yData = new double[1000];
+      for (int i = 0; i < xData.length; i++) {
+        xData[i] = i;
+        yData[i] = Math.sin(i / (10.0 + s)) + s * 0.1;
+      }
+      XYSeries series = chart.addSeries("series " + s, xData, yData);
+      series.setLineColor(new Color(30 * s, 255 - 30 * s, 128));
+      series.setMarker(s % 2 == 0 ? SeriesMarkers.NONE : SeriesMarkers.CIRCLE);
+      series.setMarkerColor(new Color(255 - 30 * s, 0, 30 * s));
+    }
+    return chart;
+  }
+
+  private static CategoryChart newMultiSeriesCategoryChart(boolean isParallelSeriesRendering, CategorySeriesRenderStyle renderStyle) {
+
+    CategoryChart chart = new CategoryChart(400, 300);
+    chart.getStyler().setLegendVisible(false);
+    chart.getStyler().setParallelSeriesRendering(isParallelSeriesRendering);
+    chart.getStyler().setDefaultSeriesRenderStyle(renderStyle);
+    chart.getStyler().setOverlapped(true);
+    for (int s = 0; s < 6; s++) {
+      Double[] yData = new Double[10];
+      for (int i = 0; i < yData.length; i++) {
+        yData[i] = Math.cos(i + s) + s * 0.2 + 1;
+      }
+      chart.addSeries("series " + s, Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), Arrays.asList(yData));
+    }
+    return chart;
+  }
+
+  private static XYChart newDateChart(long[] xData, double[] yData, boolean isDateAggregationEnabled, Marker marker, BasicStroke lineStyle) {
+
+    XYChart chart = newXYChart();
+    chart.getStyler().setDateAggregationEnabled(isDateAggregationEnabled);
+    XYSeries series = chart.addDateSeries("a", xData, yData);
+    series.setMarker(marker);
+    if (lineStyle != null) {
+      series.setLineStyle(lineStyle);
+    }
+    return chart;
+  }
+
+  private static XYChart newXYChart() {
+
+    XYChart chart = new XYChart(400, 300);
+    chart.getStyler().setLegendVisible(false);
+    return chart;
+  }
+
+  private static double[] reverse(double[] data) {
+
+    double[] reversed = new double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      reversed[i] = data[data.length - 1 - i];
+    }
+    return reversed;
+  }
+
+  private static int[] getPixels(Chart<?, ?> chart) {
+
+    BufferedImage image = BitmapEncoder.getBufferedImage(chart);
+    return image.getRGB(0, 0, image.getWidth(), image.getHeight(), null, 0, image.getWidth());
+  }
+
+  /**
+   * @return the number of pixels with a color channel that differs by more than the tolerance
+   */
+  private static int countDifferences(int[] pixels, int[] otherPixels, int tolerance) {
+
+    int count = 0;
+    for (int i = 0; i < pixels.length; i++) {
+      for (int shift = 0; shift < 32; shift += 8) {
+        if (Math.abs(((pixels[i] >> shift) & 0xff) - ((otherPixels[i] >> shift) & 0xff)) > tolerance) {
+          count++;
+          break;
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @return the top and bottom row of the pixels of a column painted in the blue of the first series, or -1 for both if there are none
+   */
+  private static int[] getSeriesExtent(BufferedImage image, int x) {
+
+    int[] extent = { -1, -1 };
+    for (int y = 0; y < image.getHeight(); y++) {
+      int rgb = image.getRGB(x, y);
+      if ((rgb & 0xff) - ((rgb >> 16) & 0xff) > 100) {
+        if (extent[0] < 0) {
+          extent[0] = y;
+        }
+        extent[1] = y;
+      }
+    }
+    return extent;
+  }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.XYChart;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * @author timmolter
+ */
+public class XYSeriesTest {
+
+  @Test
+  public void testArraysAreCopied() {
+
+    double[] xData = { 1, 2, 3 };
+    double[] yData = { 4, 5, 6 };
+    XYChart chart = new XYChart(600, 400);
+    XYSeries series = chart.addSeries("series", xData, yData);
+
+    // a reused buffer doesn't change the series
+    yData[0] = 100;
+    assertThat(series.getYValues()[0]).isEqualTo(4.0);
+    assertThat(series.getYMax()).isEqualTo(6.0);
+
+    double[] newYData = { 7, 8, 9 };
+    series.replaceData(xData, newYData, null);
+    newYData[2] = -1;
+    assertThat(series.getYValues()[2]).isEqualTo(9.0);
+  }
+
+  @Test
+  public void testNullsAndNaN() {
+
+    XYChart chart = new XYChart(600, 400);
+    XYSeries series = chart.addSeries("series", Arrays.asList(1, 2, 3), Arrays.asList(1.0, null, Double.NaN), null);
+
+    assertThat(new ArrayList<Object>(series.getYData())).isEqualTo(Arrays.<Object> asList(1.0, null, Double.NaN));
+
+    XYSeries arraySeries = chart.addSeries("arrays", new double[] { 1, 2 }, new double[] { Double.NaN, 2 });
+    assertThat(new ArrayList<Object>(arraySeries.getYData())).isEqualTo(Arrays.<Object> asList(Double.NaN, 2.0));
+  }
+
+  @Test
+  public void testLocalDateTimeInSystemTimeZone() {
+
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+    TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tokyo"));
+    try {
+      XYChart chart = new XYChart(600, 400);
+      XYSeries series = chart.addSeries("series", Arrays.asList(LocalDateTime.of(2020, 1, 1, 9, 0)), Arrays.asList(1));
+
+      // 9:00 in Tokyo, which the Date axis labels show in the default timezone of the Styler
+      assertThat(series.getxAxisDataType()).isEqualTo(AxisDataType.Date);
+      assertThat(series.getXValues()[0]).isEqualTo(Instant.parse("2020-01-01T00:00:00Z").toEpochMilli());
+      assertThat(chart.getStyler().getTimezone().getID()).isEqualTo("Asia/Tokyo");
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class ColumnDecimationTest {
+
+  @Test
+  public void testColumnsAndGaps() {
+
+    // column 0: indices 0-4, a gap of 2 data points, column 0 again: 7-8, column 1: 9-11
+    double[] columns = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1 };
+    double[] yData = { 5, 1, 9, 3, 4, Double.NaN, Double.NaN, 2, 2, 7, 7, 7 };
+
+    ColumnDecimation decimation = new ColumnDecimation(4);
+    for (int i = 0; i < yData.length; i++) {
+      decimation.add(i, columns[i], yData[i]);
+    }
+
+    // first, lowest, highest, last; one missing value per gap; a column of equal values keeps its first and last data point only
+    assertThat(decimation.getIndices()).isEqualTo(new int[] { 0, 1, 2, 4, 5, 7, 8, 9, 11 });
+  }
+
+  @Test
+  public void testAddColumn() {
+
+    ColumnDecimation decimation = new ColumnDecimation(0);
+    decimation.addGap(0);
+    decimation.addGap(1);
+    decimation.addColumn(2, 5, 3, 9);
+    decimation.addColumn(10, 10, 10, 10);
+    decimation.add(11, 4, 1.0);
+
+    assertThat(decimation.getIndices()).isEqualTo(new int[] { 0, 2, 3, 5, 9, 10, 11 });
+    assertThat(ColumnDecimation.select(new double[] { 0, 1, 2, 3 }, new int[] { 1, 3 })).isEqualTo(new double[] { 1, 3 });
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * @author timmolter
+ */
+public class MinMaxPyramidTest {
+
+  @After
+  public void resetThreshold() {
+
+    ParallelScan.setParallelThreshold(ParallelScan.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  private static XYSeries getSeries(double[] yData) {
+
+    double[] xData = new double[yData.length];
+    for (int i = 0; i < xData.length; i++) {
+      xData[i] = i;
+    }
+    return new XYSeries("series", xData, AxisDataType.Number, yData, null);
+  }
+
+  /**
+   * @return random values with few distinct values, so there are ties, and runs of missing values
+   */
+  private static double[] getYData(Random random, int size) {
+
+    double[] yData = new double[size];
+    for (int i = 0; i < size; i++) {
+      yData[i] = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(100);
+    }
+    for (int i = 100; i < Math.min(size, 300); i++) {
+      yData[i] = Double.NaN;
+    }
+    return yData;
+  }
+
+  @Test
+  public void testMatchesScan() {
+
+    // a small threshold builds the levels in parallel
+    ParallelScan.setParallelThreshold(4);
+
+    Random random = new Random(42);
+    double[] yData = getYData(random, 5003);
+    MinMaxPyramid minMaxPyramid = new MinMaxPyramid();
+    minMaxPyramid.update(getSeries(yData));
+
+    for (int query = 0; query < 2000; query++) {
+      int from = random.nextInt(yData.length);
+      int to = from + random.nextInt(yData.length - from + 1);
+      assertRange(minMaxPyramid, yData, from, to);
+    }
+    assertRange(minMaxPyramid, yData, 0, yData.length);
+    assertRange(minMaxPyramid, yData, 100, 300);
+  }
+
+  @Test
+  public void testAppend() {
+
+    Random random = new Random(7);
+    double[] yData = getYData(random, 20000);
+
+    // grow the series in steps of odd sizes, with new arrays each time
+    MinMaxPyramid appended = new MinMaxPyramid();
+    for (int size = 1; size < yData.length; size = size * 3 / 2 + 7) {
+      appended.update(getSeries(Arrays.copyOf(yData, size)));
+    }
+    appended.update(getSeries(yData));
+
+    MinMaxPyramid built = new MinMaxPyramid();
+    built.update(getSeries(yData));
+
+    assertThat(appended.getLevelCount()).isEqualTo(built.getLevelCount());
+    for (int level = 0; level < built.getLevelCount(); level++) {
+      assertThat(appended.getMinIndices(level)).isEqualTo(built.getMinIndices(level));
+      assertThat(appended.getMaxIndices(level)).isEqualTo(built.getMaxIndices(level));
+    }
+    assertThat(appended.getGapStarts()).isEqualTo(built.getGapStarts());
+    assertThat(appended.getGapEnds()).isEqualTo(built.getGapEnds());
+  }
+
+  @Test
+  public void testGaps() {
+
+    double[] yData = { Double.NaN, 1, 2, Double.NaN, Double.NaN, 3 };
+    MinMaxPyramid minMaxPyramid = new MinMaxPyramid();
+    minMaxPyramid.update(getSeries(yData));
+
+    assertThat(minMaxPyramid.getGapStarts()).isEqualTo(new int[] { 0, 3 });
+    assertThat(minMaxPyramid.getGapEnds()).isEqualTo(new int[] { 1, 5 });
+    assertThat(minMaxPyramid.getGapStart(1)).isEqualTo(3);
+    assertThat(minMaxPyramid.getGapStart(4)).isEqualTo(4);
+    assertThat(minMaxPyramid.getGapStart(5)).isEqualTo(6);
+    assertThat(minMaxPyramid.getGapEnd(3)).isEqualTo(5);
+    assertThat(minMaxPyramid.getGapEnd(2)).isEqualTo(2);
+    assertThat(minMaxPyramid.getMinIndex(3, 5)).isEqualTo(-1);
+  }
+
+  private static void assertRange(MinMaxPyramid minMaxPyramid, double[] yData, int from, int to) {
+
+    int minIndex = -1;
+    int maxIndex = -1;
+    for (int i = from; i < to; i++) {
+      if (!Double.isNaN(yData[i])) {
+        if (minIndex < 0 || yData[i] < yData[minIndex]) {
+          minIndex = i;
+        }
+        if (maxIndex < 0 || yData[i] > yData[maxIndex]) {
+          maxIndex = i;
+        }
+      }
+    }
+    assertThat(minMaxPyramid.getMinIndex(from, to)).isEqualTo(minIndex);
+    assertThat(minMaxPyramid.getMaxIndex(from, to)).isEqualTo(maxIndex);
+  }
+}
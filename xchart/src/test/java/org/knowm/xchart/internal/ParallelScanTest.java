@@ -0,0 +1,70 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author timmolter
+ */
+public class ParallelScanTest {
+
+  @After
+  public void resetThreshold() {
+
+    ParallelScan.setParallelThreshold(ParallelScan.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  @Test
+  public void testParallelMatchesSequential() {
+
+    double[] data = new double[10007];
+    double[] errorBars = new double[data.length];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = i % 13 == 0 ? Double.NaN : Math.sin(i) * i;
+      errorBars[i] = i % 7;
+    }
+
+    double[] minMax = ParallelScan.findMinMax(data);
+    double[] minMaxWithErrorBars = ParallelScan.findMinMax(data, errorBars);
+    double[] projected = new double[100];
+    ParallelScan.map(data, 5000, 5100, projected, x -> 2 * x + 1);
+    long[] binCounts = ParallelScan.bin(data, 0, data.length, 10, -5000, 5000);
+
+    ParallelScan.setParallelThreshold(16);
+
+    assertThat(ParallelScan.findMinMax(data)).isEqualTo(minMax);
+    assertThat(ParallelScan.findMinMax(data, errorBars)).isEqualTo(minMaxWithErrorBars);
+    double[] parallelProjected = new double[100];
+    ParallelScan.map(data, 5000, 5100, parallelProjected, x -> 2 * x + 1);
+    assertThat(parallelProjected).isEqualTo(projected);
+    assertThat(parallelProjected[1]).isEqualTo(2 * data[5001] + 1);
+    assertThat(ParallelScan.bin(data, 0, data.length, 10, -5000, 5000)).isEqualTo(binCounts);
+  }
+
+  @Test
+  public void testNoValues() {
+
+    double[] minMax = ParallelScan.findMinMax(new double[] { Double.NaN, Double.NaN });
+
+    assertThat(minMax[0]).isEqualTo(Double.MAX_VALUE);
+    assertThat(minMax[1]).isEqualTo(-Double.MAX_VALUE);
+  }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2015-2016 Knowm Inc. (http://knowm.org) and contributors.
+ * Copyright 2011-2015 Xeiam LLC (http://xeiam.com) and contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.knowm.xchart.internal;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+import java.util.TimeZone;
+
+import org.junit.Test;
+import org.knowm.xchart.charts.XYSeries;
+import org.knowm.xchart.internal.TimeBucketAggregation.Rollup;
+import org.knowm.xchart.internal.chartpart.Axis.AxisDataType;
+
+/**
+ * @author timmolter
+ */
+public class TimeBucketAggregationTest {
+
+  private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+  /**
+   * @return a series of one data point per second, starting at 00:00:30 UTC, with y the number of the data point
+   */
+  private static XYSeries getSeries(int size) {
+
+    double[] xData = new double[size];
+    double[] yData = new double[size];
+    for (int i = 0; i < size; i++) {
+      xData[i] = 30000 + 1000.0 * i;
+      yData[i] = i;
+    }
+    return new XYSeries("series", xData, AxisDataType.Date, yData, null);
+  }
+
+  @Test
+  public void testBucketInterval() {
+
+    assertThat(TimeBucketAggregation.getBucketInterval(500)).isEqualTo(0);
+    assertThat(TimeBucketAggregation.getBucketInterval(1000)).isEqualTo(1000);
+    assertThat(TimeBucketAggregation.getBucketInterval(1001)).isEqualTo(2000);
+    assertThat(TimeBucketAggregation.getBucketInterval(40 * 60000)).isEqualTo(3600000);
+    assertThat(TimeBucketAggregation.getBucketInterval(1e12)).isEqualTo(86400000);
+  }
+
+  @Test
+  public void testMinuteBuckets() {
+
+    Rollup rollup = new TimeBucketAggregation().getRollup(getSeries(150), UTC, 60000);
+
+    // 00:00:30 - 00:00:59, 00:01:00 - 00:01:59, 00:02:00 - 00:02:59
+    assertThat(rollup.size()).isEqualTo(3);
+    assertThat(rollup.getStarts()).isEqualTo(new double[] { 0, 60000, 120000 });
+    assertThat(rollup.getCounts()).isEqualTo(new int[] { 30, 60, 60 });
+    assertThat(rollup.getMins()).isEqualTo(new double[] { 0, 30, 90 });
+    assertThat(rollup.getMaxs()).isEqualTo(new double[] { 29, 89, 149 });
+    assertThat(rollup.getAverage(1)).isEqualTo(59.5);
+  }
+
+  @Test
+  public void testCoarseFromFineMatchesRaw() {
+
+    XYSeries series = getSeries(20000);
+
+    TimeBucketAggregation aggregation = new TimeBucketAggregation();
+    aggregation.getRollup(series, UTC, 15000);
+    aggregation.getRollup(series, UTC, 300000);
+    Rollup fromFine = aggregation.getRollup(series, UTC, 3600000);
+    assertThat(aggregation.getRollupCount()).isEqualTo(3);
+
+    Rollup fromRaw = new TimeBucketAggregation().getRollup(series, UTC, 3600000);
+    assertThat(fromFine.getStarts()).isEqualTo(fromRaw.getStarts());
+    assertThat(fromFine.getMins()).isEqualTo(fromRaw.getMins());
+    assertThat(fromFine.getMaxs()).isEqualTo(fromRaw.getMaxs());
+    assertThat(fromFine.getSums()).isEqualTo(fromRaw.getSums());
+    assertThat(fromFine.getCounts()).isEqualTo(fromRaw.getCounts());
+  }
+
+  @Test
+  public void testTimeZoneAlignment() {
+
+    // days start at midnight in the time zone, which is 23:00 UTC the day before in Central European winter time
+    double[] xData = { 0, 82800000 - 1, 82800000, 86400000 };
+    double[] yData = { 1, 2, 3, 4 };
+    XYSeries series = new XYSeries("series", xData, AxisDataType.Date, yData, null);
+
+    Rollup rollup = new TimeBucketAggregation().getRollup(series, TimeZone.getTimeZone("Europe/Berlin"), 86400000);
+    assertThat(rollup.getStarts()).isEqualTo(new double[] { -3600000, 82800000 });
+    assertThat(rollup.getCounts()).isEqualTo(new int[] { 2, 2 });
+  }
+
+  @Test
+  public void testGapsAndDataChanges() {
+
+    XYSeries series = getSeries(150);
+    double[] yData = series.getYValues().clone();
+    yData[45] = Double.NaN;
+    yData[100] = Double.NaN;
+    series = new XYSeries("series", series.getXValues(), AxisDataType.Date, yData, null);
+
+    TimeBucketAggregation aggregation = new TimeBucketAggregation();
+    Rollup rollup = aggregation.getRollup(series, UTC, 10000);
+
+    // a missing value inside a bucket is absorbed, at the start of a bucket it separates the bucket from the previous one
+    assertThat(rollup.getGaps()[4]).isFalse();
+    assertThat(rollup.getCounts()[4]).isEqualTo(9);
+    assertThat(rollup.getGaps()[10]).isTrue();
+    assertThat(rollup.getCounts()[10]).isEqualTo(9);
+
+    // both lie inside minutes
+    assertThat(aggregation.getRollup(series, UTC, 60000).getGaps()).isEqualTo(new boolean[] { false, false, false });
+
+    // other data drop the cached rollups
+    aggregation.getRollup(getSeries(150), UTC, 60000);
+    assertThat(aggregation.getRollupCount()).isEqualTo(1);
+  }
+}